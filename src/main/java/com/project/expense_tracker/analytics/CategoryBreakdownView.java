@@ -0,0 +1,85 @@
+package com.project.expense_tracker.analytics;
+
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.cache.DataVersions;
+import com.project.expense_tracker.dto.CategoryBreakdownResponse;
+import com.project.expense_tracker.dto.CategorySummaryResponse;
+import com.project.expense_tracker.repository.CategoryTotals;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Per-category count, total and average, grouped by category id.
+ *
+ * The totals are computed by one grouped query without a join, cached until
+ * the expense version moves, and decorated with names and colors from the
+ * category dictionary on every read so renames never need a recompute.
+ */
+@Component
+public class CategoryBreakdownView {
+
+    private final ExpenseRepository expenseRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final DataVersions dataVersions;
+
+    private volatile Materialized materialized;
+
+    @Autowired
+    public CategoryBreakdownView(ExpenseRepository expenseRepository,
+                                 CategoryDictionary categoryDictionary,
+                                 DataVersions dataVersions) {
+        this.expenseRepository = expenseRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.dataVersions = dataVersions;
+    }
+
+    /**
+     * Breakdown ordered by total spend, highest first.
+     */
+    public List<CategoryBreakdownResponse> breakdown() {
+        List<Row> rows = rows();
+        List<CategoryBreakdownResponse> responses = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            CategorySummaryResponse category = categoryDictionary.get(row.categoryId());
+            responses.add(new CategoryBreakdownResponse(
+                    row.categoryId(),
+                    category == null ? null : category.getName(),
+                    category == null ? null : category.getColor(),
+                    row.count(),
+                    Money.toBigDecimal(row.totalCents()),
+                    Money.average(row.totalCents(), row.count())));
+        }
+        return responses;
+    }
+
+    private List<Row> rows() {
+        long version = dataVersions.expenseVersion();
+        Materialized current = materialized;
+        if (current != null && current.version() == version) {
+            return current.rows();
+        }
+
+        List<Row> rows = new ArrayList<>();
+        for (CategoryTotals totals : expenseRepository.sumByCategoryId()) {
+            rows.add(new Row(totals.getCategoryId(), totals.getExpenseCount(),
+                    Money.toCents(totals.getTotalAmount())));
+        }
+        rows.sort(Comparator.comparingLong(Row::totalCents).reversed().thenComparing(Row::categoryId));
+
+        List<Row> frozen = List.copyOf(rows);
+        materialized = new Materialized(version, frozen);
+        return frozen;
+    }
+
+    private record Row(Long categoryId, long count, long totalCents) {
+    }
+
+    private record Materialized(long version, List<Row> rows) {
+    }
+}
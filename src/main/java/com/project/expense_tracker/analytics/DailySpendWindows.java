@@ -0,0 +1,415 @@
+package com.project.expense_tracker.analytics;
+
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.cache.SingleFlight;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Daily spend totals for the recent past, kept in ring buffers globally and
+ * per category.
+ *
+ * Each ring holds one slot per day and running sums for the configured
+ * windows (7/30/90 days by default). Slots roll over lazily when the date
+ * changes, writes adjust the day they touch (including back-dated expenses
+ * and ones moved between days), and a scheduled job reconciles the rings
+ * against the database.
+ *
+ * Loading and reconciling scan the database without holding the lock, so
+ * reads and writes carry on meanwhile; writes that race the scan are
+ * replayed through {@link PendingExpenseWrites} when the rings are
+ * installed.
+ */
+@Component
+public class DailySpendWindows {
+
+    private static final Logger log = LoggerFactory.getLogger(DailySpendWindows.class);
+
+    // The trend has always covered today and the 30 days before it
+    public static final int TREND_DAYS = 31;
+
+    private static final int BATCH_SIZE = 5000;
+
+    private final ExpenseRepository expenseRepository;
+    private final PendingExpenseWrites pendingWrites;
+    private final SingleFlight singleFlight;
+    private final Clock clock;
+    private final int[] windows;
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private DayRing global;
+    private Map<Long, DayRing> byCategory = new HashMap<>();
+    private boolean loaded;
+    // Bumped by category deletes, which remove rows without expense events
+    private long epoch;
+
+    @Autowired
+    public DailySpendWindows(ExpenseRepository expenseRepository,
+                             PendingExpenseWrites pendingWrites,
+                             SingleFlight singleFlight,
+                             @Value("${expense.rolling.windows:7,30,90}") int[] windows) {
+        this(expenseRepository, pendingWrites, singleFlight, windows, Clock.systemDefaultZone());
+    }
+
+    DailySpendWindows(ExpenseRepository expenseRepository, PendingExpenseWrites pendingWrites,
+                      SingleFlight singleFlight, int[] windows, Clock clock) {
+        this.expenseRepository = expenseRepository;
+        this.pendingWrites = pendingWrites;
+        this.singleFlight = singleFlight;
+        this.clock = clock;
+        this.windows = Arrays.stream(windows).sorted().toArray();
+        if (this.windows.length == 0 || this.windows[0] < 1) {
+            throw new IllegalArgumentException("expense.rolling.windows must be positive day counts");
+        }
+        this.capacity = Math.max(this.windows[this.windows.length - 1], TREND_DAYS) + 1;
+        this.global = new DayRing();
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    /**
+     * Rolling totals keyed by window, e.g. "7d", "30d", "90d".
+     */
+    public Map<String, BigDecimal> rollingTotals(Long categoryId) {
+        ensureLoaded();
+        lock.lock();
+        try {
+            DayRing ring = ring(categoryId);
+            Map<String, BigDecimal> totals = new LinkedHashMap<>();
+            for (int i = 0; i < windows.length; i++) {
+                totals.put(windows[i] + "d", Money.toBigDecimal(ring == null ? 0L : ring.windowSums[i]));
+            }
+            return totals;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Per-day totals for the last {@code days} days that had any expense, oldest first.
+     */
+    public List<Map<String, Object>> dailyTrend(Long categoryId, int days) {
+        int span = Math.min(days, capacity);
+        ensureLoaded();
+        lock.lock();
+        try {
+            DayRing ring = ring(categoryId);
+            List<Map<String, Object>> trend = new ArrayList<>();
+            if (ring == null) {
+                return trend;
+            }
+            long today = today();
+            for (long day = today - span + 1; day <= today; day++) {
+                int slot = ring.slot(day);
+                if (ring.slotDay[slot] == day && ring.counts[slot] > 0) {
+                    Map<String, Object> entry = new HashMap<>();
+                    entry.put("date", LocalDate.ofEpochDay(day));
+                    entry.put("total", Money.toBigDecimal(ring.cents[slot]));
+                    trend.add(entry);
+                }
+            }
+            return trend;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private DayRing ring(Long categoryId) {
+        DayRing ring = categoryId == null ? global : byCategory.get(categoryId);
+        if (ring != null) {
+            ring.advanceTo(today());
+        }
+        return ring;
+    }
+
+    // ── Writes ───────────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(PendingExpenseWrites.CONSUMER_ORDER)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        lock.lock();
+        try {
+            pendingWrites.delivered(this, event);
+            if (!loaded) {
+                return;
+            }
+            long today = today();
+            if (event.before() != null) {
+                apply(global, byCategory, event.before(), -1, today);
+            }
+            if (event.after() != null) {
+                apply(global, byCategory, event.after(), 1, today);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        lock.lock();
+        try {
+            epoch++;
+            loaded = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ── Loading and reconciliation ───────────────────────────────────────────
+
+    private void ensureLoaded() {
+        lock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        singleFlight.execute("daily-spend-windows-load", this, this::load);
+    }
+
+    private Boolean load() {
+        long expectedEpoch = currentEpoch();
+        DayRing rebuiltGlobal = new DayRing();
+        Map<Long, DayRing> rebuiltByCategory = new HashMap<>();
+        try (PendingExpenseWrites.Scan scan = pendingWrites.open()) {
+            build(scan, rebuiltGlobal, rebuiltByCategory, today());
+
+            lock.lock();
+            try {
+                if (epoch != expectedEpoch) {
+                    // A category delete removed rows the scan may have read; the next read starts over
+                    return false;
+                }
+                replay(scan, rebuiltGlobal, rebuiltByCategory);
+                global = rebuiltGlobal;
+                byCategory = rebuiltByCategory;
+                loaded = true;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Recomputes the rings from the database and replaces them if they drifted.
+     */
+    @Scheduled(fixedDelayString = "${expense.rolling.reconcile-interval-ms:300000}",
+            initialDelayString = "${expense.rolling.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long expectedEpoch;
+        lock.lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            expectedEpoch = epoch;
+        } finally {
+            lock.unlock();
+        }
+
+        DayRing rebuiltGlobal = new DayRing();
+        Map<Long, DayRing> rebuiltByCategory = new HashMap<>();
+        try (PendingExpenseWrites.Scan scan = pendingWrites.open()) {
+            build(scan, rebuiltGlobal, rebuiltByCategory, today());
+
+            lock.lock();
+            try {
+                if (epoch != expectedEpoch || !loaded) {
+                    return;
+                }
+                // Brings the scan up to the events the rings already hold, so only real drift differs
+                replay(scan, rebuiltGlobal, rebuiltByCategory);
+                long today = today();
+                boolean drifted = !matches(global, rebuiltGlobal, today);
+                Set<Long> categoryIds = new HashSet<>(byCategory.keySet());
+                categoryIds.addAll(rebuiltByCategory.keySet());
+                for (Long categoryId : categoryIds) {
+                    drifted |= !matches(byCategory.get(categoryId), rebuiltByCategory.get(categoryId), today);
+                }
+                if (drifted) {
+                    log.warn("Daily spend windows drifted from the database; replacing them");
+                    global = rebuiltGlobal;
+                    byCategory = rebuiltByCategory;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private long currentEpoch() {
+        lock.lock();
+        try {
+            return epoch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean matches(DayRing current, DayRing expected, long today) {
+        if (current == null) {
+            return expected == null || expected.isEmpty();
+        }
+        current.advanceTo(today);
+        return expected == null ? current.isEmpty() : current.sameAs(expected);
+    }
+
+    private void build(PendingExpenseWrites.Scan scan, DayRing target, Map<Long, DayRing> targetByCategory,
+                       long today) {
+        target.advanceTo(today);
+        LocalDate horizon = LocalDate.ofEpochDay(today - capacity);
+        long afterId = 0L;
+        List<Object[]> batch;
+        do {
+            batch = expenseRepository.findSpendRowsAfterIdSince(afterId, horizon, PageRequest.of(0, BATCH_SIZE));
+            afterId = batch.size() < BATCH_SIZE ? Long.MAX_VALUE : (Long) batch.get(batch.size() - 1)[0];
+            Set<Long> skipped = scan.advance(afterId);
+            for (Object[] row : batch) {
+                if (!skipped.contains((Long) row[0])) {
+                    apply(target, targetByCategory, new ExpenseSnapshot((Long) row[0], (Long) row[1], null,
+                            Money.toCents((BigDecimal) row[3]), (LocalDate) row[2], null), 1, today);
+                }
+            }
+        } while (afterId != Long.MAX_VALUE);
+    }
+
+    // Call under the lock
+    private void replay(PendingExpenseWrites.Scan scan, DayRing target, Map<Long, DayRing> targetByCategory) {
+        long today = today();
+        scan.replay(this, (snapshot, sign) -> apply(target, targetByCategory, snapshot, sign, today));
+    }
+
+    private void apply(DayRing target, Map<Long, DayRing> targetByCategory,
+                       ExpenseSnapshot expense, int sign, long today) {
+        long day = expense.expenseDate().toEpochDay();
+        long cents = sign * expense.amountCents();
+        target.advanceTo(today);
+        target.add(day, cents, sign);
+        if (expense.categoryId() != null) {
+            DayRing ring = targetByCategory.computeIfAbsent(expense.categoryId(), id -> new DayRing());
+            ring.advanceTo(today);
+            ring.add(day, cents, sign);
+        }
+    }
+
+    private long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    /**
+     * One slot per epoch day modulo the capacity, plus one running sum per window.
+     */
+    private final class DayRing {
+
+        final long[] cents = new long[capacity];
+        final long[] counts = new long[capacity];
+        final long[] slotDay = new long[capacity];
+        final long[] windowSums = new long[windows.length];
+        long lastDay = Long.MIN_VALUE;
+
+        DayRing() {
+            Arrays.fill(slotDay, Long.MIN_VALUE);
+        }
+
+        int slot(long day) {
+            return (int) Math.floorMod(day, (long) capacity);
+        }
+
+        void advanceTo(long today) {
+            if (lastDay == Long.MIN_VALUE || today - lastDay >= capacity) {
+                Arrays.fill(cents, 0L);
+                Arrays.fill(counts, 0L);
+                Arrays.fill(slotDay, Long.MIN_VALUE);
+                Arrays.fill(windowSums, 0L);
+                lastDay = today;
+                return;
+            }
+            for (long day = lastDay + 1; day <= today; day++) {
+                // Drop the day that falls out of each window as the window slides
+                for (int i = 0; i < windows.length; i++) {
+                    long leaving = day - windows[i];
+                    int slot = slot(leaving);
+                    if (slotDay[slot] == leaving) {
+                        windowSums[i] = Money.subtract(windowSums[i], cents[slot]);
+                    }
+                }
+                int slot = slot(day);
+                cents[slot] = 0L;
+                counts[slot] = 0L;
+                slotDay[slot] = day;
+            }
+            lastDay = Math.max(lastDay, today);
+        }
+
+        void add(long day, long deltaCents, int deltaCount) {
+            if (day > lastDay || day <= lastDay - capacity) {
+                return;
+            }
+            int slot = slot(day);
+            if (slotDay[slot] != day) {
+                cents[slot] = 0L;
+                counts[slot] = 0L;
+                slotDay[slot] = day;
+            }
+            cents[slot] = Money.add(cents[slot], deltaCents);
+            counts[slot] += deltaCount;
+            for (int i = 0; i < windows.length; i++) {
+                if (day > lastDay - windows[i]) {
+                    windowSums[i] = Money.add(windowSums[i], deltaCents);
+                }
+            }
+        }
+
+        boolean sameAs(DayRing other) {
+            if (!Arrays.equals(windowSums, other.windowSums)) {
+                return false;
+            }
+            for (long day = lastDay - capacity + 1; day <= lastDay; day++) {
+                if (centsOn(day) != other.centsOn(day)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            for (long count : counts) {
+                if (count != 0L) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long centsOn(long day) {
+            int slot = slot(day);
+            return slotDay[slot] == day ? cents[slot] : 0L;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.project.expense_tracker.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable streaming quantile sketch in the style of KLL.
+ *
+ * Values live in a stack of compactor levels; an item on level h stands for
+ * 2^h inputs. When a level fills up it is sorted and every other item moves
+ * up a level, so memory stays around 3k longs regardless of the stream length
+ * while rank error stays roughly proportional to 1/k.
+ */
+public final class KllSketch {
+
+    private static final int MIN_LEVEL_CAPACITY = 8;
+    private static final double LEVEL_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private long[][] levels = new long[1][MIN_LEVEL_CAPACITY];
+    private int[] sizes = new int[1];
+    private long count;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    // xorshift state for compaction coin flips; fixed seed keeps results reproducible
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    public KllSketch(int k) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("Sketch size must be at least " + MIN_LEVEL_CAPACITY);
+        }
+        this.k = k;
+    }
+
+    public void update(long value) {
+        append(0, value);
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        compress();
+    }
+
+    public void merge(KllSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int level = 0; level < other.levels.length; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compress();
+    }
+
+    /**
+     * Approximate value at the given rank fraction, between 0 and 1.
+     */
+    public long quantile(double fraction) {
+        if (count == 0) {
+            throw new IllegalStateException("Sketch is empty");
+        }
+        if (fraction <= 0.0) {
+            return min;
+        }
+        if (fraction >= 1.0) {
+            return max;
+        }
+
+        // Sort each level, then walk them in value order accumulating weights
+        int levelCount = levels.length;
+        long[][] sorted = new long[levelCount][];
+        int[] heads = new int[levelCount];
+        long totalWeight = 0;
+        for (int level = 0; level < levelCount; level++) {
+            sorted[level] = Arrays.copyOf(levels[level], sizes[level]);
+            Arrays.sort(sorted[level]);
+            totalWeight += (long) sizes[level] << level;
+        }
+
+        double target = fraction * totalWeight;
+        long cumulative = 0;
+        while (true) {
+            int next = -1;
+            for (int level = 0; level < levelCount; level++) {
+                if (heads[level] < sorted[level].length
+                        && (next < 0 || sorted[level][heads[level]] < sorted[next][heads[next]])) {
+                    next = level;
+                }
+            }
+            if (next < 0) {
+                return max;
+            }
+            long value = sorted[next][heads[next]++];
+            cumulative += 1L << next;
+            if (cumulative >= target) {
+                return value;
+            }
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    // ── Compaction ───────────────────────────────────────────────────────────
+
+    private void compress() {
+        for (int level = 0; level < levels.length; level++) {
+            if (sizes[level] >= capacity(level)) {
+                compact(level);
+            }
+        }
+    }
+
+    private int capacity(int level) {
+        int depth = levels.length - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(LEVEL_DECAY, depth)));
+    }
+
+    private void compact(int level) {
+        if (level == levels.length - 1) {
+            levels = Arrays.copyOf(levels, levels.length + 1);
+            levels[level + 1] = new long[MIN_LEVEL_CAPACITY];
+            sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        }
+        long[] buffer = levels[level];
+        int size = sizes[level];
+        Arrays.sort(buffer, 0, size);
+
+        // Compact an even number of items so total weight is preserved
+        int start = size % 2;
+        int offset = coinFlip();
+        for (int i = start + offset; i < size; i += 2) {
+            append(level + 1, buffer[i]);
+        }
+        sizes[level] = start;
+    }
+
+    private void append(int level, long value) {
+        while (level >= levels.length) {
+            levels = Arrays.copyOf(levels, levels.length + 1);
+            levels[levels.length - 1] = new long[MIN_LEVEL_CAPACITY];
+            sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        }
+        long[] buffer = levels[level];
+        if (sizes[level] == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            levels[level] = buffer;
+        }
+        buffer[sizes[level]++] = value;
+    }
+
+    private int coinFlip() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) (seed >>> 63);
+    }
+}
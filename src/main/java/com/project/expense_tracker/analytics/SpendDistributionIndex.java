@@ -0,0 +1,259 @@
+package com.project.expense_tracker.analytics;
+
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.cache.SingleFlight;
+import com.project.expense_tracker.dto.SpendDistributionResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Running spend statistics per category and per month.
+ *
+ * Every expense lands in four slices: (category, month), (category, all time),
+ * (all categories, month) and the global one. Slices are built with a single
+ * scan on first use and then updated by write events after commit. Deletes
+ * and updates cannot be removed from the sketches, so once enough removals
+ * pile up in the slice being read the whole index is rebuilt lazily.
+ *
+ * A rebuild reads (category, date, amount) columns in keyset batches without
+ * holding the lock, and only one runs at a time: concurrent readers of a
+ * stale index wait for it instead of scanning too. Writes that land during
+ * the scan are reconciled through {@link PendingExpenseWrites}, so the
+ * result installs even while writes keep coming.
+ */
+@Component
+public class SpendDistributionIndex {
+
+    private static final SliceKey GLOBAL = new SliceKey(null, null);
+    private static final int BATCH_SIZE = 5000;
+
+    private final ExpenseRepository expenseRepository;
+    private final PendingExpenseWrites pendingWrites;
+    private final SingleFlight singleFlight;
+    private final int sketchSize;
+    private final double rebuildRatio;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<SliceKey, SpendStatistics> slices = new HashMap<>();
+    private boolean loaded;
+    // Bumped by category deletes, which cascade to expenses without events
+    private long epoch;
+
+    @Autowired
+    public SpendDistributionIndex(ExpenseRepository expenseRepository,
+                                  PendingExpenseWrites pendingWrites,
+                                  SingleFlight singleFlight,
+                                  @Value("${expense.distribution.sketch-size:200}") int sketchSize,
+                                  @Value("${expense.distribution.rebuild-ratio:0.1}") double rebuildRatio) {
+        this.expenseRepository = expenseRepository;
+        this.pendingWrites = pendingWrites;
+        this.singleFlight = singleFlight;
+        this.sketchSize = sketchSize;
+        this.rebuildRatio = rebuildRatio;
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    public SpendDistributionResponse distribution(Long categoryId, YearMonth month, List<Double> fractions) {
+        return read(new SliceKey(categoryId, month), stats -> {
+            SpendDistributionResponse response = new SpendDistributionResponse();
+            response.setCategoryId(categoryId);
+            response.setMonth(month == null ? null : month.toString());
+
+            Map<String, BigDecimal> quantiles = new LinkedHashMap<>();
+            if (stats == null) {
+                response.setMean(BigDecimal.ZERO);
+                response.setStandardDeviation(BigDecimal.ZERO);
+                response.setMinimum(BigDecimal.ZERO);
+                response.setMaximum(BigDecimal.ZERO);
+                for (Double fraction : fractions) {
+                    quantiles.put(label(fraction), BigDecimal.ZERO);
+                }
+            } else {
+                response.setCount(stats.getCount());
+                response.setMean(stats.mean());
+                response.setStandardDeviation(stats.standardDeviation());
+                response.setMinimum(stats.min());
+                response.setMaximum(stats.max());
+                for (Double fraction : fractions) {
+                    quantiles.put(label(fraction), stats.quantile(fraction));
+                }
+            }
+            response.setQuantiles(quantiles);
+            return response;
+        });
+    }
+
+    /**
+     * Threshold such that {@code amount > threshold} means above the mean.
+     */
+    public BigDecimal meanThreshold(Long categoryId) {
+        return read(new SliceKey(categoryId, null),
+                stats -> stats == null ? BigDecimal.ZERO : stats.meanThreshold());
+    }
+
+    public BigDecimal quantileThreshold(Long categoryId, double fraction) {
+        return read(new SliceKey(categoryId, null),
+                stats -> stats == null ? BigDecimal.ZERO : stats.quantile(fraction));
+    }
+
+    private <T> T read(SliceKey key, Function<SpendStatistics, T> reader) {
+        boolean rebuilt = false;
+        while (true) {
+            lock.readLock().lock();
+            try {
+                // Writes replayed into a fresh rebuild may count as removals too; it is still as good as it gets
+                if (loaded && (rebuilt || !needsRebuild(slices.get(key)))) {
+                    return reader.apply(slices.get(key));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            // Readers of a stale index share one rebuild; a category delete in between makes it come back false
+            rebuilt = singleFlight.execute("spend-distribution-rebuild", this, this::rebuild);
+        }
+    }
+
+    private boolean needsRebuild(SpendStatistics stats) {
+        return stats != null && stats.getRemoved() > rebuildRatio * Math.max(1, stats.getCount());
+    }
+
+    // ── Writes ───────────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(PendingExpenseWrites.CONSUMER_ORDER)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            pendingWrites.delivered(this, event);
+            if (!loaded) {
+                return;
+            }
+            if (event.before() != null) {
+                remove(slices, event.before());
+            }
+            if (event.after() != null) {
+                add(slices, event.after());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        // Category deletes cascade to expenses without expense events
+        lock.writeLock().lock();
+        try {
+            epoch++;
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ── Building ─────────────────────────────────────────────────────────────
+
+    private Boolean rebuild() {
+        long expectedEpoch;
+        lock.readLock().lock();
+        try {
+            expectedEpoch = epoch;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<SliceKey, SpendStatistics> built = new HashMap<>();
+        try (PendingExpenseWrites.Scan scan = pendingWrites.open()) {
+            long afterId = 0L;
+            List<Object[]> batch;
+            do {
+                batch = expenseRepository.findSpendRowsAfterId(afterId, PageRequest.of(0, BATCH_SIZE));
+                afterId = batch.size() < BATCH_SIZE ? Long.MAX_VALUE : (Long) batch.get(batch.size() - 1)[0];
+                Set<Long> skipped = scan.advance(afterId);
+                for (Object[] row : batch) {
+                    if (!skipped.contains((Long) row[0])) {
+                        add(built, new ExpenseSnapshot((Long) row[0], (Long) row[1], null,
+                                Money.toCents((BigDecimal) row[3]), (LocalDate) row[2], null));
+                    }
+                }
+            } while (afterId != Long.MAX_VALUE);
+
+            lock.writeLock().lock();
+            try {
+                if (epoch != expectedEpoch) {
+                    // A category delete removed rows the scan may have read; the next read starts over
+                    return false;
+                }
+                scan.replay(this, (snapshot, sign) -> {
+                    if (sign > 0) {
+                        add(built, snapshot);
+                    } else {
+                        remove(built, snapshot);
+                    }
+                });
+                slices = built;
+                loaded = true;
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void add(Map<SliceKey, SpendStatistics> target, ExpenseSnapshot expense) {
+        for (SliceKey key : keysFor(expense)) {
+            target.computeIfAbsent(key, k -> new SpendStatistics(sketchSize)).add(expense.amountCents());
+        }
+    }
+
+    private void remove(Map<SliceKey, SpendStatistics> target, ExpenseSnapshot expense) {
+        for (SliceKey key : keysFor(expense)) {
+            SpendStatistics stats = target.get(key);
+            if (stats != null) {
+                stats.remove(expense.amountCents());
+            }
+        }
+    }
+
+    private static SliceKey[] keysFor(ExpenseSnapshot expense) {
+        YearMonth month = YearMonth.from(expense.expenseDate());
+        return new SliceKey[]{
+                new SliceKey(expense.categoryId(), month),
+                new SliceKey(expense.categoryId(), null),
+                new SliceKey(null, month),
+                GLOBAL
+        };
+    }
+
+    private static String label(double fraction) {
+        return "p" + BigDecimal.valueOf(fraction).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    // Null components mean "all categories" or "all months"
+    private record SliceKey(Long categoryId, YearMonth month) {
+    }
+}
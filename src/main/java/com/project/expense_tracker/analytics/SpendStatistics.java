@@ -0,0 +1,86 @@
+package com.project.expense_tracker.analytics;
+
+import com.project.expense_tracker.util.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Running count, exact sum and sum of squares plus a quantile sketch for one
+ * slice of expenses. Removals keep the moments exact but cannot be applied to
+ * the sketch, so they are counted to decide when a rebuild is due.
+ */
+public final class SpendStatistics {
+
+    private final KllSketch sketch;
+    private long count;
+    private long sumCents;
+    private double sumSquares;
+    private long removed;
+
+    public SpendStatistics(int sketchSize) {
+        this.sketch = new KllSketch(sketchSize);
+    }
+
+    public void add(long cents) {
+        count++;
+        sumCents = Money.add(sumCents, cents);
+        sumSquares += (double) cents * cents;
+        sketch.update(cents);
+    }
+
+    public void remove(long cents) {
+        count--;
+        sumCents = Money.subtract(sumCents, cents);
+        sumSquares -= (double) cents * cents;
+        removed++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSumCents() {
+        return sumCents;
+    }
+
+    public long getRemoved() {
+        return removed;
+    }
+
+    public BigDecimal mean() {
+        return Money.average(sumCents, count);
+    }
+
+    /**
+     * Exact mean truncated far below a cent, so "amount > threshold" matches
+     * "amount > mean" for any two-decimal amount.
+     */
+    public BigDecimal meanThreshold() {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        return Money.toBigDecimal(sumCents).divide(BigDecimal.valueOf(count), 10, RoundingMode.DOWN);
+    }
+
+    public BigDecimal standardDeviation() {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        double mean = (double) sumCents / count;
+        double variance = Math.max(0.0, sumSquares / count - mean * mean);
+        return BigDecimal.valueOf(Math.sqrt(variance) / 100.0).setScale(Money.SCALE, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal quantile(double fraction) {
+        return count == 0 ? BigDecimal.ZERO : Money.toBigDecimal(sketch.quantile(fraction));
+    }
+
+    public BigDecimal min() {
+        return count == 0 ? BigDecimal.ZERO : Money.toBigDecimal(sketch.getMin());
+    }
+
+    public BigDecimal max() {
+        return count == 0 ? BigDecimal.ZERO : Money.toBigDecimal(sketch.getMax());
+    }
+}
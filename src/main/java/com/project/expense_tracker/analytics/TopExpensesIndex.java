@@ -0,0 +1,297 @@
+package com.project.expense_tracker.analytics;
+
+import com.project.expense_tracker.dto.ExpenseSummaryResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the K largest expenses globally and per category in memory.
+ *
+ * Each heap is a bounded sorted set that is loaded lazily from the database,
+ * maintained by expense write events after commit, and refilled only when
+ * deletions or the optional time window leave it short of a request.
+ */
+@Component
+public class TopExpensesIndex {
+
+    static final int MAX_CAPACITY = 1000;
+
+    private static final Comparator<ExpenseSnapshot> BY_AMOUNT_DESC =
+            Comparator.comparingLong(ExpenseSnapshot::amountCents).reversed()
+                    .thenComparing(ExpenseSnapshot::id, Comparator.reverseOrder());
+
+    private final ExpenseRepository expenseRepository;
+    private final int capacity;
+    private final int windowDays;
+
+    private final TopHeap global = new TopHeap();
+    private final Map<Long, TopHeap> byCategory = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TopExpensesIndex(ExpenseRepository expenseRepository,
+                            @Value("${expense.top-k.capacity:100}") int capacity,
+                            @Value("${expense.top-k.window-days:0}") int windowDays) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("expense.top-k.capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        this.expenseRepository = expenseRepository;
+        this.capacity = capacity;
+        this.windowDays = Math.max(0, windowDays);
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    public List<ExpenseSummaryResponse> topGlobal(int limit) {
+        if (limit > capacity) {
+            return toResponses(loadGlobal(limit));
+        }
+        return top(global, null, limit);
+    }
+
+    public List<ExpenseSummaryResponse> topByCategory(Long categoryId, int limit) {
+        if (limit > capacity) {
+            return toResponses(loadCategory(categoryId, limit));
+        }
+        return top(byCategory.computeIfAbsent(categoryId, id -> new TopHeap()), categoryId, limit);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private List<ExpenseSummaryResponse> top(TopHeap heap, Long categoryId, int limit) {
+        LocalDate cutoff = cutoff();
+        List<ExpenseSnapshot> entries = heap.read(limit, cutoff);
+        if (entries != null) {
+            return toResponses(entries);
+        }
+
+        // Not loaded, or drained below the limit: refill from the database
+        long version = heap.version();
+        List<ExpenseSnapshot> loaded = categoryId == null ? loadGlobal(capacity) : loadCategory(categoryId, capacity);
+        heap.install(loaded, loaded.size() < capacity, version);
+        return toResponses(loaded.subList(0, Math.min(limit, loaded.size())));
+    }
+
+    // ── Writes ───────────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        ExpenseSnapshot before = event.before();
+        ExpenseSnapshot after = event.after();
+        LocalDate cutoff = cutoff();
+
+        global.remove(event.expenseId());
+        if (before != null && before.categoryId() != null) {
+            heapIfPresent(before.categoryId()).ifPresent(heap -> heap.remove(before.id()));
+        }
+
+        if (after != null && inWindow(after, cutoff)) {
+            global.offer(after);
+            if (after.categoryId() != null) {
+                heapIfPresent(after.categoryId()).ifPresent(heap -> heap.offer(after));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Entries carry category names, and deletes cascade to expenses silently
+        global.reset();
+        byCategory.clear();
+    }
+
+    // ── Loading ──────────────────────────────────────────────────────────────
+
+    private List<ExpenseSnapshot> loadGlobal(int size) {
+        Pageable page = page(size);
+        LocalDate cutoff = cutoff();
+        List<Expense> expenses = cutoff == null
+                ? expenseRepository.findAllBy(page)
+                : expenseRepository.findByExpenseDateGreaterThanEqual(cutoff, page);
+        return snapshots(expenses);
+    }
+
+    private List<ExpenseSnapshot> loadCategory(Long categoryId, int size) {
+        Pageable page = page(size);
+        LocalDate cutoff = cutoff();
+        List<Expense> expenses = cutoff == null
+                ? expenseRepository.findByCategory_Id(categoryId, page)
+                : expenseRepository.findByCategory_IdAndExpenseDateGreaterThanEqual(categoryId, cutoff, page);
+        return snapshots(expenses);
+    }
+
+    private static Pageable page(int size) {
+        return PageRequest.of(0, size, Sort.by(Sort.Order.desc("amount"), Sort.Order.desc("id")));
+    }
+
+    private static List<ExpenseSnapshot> snapshots(List<Expense> expenses) {
+        List<ExpenseSnapshot> snapshots = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            snapshots.add(ExpenseSnapshot.of(expense));
+        }
+        return snapshots;
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────
+
+    private Optional<TopHeap> heapIfPresent(Long categoryId) {
+        return Optional.ofNullable(byCategory.get(categoryId));
+    }
+
+    private LocalDate cutoff() {
+        return windowDays == 0 ? null : LocalDate.now().minusDays(windowDays);
+    }
+
+    private static boolean inWindow(ExpenseSnapshot entry, LocalDate cutoff) {
+        return cutoff == null || !entry.expenseDate().isBefore(cutoff);
+    }
+
+    private static List<ExpenseSummaryResponse> toResponses(List<ExpenseSnapshot> entries) {
+        List<ExpenseSummaryResponse> responses = new ArrayList<>(entries.size());
+        for (ExpenseSnapshot entry : entries) {
+            responses.add(new ExpenseSummaryResponse(
+                    entry.id(),
+                    Money.toBigDecimal(entry.amountCents()),
+                    entry.description(),
+                    entry.categoryName(),
+                    entry.expenseDate()));
+        }
+        return responses;
+    }
+
+    /**
+     * Bounded sorted set holding a prefix of the true ordering.
+     *
+     * While {@code complete} is true the heap holds every row in scope. Once it
+     * has been trimmed, only offers ranking above the current minimum are kept,
+     * because unseen rows might sit between them and the minimum.
+     */
+    private final class TopHeap {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TreeSet<ExpenseSnapshot> entries = new TreeSet<>(BY_AMOUNT_DESC);
+        private final Map<Long, ExpenseSnapshot> byId = new HashMap<>();
+        private boolean loaded;
+        private boolean complete;
+        private long version;
+
+        List<ExpenseSnapshot> read(int limit, LocalDate cutoff) {
+            lock.lock();
+            try {
+                if (!loaded) {
+                    return null;
+                }
+                List<ExpenseSnapshot> result = new ArrayList<>(Math.min(limit, entries.size()));
+                for (ExpenseSnapshot entry : entries) {
+                    if (result.size() == limit) {
+                        break;
+                    }
+                    if (inWindow(entry, cutoff)) {
+                        result.add(entry);
+                    }
+                }
+                return result.size() < limit && !complete ? null : result;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void offer(ExpenseSnapshot entry) {
+            lock.lock();
+            try {
+                version++;
+                if (!loaded) {
+                    return;
+                }
+                removeLocked(entry.id());
+                if (!complete && (entries.isEmpty() || BY_AMOUNT_DESC.compare(entry, entries.last()) > 0)) {
+                    return;
+                }
+                entries.add(entry);
+                byId.put(entry.id(), entry);
+                if (entries.size() > capacity) {
+                    byId.remove(entries.pollLast().id());
+                    complete = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.lock();
+            try {
+                version++;
+                removeLocked(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long version() {
+            lock.lock();
+            try {
+                return version;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void install(List<ExpenseSnapshot> loadedEntries, boolean allRows, long expectedVersion) {
+            lock.lock();
+            try {
+                // A write landed while loading; leave it for the next read to refill
+                if (version != expectedVersion) {
+                    return;
+                }
+                entries.clear();
+                byId.clear();
+                for (ExpenseSnapshot entry : loadedEntries) {
+                    entries.add(entry);
+                    byId.put(entry.id(), entry);
+                }
+                complete = allRows;
+                loaded = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void reset() {
+            lock.lock();
+            try {
+                version++;
+                entries.clear();
+                byId.clear();
+                loaded = false;
+                complete = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void removeLocked(Long id) {
+            ExpenseSnapshot existing = byId.remove(id);
+            if (existing != null) {
+                entries.remove(existing);
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.project.expense_tracker.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Results of the analytics queries, stamped with the data versions they were
+ * computed at.
+ *
+ * An entry is only served while its stamp matches the current
+ * {@link DataVersions}, which writes bump after commit, so a result can't
+ * outlive the data it was computed from. Global results depend on every
+ * expense and on category names; per-category results only on that
+ * category's expenses. A stale entry is replaced in place by the recompute.
+ * Memory is bounded by an estimate of each result's size in bytes.
+ * Concurrent misses for the same key and stamp share one computation through
+ * {@link SingleFlight}.
+ */
+@Component
+public class AnalyticsResultCache {
+
+    private final DataVersions dataVersions;
+    private final SingleFlight singleFlight;
+    private final MeterRegistry meterRegistry;
+    private final Cache<Key, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<String, Timer> recomputeTimers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AnalyticsResultCache(DataVersions dataVersions,
+                                SingleFlight singleFlight,
+                                MeterRegistry meterRegistry,
+                                @Value("${expense.analytics.cache-max-bytes:4194304}") long maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("expense.analytics.cache-max-bytes must be positive");
+        }
+        this.dataVersions = dataVersions;
+        this.singleFlight = singleFlight;
+        this.meterRegistry = meterRegistry;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<Key, Entry>weigher((key, entry) -> entry.weight())
+                // Evict on the writing thread; the cache is small and misses are rare
+                .executor(Runnable::run)
+                .build();
+        this.hits = Counter.builder("expense.analytics.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("expense.analytics.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("expense.analytics.cache.hit_ratio", this, AnalyticsResultCache::hitRatio)
+                .description("Share of analytics requests answered from the result cache")
+                .register(meterRegistry);
+        Gauge.builder("expense.analytics.cache.weight", entries,
+                        cache -> cache.policy().eviction().orElseThrow().weightedSize().orElse(0L))
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached result of {@code method} for {@code params}, computed again
+     * once any expense or category has changed since.
+     */
+    public <T> T get(String method, List<?> params, Supplier<T> compute) {
+        // Read before computing: a write landing in between only costs one extra recompute
+        Stamp stamp = new Stamp(dataVersions.expenseVersion(), dataVersions.categoryVersion());
+        return lookup(new Key(method, null, params), stamp, compute);
+    }
+
+    /**
+     * Like {@link #get}, for results that only depend on one category's expenses.
+     */
+    public <T> T getForCategory(Long categoryId, String method, List<?> params, Supplier<T> compute) {
+        Stamp stamp = new Stamp(dataVersions.expenseVersion(categoryId), -1L);
+        return lookup(new Key(method, categoryId, params), stamp, compute);
+    }
+
+    public double hitRatio() {
+        double hit = hits.count();
+        double total = hit + misses.count();
+        return total == 0 ? Double.NaN : hit / total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(Key key, Stamp stamp, Supplier<T> compute) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry.stamp().equals(stamp)) {
+            hits.increment();
+            return (T) entry.value();
+        }
+        misses.increment();
+        Timer timer = recomputeTimers.computeIfAbsent(key.method(), method ->
+                Timer.builder("expense.analytics.recompute")
+                        .tag("method", method)
+                        .register(meterRegistry));
+        // The stamp is part of the flight: callers that saw a newer version never share an older result
+        return singleFlight.execute(key.method(), new Flight(key, stamp), () -> {
+            T value = timer.record(compute);
+            if (value != null) {
+                entries.put(key, new Entry(stamp, value, weigh(key.params()) + weigh(value) + 64));
+            }
+            return value;
+        });
+    }
+
+    // ── Size estimates ───────────────────────────────────────────────────────
+
+    // Rough retained bytes of the shapes analytics return: maps and lists of strings, numbers and DTOs
+    static int weigh(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return 40 + string.length();
+        }
+        if (value instanceof BigDecimal) {
+            return 40;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 16;
+        }
+        if (value instanceof Map<?, ?> map) {
+            int weight = 48;
+            for (Map.Entry<?, ?> mapEntry : map.entrySet()) {
+                weight = saturatedAdd(weight, 32 + weigh(mapEntry.getKey()) + weigh(mapEntry.getValue()));
+            }
+            return weight;
+        }
+        if (value instanceof Collection<?> collection) {
+            int weight = 24;
+            for (Object element : collection) {
+                weight = saturatedAdd(weight, 8 + weigh(element));
+            }
+            return weight;
+        }
+        // A DTO: a header and a handful of references, plus its strings
+        return 96;
+    }
+
+    private static int saturatedAdd(int a, int b) {
+        long sum = (long) a + b;
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    private record Key(String method, Long categoryId, List<?> params) {
+    }
+
+    private record Stamp(long expenses, long categories) {
+    }
+
+    private record Flight(Key key, Stamp stamp) {
+    }
+
+    private record Entry(Stamp stamp, Object value, int weight) {
+    }
+}
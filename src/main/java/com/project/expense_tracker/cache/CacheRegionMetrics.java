@@ -0,0 +1,69 @@
+package com.project.expense_tracker.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes second-level cache hits, misses and the hit ratio per region of
+ * {@link EntityCacheRegions}, read from Hibernate's statistics at scrape time.
+ */
+@Component
+public class CacheRegionMetrics {
+
+    private final Statistics statistics;
+
+    @Autowired
+    public CacheRegionMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : EntityCacheRegions.REGIONS) {
+            FunctionCounter.builder("expense.cache.requests", this, metrics -> metrics.hits(region))
+                    .tags("region", region, "result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("expense.cache.requests", this, metrics -> metrics.misses(region))
+                    .tags("region", region, "result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("expense.cache.hit_ratio", this, metrics -> metrics.hitRatio(region))
+                    .tag("region", region)
+                    .description("Share of second-level cache lookups answered without SQL")
+                    .register(meterRegistry);
+        }
+    }
+
+    public double hits(String region) {
+        CacheRegionStatistics stats = regionStatistics(region);
+        return stats == null ? 0 : stats.getHitCount();
+    }
+
+    public double misses(String region) {
+        CacheRegionStatistics stats = regionStatistics(region);
+        return stats == null ? 0 : stats.getMissCount();
+    }
+
+    /**
+     * NaN until the region has been asked anything.
+     */
+    public double hitRatio(String region) {
+        double hits = hits(region);
+        double total = hits + misses(region);
+        return total == 0 ? Double.NaN : hits / total;
+    }
+
+    private CacheRegionStatistics regionStatistics(String region) {
+        if (!statistics.isStatisticsEnabled()) {
+            return null;
+        }
+        try {
+            return statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException ex) {
+            // Query regions are only built by their first cacheable query
+            return null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.project.expense_tracker.cache;
+
+import com.project.expense_tracker.dto.CategorySummaryResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory id to name/color lookup for categories.
+ *
+ * Categories are few and rarely change, so the whole table is loaded on first
+ * use and dropped after any category write. Use it to decorate results that
+ * were grouped by category id instead of joining on names.
+ */
+@Component
+public class CategoryDictionary {
+
+    private final CategoryRepository categoryRepository;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Map<Long, CategorySummaryResponse> entries;
+
+    @Autowired
+    public CategoryDictionary(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Returns the cached entry, or null if no such category exists.
+     */
+    public CategorySummaryResponse get(Long categoryId) {
+        return entries().get(categoryId);
+    }
+
+    public boolean contains(Long categoryId) {
+        return get(categoryId) != null;
+    }
+
+    public Collection<CategorySummaryResponse> all() {
+        return Collections.unmodifiableCollection(entries().values());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        generation.incrementAndGet();
+        entries = null;
+    }
+
+    private Map<Long, CategorySummaryResponse> entries() {
+        Map<Long, CategorySummaryResponse> current = entries;
+        if (current == null) {
+            long expectedGeneration = generation.get();
+            current = new HashMap<>();
+            for (Category category : categoryRepository.findAll()) {
+                current.put(category.getId(),
+                        new CategorySummaryResponse(category.getId(), category.getName(), category.getColor()));
+            }
+            // Don't install a snapshot that a concurrent write already invalidated
+            if (generation.get() == expectedGeneration) {
+                entries = current;
+            }
+        }
+        return current;
+    }
+}
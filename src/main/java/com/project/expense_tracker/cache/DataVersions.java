@@ -0,0 +1,65 @@
+package com.project.expense_tracker.cache;
+
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic modification counters bumped after commit by every write.
+ *
+ * Anything cached from the database can remember the version it was computed
+ * at and recompute once the counter moves. Read the version before querying:
+ * a write that lands in between then only causes one extra recompute.
+ */
+@Component
+public class DataVersions {
+
+    private final AtomicLong expenses = new AtomicLong();
+    private final AtomicLong categories = new AtomicLong();
+    private final Map<Long, AtomicLong> byCategory = new ConcurrentHashMap<>();
+
+    public long expenseVersion() {
+        return expenses.get();
+    }
+
+    public long categoryVersion() {
+        return categories.get();
+    }
+
+    /**
+     * Version of the expenses that belong to one category.
+     */
+    public long expenseVersion(Long categoryId) {
+        AtomicLong version = byCategory.get(categoryId);
+        return version == null ? 0L : version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        bump(event.before());
+        bump(event.after());
+        expenses.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categories.incrementAndGet();
+        if (event.deleted()) {
+            // Deleting a category cascades to its expenses
+            byCategory.computeIfAbsent(event.categoryId(), id -> new AtomicLong()).incrementAndGet();
+            expenses.incrementAndGet();
+        }
+    }
+
+    private void bump(ExpenseSnapshot snapshot) {
+        if (snapshot != null && snapshot.categoryId() != null) {
+            byCategory.computeIfAbsent(snapshot.categoryId(), id -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.expense_tracker.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Second-level cache regions for the read-mostly entities.
+ *
+ * Categories, budgets and users are cached by id, and their lookups by name,
+ * by category and month, and by username are cacheable queries in regions of
+ * their own. Each entity's size and TTL apply to its id region and its lookup
+ * region. Hibernate invalidates both on every update and delete; query
+ * results are checked against the per-table update timestamps, so that
+ * region is never evicted.
+ */
+@Component
+public class EntityCacheRegions implements HibernatePropertiesCustomizer, DisposableBean {
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORIES_BY_NAME = "categories-by-name";
+    public static final String BUDGETS = "budgets";
+    public static final String BUDGETS_BY_CATEGORY_MONTH = "budgets-by-category-month";
+    public static final String USERS = "users";
+    public static final String USERS_BY_USERNAME = "users-by-username";
+
+    /**
+     * The entity and lookup regions, in the order metrics report them.
+     */
+    public static final List<String> REGIONS = List.of(
+            CATEGORIES, CATEGORIES_BY_NAME, BUDGETS, BUDGETS_BY_CATEGORY_MONTH, USERS, USERS_BY_USERNAME);
+
+    private static final String QUERY_RESULTS = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+    private static final AtomicInteger MANAGERS = new AtomicInteger();
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public EntityCacheRegions(@Value("${expense.cache.categories.max-entries:1000}") long categoryEntries,
+                              @Value("${expense.cache.categories.ttl-seconds:3600}") long categoryTtlSeconds,
+                              @Value("${expense.cache.budgets.max-entries:5000}") long budgetEntries,
+                              @Value("${expense.cache.budgets.ttl-seconds:3600}") long budgetTtlSeconds,
+                              @Value("${expense.cache.users.max-entries:10000}") long userEntries,
+                              @Value("${expense.cache.users.ttl-seconds:900}") long userTtlSeconds) {
+        // One manager per application context, so test contexts never share regions
+        this.cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("expense-tracker-" + MANAGERS.incrementAndGet()),
+                        EntityCacheRegions.class.getClassLoader());
+        create(CATEGORIES, categoryEntries, categoryTtlSeconds);
+        create(CATEGORIES_BY_NAME, categoryEntries, categoryTtlSeconds);
+        create(BUDGETS, budgetEntries, budgetTtlSeconds);
+        create(BUDGETS_BY_CATEGORY_MONTH, budgetEntries, budgetTtlSeconds);
+        create(USERS, userEntries, userTtlSeconds);
+        create(USERS_BY_USERNAME, userEntries, userTtlSeconds);
+        // Every cacheable query names its region; this one only has to exist
+        create(QUERY_RESULTS, 100, 60);
+        // A missing timestamp reads as "never written", so evicting one could serve stale results
+        create(UPDATE_TIMESTAMPS, 0, 0);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+        hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+        hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        // Region hit and miss counts for CacheRegionMetrics, without the per-session log lines
+        hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        hibernateProperties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+    }
+
+    @Override
+    public void destroy() {
+        cacheManager.close();
+    }
+
+    private void create(String region, long maxEntries, long ttlSeconds) {
+        if (maxEntries < 0 || ttlSeconds < 0) {
+            throw new IllegalArgumentException("expense.cache sizes and TTLs must not be negative");
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate caches immutable disassembled state, so copying entries buys nothing
+        configuration.setStoreByValue(false);
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
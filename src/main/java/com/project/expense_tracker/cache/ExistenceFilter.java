@@ -0,0 +1,320 @@
+package com.project.expense_tracker.cache;
+
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.repository.CategoryRepository;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Answers "this id certainly doesn't exist" for expenses and categories
+ * without a query.
+ *
+ * Each table has a Bloom filter of its live ids and a small negative cache of
+ * ids recently found missing or deleted. Creates are added to the filter after
+ * commit; deletes can't be taken out of a Bloom filter, so the filters are
+ * rebuilt from the ids on a fixed delay. Until the first build finishes every
+ * id is treated as possibly present. False-positive rates are published as the
+ * {@code expense.existence.false_positive_rate} gauge.
+ */
+@Component
+public class ExistenceFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ExistenceFilter.class);
+
+    private final ExpenseRepository expenseRepository;
+    private final CategoryRepository categoryRepository;
+    private final double falsePositiveRate;
+    private final int batchSize;
+    private final Membership expenses;
+    private final Membership categories;
+
+    @Autowired
+    public ExistenceFilter(ExpenseRepository expenseRepository,
+                           CategoryRepository categoryRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${expense.existence.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${expense.existence.negative-ttl-ms:30000}") long negativeTtlMillis,
+                           @Value("${expense.existence.negative-cache-size:10000}") int negativeCacheSize,
+                           @Value("${expense.search.rebuild-batch-size:5000}") int batchSize) {
+        this(expenseRepository, categoryRepository, meterRegistry, falsePositiveRate,
+                negativeTtlMillis, negativeCacheSize, batchSize, Clock.systemUTC());
+    }
+
+    ExistenceFilter(ExpenseRepository expenseRepository, CategoryRepository categoryRepository,
+                    MeterRegistry meterRegistry, double falsePositiveRate, long negativeTtlMillis,
+                    int negativeCacheSize, int batchSize, Clock clock) {
+        if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0) {
+            throw new IllegalArgumentException("expense.existence.false-positive-rate must be between 0 and 1");
+        }
+        if (negativeTtlMillis < 0 || negativeCacheSize < 0 || batchSize < 1) {
+            throw new IllegalArgumentException(
+                    "expense.existence.negative-ttl-ms and negative-cache-size must not be negative");
+        }
+        this.expenseRepository = expenseRepository;
+        this.categoryRepository = categoryRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.batchSize = batchSize;
+        this.expenses = new Membership("expense", meterRegistry, negativeTtlMillis, negativeCacheSize, clock);
+        this.categories = new Membership("category", meterRegistry, negativeTtlMillis, negativeCacheSize, clock);
+    }
+
+    // ── Lookups ──────────────────────────────────────────────────────────────
+
+    /**
+     * True only if the expense certainly doesn't exist; false means ask the database.
+     */
+    public boolean expenseDefinitelyAbsent(Long id) {
+        return expenses.definitelyAbsent(id);
+    }
+
+    public boolean categoryDefinitelyAbsent(Long id) {
+        return categories.definitelyAbsent(id);
+    }
+
+    /**
+     * Counter of expense creates; read it before the database lookup and pass
+     * it to {@link #expenseMissing} with the miss.
+     */
+    public long expenseGeneration() {
+        return expenses.generation();
+    }
+
+    public long categoryGeneration() {
+        return categories.generation();
+    }
+
+    /**
+     * Remembers a database miss for a while so repeats skip the query, unless
+     * a create committed since {@code generation} was read: the lookup may
+     * have missed that very row.
+     */
+    public void expenseMissing(Long id, long generation) {
+        expenses.missing(id, generation);
+    }
+
+    public void categoryMissing(Long id, long generation) {
+        categories.missing(id, generation);
+    }
+
+    public double expenseFalsePositiveRate() {
+        return expenses.falsePositiveRate();
+    }
+
+    public double categoryFalsePositiveRate() {
+        return categories.falsePositiveRate();
+    }
+
+    // ── Writes ───────────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        if (event.after() != null) {
+            expenses.added(event.expenseId());
+        } else {
+            expenses.missing(event.expenseId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.deleted()) {
+            // Its expenses stay in their filter until the next rebuild, which is only slower, not wrong
+            categories.missing(event.categoryId());
+        } else {
+            categories.added(event.categoryId());
+        }
+    }
+
+    // ── Building ─────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("expense-existence-rebuild").start(this::rebuild);
+    }
+
+    /**
+     * Replaces both filters with fresh ones sized for the current row counts,
+     * which also drops deleted ids and restores the target false-positive rate.
+     */
+    @Scheduled(fixedDelayString = "${expense.existence.rebuild-interval-ms:600000}",
+            initialDelayString = "${expense.existence.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        try {
+            expenses.rebuild(expenseRepository.count(), filter -> {
+                long afterId = 0L;
+                List<Long> ids;
+                do {
+                    ids = expenseRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+                    ids.forEach(filter::put);
+                    if (!ids.isEmpty()) {
+                        afterId = ids.get(ids.size() - 1);
+                    }
+                } while (ids.size() == batchSize);
+            });
+            categories.rebuild(categoryRepository.count(),
+                    filter -> categoryRepository.findAllIds().forEach(filter::put));
+        } catch (RuntimeException ex) {
+            log.error("Rebuilding the existence filters failed; lookups keep the previous filters", ex);
+        }
+    }
+
+    private interface Loader {
+        void load(BloomFilter filter);
+    }
+
+    private final class Membership {
+
+        private final long negativeTtlMillis;
+        private final int negativeCacheSize;
+        private final Clock clock;
+        private final Counter filterRejections;
+        private final Counter negativeCacheRejections;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // Bumped by every add, so a lookup can tell whether one raced it
+        private final AtomicLong generation = new AtomicLong();
+        private volatile BloomFilter filter;
+        // Ids added while a rebuild scans, replayed into the new filter before it goes live
+        private Set<Long> addedDuringRebuild;
+        private final Map<Long, Long> missingUntil = new ConcurrentHashMap<>();
+
+        Membership(String kind, MeterRegistry meterRegistry, long negativeTtlMillis, int negativeCacheSize,
+                   Clock clock) {
+            this.negativeTtlMillis = negativeTtlMillis;
+            this.negativeCacheSize = negativeCacheSize;
+            this.clock = clock;
+            Gauge.builder("expense.existence.false_positive_rate", this, Membership::falsePositiveRate)
+                    .tag("kind", kind)
+                    .description("Estimated share of absent ids the Bloom filter lets through")
+                    .register(meterRegistry);
+            this.filterRejections = Counter.builder("expense.existence.rejections")
+                    .tags("kind", kind, "source", "bloom_filter")
+                    .register(meterRegistry);
+            this.negativeCacheRejections = Counter.builder("expense.existence.rejections")
+                    .tags("kind", kind, "source", "negative_cache")
+                    .register(meterRegistry);
+        }
+
+        boolean definitelyAbsent(Long id) {
+            if (id == null) {
+                return false;
+            }
+            Long until = missingUntil.get(id);
+            if (until != null) {
+                if (until > clock.millis()) {
+                    negativeCacheRejections.increment();
+                    return true;
+                }
+                missingUntil.remove(id, until);
+            }
+            BloomFilter current = filter;
+            if (current != null && !current.mightContain(id)) {
+                filterRejections.increment();
+                return true;
+            }
+            return false;
+        }
+
+        long generation() {
+            return generation.get();
+        }
+
+        void missing(Long id, long seenGeneration) {
+            if (generation.get() != seenGeneration) {
+                return;
+            }
+            missing(id);
+            // added() bumps the generation before clearing the id, so one of the two undoes the entry
+            if (generation.get() != seenGeneration) {
+                missingUntil.remove(id);
+            }
+        }
+
+        void missing(Long id) {
+            if (id == null || negativeTtlMillis == 0) {
+                return;
+            }
+            long now = clock.millis();
+            if (missingUntil.size() >= negativeCacheSize) {
+                missingUntil.values().removeIf(until -> until <= now);
+                if (missingUntil.size() >= negativeCacheSize) {
+                    return;
+                }
+            }
+            missingUntil.put(id, now + negativeTtlMillis);
+        }
+
+        void added(Long id) {
+            generation.incrementAndGet();
+            missingUntil.remove(id);
+            lock.lock();
+            try {
+                if (filter != null) {
+                    filter.put(id);
+                }
+                if (addedDuringRebuild != null) {
+                    addedDuringRebuild.add(id);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void rebuild(long rowCount, Loader loader) {
+            lock.lock();
+            try {
+                addedDuringRebuild = ConcurrentHashMap.newKeySet();
+            } finally {
+                lock.unlock();
+            }
+            // Room to double before the rate drifts far from the target
+            BloomFilter fresh = BloomFilter.create(Math.max(1024L, rowCount * 2), falsePositiveRate);
+            try {
+                loader.load(fresh);
+            } catch (RuntimeException ex) {
+                lock.lock();
+                try {
+                    addedDuringRebuild = null;
+                } finally {
+                    lock.unlock();
+                }
+                throw ex;
+            }
+            lock.lock();
+            try {
+                addedDuringRebuild.forEach(fresh::put);
+                addedDuringRebuild = null;
+                filter = fresh;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        double falsePositiveRate() {
+            BloomFilter current = filter;
+            // Without a filter every absent id goes to the database
+            return current == null ? 1.0 : current.falsePositiveRate();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.project.expense_tracker.cache;
+
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Expense writes between publishing their event and finishing their
+ * transaction, so in-memory indexes can seed from the database without
+ * holding their lock during the scan and without counting a write twice.
+ *
+ * The trouble with seeding next to after-commit listeners is the window
+ * between a write's commit and its listener: a scan in that window already
+ * sees the row, and the event then arrives on top of it. A {@link Scan}
+ * therefore records every write that was pending when it opened or started
+ * while it ran. Rows those writes touch are left out of the scan and
+ * rebuilt from the writes' own snapshots instead: the state before the
+ * first of them, then every one the index has already received. Indexes
+ * report what they received with {@link #delivered} from their listener.
+ *
+ * After-commit listeners run from {@code afterCompletion}, in the order of
+ * their synchronizations, and a write stops being pending in its own
+ * {@code afterCompletion}. Consumer listeners therefore carry
+ * {@code @Order(CONSUMER_ORDER)}, which sorts them ahead of that cleanup;
+ * otherwise a listener registered later would report a write that is no
+ * longer pending, and a running scan would lose it.
+ */
+@Component
+public class PendingExpenseWrites {
+
+    /**
+     * Order for the after-commit listeners that call {@link #delivered}.
+     */
+    public static final int CONSUMER_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    // Guarded by this
+    private final Map<Long, List<Write>> pending = new HashMap<>();
+    private final Set<Scan> scans = new HashSet<>();
+
+    // Runs inside the writing transaction, before any after-commit listener
+    @EventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Already committed, and listeners run right away
+            return;
+        }
+        Write write = new Write(event);
+        synchronized (this) {
+            pending.computeIfAbsent(event.expenseId(), id -> new ArrayList<>()).add(write);
+            for (Scan scan : scans) {
+                scan.touch(write);
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                // After every listener ordered CONSUMER_ORDER has run
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                finished(write);
+            }
+        });
+    }
+
+    /**
+     * Records that {@code consumer} applied (or had no state to apply) the
+     * event. Call from the after-commit listener, under the consumer's lock.
+     */
+    public void delivered(Object consumer, ExpenseChangedEvent event) {
+        synchronized (this) {
+            List<Write> writes = pending.get(event.expenseId());
+            if (writes != null) {
+                for (Write write : writes) {
+                    if (write.event == event) {
+                        write.consumers.add(consumer);
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized Scan open() {
+        Scan scan = new Scan();
+        for (List<Write> writes : pending.values()) {
+            for (Write write : writes) {
+                scan.touch(write);
+            }
+        }
+        scans.add(scan);
+        return scan;
+    }
+
+    private synchronized void finished(Write write) {
+        List<Write> writes = pending.get(write.event.expenseId());
+        if (writes != null) {
+            writes.remove(write);
+            if (writes.isEmpty()) {
+                pending.remove(write.event.expenseId());
+            }
+        }
+    }
+
+    /**
+     * One seeding scan, read in ascending id order. Close it once the result
+     * is installed or dropped.
+     */
+    public final class Scan implements AutoCloseable {
+
+        // Guarded by the enclosing instance
+        private final Map<Long, List<Write>> touched = new LinkedHashMap<>();
+        private final Map<Long, Long> progressAtFirstTouch = new HashMap<>();
+        private long progress = Long.MIN_VALUE;
+
+        private Scan() {
+        }
+
+        /**
+         * Records that every row with an id up to {@code upToId} has been read
+         * and returns the ids whose rows must be skipped. Call after each
+         * batch, with {@link Long#MAX_VALUE} after the last one.
+         */
+        public Set<Long> advance(long upToId) {
+            synchronized (PendingExpenseWrites.this) {
+                progress = Math.max(progress, upToId);
+                return Set.copyOf(touched.keySet());
+            }
+        }
+
+        /**
+         * Brings a state built from the unskipped rows up to what
+         * {@code consumer} has received: each snapshot is passed with +1 to
+         * add it or -1 to remove it. Call under the consumer's lock, just
+         * before installing the state.
+         */
+        public void replay(Object consumer, ObjIntConsumer<ExpenseSnapshot> apply) {
+            synchronized (PendingExpenseWrites.this) {
+                for (Map.Entry<Long, List<Write>> entry : touched.entrySet()) {
+                    Long id = entry.getKey();
+                    List<Write> writes = entry.getValue();
+                    // A row read before it was touched is already in the state; otherwise start from before the first write
+                    if (progressAtFirstTouch.get(id) < id && writes.get(0).event.before() != null) {
+                        apply.accept(writes.get(0).event.before(), 1);
+                    }
+                    for (Write write : writes) {
+                        if (write.consumers.contains(consumer)) {
+                            if (write.event.before() != null) {
+                                apply.accept(write.event.before(), -1);
+                            }
+                            if (write.event.after() != null) {
+                                apply.accept(write.event.after(), 1);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (PendingExpenseWrites.this) {
+                scans.remove(this);
+            }
+        }
+
+        private void touch(Write write) {
+            Long id = write.event.expenseId();
+            touched.computeIfAbsent(id, key -> new ArrayList<>()).add(write);
+            progressAtFirstTouch.putIfAbsent(id, progress);
+        }
+    }
+
+    private static final class Write {
+
+        final ExpenseChangedEvent event;
+        final Set<Object> consumers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Write(ExpenseChangedEvent event) {
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.project.expense_tracker.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Strong ETags for collection and analytics responses, built from the
+ * {@link DataVersions} counters alone so a matching {@code If-None-Match} can
+ * be answered without touching the database.
+ *
+ * The counters live in memory and restart at zero, so every tag carries a
+ * per-process prefix; a restart or another instance simply yields a miss.
+ */
+@Component
+public class ResourceETags {
+
+    private final DataVersions dataVersions;
+    private final String instance = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    @Autowired
+    public ResourceETags(DataVersions dataVersions) {
+        this.dataVersions = dataVersions;
+    }
+
+    /**
+     * For responses built from expenses; they also show category names.
+     */
+    public String expenses() {
+        return "\"" + instance + "-e" + dataVersions.expenseVersion() + "-c" + dataVersions.categoryVersion() + "\"";
+    }
+
+    /**
+     * For expense responses relative to today, like the daily trend.
+     */
+    public String expenses(LocalDate today) {
+        return "\"" + instance + "-e" + dataVersions.expenseVersion() + "-c" + dataVersions.categoryVersion()
+                + "-d" + today.toEpochDay() + "\"";
+    }
+
+    /**
+     * For one representation of expenses, such as a sparse fieldset; the
+     * variant keeps each representation's tag distinct.
+     */
+    public String expenses(String variant) {
+        return "\"" + instance + "-e" + dataVersions.expenseVersion() + "-c" + dataVersions.categoryVersion()
+                + "-" + variant + "\"";
+    }
+
+    public String categories() {
+        return "\"" + instance + "-c" + dataVersions.categoryVersion() + "\"";
+    }
+}
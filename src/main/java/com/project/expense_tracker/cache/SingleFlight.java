@@ -0,0 +1,96 @@
+package com.project.expense_tracker.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical computations into one.
+ *
+ * The first caller for a key computes on its own thread; callers arriving
+ * while it runs wait on the same future and get its result or its exception.
+ * A successful result stays shareable for a short linger window afterwards,
+ * so a burst spread over a few milliseconds still computes once. Keys must
+ * capture everything the result depends on, data versions included, since
+ * lingering results are handed out without recomputing.
+ */
+@Component
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+    private final Executor release;
+    private final Map<Object, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final Map<String, Counter> savedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> computedCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${expense.coalesce.linger-ms:20}") long lingerMillis) {
+        if (lingerMillis < 0) {
+            throw new IllegalArgumentException("expense.coalesce.linger-ms must not be negative");
+        }
+        this.meterRegistry = meterRegistry;
+        this.release = lingerMillis == 0
+                ? Runnable::run
+                : CompletableFuture.delayedExecutor(lingerMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The result of {@code compute} for {@code key}, shared with every caller
+     * asking for the same key while it runs or lingers. {@code operation}
+     * names the metrics.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> compute) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = flights.putIfAbsent(key, mine);
+        if (existing != null) {
+            counter(savedCounters, "expense.coalesce.saved", operation).increment();
+            return (T) await(existing);
+        }
+
+        counter(computedCounters, "expense.coalesce.computed", operation).increment();
+        T value;
+        try {
+            value = compute.get();
+        } catch (RuntimeException | Error ex) {
+            // Waiters get the failure; later callers try again
+            flights.remove(key, mine);
+            mine.completeExceptionally(ex);
+            throw ex;
+        }
+        mine.complete(value);
+        release.execute(() -> flights.remove(key, mine));
+        return value;
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String operation) {
+        return counters.computeIfAbsent(operation, op -> Counter.builder(name)
+                .tag("operation", op)
+                .register(meterRegistry));
+    }
+}
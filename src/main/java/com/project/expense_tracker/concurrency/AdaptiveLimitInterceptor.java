@@ -0,0 +1,107 @@
+package com.project.expense_tracker.concurrency;
+
+import com.project.expense_tracker.exception.ServerBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sheds load on the expensive endpoints, those in the search and analytics
+ * bulkheads, with a concurrency limit per endpoint that adapts to the
+ * latency it observes.
+ *
+ * A fixed limit is right for one data size only; as the table grows each
+ * request takes longer and the same limit queues more. Each endpoint gets a
+ * {@link VegasLimit} instead, and requests beyond it are answered 503 with
+ * Retry-After straight away. CRUD endpoints are left to their bulkhead.
+ * Only full responses are sampled: failures, 304s and client errors are
+ * released without a latency.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.adaptive-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveLimitInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED = AdaptiveLimitInterceptor.class.getName() + ".ADMITTED";
+
+    private final MeterRegistry meterRegistry;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final int probeInterval;
+    private final long retryAfterSeconds;
+    private final Map<Method, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AdaptiveLimitInterceptor(MeterRegistry meterRegistry,
+                                    @Value("${expense.adaptive-limit.initial-limit:20}") int initialLimit,
+                                    @Value("${expense.adaptive-limit.min-limit:1}") int minLimit,
+                                    @Value("${expense.adaptive-limit.max-limit:200}") int maxLimit,
+                                    @Value("${expense.adaptive-limit.window-size:20}") int windowSize,
+                                    @Value("${expense.adaptive-limit.probe-interval:100}") int probeInterval,
+                                    @Value("${expense.adaptive-limit.retry-after-seconds:1}") long retryAfterSeconds) {
+        // Fails fast on bad settings rather than on the first request
+        new VegasLimit(initialLimit, minLimit, maxLimit, windowSize, probeInterval);
+        this.meterRegistry = meterRegistry;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.probeInterval = probeInterval;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || BulkheadInterceptor.typeOf(method) == BulkheadType.CRUD) {
+            return true;
+        }
+        AdaptiveLimiter limiter = limiters.computeIfAbsent(method.getMethod(), m -> new AdaptiveLimiter(
+                endpoint(request, method),
+                new VegasLimit(initialLimit, minLimit, maxLimit, windowSize, probeInterval),
+                meterRegistry));
+        if (!limiter.tryAcquire()) {
+            throw new ServerBusyException("Too many concurrent requests to this endpoint", retryAfterSeconds);
+        }
+        request.setAttribute(ADMITTED, new Admission(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ADMITTED) instanceof Admission admission) {
+            request.removeAttribute(ADMITTED);
+            int status = response.getStatus();
+            boolean failed = ex != null || status >= 500;
+            // A 304 or a client error ends before the endpoint's real work; its latency would drag the baseline down
+            boolean shortCircuited = status == HttpServletResponse.SC_NOT_MODIFIED || (status >= 400 && status < 500);
+            admission.limiter().release(failed || shortCircuited ? -1 : System.nanoTime() - admission.startedNanos());
+        }
+    }
+
+    AdaptiveLimiter limiter(Method method) {
+        return limiters.get(method);
+    }
+
+    private static String endpoint(HttpServletRequest request, HandlerMethod method) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null
+                ? pattern.toString()
+                : method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+    }
+
+    private record Admission(AdaptiveLimiter limiter, long startedNanos) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.expense_tracker.concurrency;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Ahead of the bulkheads, so a shed request never waits in a bulkhead queue first
+@Configuration
+@ConditionalOnProperty(name = "expense.adaptive-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveLimitWebConfig implements WebMvcConfigurer {
+
+    private final AdaptiveLimitInterceptor adaptiveLimitInterceptor;
+
+    @Autowired
+    public AdaptiveLimitWebConfig(AdaptiveLimitInterceptor adaptiveLimitInterceptor) {
+        this.adaptiveLimitInterceptor = adaptiveLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adaptiveLimitInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/live", "/api/live/**")
+                .order(BulkheadWebConfig.ORDER - 1);
+    }
+}
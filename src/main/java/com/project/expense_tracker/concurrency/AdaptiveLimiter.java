@@ -0,0 +1,88 @@
+package com.project.expense_tracker.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits requests to one endpoint while fewer than its {@link VegasLimit}
+ * are in flight, and feeds each admitted request's latency back into it.
+ * Requests over the limit are refused at once rather than queued: queueing
+ * is the latency the limit exists to prevent.
+ */
+public class AdaptiveLimiter {
+
+    private final VegasLimit limit;
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int currentLimit;
+    private final Counter rejected;
+
+    public AdaptiveLimiter(String endpoint, VegasLimit limit, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.currentLimit = limit.getLimit();
+        this.rejected = Counter.builder("expense.limiter.rejected")
+                .description("Requests shed because the endpoint was at its adaptive limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("expense.limiter.limit", this, AdaptiveLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("expense.limiter.in_flight", inFlight, AtomicInteger::get)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot if the endpoint is under its limit. Every true must be
+     * paired with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > currentLimit) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Frees the slot; {@code rttNanos} is the request's latency, or negative
+     * when it failed or was answered early and says nothing about how loaded
+     * the endpoint is.
+     */
+    public void release(long rttNanos) {
+        int running = inFlight.getAndDecrement();
+        if (rttNanos < 0) {
+            return;
+        }
+        sampleLock.lock();
+        try {
+            limit.onSample(rttNanos, running);
+            currentLimit = limit.getLimit();
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getNoLoadRttNanos() {
+        sampleLock.lock();
+        try {
+            return limit.getNoLoadRttNanos();
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.expense_tracker.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit with a bounded queue in front of it.
+ *
+ * A caller gets in at once while there is room, otherwise joins the queue
+ * and waits up to the bulkhead's wait. A caller that finds the queue full is
+ * refused straight away without waiting at all.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waits;
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, long maxWaitMillis, MeterRegistry meterRegistry) {
+        if (maxConcurrent < 1 || maxQueue < 0 || maxWaitMillis < 0) {
+            throw new IllegalArgumentException("Bulkhead " + name
+                    + " needs max-concurrent >= 1, max-queue >= 0 and max-wait-ms >= 0");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waits = Timer.builder("expense.bulkhead.wait")
+                .description("Time requests queued before entering the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        this.queueFull = rejections(meterRegistry, "queue_full");
+        this.timedOut = rejections(meterRegistry, "timeout");
+        Gauge.builder("expense.bulkhead.active", this, Bulkhead::active)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("expense.bulkhead.queued", waiting, AtomicInteger::get)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("expense.bulkhead.utilization", this, bulkhead -> (double) bulkhead.active() / bulkhead.maxConcurrent)
+                .description("Share of the bulkhead's concurrency limit in use")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enters the bulkhead, waiting in the queue if need be; false when the
+     * queue is full or the wait ran out. Every true must be paired with
+     * {@link #exit()}.
+     */
+    public boolean tryEnter() {
+        return tryEnter(1);
+    }
+
+    /**
+     * Enters with {@code count} permits at once, for a caller that holds
+     * several connections; capped at the limit so it can always get in.
+     * Every true must be paired with {@link #exit(int)} with the same count.
+     */
+    public boolean tryEnter(int count) {
+        int needed = Math.min(count, maxConcurrent);
+        try {
+            // Zero-timeout tryAcquire keeps the semaphore's fairness, unlike tryAcquire()
+            if (permits.tryAcquire(needed, 0, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            if (waiting.incrementAndGet() > maxQueue) {
+                waiting.decrementAndGet();
+                queueFull.increment();
+                return false;
+            }
+            long started = System.nanoTime();
+            try {
+                if (permits.tryAcquire(needed, maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                    return true;
+                }
+            } finally {
+                waiting.decrementAndGet();
+                waits.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        timedOut.increment();
+        return false;
+    }
+
+    public void exit() {
+        exit(1);
+    }
+
+    public void exit(int count) {
+        permits.release(Math.min(count, maxConcurrent));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int queued() {
+        return waiting.get();
+    }
+
+    private Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("expense.bulkhead.rejected")
+                .description("Requests refused by a saturated bulkhead")
+                .tag("bulkhead", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
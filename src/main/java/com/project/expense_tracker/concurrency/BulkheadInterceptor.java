@@ -0,0 +1,121 @@
+package com.project.expense_tracker.concurrency;
+
+import com.project.expense_tracker.exception.ServerBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs each request in the bulkhead of its endpoint class, so a burst of
+ * heavy analytics or search requests saturates only its own bulkhead and
+ * single-expense lookups keep getting through.
+ *
+ * Requests hold their connection until they finish (open session in view),
+ * so the bulkheads also split the connection pool. A handler that holds more
+ * connections at once, like the dashboard with its concurrent sections, takes
+ * one permit per connection ({@link UsesBulkhead#connections()}); while the
+ * limits add up to no more than the pool, each class has connections no
+ * other class's requests can take. Limits come from
+ * {@code expense.bulkhead.<type>.max-concurrent}, {@code .max-queue} and
+ * {@code .max-wait-ms}, defaulting to those of {@link BulkheadType}.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.bulkheads.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkheadInterceptor.class);
+
+    private static final String ENTERED = BulkheadInterceptor.class.getName() + ".ENTERED";
+    private static final String CONNECTIONS = BulkheadInterceptor.class.getName() + ".CONNECTIONS";
+
+    private final Map<BulkheadType, Bulkhead> bulkheads = new EnumMap<>(BulkheadType.class);
+    private final Environment environment;
+    private final Map<HandlerMethod, Integer> connections = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BulkheadInterceptor(MeterRegistry meterRegistry, Environment environment) {
+        this.environment = environment;
+        int reserved = 0;
+        for (BulkheadType type : BulkheadType.values()) {
+            String prefix = "expense.bulkhead." + type.key() + ".";
+            Bulkhead bulkhead = new Bulkhead(type.key(),
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, type.getMaxConcurrent()),
+                    environment.getProperty(prefix + "max-queue", Integer.class, type.getMaxQueue()),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class, type.getMaxWaitMillis()),
+                    meterRegistry);
+            bulkheads.put(type, bulkhead);
+            reserved += bulkhead.getMaxConcurrent();
+        }
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        if (reserved > poolSize) {
+            log.warn("Bulkhead limits add up to {} but the connection pool has {}; "
+                    + "a saturated bulkhead can still starve the others of connections", reserved, poolSize);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        Bulkhead bulkhead = bulkheads.get(typeOf(method));
+        int count = connections.computeIfAbsent(method, this::connectionsOf);
+        if (!bulkhead.tryEnter(count)) {
+            throw new ServerBusyException("The " + bulkhead.getName() + " bulkhead is saturated");
+        }
+        request.setAttribute(ENTERED, bulkhead);
+        request.setAttribute(CONNECTIONS, count);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ENTERED) instanceof Bulkhead bulkhead) {
+            request.removeAttribute(ENTERED);
+            bulkhead.exit((Integer) request.getAttribute(CONNECTIONS));
+        }
+    }
+
+    public Bulkhead bulkhead(BulkheadType type) {
+        return bulkheads.get(type);
+    }
+
+    static BulkheadType typeOf(HandlerMethod method) {
+        UsesBulkhead annotation = annotationOf(method);
+        return annotation == null ? BulkheadType.CRUD : annotation.value();
+    }
+
+    int connectionsOf(HandlerMethod method) {
+        UsesBulkhead annotation = annotationOf(method);
+        if (annotation == null) {
+            return 1;
+        }
+        int count = Integer.parseInt(environment.resolveRequiredPlaceholders(annotation.connections()).trim());
+        if (count < 1) {
+            throw new IllegalStateException("@UsesBulkhead connections must be positive on " + method);
+        }
+        return count;
+    }
+
+    private static UsesBulkhead annotationOf(HandlerMethod method) {
+        UsesBulkhead annotation = method.getMethodAnnotation(UsesBulkhead.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), UsesBulkhead.class);
+        }
+        return annotation;
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.expense_tracker.concurrency;
+
+/**
+ * Classes of endpoint that get their own bulkhead, with the default limits
+ * each starts from. Limits are in connections, and the defaults add up to
+ * the 10 of the default Hikari pool, so requests in one class cannot take
+ * the connections of another. Connections used outside request handling,
+ * such as index loads on listener threads and live budget checks, are not
+ * counted against any class.
+ */
+public enum BulkheadType {
+
+    // Lookups and writes of single expenses and categories; must stay responsive
+    CRUD(5, 100, 1000),
+    // Keyword, fuzzy, tag and structured queries that scan more rows
+    SEARCH(2, 10, 250),
+    // Aggregations over the whole table; shed first under load
+    ANALYTICS(3, 5, 100);
+
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitMillis;
+
+    BulkheadType(int maxConcurrent, int maxQueue, long maxWaitMillis) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    // Name used in property keys and metric tags
+    public String key() {
+        return name().toLowerCase();
+    }
+}
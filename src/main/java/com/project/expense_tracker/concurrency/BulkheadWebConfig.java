@@ -0,0 +1,31 @@
+package com.project.expense_tracker.concurrency;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Live streams are left out: they stay open for minutes and hold no connection
+@Configuration
+@ConditionalOnProperty(name = "expense.bulkheads.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadWebConfig implements WebMvcConfigurer {
+
+    // Ahead of the JDBC gate, so a saturated bulkhead is refused without queueing there
+    static final int ORDER = 0;
+
+    private final BulkheadInterceptor bulkheadInterceptor;
+
+    @Autowired
+    public BulkheadWebConfig(BulkheadInterceptor bulkheadInterceptor) {
+        this.bulkheadInterceptor = bulkheadInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(bulkheadInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/live", "/api/live/**")
+                .order(ORDER);
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.expense_tracker.concurrency;
+
+import com.project.expense_tracker.exception.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits at most as many expense and category requests as there are pooled
+ * JDBC connections.
+ *
+ * On virtual threads Tomcat no longer caps concurrency at its worker pool, so
+ * thousands of requests can reach the connection pool at once and time out
+ * inside it. Requests hold their connection until they finish (open session
+ * in view), so the gate holds a permit for the whole request. Waiters queue
+ * fairly on the semaphore and are turned away with 503 after a bounded wait.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.jdbc-gate.enabled", havingValue = "true")
+public class JdbcAdmissionGate implements HandlerInterceptor {
+
+    private static final String PERMIT = JdbcAdmissionGate.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final int capacity;
+    private final long maxWaitNanos;
+    private final Timer waits;
+    private final Counter rejected;
+
+    @Autowired
+    public JdbcAdmissionGate(MeterRegistry meterRegistry,
+                             @Value("${expense.jdbc-gate.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                             @Value("${expense.jdbc-gate.max-wait-ms:1000}") long maxWaitMillis) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("expense.jdbc-gate.permits must be positive");
+        }
+        this.permits = new Semaphore(permits, true);
+        this.capacity = permits;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.waits = Timer.builder("expense.jdbc_gate.wait")
+                .description("Time requests waited for a connection permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("expense.jdbc_gate.rejected")
+                .description("Requests turned away after waiting the longest allowed")
+                .register(meterRegistry);
+        Gauge.builder("expense.jdbc_gate.in_use", this.permits, gate -> capacity - gate.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("expense.jdbc_gate.waiting", this.permits, Semaphore::getQueueLength)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waits.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new ServerBusyException();
+        }
+        request.setAttribute(PERMIT, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT) != null) {
+            request.removeAttribute(PERMIT);
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
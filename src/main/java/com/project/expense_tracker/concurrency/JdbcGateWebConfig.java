@@ -0,0 +1,27 @@
+package com.project.expense_tracker.concurrency;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// The gate covers the controllers that hit the database on most requests
+@Configuration
+@ConditionalOnProperty(name = "expense.jdbc-gate.enabled", havingValue = "true")
+public class JdbcGateWebConfig implements WebMvcConfigurer {
+
+    private final JdbcAdmissionGate jdbcAdmissionGate;
+
+    @Autowired
+    public JdbcGateWebConfig(JdbcAdmissionGate jdbcAdmissionGate) {
+        this.jdbcAdmissionGate = jdbcAdmissionGate;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(jdbcAdmissionGate)
+                .addPathPatterns("/api/expenses", "/api/expenses/**", "/api/categories", "/api/categories/**")
+                .order(BulkheadWebConfig.ORDER + 1);
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.expense_tracker.concurrency;
+
+import java.lang.annotation.*;
+
+/**
+ * Puts a handler method, or every handler of a controller, in a bulkhead.
+ * Handlers without it run in {@link BulkheadType#CRUD}.
+ *
+ * Bulkhead permits are counted in connections: a handler that holds more
+ * than its request's own connection at once says how many in
+ * {@link #connections()}, and takes that many permits.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsesBulkhead {
+
+    BulkheadType value();
+
+    /**
+     * Connections the handler holds at once; may be a property placeholder
+     * such as {@code "${expense.dashboard.max-connections:2}"}.
+     */
+    String connections() default "1";
+}
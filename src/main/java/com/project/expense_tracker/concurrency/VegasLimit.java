@@ -0,0 +1,109 @@
+package com.project.expense_tracker.concurrency;
+
+/**
+ * A concurrency limit that follows measured latency, after TCP Vegas.
+ *
+ * Latency is sampled in windows of completed requests. Comparing a window's
+ * average with the no-load latency estimates how many requests are queued
+ * rather than being served: {@code limit * (1 - noLoad / average)}. Fewer
+ * than alpha queued and the limit grows; more than beta and it shrinks. Both
+ * thresholds scale with log10 of the limit, so large limits move in larger
+ * steps.
+ *
+ * The no-load latency is the lowest window latency seen. It is measured
+ * again every {@code probeInterval} windows, so it follows the data as it
+ * grows. For that one window the limit is halved, so queues drain and the
+ * window sees requests served without waiting; otherwise a re-measured
+ * baseline would include the queueing it is meant to detect, and the limit
+ * would ratchet up under sustained overload.
+ *
+ * Not thread safe; {@link AdaptiveLimiter} serializes samples.
+ */
+public class VegasLimit {
+
+    private static final double ALPHA = 3;
+    private static final double BETA = 6;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final int probeInterval;
+
+    private double limit;
+    private long noLoadRttNanos = Long.MAX_VALUE;
+
+    private long windowRttSum;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private int windows;
+    private double limitBeforeProbe = -1;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, int windowSize, int probeInterval) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (windowSize < 1 || probeInterval < 2) {
+            throw new IllegalArgumentException("Window size must be positive and the probe interval at least 2");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.probeInterval = probeInterval;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Records a completed request that took {@code rttNanos} while
+     * {@code inFlight} requests, itself included, were running.
+     */
+    public void onSample(long rttNanos, int inFlight) {
+        windowRttSum += rttNanos;
+        windowMinRtt = Math.min(windowMinRtt, rttNanos);
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        if (++windowSamples < windowSize) {
+            return;
+        }
+        long averageRtt = windowRttSum / windowSamples;
+        long minRtt = windowMinRtt;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowMinRtt = Long.MAX_VALUE;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        if (limitBeforeProbe > 0) {
+            // The drained window: its fastest request is the new no-load latency
+            noLoadRttNanos = minRtt;
+            limit = limitBeforeProbe;
+            limitBeforeProbe = -1;
+            return;
+        }
+        if (++windows % probeInterval == 0) {
+            limitBeforeProbe = limit;
+            limit = Math.max(minLimit, limit / 2);
+            return;
+        }
+        noLoadRttNanos = Math.min(noLoadRttNanos, minRtt);
+        adjust(averageRtt, maxInFlight);
+    }
+
+    private void adjust(long averageRtt, int maxInFlight) {
+        double step = Math.max(1, Math.log10(limit));
+        double queued = limit * (1 - (double) noLoadRttNanos / averageRtt);
+        if (queued > BETA * step) {
+            limit = Math.max(minLimit, limit - step);
+        } else if (queued < ALPHA * step && maxInFlight * 2 >= (int) limit) {
+            // Only grow a limit that is actually being used
+            limit = Math.min(maxLimit, limit + step);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public long getNoLoadRttNanos() {
+        return noLoadRttNanos;
+    }
+}
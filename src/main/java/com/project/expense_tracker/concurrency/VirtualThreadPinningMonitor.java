@@ -0,0 +1,106 @@
+package com.project.expense_tracker.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier, which
+ * on Java 21 happens when they park inside a {@code synchronized} block or a
+ * native frame. A pinned thread holds a carrier for the whole wait and can
+ * starve every other virtual thread.
+ *
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event in process and
+ * attributes each one to the innermost frame of our own code, falling back to
+ * "other" for pins entirely inside libraries. Each site is counted and its
+ * first occurrence logged with the stack.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String APPLICATION_PACKAGE = "com.project.expense_tracker.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final RecordingStream stream = new RecordingStream();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${expense.vthreads.pinning-threshold-ms:20}") long thresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        stream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(thresholdMillis))
+                .withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String site = site(stackTrace);
+        counters.computeIfAbsent(site, s -> Counter.builder("expense.vthreads.pinned")
+                        .description("Virtual threads that blocked while pinned to their carrier")
+                        .tag("site", s)
+                        .register(meterRegistry))
+                .increment();
+        if (reported.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), site,
+                    describe(stackTrace));
+        }
+    }
+
+    static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (type.startsWith(APPLICATION_PACKAGE)) {
+                    return type.substring(APPLICATION_PACKAGE.length()) + "." + frame.getMethod().getName();
+                }
+            }
+        }
+        return "other";
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder frames = new StringBuilder();
+        int shown = 0;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (shown++ == LOGGED_FRAMES) {
+                frames.append(System.lineSeparator()).append("\t...");
+                break;
+            }
+            frames.append(System.lineSeparator()).append("\tat ")
+                    .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        return frames.toString();
+    }
+}
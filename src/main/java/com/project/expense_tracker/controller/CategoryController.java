@@ -1,5 +1,8 @@
 package com.project.expense_tracker.controller;
 
+import com.project.expense_tracker.cache.ResourceETags;
+import com.project.expense_tracker.concurrency.BulkheadType;
+import com.project.expense_tracker.concurrency.UsesBulkhead;
 import com.project.expense_tracker.dto.*;
 import com.project.expense_tracker.service.CategoryService;
 import jakarta.validation.Valid;
@@ -7,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,15 +20,23 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ResourceETags resourceETags;
 
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, ResourceETags resourceETags) {
         this.categoryService = categoryService;
+        this.resourceETags = resourceETags;
     }
 
     @GetMapping
-    public ResponseEntity<List<CategorySummaryResponse>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategorySummaryResponse>> getAllCategories(WebRequest request) {
+        return ConditionalResponses.ifModified(request, resourceETags.categories(), categoryService::getAllCategories);
+    }
+
+    // Multi-get, e.g. ids=3,1,2: one item per id in the order given, each holding the category or a 404 marker
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<MultiGetItem<CategoryResponse>>> getCategoriesByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(categoryService.getCategoriesByIds(ids));
     }
 
     @GetMapping("/{id}")
@@ -54,14 +66,16 @@ public class CategoryController {
     }
 
     @GetMapping("/search")
+    @UsesBulkhead(BulkheadType.SEARCH)
     public ResponseEntity<List<CategorySummaryResponse>> searchCategories(
             @RequestParam String keyword) {
         return ResponseEntity.ok(categoryService.searchCategories(keyword));
     }
 
     @GetMapping("/ordered")
-    public ResponseEntity<List<CategorySummaryResponse>> getCategoriesOrdered() {
-        return ResponseEntity.ok(categoryService.getCategoriesOrderedByName());
+    public ResponseEntity<List<CategorySummaryResponse>> getCategoriesOrdered(WebRequest request) {
+        return ConditionalResponses.ifModified(request, resourceETags.categories(),
+                categoryService::getCategoriesOrderedByName);
     }
 
     @GetMapping("/unused")
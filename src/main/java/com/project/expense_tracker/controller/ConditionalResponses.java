@@ -0,0 +1,28 @@
+package com.project.expense_tracker.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET handling shared by the controllers. A matching
+ * {@code If-None-Match} is answered from the ETag alone, so the body's
+ * supplier (and with it the service and the database) is never reached.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Returns {@code null} once {@link WebRequest#checkNotModified} has set
+     * up the 304, otherwise a 200 with the supplied body and the ETag.
+     */
+    static <T> ResponseEntity<T> ifModified(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok(body.get());
+    }
+}
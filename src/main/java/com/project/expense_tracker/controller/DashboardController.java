@@ -0,0 +1,29 @@
+package com.project.expense_tracker.controller;
+
+import com.project.expense_tracker.concurrency.BulkheadType;
+import com.project.expense_tracker.concurrency.UsesBulkhead;
+import com.project.expense_tracker.dto.DashboardResponse;
+import com.project.expense_tracker.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+// Its sections run concurrently, each on a connection of its own
+@UsesBulkhead(value = BulkheadType.ANALYTICS, connections = "${expense.dashboard.max-connections:2}")
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @Autowired
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard() {
+        return ResponseEntity.ok(dashboardService.getDashboard());
+    }
+}
@@ -1,21 +1,37 @@
 package com.project.expense_tracker.controller;
 
+import com.project.expense_tracker.cache.ResourceETags;
+import com.project.expense_tracker.concurrency.BulkheadType;
+import com.project.expense_tracker.concurrency.UsesBulkhead;
+import com.project.expense_tracker.dto.CategoryBreakdownResponse;
 import com.project.expense_tracker.dto.CreateExpenseRequest;
+import com.project.expense_tracker.dto.ExpenseChangesResponse;
+import com.project.expense_tracker.dto.ExpenseQueryRequest;
+import com.project.expense_tracker.dto.ExpenseQueryResponse;
 import com.project.expense_tracker.dto.ExpenseResponse;
 import com.project.expense_tracker.dto.ExpenseSummaryResponse;
+import com.project.expense_tracker.dto.FuzzyMatchResponse;
+import com.project.expense_tracker.dto.MultiGetItem;
+import com.project.expense_tracker.dto.SpendDistributionResponse;
+import com.project.expense_tracker.dto.TagStatsResponse;
 import com.project.expense_tracker.dto.UpdateExpenseRequest;
+import com.project.expense_tracker.service.ExpenseFieldProjection;
 import com.project.expense_tracker.service.ExpenseService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/expenses")
@@ -23,20 +39,47 @@ import java.util.Map;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ResourceETags resourceETags;
 
     @Autowired
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(ExpenseService expenseService, ResourceETags resourceETags) {
         this.expenseService = expenseService;
+        this.resourceETags = resourceETags;
     }
 
+    /**
+     * With {@code fields}, e.g. {@code fields=amount,expenseDate}, each row
+     * holds only those fields (and the id) and only their columns are read.
+     */
     @GetMapping
-    public ResponseEntity<List<ExpenseSummaryResponse>> getAllExpenses() {
-        return ResponseEntity.ok(expenseService.getAllExpenses());
+    public ResponseEntity<List<?>> getAllExpenses(
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (fields == null) {
+            return ConditionalResponses.ifModified(request, resourceETags.expenses(), expenseService::getAllExpenses);
+        }
+        Set<ExpenseFieldProjection.Field> requested = ExpenseFieldProjection.parse(fields);
+        return ConditionalResponses.ifModified(request, resourceETags.expenses(ExpenseFieldProjection.key(requested)),
+                () -> expenseService.getAllExpenses(requested));
+    }
+
+    /**
+     * Multi-get, e.g. {@code ids=3,1,2}: one item per id in the order given,
+     * each holding the expense or a 404 marker, from a few chunked IN queries.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<MultiGetItem<ExpenseResponse>>> getExpensesByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(expenseService.getExpensesByIds(ids));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ExpenseResponse> getExpenseById(@PathVariable Long id) {
-        return ResponseEntity.ok(expenseService.getExpenseById(id));
+    public ResponseEntity<?> getExpenseById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(expenseService.getExpenseById(id));
+        }
+        return ResponseEntity.ok(expenseService.getExpenseById(id, ExpenseFieldProjection.parse(fields)));
     }
 
     @PostMapping
@@ -67,68 +110,180 @@ public class ExpenseController {
     }
 
     @GetMapping("/date-range")
+    @UsesBulkhead(BulkheadType.SEARCH)
     public ResponseEntity<List<ExpenseSummaryResponse>> getExpensesByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         return ResponseEntity.ok(expenseService.getExpensesByDateRange(startDate, endDate));
     }
 
+    /**
+     * One page of matches, 50 by default; the X-Total-Count header carries
+     * the number of matches across all pages.
+     */
     @GetMapping("/search")
+    @UsesBulkhead(BulkheadType.SEARCH)
     public ResponseEntity<List<ExpenseSummaryResponse>> searchExpenses(
-            @RequestParam String keyword) {
-        return ResponseEntity.ok(expenseService.searchExpenses(keyword));
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return pageOf(expenseService.searchExpenses(keyword, page, size));
+    }
+
+    @PostMapping("/query")
+    @UsesBulkhead(BulkheadType.SEARCH)
+    public ResponseEntity<ExpenseQueryResponse> queryExpenses(@RequestBody ExpenseQueryRequest request) {
+        return ResponseEntity.ok(expenseService.queryExpenses(request));
+    }
+
+    @GetMapping("/search/fuzzy")
+    @UsesBulkhead(BulkheadType.SEARCH)
+    public ResponseEntity<List<FuzzyMatchResponse>> fuzzySearch(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0.3") double threshold,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(expenseService.fuzzySearch(keyword, threshold, limit));
+    }
+
+    @GetMapping("/tagged")
+    @UsesBulkhead(BulkheadType.SEARCH)
+    public ResponseEntity<List<ExpenseSummaryResponse>> getExpensesByTags(
+            @RequestParam(required = false) Set<String> all,
+            @RequestParam(required = false) Set<String> any,
+            @RequestParam(required = false) Set<String> none,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(expenseService.getExpensesByTags(
+                all, any, none, categoryId, startDate, endDate, page, size));
+    }
+
+    @GetMapping("/tags")
+    @UsesBulkhead(BulkheadType.ANALYTICS)
+    public ResponseEntity<List<TagStatsResponse>> getTagStats() {
+        return ResponseEntity.ok(expenseService.getTagStats());
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Object>> getSummary() {
-        return ResponseEntity.ok(expenseService.getExpenseSummary());
+    @UsesBulkhead(BulkheadType.ANALYTICS)
+    public ResponseEntity<Map<String, Object>> getSummary(WebRequest request) {
+        return ConditionalResponses.ifModified(request, resourceETags.expenses(), expenseService::getExpenseSummary);
     }
 
     @GetMapping("/category/{categoryId}/total")
+    @UsesBulkhead(BulkheadType.ANALYTICS)
     public ResponseEntity<BigDecimal> getTotalByCategory(@PathVariable Long categoryId) {
         return ResponseEntity.ok(expenseService.getTotalByCategory(categoryId));
     }
 
     @GetMapping("/monthly")
-    public ResponseEntity<Map<String, BigDecimal>> getMonthlyExpenses() {
-        return ResponseEntity.ok(expenseService.getMonthlyExpenses());
+    @UsesBulkhead(BulkheadType.ANALYTICS)
+    public ResponseEntity<Map<String, BigDecimal>> getMonthlyExpenses(WebRequest request) {
+        return ConditionalResponses.ifModified(request, resourceETags.expenses(), expenseService::getMonthlyExpenses);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ExpenseChangesResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(expenseService.getChanges(since, limit));
     }
 
     @GetMapping("/top")
+    @UsesBulkhead(BulkheadType.ANALYTICS)
     public ResponseEntity<List<ExpenseSummaryResponse>> getTopExpenses(
             @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(expenseService.getTopExpenses(limit));
     }
 
+    @GetMapping("/category/{categoryId}/top")
+    @UsesBulkhead(BulkheadType.ANALYTICS)
+    public ResponseEntity<List<ExpenseSummaryResponse>> getTopExpensesByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(expenseService.getTopExpensesByCategory(categoryId, limit));
+    }
+
     @GetMapping("/above-average")
+    @UsesBulkhead(BulkheadType.ANALYTICS)
     public ResponseEntity<List<ExpenseSummaryResponse>> getExpensesAboveAverage() {
         return ResponseEntity.ok(expenseService.getExpensesAboveAverage());
     }
 
+    @GetMapping("/above-quantile")
+    @UsesBulkhead(BulkheadType.ANALYTICS)
+    public ResponseEntity<List<ExpenseSummaryResponse>> getExpensesAboveQuantile(
+            @RequestParam(defaultValue = "0.9") double quantile,
+            @RequestParam(required = false) Long categoryId) {
+        return ResponseEntity.ok(expenseService.getExpensesAboveQuantile(quantile, categoryId));
+    }
+
+    @GetMapping("/distribution")
+    @UsesBulkhead(BulkheadType.ANALYTICS)
+    public ResponseEntity<SpendDistributionResponse> getSpendDistribution(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) List<Double> quantiles) {
+        return ResponseEntity.ok(expenseService.getSpendDistribution(categoryId, month, quantiles));
+    }
+
     @GetMapping("/current-month")
     public ResponseEntity<List<ExpenseSummaryResponse>> getCurrentMonthExpenses() {
         return ResponseEntity.ok(expenseService.getCurrentMonthExpenses());
     }
 
     @GetMapping("/detailed-stats")
+    @UsesBulkhead(BulkheadType.ANALYTICS)
     public ResponseEntity<List<Map<String, Object>>> getDetailedStats(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return ResponseEntity.ok(expenseService.getDetailedStatsByDateRange(startDate, endDate));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
+        return ConditionalResponses.ifModified(request, resourceETags.expenses(),
+                () -> expenseService.getDetailedStatsByDateRange(startDate, endDate));
     }
 
     @GetMapping("/daily-trend")
-    public ResponseEntity<List<Map<String, Object>>> getDailyTrend() {
-        return ResponseEntity.ok(expenseService.getDailySpendingTrend());
+    @UsesBulkhead(BulkheadType.ANALYTICS)
+    public ResponseEntity<List<Map<String, Object>>> getDailyTrend(WebRequest request) {
+        return ConditionalResponses.ifModified(request, resourceETags.expenses(LocalDate.now()),
+                expenseService::getDailySpendingTrend);
     }
 
+    @GetMapping("/rolling")
+    @UsesBulkhead(BulkheadType.ANALYTICS)
+    public ResponseEntity<Map<String, BigDecimal>> getRollingTotals(
+            @RequestParam(required = false) Long categoryId) {
+        return ResponseEntity.ok(expenseService.getRollingTotals(categoryId));
+    }
+
+    // Paged like /search
     @GetMapping("/search-all")
-    public ResponseEntity<List<ExpenseSummaryResponse>> searchAll(@RequestParam String keyword) {
-        return ResponseEntity.ok(expenseService.searchAll(keyword));
+    @UsesBulkhead(BulkheadType.SEARCH)
+    public ResponseEntity<List<ExpenseSummaryResponse>> searchAll(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return pageOf(expenseService.searchAll(keyword, page, size));
     }
 
     @GetMapping("/category-breakdown")
-    public ResponseEntity<List<Map<String, Object>>> getCategoryBreakdown() {
-        return ResponseEntity.ok(expenseService.getCategoryBreakdown());
+    @UsesBulkhead(BulkheadType.ANALYTICS)
+    public ResponseEntity<List<CategoryBreakdownResponse>> getCategoryBreakdown(WebRequest request) {
+        return ConditionalResponses.ifModified(request, resourceETags.expenses(), expenseService::getCategoryBreakdown);
+    }
+
+    @GetMapping("/top-categories")
+    @UsesBulkhead(BulkheadType.ANALYTICS)
+    public ResponseEntity<List<CategoryBreakdownResponse>> getTopSpendingCategories(
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(expenseService.getTopSpendingCategories(limit));
+    }
+
+    private static <T> ResponseEntity<List<T>> pageOf(Page<T> page) {
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(page.getTotalElements()))
+                .body(page.getContent());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.project.expense_tracker.controller;
+
+import com.project.expense_tracker.live.LiveUpdateBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/live")
+@CrossOrigin(origins = "*")
+public class LiveUpdateController {
+
+    private final LiveUpdateBroadcaster liveUpdateBroadcaster;
+
+    @Autowired
+    public LiveUpdateController(LiveUpdateBroadcaster liveUpdateBroadcaster) {
+        this.liveUpdateBroadcaster = liveUpdateBroadcaster;
+    }
+
+    // Events: "totals", "category" (per-category sums) and "budget" (a monthly budget crossed its limit)
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) Long intervalMs) {
+        return liveUpdateBroadcaster.subscribe(intervalMs);
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.expense_tracker.controller;
+
+import com.project.expense_tracker.concurrency.BulkheadType;
+import com.project.expense_tracker.concurrency.UsesBulkhead;
+import com.project.expense_tracker.dto.SuggestionResponse;
+import com.project.expense_tracker.service.ExpenseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@UsesBulkhead(BulkheadType.SEARCH)
+@RequestMapping("/api/suggest")
+@CrossOrigin(origins = "*")
+public class SuggestionController {
+
+    private final ExpenseService expenseService;
+
+    @Autowired
+    public SuggestionController(ExpenseService expenseService) {
+        this.expenseService = expenseService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(expenseService.getSuggestions(prefix, limit));
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.expense_tracker.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public class BudgetStatusResponse {
+    private Long categoryId;
+    private YearMonth month;
+    private BigDecimal limit;
+    private BigDecimal spent;
+    private boolean exceeded;
+
+    public BudgetStatusResponse() {}
+
+    public BudgetStatusResponse(Long categoryId, YearMonth month, BigDecimal limit, BigDecimal spent,
+                                boolean exceeded) {
+        this.categoryId = categoryId;
+        this.month = month;
+        this.limit = limit;
+        this.spent = spent;
+        this.exceeded = exceeded;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public BigDecimal getLimit() {
+        return limit;
+    }
+
+    public void setLimit(BigDecimal limit) {
+        this.limit = limit;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public void setSpent(BigDecimal spent) {
+        this.spent = spent;
+    }
+
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    public void setExceeded(boolean exceeded) {
+        this.exceeded = exceeded;
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.expense_tracker.dto;
+
+import java.math.BigDecimal;
+
+public class CategoryBreakdownResponse {
+    private Long categoryId;
+    private String category;
+    private String color;
+    private long count;
+    private BigDecimal total;
+    private BigDecimal average;
+
+    public CategoryBreakdownResponse() {}
+
+    public CategoryBreakdownResponse(Long categoryId, String category, String color,
+                                     long count, BigDecimal total, BigDecimal average) {
+        this.categoryId = categoryId;
+        this.category = category;
+        this.color = color;
+        this.count = count;
+        this.total = total;
+        this.average = average;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public void setColor(String color) {
+        this.color = color;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public BigDecimal getAverage() {
+        return average;
+    }
+
+    public void setAverage(BigDecimal average) {
+        this.average = average;
+    }
+}
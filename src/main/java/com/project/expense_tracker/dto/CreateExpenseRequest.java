@@ -4,6 +4,7 @@ import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Set;
 
 public class CreateExpenseRequest {
 
@@ -23,6 +24,10 @@ public class CreateExpenseRequest {
     @PastOrPresent(message = "Expense date cannot be in the future")
     private LocalDate expenseDate;
 
+    // Optional; normalized to lower case
+    @Size(max = 20, message = "An expense can have at most 20 tags")
+    private Set<String> tags;
+
     // Constructors
     public CreateExpenseRequest() {
     }
@@ -66,4 +71,12 @@ public class CreateExpenseRequest {
     public void setExpenseDate(LocalDate expenseDate) {
         this.expenseDate = expenseDate;
     }
-}
\ No newline at end of file
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.expense_tracker.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public class DashboardResponse {
+    private Map<String, Object> summary;
+    private Map<String, BigDecimal> monthly;
+    private List<CategoryBreakdownResponse> categoryBreakdown;
+    private List<Map<String, Object>> dailyTrend;
+    private List<ExpenseSummaryResponse> topExpenses;
+    // Sections that failed or timed out, by name; their fields above are null
+    private Map<String, String> errors;
+
+    public DashboardResponse() {}
+
+    public Map<String, Object> getSummary() {
+        return summary;
+    }
+
+    public void setSummary(Map<String, Object> summary) {
+        this.summary = summary;
+    }
+
+    public Map<String, BigDecimal> getMonthly() {
+        return monthly;
+    }
+
+    public void setMonthly(Map<String, BigDecimal> monthly) {
+        this.monthly = monthly;
+    }
+
+    public List<CategoryBreakdownResponse> getCategoryBreakdown() {
+        return categoryBreakdown;
+    }
+
+    public void setCategoryBreakdown(List<CategoryBreakdownResponse> categoryBreakdown) {
+        this.categoryBreakdown = categoryBreakdown;
+    }
+
+    public List<Map<String, Object>> getDailyTrend() {
+        return dailyTrend;
+    }
+
+    public void setDailyTrend(List<Map<String, Object>> dailyTrend) {
+        this.dailyTrend = dailyTrend;
+    }
+
+    public List<ExpenseSummaryResponse> getTopExpenses() {
+        return topExpenses;
+    }
+
+    public void setTopExpenses(List<ExpenseSummaryResponse> topExpenses) {
+        this.topExpenses = topExpenses;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
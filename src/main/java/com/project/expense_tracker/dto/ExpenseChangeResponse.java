@@ -0,0 +1,60 @@
+package com.project.expense_tracker.dto;
+
+import com.project.expense_tracker.model.ExpenseChangeType;
+
+public class ExpenseChangeResponse {
+    private long seq;
+    private Long expenseId;
+    private ExpenseChangeType type;
+    // Current state for upserts, absent for deletes
+    private ExpenseResponse expense;
+
+    public ExpenseChangeResponse() {}
+
+    public ExpenseChangeResponse(long seq, Long expenseId, ExpenseChangeType type, ExpenseResponse expense) {
+        this.seq = seq;
+        this.expenseId = expenseId;
+        this.type = type;
+        this.expense = expense;
+    }
+
+    public static ExpenseChangeResponse upserted(long seq, ExpenseResponse expense) {
+        return new ExpenseChangeResponse(seq, expense.getId(), ExpenseChangeType.UPSERT, expense);
+    }
+
+    public static ExpenseChangeResponse deleted(long seq, Long expenseId) {
+        return new ExpenseChangeResponse(seq, expenseId, ExpenseChangeType.DELETE, null);
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public Long getExpenseId() {
+        return expenseId;
+    }
+
+    public void setExpenseId(Long expenseId) {
+        this.expenseId = expenseId;
+    }
+
+    public ExpenseChangeType getType() {
+        return type;
+    }
+
+    public void setType(ExpenseChangeType type) {
+        this.type = type;
+    }
+
+    public ExpenseResponse getExpense() {
+        return expense;
+    }
+
+    public void setExpense(ExpenseResponse expense) {
+        this.expense = expense;
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.expense_tracker.dto;
+
+import java.util.List;
+
+public class ExpenseChangesResponse {
+    private List<ExpenseChangeResponse> changes;
+    // Pass back as "since" on the next sync; unchanged when there was nothing new
+    private long nextCursor;
+    private boolean hasMore;
+
+    public ExpenseChangesResponse() {}
+
+    public ExpenseChangesResponse(List<ExpenseChangeResponse> changes, long nextCursor, boolean hasMore) {
+        this.changes = changes;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ExpenseChangeResponse> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ExpenseChangeResponse> changes) {
+        this.changes = changes;
+    }
+
+    public long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,80 @@
+package com.project.expense_tracker.dto;
+
+import java.util.List;
+
+/**
+ * One node of a filter tree for {@code POST /api/expenses/query}.
+ *
+ * Junctions use {@code op} "and"/"or" with {@code filters}. Leaves use
+ * "eq" ({@code field}, {@code value}), "in" ({@code field}, {@code values}),
+ * "range" ({@code field}, {@code min} and/or {@code max}, both inclusive) or
+ * "keyword" ({@code value}, matched against the description). Fields are
+ * id, categoryId, amount and expenseDate.
+ */
+public class ExpenseFilter {
+    private String op;
+    private List<ExpenseFilter> filters;
+    private String field;
+    private Object value;
+    private List<Object> values;
+    private Object min;
+    private Object max;
+
+    public ExpenseFilter() {}
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public List<ExpenseFilter> getFilters() {
+        return filters;
+    }
+
+    public void setFilters(List<ExpenseFilter> filters) {
+        this.filters = filters;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public void setValue(Object value) {
+        this.value = value;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    public void setValues(List<Object> values) {
+        this.values = values;
+    }
+
+    public Object getMin() {
+        return min;
+    }
+
+    public void setMin(Object min) {
+        this.min = min;
+    }
+
+    public Object getMax() {
+        return max;
+    }
+
+    public void setMax(Object max) {
+        this.max = max;
+    }
+}
@@ -0,0 +1,66 @@
+package com.project.expense_tracker.dto;
+
+import java.util.List;
+
+public class ExpenseQueryRequest {
+    private ExpenseFilter filter;
+    // expenseDate (default), amount or id; ties are broken by id
+    private String sort;
+    // asc or desc (default)
+    private String direction;
+    private Integer size;
+    // Opaque value from the previous response's nextCursor
+    private String cursor;
+    // Any of category, month and amount; counted over the whole filter, not just this slice
+    private List<String> facets;
+
+    public ExpenseQueryRequest() {}
+
+    public ExpenseFilter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(ExpenseFilter filter) {
+        this.filter = filter;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public List<String> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(List<String> facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.expense_tracker.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class ExpenseQueryResponse {
+    private List<ExpenseSummaryResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    // Only present when facets were requested
+    private Map<String, List<FacetCount>> facets;
+
+    public ExpenseQueryResponse() {}
+
+    public ExpenseQueryResponse(List<ExpenseSummaryResponse> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ExpenseSummaryResponse> getContent() {
+        return content;
+    }
+
+    public void setContent(List<ExpenseSummaryResponse> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Map<String, List<FacetCount>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, List<FacetCount>> facets) {
+        this.facets = facets;
+    }
+}
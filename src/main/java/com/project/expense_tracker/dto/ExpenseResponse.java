@@ -3,6 +3,7 @@ package com.project.expense_tracker.dto;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 public class ExpenseResponse {
 
@@ -18,6 +19,8 @@ public class ExpenseResponse {
     private String categoryName;
     private String categoryColor;
 
+    private Set<String> tags;
+
     // Constructors
     public ExpenseResponse() {}
 
@@ -94,4 +97,11 @@ public class ExpenseResponse {
         this.categoryColor = categoryColor;
     }
 
-}
\ No newline at end of file
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.expense_tracker.dto;
+
+public class FuzzyMatchResponse extends ExpenseSummaryResponse {
+
+    private double similarity;
+
+    // Constructors
+    public FuzzyMatchResponse() {}
+
+    public FuzzyMatchResponse(ExpenseSummaryResponse expense, double similarity) {
+        super(expense.getId(), expense.getAmount(), expense.getDescription(),
+                expense.getCategoryName(), expense.getExpenseDate());
+        this.similarity = similarity;
+    }
+
+    // Getters and Setters
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+}
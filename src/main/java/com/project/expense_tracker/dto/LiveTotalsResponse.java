@@ -0,0 +1,41 @@
+package com.project.expense_tracker.dto;
+
+import java.math.BigDecimal;
+
+public class LiveTotalsResponse {
+    private long totalExpenses;
+    private BigDecimal totalAmount;
+    private BigDecimal averageAmount;
+
+    public LiveTotalsResponse() {}
+
+    public LiveTotalsResponse(long totalExpenses, BigDecimal totalAmount, BigDecimal averageAmount) {
+        this.totalExpenses = totalExpenses;
+        this.totalAmount = totalAmount;
+        this.averageAmount = averageAmount;
+    }
+
+    public long getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    public void setTotalExpenses(long totalExpenses) {
+        this.totalExpenses = totalExpenses;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getAverageAmount() {
+        return averageAmount;
+    }
+
+    public void setAverageAmount(BigDecimal averageAmount) {
+        this.averageAmount = averageAmount;
+    }
+}
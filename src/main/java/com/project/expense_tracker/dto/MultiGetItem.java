@@ -0,0 +1,67 @@
+package com.project.expense_tracker.dto;
+
+import com.project.expense_tracker.exception.ErrorCode;
+
+/**
+ * One entry of a multi-get response: the record for a requested id, or the
+ * status and error code it would have had as a single GET.
+ */
+public class MultiGetItem<T> {
+
+    private Long id;
+    private int status;
+    // Set only when the id wasn't found
+    private String errorCode;
+    private T data;
+
+    // Constructors
+    public MultiGetItem() {}
+
+    public MultiGetItem(Long id, int status, String errorCode, T data) {
+        this.id = id;
+        this.status = status;
+        this.errorCode = errorCode;
+        this.data = data;
+    }
+
+    public static <T> MultiGetItem<T> found(Long id, T data) {
+        return new MultiGetItem<>(id, 200, null, data);
+    }
+
+    public static <T> MultiGetItem<T> missing(Long id, ErrorCode code) {
+        return new MultiGetItem<>(id, code.getStatus().value(), code.getCode(), null);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    public void setData(T data) {
+        this.data = data;
+    }
+}
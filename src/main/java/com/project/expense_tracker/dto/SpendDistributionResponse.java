@@ -0,0 +1,82 @@
+package com.project.expense_tracker.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class SpendDistributionResponse {
+    private Long categoryId;
+    private String month;
+    private long count;
+    private BigDecimal mean;
+    private BigDecimal standardDeviation;
+    private BigDecimal minimum;
+    private BigDecimal maximum;
+    // Keyed by percentile label, e.g. "p50", "p90", "p99"
+    private Map<String, BigDecimal> quantiles;
+
+    public SpendDistributionResponse() {}
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getMean() {
+        return mean;
+    }
+
+    public void setMean(BigDecimal mean) {
+        this.mean = mean;
+    }
+
+    public BigDecimal getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(BigDecimal standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    public BigDecimal getMinimum() {
+        return minimum;
+    }
+
+    public void setMinimum(BigDecimal minimum) {
+        this.minimum = minimum;
+    }
+
+    public BigDecimal getMaximum() {
+        return maximum;
+    }
+
+    public void setMaximum(BigDecimal maximum) {
+        this.maximum = maximum;
+    }
+
+    public Map<String, BigDecimal> getQuantiles() {
+        return quantiles;
+    }
+
+    public void setQuantiles(Map<String, BigDecimal> quantiles) {
+        this.quantiles = quantiles;
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.expense_tracker.dto;
+
+public class SuggestionResponse {
+
+    private String text;
+    private double score;
+
+    // Constructors
+    public SuggestionResponse() {}
+
+    public SuggestionResponse(String text, double score) {
+        this.text = text;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
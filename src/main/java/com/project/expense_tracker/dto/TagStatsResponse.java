@@ -0,0 +1,43 @@
+package com.project.expense_tracker.dto;
+
+public class TagStatsResponse {
+
+    private String tag;
+    private long expenseCount;
+    // Heap used by the tag's bitmap; 0 while the tag index is not built
+    private long sizeInBytes;
+
+    // Constructors
+    public TagStatsResponse() {}
+
+    public TagStatsResponse(String tag, long expenseCount, long sizeInBytes) {
+        this.tag = tag;
+        this.expenseCount = expenseCount;
+        this.sizeInBytes = sizeInBytes;
+    }
+
+    // Getters and Setters
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
+    public long getExpenseCount() {
+        return expenseCount;
+    }
+
+    public void setExpenseCount(long expenseCount) {
+        this.expenseCount = expenseCount;
+    }
+
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public void setSizeInBytes(long sizeInBytes) {
+        this.sizeInBytes = sizeInBytes;
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Set;
 
 public class UpdateExpenseRequest {
 
@@ -19,6 +20,10 @@ public class UpdateExpenseRequest {
     @PastOrPresent(message = "Expense date cannot be in the future")
     private LocalDate expenseDate;
 
+    // Replaces all tags when present; null leaves them unchanged
+    @Size(max = 20, message = "An expense can have at most 20 tags")
+    private Set<String> tags;
+
     // Constructors
     public UpdateExpenseRequest() {}
 
@@ -54,4 +59,12 @@ public class UpdateExpenseRequest {
     public void setExpenseDate(LocalDate expenseDate) {
         this.expenseDate = expenseDate;
     }
-}
\ No newline at end of file
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.expense_tracker.event;
+
+/**
+ * Published by the category service for every write. Deleting a category
+ * cascades to its expenses without individual expense events.
+ */
+public record CategoryChangedEvent(Long categoryId, boolean deleted) {
+
+    public static CategoryChangedEvent saved(Long categoryId) {
+        return new CategoryChangedEvent(categoryId, false);
+    }
+
+    public static CategoryChangedEvent deleted(Long categoryId) {
+        return new CategoryChangedEvent(categoryId, true);
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.expense_tracker.event;
+
+/**
+ * Published by the expense service for every write.
+ * {@code before} is null for creates, {@code after} is null for deletes.
+ */
+public record ExpenseChangedEvent(ExpenseSnapshot before, ExpenseSnapshot after) {
+
+    public static ExpenseChangedEvent created(ExpenseSnapshot after) {
+        return new ExpenseChangedEvent(null, after);
+    }
+
+    public static ExpenseChangedEvent updated(ExpenseSnapshot before, ExpenseSnapshot after) {
+        return new ExpenseChangedEvent(before, after);
+    }
+
+    public static ExpenseChangedEvent deleted(ExpenseSnapshot before) {
+        return new ExpenseChangedEvent(before, null);
+    }
+
+    public Long expenseId() {
+        return after != null ? after.id() : before.id();
+    }
+
+    public boolean isCreate() {
+        return before == null;
+    }
+
+    public boolean isDelete() {
+        return after == null;
+    }
+}
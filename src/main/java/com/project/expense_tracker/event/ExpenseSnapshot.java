@@ -0,0 +1,47 @@
+package com.project.expense_tracker.event;
+
+import com.project.expense_tracker.model.Expense;
+import org.hibernate.Hibernate;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Immutable copy of the expense fields that in-memory indexes care about,
+ * taken inside the writing transaction so listeners never touch the entity.
+ */
+public record ExpenseSnapshot(
+        Long id,
+        Long categoryId,
+        String categoryName,
+        long amountCents,
+        LocalDate expenseDate,
+        String description,
+        Set<String> tags) {
+
+    public ExpenseSnapshot(Long id, Long categoryId, String categoryName,
+                           long amountCents, LocalDate expenseDate, String description) {
+        this(id, categoryId, categoryName, amountCents, expenseDate, description, Set.of());
+    }
+
+    public static ExpenseSnapshot of(Expense expense) {
+        Long categoryId = null;
+        String categoryName = null;
+        if (expense.getCategory() != null) {
+            categoryId = expense.getCategory().getId();
+            categoryName = expense.getCategory().getName();
+        }
+        // Tags are lazy; writers load them first, bulk scans leave them null (unknown)
+        Set<String> tags = expense.getTags() != null && Hibernate.isInitialized(expense.getTags())
+                ? Set.copyOf(expense.getTags())
+                : null;
+        return new ExpenseSnapshot(
+                expense.getId(),
+                categoryId,
+                categoryName,
+                expense.getAmountCents(),
+                expense.getExpenseDate(),
+                expense.getDescription(),
+                tags);
+    }
+}
@@ -1,7 +1,7 @@
 package com.project.expense_tracker.exception;
 
-public class BudgetExceededException extends RuntimeException{
+public class BudgetExceededException extends DomainException {
     public BudgetExceededException() {
-        super("Adding this expense exceeds a monthly budget of $5000");
+        super(ErrorCode.BUD_002, "Adding this expense exceeds a monthly budget of $5000");
     }
 }
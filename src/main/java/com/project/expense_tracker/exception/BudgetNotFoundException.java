@@ -1,7 +1,7 @@
 package com.project.expense_tracker.exception;
 
-public class BudgetNotFoundException extends RuntimeException {
+public class BudgetNotFoundException extends DomainException {
     public BudgetNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.BUD_001, message);
     }
-}
\ No newline at end of file
+}
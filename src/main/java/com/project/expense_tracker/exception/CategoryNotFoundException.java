@@ -1,16 +1,16 @@
 package com.project.expense_tracker.exception;
 
-public class CategoryNotFoundException extends RuntimeException {
+public class CategoryNotFoundException extends DomainException {
 
     public CategoryNotFoundException(Long id) {
-        super("Category with ID " + id + " not found");
+        super(ErrorCode.CAT_003, "Category with ID " + id + " not found");
     }
 
     public CategoryNotFoundException(String name) {
-        super("Category with name '" + name + "' not found");
+        super(ErrorCode.CAT_003, "Category with name '" + name + "' not found");
     }
 
     public CategoryNotFoundException(String message, Throwable cause) {
-        super(message, cause);
+        super(ErrorCode.CAT_003, message, cause);
     }
-}
\ No newline at end of file
+}
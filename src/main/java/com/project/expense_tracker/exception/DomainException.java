@@ -0,0 +1,27 @@
+package com.project.expense_tracker.exception;
+
+/**
+ * Base for the expected business errors the API answers with a 4xx.
+ *
+ * These are thrown for every unknown id and bad filter, so they skip
+ * capturing a stack trace: the handler only needs the code and the message,
+ * and the trace would just name the service method that threw.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    protected DomainException(ErrorCode errorCode, String message) {
+        this(errorCode, message, null);
+    }
+
+    protected DomainException(ErrorCode errorCode, String message, Throwable cause) {
+        // A cause keeps its own trace
+        super(message, cause, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
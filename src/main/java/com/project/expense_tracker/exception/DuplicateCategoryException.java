@@ -1,8 +1,8 @@
 package com.project.expense_tracker.exception;
 
-public class DuplicateCategoryException extends RuntimeException {
+public class DuplicateCategoryException extends DomainException {
 
     public DuplicateCategoryException(String name) {
-        super("Category with name '" + name + "' already exists");
+        super(ErrorCode.CAT_002, "Category with name '" + name + "' already exists");
     }
-}
\ No newline at end of file
+}
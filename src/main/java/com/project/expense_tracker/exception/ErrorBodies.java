@@ -0,0 +1,162 @@
+package com.project.expense_tracker.exception;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes JSON error bodies for an {@link ErrorCode} straight to bytes.
+ *
+ * Everything fixed by the code (status, error, errorCode, suggestion) is
+ * serialized once up front; a response only escapes the message and path
+ * into a single exactly-sized array. The timestamp is formatted once per
+ * second. The fields match {@link ErrorResponse}, minus the null ones.
+ */
+public final class ErrorBodies {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final byte[] PATH = ascii("\",\"path\":\"");
+    private static final byte[] TIME = ascii("\",\"timestamp\":\"");
+    private static final byte[] END = ascii("\"}");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    private final Map<ErrorCode, byte[]> prefixes = new EnumMap<>(ErrorCode.class);
+    private final Clock clock;
+    private final ZoneId zone;
+    private volatile Stamp stamp = new Stamp(Long.MIN_VALUE, new byte[0]);
+
+    public ErrorBodies() {
+        this(Clock.systemDefaultZone());
+    }
+
+    ErrorBodies(Clock clock) {
+        this.clock = clock;
+        this.zone = clock.getZone();
+        for (ErrorCode code : ErrorCode.values()) {
+            StringBuilder prefix = new StringBuilder()
+                    .append("{\"status\":").append(code.getStatus().value())
+                    .append(",\"error\":\"").append(code.getError())
+                    .append("\",\"errorCode\":\"").append(code.getCode())
+                    .append("\",\"suggestion\":\"");
+            escape(code.getSuggestion(), prefix);
+            prefix.append("\",\"message\":\"");
+            prefixes.put(code, prefix.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public byte[] render(ErrorCode code, String message, String path) {
+        byte[] prefix = prefixes.get(code);
+        byte[] time = timestamp();
+        String safeMessage = message == null ? "" : message;
+        String safePath = path == null ? "" : path;
+        byte[] body = new byte[prefix.length + escapedLength(safeMessage) + PATH.length
+                + escapedLength(safePath) + TIME.length + time.length + END.length];
+        int at = copy(prefix, body, 0);
+        at = write(safeMessage, body, at);
+        at = copy(PATH, body, at);
+        at = write(safePath, body, at);
+        at = copy(TIME, body, at);
+        at = copy(time, body, at);
+        copy(END, body, at);
+        return body;
+    }
+
+    private byte[] timestamp() {
+        long second = Math.floorDiv(clock.millis(), 1000L);
+        Stamp current = stamp;
+        if (current.second() != second) {
+            // Racing threads format the same second; either result is fine
+            String text = TIMESTAMP.format(LocalDateTime.ofInstant(Instant.ofEpochSecond(second), zone));
+            current = new Stamp(second, ascii(text));
+            stamp = current;
+        }
+        return current.text();
+    }
+
+    private record Stamp(long second, byte[] text) {
+    }
+
+    // ── JSON string escaping ─────────────────────────────────────────────────
+
+    private static int escapedLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                length += 2;
+            } else if (c < 0x20) {
+                length += 6;
+            } else if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, written as '?'
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static int write(String value, byte[] out, int at) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out[at++] = '\\';
+                out[at++] = (byte) c;
+            } else if (c < 0x20) {
+                out[at++] = '\\';
+                out[at++] = 'u';
+                out[at++] = '0';
+                out[at++] = '0';
+                out[at++] = HEX[c >> 4];
+                out[at++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                out[at++] = (byte) c;
+            } else if (c < 0x800) {
+                out[at++] = (byte) (0xC0 | (c >> 6));
+                out[at++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[at++] = (byte) (0xF0 | (codePoint >> 18));
+                out[at++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[at++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[at++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out[at++] = '?';
+            } else {
+                out[at++] = (byte) (0xE0 | (c >> 12));
+                out[at++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[at++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return at;
+    }
+
+    private static void escape(String value, StringBuilder out) {
+        byte[] bytes = new byte[escapedLength(value)];
+        write(value, bytes, 0);
+        out.append(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static int copy(byte[] source, byte[] target, int at) {
+        System.arraycopy(source, 0, target, at, source.length);
+        return at + source.length;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -1,16 +1,29 @@
 package com.project.expense_tracker.exception;
 
+import org.springframework.http.HttpStatus;
+
 public enum ErrorCode {
-    CAT_001("CAT_001", "Invalid category name"),
-    CAT_002("CAT_002", "Category already exists"),
-    CAT_003("CAT_003", "Category not found");
+    CAT_001("CAT_001", HttpStatus.BAD_REQUEST, "BAD_REQUEST", "Invalid category name"),
+    CAT_002("CAT_002", HttpStatus.CONFLICT, "CONFLICT", "Category already exists"),
+    CAT_003("CAT_003", HttpStatus.NOT_FOUND, "NOT_FOUND", "Category not found"),
+    EXP_001("EXP_001", HttpStatus.NOT_FOUND, "NOT_FOUND", "Expense not found"),
+    EXP_002("EXP_002", HttpStatus.BAD_REQUEST, "BAD_REQUEST", "Check the expense fields and filters"),
+    BUD_001("BUD_001", HttpStatus.NOT_FOUND, "NOT_FOUND", "Budget not found"),
+    BUD_002("BUD_002", HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "Monthly budget exceeded"),
+    VAL_001("VAL_001", HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "Input validation failed"),
+    SYS_001("SYS_001", HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_SERVER_ERROR", "Unexpected server error"),
+    SYS_002("SYS_002", HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE", "Server is busy, retry shortly");
 
     private final String code;
+    private final HttpStatus status;
+    private final String error;
     private final String suggestion;
 
     // Constructor
-    ErrorCode(String code, String suggestion) {
+    ErrorCode(String code, HttpStatus status, String error, String suggestion) {
         this.code = code;
+        this.status = status;
+        this.error = error;
         this.suggestion = suggestion;
     }
 
@@ -19,7 +32,15 @@ public enum ErrorCode {
         return code;
     }
 
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
     public String getSuggestion() {
         return suggestion;
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,12 @@
 package com.project.expense_tracker.exception;
 
-public class ExpenseNotFoundException extends RuntimeException {
+public class ExpenseNotFoundException extends DomainException {
 
     public ExpenseNotFoundException(Long id) {
-        super("Expense with ID " + id + " not found");
+        super(ErrorCode.EXP_001, "Expense with ID " + id + " not found");
     }
 
     public ExpenseNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.EXP_001, message);
     }
-}
\ No newline at end of file
+}
@@ -1,77 +1,66 @@
 package com.project.expense_tracker.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-
+import java.util.Map;
+
+/**
+ * Maps exceptions to error responses and counts them per {@link ErrorCode}
+ * as {@code expense.errors}. Domain errors are the hot path (every unknown id
+ * ends here), so their bodies come from {@link ErrorBodies} instead of an
+ * {@link ErrorResponse} run through Jackson.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-        // Handle Category Not Found
-        @ExceptionHandler(CategoryNotFoundException.class)
-        public ResponseEntity<ErrorResponse> handleCategoryNotFound(
-                        CategoryNotFoundException ex,
-                        WebRequest request) {
-
-                ErrorResponse error = new ErrorResponse(
-                                HttpStatus.NOT_FOUND.value(),
-                                "NOT_FOUND",
-                                ex.getMessage(),
-                                request.getDescription(false).replace("uri=", ""));
-
-                return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
-        }
-
-        // Handle Expense Not Found
-        @ExceptionHandler(ExpenseNotFoundException.class)
-        public ResponseEntity<ErrorResponse> handleExpenseNotFound(
-                        ExpenseNotFoundException ex,
-                        WebRequest request) {
-
-                ErrorResponse error = new ErrorResponse(
-                                HttpStatus.NOT_FOUND.value(),
-                                "NOT_FOUND",
-                                ex.getMessage(),
-                                request.getDescription(false).replace("uri=", ""));
-
-                return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
-        }
-
-        // Handle Duplicate Category
-        @ExceptionHandler(DuplicateCategoryException.class)
-        public ResponseEntity<ErrorResponse> handleDuplicateCategory(
-                        DuplicateCategoryException ex,
-                        WebRequest request) {
-
-                ErrorResponse error = new ErrorResponse(
-                                HttpStatus.CONFLICT.value(),
-                                "CONFLICT",
-                                ex.getMessage(),
-                                request.getDescription(false).replace("uri=", ""));
-
-                return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+        private final ErrorBodies errorBodies = new ErrorBodies();
+        private final Map<ErrorCode, Counter> errorCounts = new EnumMap<>(ErrorCode.class);
+
+        @Autowired
+        public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+                // Slice tests without metrics still get a handler
+                MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+                for (ErrorCode code : ErrorCode.values()) {
+                        errorCounts.put(code, Counter.builder("expense.errors")
+                                        .tags("code", code.getCode(), "status", String.valueOf(code.getStatus().value()))
+                                        .description("Error responses by error code")
+                                        .register(registry));
+                }
         }
 
-        // Handle Invalid Expense
-        @ExceptionHandler(InvalidExpenseException.class)
-        public ResponseEntity<ErrorResponse> handleInvalidExpense(
-                        InvalidExpenseException ex,
-                        WebRequest request) {
-
-                ErrorResponse error = new ErrorResponse(
-                                HttpStatus.BAD_REQUEST.value(),
-                                "BAD_REQUEST",
-                                ex.getMessage(),
-                                request.getDescription(false).replace("uri=", ""));
-
-                return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        // Handle Not Found, Duplicate, Invalid Expense and Budget errors
+        @ExceptionHandler(DomainException.class)
+        public ResponseEntity<byte[]> handleDomainException(
+                        DomainException ex,
+                        HttpServletRequest request) {
+
+                ErrorCode code = ex.getErrorCode();
+                errorCounts.get(code).increment();
+                ResponseEntity.BodyBuilder response = ResponseEntity.status(code.getStatus())
+                                .contentType(MediaType.APPLICATION_JSON);
+                // Shed requests tell well-behaved clients when to come back
+                if (ex instanceof ServerBusyException busy) {
+                        response.header(HttpHeaders.RETRY_AFTER, Long.toString(busy.getRetryAfterSeconds()));
+                }
+                return response.body(errorBodies.render(code, ex.getMessage(), request.getRequestURI()));
         }
 
         // Handle Validation Errors
@@ -80,6 +69,7 @@ public class GlobalExceptionHandler {
                         MethodArgumentNotValidException ex,
                         WebRequest request) {
 
+                errorCounts.get(ErrorCode.VAL_001).increment();
                 List<String> details = new ArrayList<>();
                 for (FieldError error : ex.getBindingResult().getFieldErrors()) {
                         details.add(error.getField() + ": " + error.getDefaultMessage());
@@ -95,17 +85,17 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
         }
 
-        // Handle Budget Exceeded Error
-        @ExceptionHandler(BudgetExceededException.class)
-        public ResponseEntity<ErrorResponse> handleBudgetExceeded(
-                        BudgetExceededException ex,
-                        WebRequest request) {
-                ErrorResponse error = new ErrorResponse(
-                                HttpStatus.BAD_REQUEST.value(),
-                                "VALIDATION_ERROR",
-                                ex.getMessage(),
-                                request.getDescription(false).replace("uri=", ""));
-                return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        // Handle malformed path and query parameters, e.g. a non-numeric id
+        @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+        public ResponseEntity<byte[]> handleTypeMismatch(
+                        MethodArgumentTypeMismatchException ex,
+                        HttpServletRequest request) {
+
+                errorCounts.get(ErrorCode.VAL_001).increment();
+                String message = "Invalid value for '" + ex.getName() + "': " + ex.getValue();
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(errorBodies.render(ErrorCode.VAL_001, message, request.getRequestURI()));
         }
 
         // Handle All Other Exceptions
@@ -114,6 +104,7 @@ public class GlobalExceptionHandler {
                         Exception ex,
                         WebRequest request) {
 
+                errorCounts.get(ErrorCode.SYS_001).increment();
                 ErrorResponse error = new ErrorResponse(
                                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                                 "INTERNAL_SERVER_ERROR",
@@ -1,12 +1,12 @@
 package com.project.expense_tracker.exception;
 
-public class InvalidExpenseException extends RuntimeException {
+public class InvalidExpenseException extends DomainException {
 
     public InvalidExpenseException(String message) {
-        super(message);
+        super(ErrorCode.EXP_002, message);
     }
 
     public InvalidExpenseException(String message, Throwable cause) {
-        super(message, cause);
+        super(ErrorCode.EXP_002, message, cause);
     }
-}
\ No newline at end of file
+}
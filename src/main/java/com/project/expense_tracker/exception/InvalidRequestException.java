@@ -0,0 +1,8 @@
+package com.project.expense_tracker.exception;
+
+public class InvalidRequestException extends DomainException {
+
+    public InvalidRequestException(String message) {
+        super(ErrorCode.VAL_001, message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.expense_tracker.exception;
+
+public class ServerBusyException extends DomainException {
+
+    // Sent as Retry-After; long enough for a burst to pass
+    public static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+
+    private final long retryAfterSeconds;
+
+    public ServerBusyException() {
+        this("All database connections are busy");
+    }
+
+    public ServerBusyException(String message) {
+        this(message, DEFAULT_RETRY_AFTER_SECONDS);
+    }
+
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(ErrorCode.SYS_002, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,224 @@
+package com.project.expense_tracker.live;
+
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.cache.SingleFlight;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Running spend totals behind the live dashboard: overall, per category and
+ * per category and month.
+ *
+ * Seeded by a keyset scan of (id, category, date, amount) rows the first time
+ * a dashboard subscribes, then moved by the expense write events so each
+ * write yields a small delta instead of a recompute. The scan runs without
+ * the lock, and writes that commit while it runs are reconciled through
+ * {@link PendingExpenseWrites}, so a write whose row the scan already saw is
+ * not counted again when its event arrives. Every snapshot and delta carries
+ * a sequence number so subscribers can tell which of two values for the same
+ * key is newer.
+ */
+@Component
+public class LiveTotals {
+
+    private static final int BATCH_SIZE = 5000;
+
+    private final ExpenseRepository expenseRepository;
+    private final PendingExpenseWrites pendingWrites;
+    private final SingleFlight singleFlight;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean loaded;
+    // Bumped by invalidate, so a seed that started before it is not installed
+    private long epoch;
+    private long seq;
+    private Totals totals = new Totals();
+
+    @Autowired
+    public LiveTotals(ExpenseRepository expenseRepository,
+                      PendingExpenseWrites pendingWrites,
+                      SingleFlight singleFlight) {
+        this.expenseRepository = expenseRepository;
+        this.pendingWrites = pendingWrites;
+        this.singleFlight = singleFlight;
+    }
+
+    /**
+     * Everything a new subscriber needs: the totals and every category's sum.
+     */
+    public Update snapshot() {
+        while (true) {
+            lock.lock();
+            try {
+                if (loaded) {
+                    List<CategorySum> categories = new ArrayList<>(totals.byCategory.size());
+                    totals.byCategory.forEach((categoryId, sum) ->
+                            categories.add(new CategorySum(categoryId, sum.count, sum.cents)));
+                    return new Update(seq, totals.count, totals.cents, categories, List.of());
+                }
+            } finally {
+                lock.unlock();
+            }
+            // Concurrent subscribers share one seed; an invalidate in between makes it come back empty-handed
+            singleFlight.execute("live-totals-load", this, this::load);
+        }
+    }
+
+    /**
+     * Applies a committed write and returns what it moved, or null while
+     * nobody has asked for the totals yet.
+     */
+    public Update apply(ExpenseChangedEvent event) {
+        lock.lock();
+        try {
+            pendingWrites.delivered(this, event);
+            if (!loaded) {
+                return null;
+            }
+            seq++;
+            Map<Long, CategorySum> categories = new LinkedHashMap<>();
+            Map<CategoryMonth, Long> monthsBefore = new LinkedHashMap<>();
+            apply(event.before(), -1, categories, monthsBefore);
+            apply(event.after(), 1, categories, monthsBefore);
+
+            List<MonthSpend> months = new ArrayList<>(monthsBefore.size());
+            monthsBefore.forEach((key, before) -> {
+                long after = totals.byCategoryMonth.getOrDefault(key, 0L);
+                if (after != before) {
+                    months.add(new MonthSpend(key.categoryId(), key.month(), before, after));
+                }
+            });
+            return new Update(seq, totals.count, totals.cents, List.copyOf(categories.values()), months);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets the totals; the next snapshot reloads them. Used when a
+     * category delete removed expenses without individual write events.
+     */
+    public void invalidate() {
+        lock.lock();
+        try {
+            epoch++;
+            loaded = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(ExpenseSnapshot expense, int sign, Map<Long, CategorySum> categories,
+                       Map<CategoryMonth, Long> monthsBefore) {
+        if (expense == null) {
+            return;
+        }
+        if (expense.categoryId() != null) {
+            CategoryMonth key = new CategoryMonth(expense.categoryId(), YearMonth.from(expense.expenseDate()));
+            monthsBefore.putIfAbsent(key, totals.byCategoryMonth.getOrDefault(key, 0L));
+        }
+        totals.add(expense, sign);
+        if (expense.categoryId() != null) {
+            Sum sum = totals.byCategory.get(expense.categoryId());
+            categories.put(expense.categoryId(), new CategorySum(expense.categoryId(), sum.count, sum.cents));
+        }
+    }
+
+    private Boolean load() {
+        long expectedEpoch;
+        lock.lock();
+        try {
+            if (loaded) {
+                return true;
+            }
+            expectedEpoch = epoch;
+        } finally {
+            lock.unlock();
+        }
+
+        Totals built = new Totals();
+        try (PendingExpenseWrites.Scan scan = pendingWrites.open()) {
+            long afterId = 0L;
+            List<Object[]> batch;
+            do {
+                batch = expenseRepository.findSpendRowsAfterId(afterId, PageRequest.of(0, BATCH_SIZE));
+                afterId = batch.size() < BATCH_SIZE ? Long.MAX_VALUE : (Long) batch.get(batch.size() - 1)[0];
+                Set<Long> skipped = scan.advance(afterId);
+                for (Object[] row : batch) {
+                    if (!skipped.contains((Long) row[0])) {
+                        built.add(new ExpenseSnapshot((Long) row[0], (Long) row[1], null,
+                                Money.toCents((BigDecimal) row[3]), (LocalDate) row[2], null), 1);
+                    }
+                }
+            } while (afterId != Long.MAX_VALUE);
+
+            lock.lock();
+            try {
+                if (epoch != expectedEpoch) {
+                    // A category delete removed rows the scan may have read; the next snapshot starts over
+                    return false;
+                }
+                scan.replay(this, (snapshot, sign) -> built.add(snapshot, sign));
+                totals = built;
+                seq++;
+                loaded = true;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Overall totals after a change, the categories it moved and, for
+     * budget checks, each category month it moved from and to.
+     */
+    public record Update(long seq, long count, long cents, List<CategorySum> categories, List<MonthSpend> months) {
+    }
+
+    public record CategorySum(Long categoryId, long count, long cents) {
+    }
+
+    public record MonthSpend(Long categoryId, YearMonth month, long beforeCents, long afterCents) {
+    }
+
+    private record CategoryMonth(Long categoryId, YearMonth month) {
+    }
+
+    private static final class Sum {
+        long count;
+        long cents;
+    }
+
+    private static final class Totals {
+        long count;
+        long cents;
+        final Map<Long, Sum> byCategory = new HashMap<>();
+        final Map<CategoryMonth, Long> byCategoryMonth = new HashMap<>();
+
+        void add(ExpenseSnapshot expense, int sign) {
+            long delta = sign * expense.amountCents();
+            count += sign;
+            cents = Money.add(cents, delta);
+            if (expense.categoryId() == null) {
+                return;
+            }
+            Sum sum = byCategory.computeIfAbsent(expense.categoryId(), id -> new Sum());
+            sum.count += sign;
+            sum.cents = Money.add(sum.cents, delta);
+            byCategoryMonth.merge(new CategoryMonth(expense.categoryId(), YearMonth.from(expense.expenseDate())),
+                    delta, Money::add);
+        }
+    }
+}
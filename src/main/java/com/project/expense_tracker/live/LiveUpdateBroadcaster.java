@@ -0,0 +1,335 @@
+package com.project.expense_tracker.live;
+
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.dto.BudgetStatusResponse;
+import com.project.expense_tracker.dto.CategoryBreakdownResponse;
+import com.project.expense_tracker.dto.CategorySummaryResponse;
+import com.project.expense_tracker.dto.LiveTotalsResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.exception.InvalidExpenseException;
+import com.project.expense_tracker.model.Budget;
+import com.project.expense_tracker.repository.BudgetRepository;
+import com.project.expense_tracker.util.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes live totals, per-category sums and budget crossings to dashboards
+ * over Server-Sent Events.
+ *
+ * Updates come from the expense write events after commit. Budget crossings
+ * need a budget lookup and a category delete needs the totals reseeded; both
+ * run on a sender thread so the committing thread never waits for the
+ * database, and carry a sequence number, so arriving late cannot make them
+ * overwrite newer news. Fan-out only
+ * merges the update into each subscriber's pending set, keyed by what it
+ * describes, so a newer value replaces an unsent older one and nothing queues
+ * up behind a slow client. A subscriber's pending set is drained by a virtual
+ * thread that exists only while there is something to send; idle connections
+ * hold no thread. Each subscriber picks a minimum interval between flushes,
+ * and everything arriving within it is coalesced into the next flush.
+ */
+@Component
+public class LiveUpdateBroadcaster implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdateBroadcaster.class);
+
+    public static final long MAX_INTERVAL_MILLIS = 60_000;
+
+    private final LiveTotals liveTotals;
+    private final BudgetRepository budgetRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final long timeoutMillis;
+    private final long defaultIntervalMillis;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter coalesced;
+
+    @Autowired
+    public LiveUpdateBroadcaster(LiveTotals liveTotals,
+                                 BudgetRepository budgetRepository,
+                                 CategoryDictionary categoryDictionary,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${expense.live.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${expense.live.min-interval-ms:250}") long defaultIntervalMillis) {
+        if (defaultIntervalMillis < 0 || defaultIntervalMillis > MAX_INTERVAL_MILLIS) {
+            throw new IllegalArgumentException("expense.live.min-interval-ms must be between 0 and " + MAX_INTERVAL_MILLIS);
+        }
+        this.liveTotals = liveTotals;
+        this.budgetRepository = budgetRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.timeoutMillis = timeoutMillis;
+        this.defaultIntervalMillis = defaultIntervalMillis;
+        this.coalesced = Counter.builder("expense.live.coalesced")
+                .description("Live updates replaced by a newer one before they were sent")
+                .register(meterRegistry);
+        Gauge.builder("expense.live.subscribers", subscribers, Set::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream that starts with the current totals. {@code intervalMillis}
+     * is the least time between flushes to this subscriber; null uses the default.
+     */
+    public SseEmitter subscribe(Long intervalMillis) {
+        long interval = intervalMillis == null ? defaultIntervalMillis : intervalMillis;
+        if (interval < 0 || interval > MAX_INTERVAL_MILLIS) {
+            throw new InvalidExpenseException("Interval must be between 0 and " + MAX_INTERVAL_MILLIS + " ms");
+        }
+        return register(new SseEmitter(timeoutMillis), interval);
+    }
+
+    SseEmitter register(SseEmitter emitter, long intervalMillis) {
+        Subscriber subscriber = new Subscriber(emitter, Duration.ofMillis(intervalMillis).toNanos());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        // Join before the snapshot so no update can fall in between; sequence numbers order the two
+        subscribers.add(subscriber);
+        subscriber.offer(snapshotEvents(liveTotals.snapshot()));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(PendingExpenseWrites.CONSUMER_ORDER)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        LiveTotals.Update update = liveTotals.apply(event);
+        if (update == null || subscribers.isEmpty()) {
+            return;
+        }
+        List<LiveEvent> events = new ArrayList<>();
+        events.add(totalsEvent(update));
+        for (LiveTotals.CategorySum sum : update.categories()) {
+            events.add(categoryEvent(update.seq(), sum));
+        }
+        publish(events);
+        if (!update.months().isEmpty()) {
+            // Budgets are read from the database, so not on the thread that just committed
+            senders.execute(() -> publishBudgetCrossings(update));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        // The cascade removed expenses without write events of their own
+        liveTotals.invalidate();
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // The reseed scans the expense table, so not on the thread that just committed
+        senders.execute(() -> publishReseed(event.categoryId()));
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void publish(List<LiveEvent> events) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(events);
+        }
+    }
+
+    // ── Events ───────────────────────────────────────────────────────────────
+
+    private List<LiveEvent> snapshotEvents(LiveTotals.Update snapshot) {
+        List<LiveEvent> events = new ArrayList<>(snapshot.categories().size() + 2);
+        events.add(totalsEvent(snapshot));
+        for (LiveTotals.CategorySum sum : snapshot.categories()) {
+            events.add(categoryEvent(snapshot.seq(), sum));
+        }
+        return events;
+    }
+
+    private static LiveEvent totalsEvent(LiveTotals.Update update) {
+        return new LiveEvent("totals", update.seq(), "totals", new LiveTotalsResponse(
+                update.count(), Money.toBigDecimal(update.cents()), Money.average(update.cents(), update.count())));
+    }
+
+    private LiveEvent categoryEvent(long seq, LiveTotals.CategorySum sum) {
+        CategorySummaryResponse category = categoryDictionary.get(sum.categoryId());
+        return new LiveEvent("category:" + sum.categoryId(), seq, "category", new CategoryBreakdownResponse(
+                sum.categoryId(),
+                category == null ? null : category.getName(),
+                category == null ? null : category.getColor(),
+                sum.count(),
+                Money.toBigDecimal(sum.cents()),
+                Money.average(sum.cents(), sum.count())));
+    }
+
+    private void publishReseed(Long deletedCategoryId) {
+        LiveTotals.Update snapshot;
+        try {
+            snapshot = liveTotals.snapshot();
+        } catch (RuntimeException ex) {
+            log.warn("Skipping live totals after deleting category {}: {}", deletedCategoryId, ex.toString());
+            return;
+        }
+        List<LiveEvent> events = snapshotEvents(snapshot);
+        events.add(categoryEvent(snapshot.seq(), new LiveTotals.CategorySum(deletedCategoryId, 0L, 0L)));
+        publish(events);
+    }
+
+    private void publishBudgetCrossings(LiveTotals.Update update) {
+        List<LiveEvent> events = new ArrayList<>();
+        try {
+            for (LiveTotals.MonthSpend spend : update.months()) {
+                LiveEvent crossing = budgetCrossing(update.seq(), spend);
+                if (crossing != null) {
+                    events.add(crossing);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Skipping budget checks for live update {}: {}", update.seq(), ex.toString());
+            return;
+        }
+        if (!events.isEmpty()) {
+            publish(events);
+        }
+    }
+
+    // Only sent when the month's spend moves across the limit, in either direction
+    private LiveEvent budgetCrossing(long seq, LiveTotals.MonthSpend spend) {
+        Optional<Budget> budget = budgetRepository.findByCategoryIdAndMonth(spend.categoryId(), spend.month());
+        if (budget.isEmpty()) {
+            return null;
+        }
+        long limitCents = Money.toCents(budget.get().getMonthlyLimit());
+        boolean wasExceeded = spend.beforeCents() > limitCents;
+        boolean exceeded = spend.afterCents() > limitCents;
+        if (wasExceeded == exceeded) {
+            return null;
+        }
+        return new LiveEvent("budget:" + spend.categoryId() + ":" + spend.month(), seq, "budget",
+                new BudgetStatusResponse(spend.categoryId(), spend.month(), budget.get().getMonthlyLimit(),
+                        Money.toBigDecimal(spend.afterCents()), exceeded));
+    }
+
+    /**
+     * One SSE message; {@code key} names what it describes, so a newer
+     * message for the same key supersedes an older one.
+     */
+    record LiveEvent(String key, long seq, String name, Object data) {
+    }
+
+    // ── Subscribers ──────────────────────────────────────────────────────────
+
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        final long intervalNanos;
+
+        // Guarded by this
+        private final Map<String, LiveEvent> pending = new LinkedHashMap<>();
+        private final Map<String, Long> sentSeq = new HashMap<>();
+        private boolean draining;
+        private long lastFlush;
+
+        Subscriber(SseEmitter emitter, long intervalNanos) {
+            this.emitter = emitter;
+            this.intervalNanos = intervalNanos;
+        }
+
+        void offer(List<LiveEvent> events) {
+            boolean start;
+            synchronized (this) {
+                for (LiveEvent event : events) {
+                    LiveEvent previous = pending.get(event.key());
+                    if (previous != null) {
+                        coalesced.increment();
+                        if (previous.seq() > event.seq()) {
+                            continue;
+                        }
+                    }
+                    pending.put(event.key(), event);
+                }
+                start = !draining && !pending.isEmpty();
+                draining |= start;
+            }
+            if (start) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    long wait = lastFlush == 0 ? 0 : lastFlush + intervalNanos - System.nanoTime();
+                    if (wait > 0) {
+                        Thread.sleep(Duration.ofNanos(wait));
+                    }
+                    List<LiveEvent> batch = new ArrayList<>();
+                    synchronized (this) {
+                        if (pending.isEmpty()) {
+                            draining = false;
+                            return;
+                        }
+                        for (LiveEvent event : pending.values()) {
+                            // A snapshot taken before an update that was already sent is older news
+                            Long sent = sentSeq.get(event.key());
+                            if (sent == null || sent <= event.seq()) {
+                                sentSeq.put(event.key(), event.seq());
+                                batch.add(event);
+                            }
+                        }
+                        pending.clear();
+                    }
+                    for (LiveEvent event : batch) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.seq()))
+                                .name(event.name())
+                                .data(event.data()));
+                    }
+                    lastFlush = System.nanoTime();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the stream timed out
+                log.debug("Dropping live subscriber: {}", ex.toString());
+                close();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        }
+
+        private void close() {
+            subscribers.remove(this);
+            synchronized (this) {
+                pending.clear();
+                draining = false;
+            }
+            emitter.complete();
+        }
+    }
+}
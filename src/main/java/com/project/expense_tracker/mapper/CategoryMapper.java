@@ -3,6 +3,7 @@ package com.project.expense_tracker.mapper;
 import com.project.expense_tracker.dto.*;
 import com.project.expense_tracker.model.Category;
 import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.util.Money;
 import org.mapstruct.*;
 
 import java.math.BigDecimal;
@@ -24,9 +25,7 @@ public interface CategoryMapper {
         List<Expense> expenses = category.getExpenses();
         int expenseCount = (expenses == null)? 0 : expenses.size();
 
-        BigDecimal totalAmount = (expenses == null)
-        ? BigDecimal.ZERO
-        :expenses.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalAmount = Money.toBigDecimal(Money.sumCents(expenses));
 
         return new CategoryWithStatsResponse(
                 category.getId(),
@@ -32,6 +32,7 @@ public interface ExpenseMapper {
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "tags", ignore = true)
     Expense toEntity(CreateExpenseRequest request);
 
     // Update entity from request (ignore null values and certain fields)
@@ -40,6 +41,7 @@ public interface ExpenseMapper {
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "tags", ignore = true)
     void updateEntityFromRequest(UpdateExpenseRequest request, @MappingTarget Expense expense);
 
     default void calculateFields(@MappingTarget ExpenseResponse2 response, Expense expense) {
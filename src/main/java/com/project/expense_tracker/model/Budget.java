@@ -1,15 +1,20 @@
 package com.project.expense_tracker.model;
 
+import com.project.expense_tracker.cache.EntityCacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
 
 @Entity
 @Table(name = "budgets", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"category_id", "month"})
+        @UniqueConstraint(columnNames = {"category_id", "`month`"})
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.BUDGETS)
 public class Budget {
 
     @Id
@@ -24,6 +29,8 @@ public class Budget {
     private BigDecimal monthlyLimit;
 
     @NotNull(message = "Month is required")
+    // MONTH is a keyword in H2, so the column name is quoted
+    @Column(name = "`month`", nullable = false)
     private YearMonth month;
 
     public Budget(){};
@@ -1,15 +1,21 @@
 package com.project.expense_tracker.model;
 
 import com.project.expense_tracker.exception.ValidExpenseDate;
+import com.project.expense_tracker.util.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+        @Index(name = "idx_expenses_category_date", columnList = "category_id, expense_date"),
+        @Index(name = "idx_expenses_expense_date", columnList = "expense_date")
+})
 public class Expense {
 
     @Id
@@ -23,6 +29,10 @@ public class Expense {
     @Column(nullable = false, precision = 12, scale = 2)
     private BigDecimal amount;
 
+    // Amount in cents, kept in sync with amount for allocation-free aggregation
+    @Transient
+    private long amountCents;
+
     @NotBlank(message = "Description is required")
     @Size(min = 3, max = 200, message = "Description must be between 3 and 200 characters")
     @Pattern(regexp = "^[^<>{}]*$", message = "Description cannot contain special characters like <, >, {, }")
@@ -43,6 +53,14 @@ public class Expense {
     @Column(name = "expense_date", nullable = false)
     private LocalDate expenseDate;
 
+    // Lower-case labels such as "reimbursable"; filtered through the in-memory tag bitmaps
+    @ElementCollection
+    @CollectionTable(name = "expense_tags",
+            joinColumns = @JoinColumn(name = "expense_id"),
+            indexes = @Index(name = "idx_expense_tags_tag", columnList = "tag"))
+    @Column(name = "tag", nullable = false, length = 40)
+    private Set<String> tags = new HashSet<>();
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -60,12 +78,17 @@ public class Expense {
         updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    protected void onLoad() {
+        amountCents = Money.toCents(amount);
+    }
+
     // Constructors
     public Expense() {
     }
 
     public Expense(BigDecimal amount, String description, Category category, LocalDate expenseDate) {
-        this.amount = amount;
+        setAmount(amount);
         this.description = description;
         this.category = category;
         this.expenseDate = expenseDate;
@@ -86,6 +109,11 @@ public class Expense {
 
     public void setAmount(BigDecimal amount) {
         this.amount = amount;
+        this.amountCents = Money.toCents(amount);
+    }
+
+    public long getAmountCents() {
+        return amountCents;
     }
 
     public String getDescription() {
@@ -112,6 +140,14 @@ public class Expense {
         this.expenseDate = expenseDate;
     }
 
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
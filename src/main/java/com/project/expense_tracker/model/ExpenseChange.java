@@ -0,0 +1,68 @@
+package com.project.expense_tracker.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the expense change log. The sequence is the sync cursor:
+ * clients ask for everything after the last one they have seen.
+ */
+@Entity
+@Table(name = "expense_changes")
+public class ExpenseChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "expense_id", nullable = false)
+    private Long expenseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private ExpenseChangeType type;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public ExpenseChange() {}
+
+    public ExpenseChange(Long expenseId, ExpenseChangeType type, LocalDateTime changedAt) {
+        this.expenseId = expenseId;
+        this.type = type;
+        this.changedAt = changedAt;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public Long getExpenseId() {
+        return expenseId;
+    }
+
+    public void setExpenseId(Long expenseId) {
+        this.expenseId = expenseId;
+    }
+
+    public ExpenseChangeType getType() {
+        return type;
+    }
+
+    public void setType(ExpenseChangeType type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
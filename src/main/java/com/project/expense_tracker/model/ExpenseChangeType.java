@@ -0,0 +1,6 @@
+package com.project.expense_tracker.model;
+
+public enum ExpenseChangeType {
+    UPSERT, // created or updated; clients fetch the current state
+    DELETE  // tombstone; only the id is left
+}
@@ -1,11 +1,19 @@
 package com.project.expense_tracker.repository;
 
+import com.project.expense_tracker.cache.EntityCacheRegions;
 import com.project.expense_tracker.model.Budget;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.YearMonth;
 import java.util.Optional;
 
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheRegions.BUDGETS_BY_CATEGORY_MONTH)
+    })
     Optional<Budget> findByCategoryIdAndMonth(Long categoryId, YearMonth month);
 }
@@ -1,9 +1,13 @@
 package com.project.expense_tracker.repository;
 
+import com.project.expense_tracker.cache.EntityCacheRegions;
 import com.project.expense_tracker.dto.CategoryWithStatsResponse;
 import com.project.expense_tracker.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +19,11 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     // ========== Derived Query Methods ==========
 
+    // Served from the query cache until the categories table changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheRegions.CATEGORIES_BY_NAME)
+    })
     Optional<Category> findByName(String name);
 
     boolean existsByName(String name);
@@ -50,6 +59,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
             "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Category> searchByNameOrDescription(@Param("keyword") String keyword);
 
+    // All ids, for rebuilding the existence filter
+    @Query("SELECT c.id FROM Category c")
+    List<Long> findAllIds();
+
     // ========== Native SQL Queries ==========
 
     // Get category usage statistics
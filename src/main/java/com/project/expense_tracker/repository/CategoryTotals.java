@@ -0,0 +1,15 @@
+package com.project.expense_tracker.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-category aggregate row, grouped by category id.
+ */
+public interface CategoryTotals {
+
+    Long getCategoryId();
+
+    long getExpenseCount();
+
+    BigDecimal getTotalAmount();
+}
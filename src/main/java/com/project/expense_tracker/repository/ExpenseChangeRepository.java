@@ -0,0 +1,21 @@
+package com.project.expense_tracker.repository;
+
+import com.project.expense_tracker.model.ExpenseChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExpenseChangeRepository extends JpaRepository<ExpenseChange, Long> {
+
+    // One batch of the change feed, walked by the primary key
+    @Query("SELECT c FROM ExpenseChange c WHERE c.seq > :since AND c.seq <= :upTo ORDER BY c.seq")
+    List<ExpenseChange> findBatch(@Param("since") long since, @Param("upTo") long upTo, Pageable pageable);
+
+    @Query("SELECT MAX(c.seq) FROM ExpenseChange c")
+    Long findMaxSeq();
+}
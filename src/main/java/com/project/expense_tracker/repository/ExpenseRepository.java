@@ -1,6 +1,7 @@
 package com.project.expense_tracker.repository;
 
 import com.project.expense_tracker.model.Expense;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -66,12 +68,68 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpec
             LocalDate endDate
     );
 
+    // Paged without a count query (ordering comes from the Pageable)
+    List<Expense> findAllBy(Pageable pageable);
+
+    List<Expense> findByCategory_Id(Long categoryId, Pageable pageable);
+
+    List<Expense> findByExpenseDateGreaterThanEqual(LocalDate date, Pageable pageable);
+
+    List<Expense> findByCategory_IdAndExpenseDateGreaterThanEqual(
+            Long categoryId,
+            LocalDate date,
+            Pageable pageable
+    );
+
     // ========== Custom JPQL Queries ==========
 
     // Get expenses with category info
     @Query("SELECT e FROM Expense e JOIN FETCH e.category WHERE e.id = :id")
     Expense findByIdWithCategory(@Param("id") Long id);
 
+    // Keyset batches for full scans (category fetched in the same query)
+    @Query("SELECT e FROM Expense e JOIN FETCH e.category WHERE e.id > :afterId ORDER BY e.id")
+    List<Expense> findBatchAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset batches of (id, category id, date, amount), for seeding in-memory totals without loading entities
+    @Query("SELECT e.id, e.category.id, e.expenseDate, e.amount FROM Expense e WHERE e.id > :afterId ORDER BY e.id")
+    List<Object[]> findSpendRowsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // The same, for expenses dated after a day
+    @Query("SELECT e.id, e.category.id, e.expenseDate, e.amount FROM Expense e " +
+            "WHERE e.id > :afterId AND e.expenseDate > :since ORDER BY e.id")
+    List<Object[]> findSpendRowsAfterIdSince(@Param("afterId") Long afterId, @Param("since") LocalDate since,
+                                             Pageable pageable);
+
+    // Keyset batches of ids only, for rebuilding membership filters
+    @Query("SELECT e.id FROM Expense e WHERE e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // (expense id, tag) pairs for one keyset batch, so scans don't load tags row by row
+    @Query("SELECT e.id, t FROM Expense e JOIN e.tags t WHERE e.id > :afterId AND e.id <= :upToId")
+    List<Object[]> findTagsInIdRange(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    // Current state of a set of expenses, with everything the full response shows
+    @Query("SELECT DISTINCT e FROM Expense e JOIN FETCH e.category LEFT JOIN FETCH e.tags WHERE e.id IN :ids")
+    List<Expense> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Columns of the full response for a set of ids; the category stays a foreign key, named from the dictionary
+    @Query("SELECT e.id, e.amount, e.description, e.expenseDate, e.createdAt, e.updatedAt, e.category.id " +
+            "FROM Expense e WHERE e.id IN :ids")
+    List<Object[]> findResponseColumnsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // (expense id, tag) pairs for a set of ids
+    @Query("SELECT e.id, t FROM Expense e JOIN e.tags t WHERE e.id IN :ids")
+    List<Object[]> findTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Ids removed along with a category, for the change log
+    @Query("SELECT e.id FROM Expense e WHERE e.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Expenses per tag, only used until the tag bitmaps are built
+    @Query("SELECT t, COUNT(e) FROM Expense e JOIN e.tags t GROUP BY t ORDER BY COUNT(e) DESC, t")
+    List<Object[]> countByTag();
+
     // Sum by category
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.category.id = :categoryId")
     BigDecimal sumAmountByCategory(@Param("categoryId") Long categoryId);
@@ -103,6 +161,12 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpec
             "ORDER BY SUM(e.amount) DESC")
     List<Object[]> getCategoryBreakdown();
 
+    // Category breakdown keyed by id: no join and no string grouping
+    @Query("SELECT e.category.id AS categoryId, COUNT(e) AS expenseCount, SUM(e.amount) AS totalAmount " +
+            "FROM Expense e " +
+            "GROUP BY e.category.id")
+    List<CategoryTotals> sumByCategoryId();
+
     // Search in multiple fields
     @Query("SELECT e FROM Expense e WHERE " +
             "LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -0,0 +1,577 @@
+package com.project.expense_tracker.search;
+
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.dto.CategorySummaryResponse;
+import com.project.expense_tracker.dto.ExpenseSummaryResponse;
+import com.project.expense_tracker.dto.FuzzyMatchResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Inverted index over expense descriptions for substring keyword search.
+ *
+ * Every lower-cased description is split into character trigrams, and each
+ * trigram maps to a compressed posting list of expense ids. A keyword is answered by intersecting the lists of its trigrams and checking
+ * the surviving candidates against the stored text, so results match the
+ * {@code LIKE '%kw%'} queries exactly; category names are matched against the
+ * category dictionary and expanded through per-category posting lists.
+ * The same posting lists prune candidates for typo-tolerant fuzzy search.
+ *
+ * The index is built in the background once the application is ready and is
+ * kept current by write events after commit. Until it is built, or for
+ * keywords shorter than a trigram, callers fall back to SQL.
+ */
+@Component
+public class ExpenseSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSearchIndex.class);
+
+    static final int GRAM = 3;
+    // Compact once stale entries pass a quarter of the postings
+    private static final long MIN_STALE_TO_COMPACT = 10_000;
+
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingDouble(Hit::score).reversed()
+            .thenComparing(hit -> hit.doc().expenseDate(), Comparator.reverseOrder())
+            .thenComparing(hit -> hit.doc().id(), Comparator.reverseOrder());
+
+    private enum Status { BUILDING, READY, DISABLED }
+
+    private final ExpenseRepository expenseRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final int batchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Writes seen while building, replayed onto the new index before it goes live
+    private final List<Consumer<IndexState>> pending = new ArrayList<>();
+    private IndexState state = new IndexState();
+    private Status status;
+
+    @Autowired
+    public ExpenseSearchIndex(ExpenseRepository expenseRepository,
+                              CategoryDictionary categoryDictionary,
+                              @Value("${expense.search.index-enabled:true}") boolean enabled,
+                              @Value("${expense.search.rebuild-batch-size:5000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("expense.search.rebuild-batch-size must be positive");
+        }
+        this.expenseRepository = expenseRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.batchSize = batchSize;
+        this.status = enabled ? Status.BUILDING : Status.DISABLED;
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    /**
+     * Ranked page of expenses whose description, and optionally category name,
+     * contains the keyword, with the total number of matches. Empty if the
+     * index can't answer and the caller should query the database instead.
+     */
+    public Optional<Page<ExpenseSummaryResponse>> search(String keyword, boolean includeCategoryNames,
+                                                         int page, int size) {
+        String folded = fold(keyword);
+        if (folded.length() < GRAM) {
+            return Optional.empty();
+        }
+        Set<Long> matchingCategories = includeCategoryNames ? categoriesMatching(folded) : Set.of();
+
+        List<Hit> hits;
+        lock.readLock().lock();
+        try {
+            if (status != Status.READY) {
+                return Optional.empty();
+            }
+            hits = collect(state.postings, folded, matchingCategories);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(RANKING);
+        int from = (int) Math.min((long) page * size, hits.size());
+        int to = (int) Math.min((long) from + size, hits.size());
+        List<ExpenseSummaryResponse> results = new ArrayList<>(to - from);
+        for (Hit hit : hits.subList(from, to)) {
+            results.add(toResponse(hit.doc()));
+        }
+        return Optional.of(new PageImpl<>(results, PageRequest.of(page, size), hits.size()));
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return status == Status.READY;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> collect(Postings postings, String folded, Set<Long> matchingCategories) {
+        Map<Long, Hit> byId = new HashMap<>();
+        for (long id : postings.candidates(folded)) {
+            IndexedExpense doc = state.docs.get(id);
+            // Posting lists may hold stale ids; the stored text is the source of truth
+            if (doc != null && doc.folded().contains(folded)) {
+                byId.put(id, new Hit(doc, score(doc, folded, matchingCategories.contains(doc.categoryId()))));
+            }
+        }
+        for (Long categoryId : matchingCategories) {
+            PostingList list = postings.categories.get(categoryId);
+            if (list == null) {
+                continue;
+            }
+            for (long id : list.toArray()) {
+                IndexedExpense doc = state.docs.get(id);
+                if (doc != null && !byId.containsKey(id) && categoryId.equals(doc.categoryId())) {
+                    byId.put(id, new Hit(doc, 1));
+                }
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * Substring match scores 1, plus 1 if the description starts with the
+     * keyword, plus 2 if it appears as a whole word, plus 1 for a category hit.
+     */
+    private static int score(IndexedExpense doc, String folded, boolean categoryMatch) {
+        int score = 1;
+        if (doc.folded().startsWith(folded)) {
+            score += 1;
+        }
+        if (containsWord(doc.folded(), folded)) {
+            score += 2;
+        }
+        if (categoryMatch) {
+            score += 1;
+        }
+        return score;
+    }
+
+    private static boolean containsWord(String text, String word) {
+        for (int at = text.indexOf(word); at >= 0; at = text.indexOf(word, at + 1)) {
+            int end = at + word.length();
+            boolean startsWord = at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1));
+            boolean endsWord = end == text.length() || !Character.isLetterOrDigit(text.charAt(end));
+            if (startsWord && endsWord) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expenses whose descriptions resemble the text, best first, or empty if
+     * the index isn't built or the text has no word of at least three letters.
+     *
+     * Each query word is scored by the trigram Jaccard similarity of its best
+     * matching description word, and the scores are averaged. A word can only
+     * reach the threshold if it shares {@code ceil(threshold * grams)} trigrams
+     * with the description, so candidates come from just enough of the rarest
+     * posting lists to guarantee that overlap instead of from a scan.
+     */
+    public Optional<List<FuzzyMatchResponse>> fuzzySearch(String text, double threshold, int limit) {
+        List<Set<String>> queryWords = queryWords(text);
+        if (queryWords.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (status != Status.READY) {
+                return Optional.empty();
+            }
+            for (Long id : fuzzyCandidates(queryWords, threshold)) {
+                IndexedExpense doc = state.docs.get(id);
+                if (doc == null) {
+                    continue;
+                }
+                double similarity = similarity(queryWords, doc.folded());
+                if (similarity >= threshold) {
+                    hits.add(new Hit(doc, similarity));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(RANKING);
+        List<FuzzyMatchResponse> matches = new ArrayList<>();
+        for (Hit hit : hits.subList(0, Math.min(limit, hits.size()))) {
+            matches.add(new FuzzyMatchResponse(toResponse(hit.doc()), hit.score()));
+        }
+        return Optional.of(matches);
+    }
+
+    /**
+     * Number of documents a fuzzy search for the text would score, which
+     * depends on the matching postings rather than on the index size.
+     */
+    int fuzzyCandidateCount(String text, double threshold) {
+        lock.readLock().lock();
+        try {
+            return fuzzyCandidates(queryWords(text), threshold).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Call under the read lock
+    private Set<Long> fuzzyCandidates(List<Set<String>> queryWords, double threshold) {
+        Set<Long> candidates = new HashSet<>();
+        for (Set<String> wordGrams : queryWords) {
+            int minOverlap = Math.max(1, (int) Math.ceil(threshold * wordGrams.size() - 1e-9));
+            state.postings.collectOverlapCandidates(wordGrams, minOverlap, candidates);
+        }
+        return candidates;
+    }
+
+    private static List<Set<String>> queryWords(String text) {
+        List<Set<String>> queryWords = new ArrayList<>();
+        for (String word : words(fold(text))) {
+            if (word.length() >= GRAM) {
+                queryWords.add(grams(word));
+            }
+        }
+        return queryWords;
+    }
+
+    private static double similarity(List<Set<String>> queryWords, String folded) {
+        List<Set<String>> docWords = new ArrayList<>();
+        for (String word : words(folded)) {
+            if (word.length() >= GRAM) {
+                docWords.add(grams(word));
+            }
+        }
+        double total = 0.0;
+        for (Set<String> queryGrams : queryWords) {
+            double best = 0.0;
+            for (Set<String> docGrams : docWords) {
+                best = Math.max(best, jaccard(queryGrams, docGrams));
+            }
+            total += best;
+        }
+        return total / queryWords.size();
+    }
+
+    private static double jaccard(Set<String> left, Set<String> right) {
+        int overlap = 0;
+        for (String gram : left) {
+            if (right.contains(gram)) {
+                overlap++;
+            }
+        }
+        return (double) overlap / (left.size() + right.size() - overlap);
+    }
+
+    private Set<Long> categoriesMatching(String folded) {
+        Set<Long> matching = new HashSet<>();
+        for (CategorySummaryResponse category : categoryDictionary.all()) {
+            if (category.getName() != null && fold(category.getName()).contains(folded)) {
+                matching.add(category.getId());
+            }
+        }
+        return matching;
+    }
+
+    private ExpenseSummaryResponse toResponse(IndexedExpense doc) {
+        CategorySummaryResponse category = doc.categoryId() == null ? null : categoryDictionary.get(doc.categoryId());
+        return new ExpenseSummaryResponse(
+                doc.id(),
+                Money.toBigDecimal(doc.amountCents()),
+                doc.description(),
+                category == null ? null : category.getName(),
+                doc.expenseDate());
+    }
+
+    // ── Writes ───────────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        mutate(target -> {
+            if (event.after() != null) {
+                target.put(event.after());
+            } else if (event.before() != null) {
+                target.remove(event.before().id());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Deletes cascade to expenses without expense events; renames need nothing
+        if (event.deleted()) {
+            mutate(target -> target.removeCategory(event.categoryId()));
+        }
+    }
+
+    private void mutate(Consumer<IndexState> change) {
+        lock.writeLock().lock();
+        try {
+            switch (status) {
+                case READY -> change.accept(state);
+                case BUILDING -> pending.add(change);
+                case DISABLED -> { }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ── Building ─────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (isBuilding()) {
+            Thread.ofVirtual().name("expense-search-rebuild").start(this::rebuild);
+        }
+    }
+
+    /**
+     * Scans all expenses in id order and swaps the result in, replaying writes
+     * that happened during the scan. Searches use SQL until this finishes.
+     */
+    void rebuild() {
+        try {
+            IndexState built = new IndexState();
+            long afterId = 0L;
+            List<Expense> batch;
+            do {
+                batch = expenseRepository.findBatchAfterId(afterId, PageRequest.of(0, batchSize));
+                for (Expense expense : batch) {
+                    built.put(ExpenseSnapshot.of(expense));
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == batchSize);
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(change -> change.accept(built));
+                pending.clear();
+                state = built;
+                status = Status.READY;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Expense search index built with {} expenses", built.docs.size());
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pending.clear();
+                status = Status.DISABLED;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Building the expense search index failed; keyword search stays on the database", ex);
+        }
+    }
+
+    private boolean isBuilding() {
+        lock.readLock().lock();
+        try {
+            return status == Status.BUILDING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String fold(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> words(String folded) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean inWord = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                words.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    static Set<String> grams(String folded) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            grams.add(folded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // ── Index structures ─────────────────────────────────────────────────────
+
+    private record IndexedExpense(long id, Long categoryId, long amountCents,
+                                  LocalDate expenseDate, String description, String folded) {
+
+        static IndexedExpense of(ExpenseSnapshot expense) {
+            return new IndexedExpense(expense.id(), expense.categoryId(),
+                    expense.amountCents(), expense.expenseDate(), expense.description(),
+                    fold(expense.description()));
+        }
+    }
+
+    private record Hit(IndexedExpense doc, double score) {
+    }
+
+    private static final class IndexState {
+
+        final Map<Long, IndexedExpense> docs = new HashMap<>();
+        Postings postings = new Postings();
+
+        void put(ExpenseSnapshot expense) {
+            IndexedExpense doc = IndexedExpense.of(expense);
+            IndexedExpense previous = docs.put(doc.id(), doc);
+            postings.index(doc, previous);
+            compactIfNeeded();
+        }
+
+        void remove(Long id) {
+            IndexedExpense previous = docs.remove(id);
+            if (previous != null) {
+                postings.stale += grams(previous.folded()).size() + 1L;
+                compactIfNeeded();
+            }
+        }
+
+        void removeCategory(Long categoryId) {
+            PostingList list = postings.categories.get(categoryId);
+            if (list == null) {
+                return;
+            }
+            for (long id : list.toArray()) {
+                IndexedExpense doc = docs.get(id);
+                if (doc != null && categoryId.equals(doc.categoryId())) {
+                    remove(id);
+                }
+            }
+        }
+
+        private void compactIfNeeded() {
+            if (postings.stale < MIN_STALE_TO_COMPACT || postings.stale * 4 < postings.entries) {
+                return;
+            }
+            Postings compacted = new Postings();
+            docs.values().stream()
+                    .sorted(Comparator.comparingLong(IndexedExpense::id))
+                    .forEach(doc -> compacted.index(doc, null));
+            postings = compacted;
+        }
+    }
+
+    /**
+     * Posting lists: trigram to ids, and category to ids.
+     */
+    private static final class Postings {
+
+        final Map<String, PostingList> grams = new HashMap<>();
+        final Map<Long, PostingList> categories = new HashMap<>();
+        long entries;
+        long stale;
+
+        /**
+         * Adds postings for a document; for an update only the trigrams it
+         * gained are added and the ones it lost are left behind as stale.
+         */
+        void index(IndexedExpense doc, IndexedExpense previous) {
+            Set<String> docGrams = grams(doc.folded());
+            Set<String> previousGrams = previous == null ? Set.of() : grams(previous.folded());
+            for (String gram : docGrams) {
+                if (!previousGrams.contains(gram)) {
+                    post(grams.computeIfAbsent(gram, g -> new PostingList()), doc.id());
+                }
+            }
+            for (String gram : previousGrams) {
+                if (!docGrams.contains(gram)) {
+                    stale++;
+                }
+            }
+            if (previous == null || !Objects.equals(previous.categoryId(), doc.categoryId())) {
+                post(categories.computeIfAbsent(doc.categoryId(), c -> new PostingList()), doc.id());
+                if (previous != null) {
+                    stale++;
+                }
+            }
+        }
+
+        private void post(PostingList list, long id) {
+            if (list.add(id)) {
+                entries++;
+            } else if (stale > 0) {
+                // A stale entry became live again
+                stale--;
+            }
+        }
+
+        /**
+         * Adds ids that may share at least {@code minOverlap} of the trigrams.
+         * Any such id must appear in one of the {@code n - minOverlap + 1}
+         * shortest lists, so the longer lists are never read.
+         */
+        void collectOverlapCandidates(Set<String> queryGrams, int minOverlap, Set<Long> candidates) {
+            List<PostingList> lists = new ArrayList<>();
+            for (String gram : queryGrams) {
+                PostingList list = grams.get(gram);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            if (lists.size() < minOverlap) {
+                return;
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            for (PostingList list : lists.subList(0, lists.size() - minOverlap + 1)) {
+                for (long id : list.toArray()) {
+                    candidates.add(id);
+                }
+            }
+        }
+
+        /**
+         * Ids whose descriptions contain every trigram of the keyword,
+         * intersecting the shortest lists first.
+         */
+        long[] candidates(String folded) {
+            List<PostingList> lists = new ArrayList<>();
+            for (String gram : grams(folded)) {
+                PostingList list = grams.get(gram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            long[] result = lists.get(0).toArray();
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = PostingList.intersect(result, lists.get(i).toArray());
+            }
+            return result;
+        }
+    }
+}
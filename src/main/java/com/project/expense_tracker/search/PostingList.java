@@ -0,0 +1,121 @@
+package com.project.expense_tracker.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of expense ids stored as varint-encoded deltas.
+ *
+ * Ids are assigned in increasing order, so creates append in place; adding an
+ * older id decodes and re-encodes the list. Ids are never removed one by one:
+ * the index leaves stale entries behind and compacts whole partitions.
+ */
+public final class PostingList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int size;
+    private long last;
+
+    /**
+     * Adds the id, returning false if it was already present.
+     */
+    public boolean add(long id) {
+        if (size == 0 || id > last) {
+            appendDelta(size == 0 ? id : id - last);
+            last = id;
+            size++;
+            return true;
+        }
+        long[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        long[] merged = new long[ids.length + 1];
+        System.arraycopy(ids, 0, merged, 0, insertAt);
+        merged[insertAt] = id;
+        System.arraycopy(ids, insertAt, merged, insertAt + 1, ids.length - insertAt);
+        encode(merged, merged.length);
+        return true;
+    }
+
+    public long[] toArray() {
+        long[] ids = new long[size];
+        long current = 0;
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            current = i == 0 ? delta : current + delta;
+            ids[i] = current;
+        }
+        return ids;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Encoded size in bytes, for memory reporting.
+     */
+    public int byteSize() {
+        return data.length;
+    }
+
+    /**
+     * Ids present in every array; arrays must be sorted ascending.
+     */
+    public static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[n++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private void encode(long[] ids, int count) {
+        data = new byte[Math.max(8, count * 2)];
+        length = 0;
+        size = 0;
+        last = 0;
+        for (int i = 0; i < count; i++) {
+            appendDelta(i == 0 ? ids[i] : ids[i] - ids[i - 1]);
+            last = ids[i];
+            size++;
+        }
+    }
+
+    private void appendDelta(long delta) {
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 10));
+        }
+        while ((delta & ~0x7FL) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+    }
+}
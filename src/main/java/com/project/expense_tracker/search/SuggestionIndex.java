@@ -0,0 +1,341 @@
+package com.project.expense_tracker.search;
+
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.dto.CategorySummaryResponse;
+import com.project.expense_tracker.dto.SuggestionResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead completions over distinct expense descriptions and category names.
+ *
+ * Phrases are normalized (lower case, single spaces) and kept in a trie whose
+ * nodes cache their best completions, so a lookup costs one walk down the
+ * prefix. Each expense adds a weight that halves every
+ * {@code expense.suggest.half-life-days} days of age, which ranks phrases by
+ * frequency and recency together; category names carry the weight of the
+ * expenses filed under them. Expense writes adjust weights in place; only a
+ * category delete, which cascades without expense events, forces a rebuild.
+ */
+@Component
+public class SuggestionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    private enum Status { BUILDING, READY, DISABLED }
+
+    private final ExpenseRepository expenseRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final PendingExpenseWrites pendingWrites;
+    private final int maxResults;
+    private final double halfLifeDays;
+    private final int batchSize;
+    private final long anchorDay;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private SuggestionState state;
+    private Status status;
+    private boolean rebuildRequested;
+    // Bumped by category writes; names are re-synced from the dictionary when it moves
+    private long categoryGeneration;
+    private long syncedCategoryGeneration = -1;
+
+    @Autowired
+    public SuggestionIndex(ExpenseRepository expenseRepository,
+                           CategoryDictionary categoryDictionary,
+                           PendingExpenseWrites pendingWrites,
+                           @Value("${expense.search.index-enabled:true}") boolean enabled,
+                           @Value("${expense.suggest.max-results:10}") int maxResults,
+                           @Value("${expense.suggest.half-life-days:30}") double halfLifeDays,
+                           @Value("${expense.search.rebuild-batch-size:5000}") int batchSize) {
+        this(expenseRepository, categoryDictionary, pendingWrites, enabled, maxResults, halfLifeDays, batchSize,
+                Clock.systemDefaultZone());
+    }
+
+    SuggestionIndex(ExpenseRepository expenseRepository, CategoryDictionary categoryDictionary,
+                    PendingExpenseWrites pendingWrites, boolean enabled, int maxResults, double halfLifeDays, int batchSize, Clock clock) {
+        if (maxResults < 1 || halfLifeDays <= 0 || batchSize < 1) {
+            throw new IllegalArgumentException(
+                    "expense.suggest.max-results, expense.suggest.half-life-days and batch size must be positive");
+        }
+        this.expenseRepository = expenseRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.pendingWrites = pendingWrites;
+        this.maxResults = maxResults;
+        this.halfLifeDays = halfLifeDays;
+        this.batchSize = batchSize;
+        // Weights are relative to a fixed day so they never need rescaling
+        this.anchorDay = LocalDate.now(clock).toEpochDay();
+        this.state = new SuggestionState();
+        this.status = enabled ? Status.BUILDING : Status.DISABLED;
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    /**
+     * Best completions for the prefix, or empty if the index isn't built and
+     * the caller should query the database.
+     */
+    public Optional<List<SuggestionResponse>> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        syncCategories();
+        lock.readLock().lock();
+        try {
+            if (status != Status.READY) {
+                return Optional.empty();
+            }
+            List<SuggestionResponse> suggestions = new ArrayList<>();
+            for (SuggestionTrie.Phrase phrase : state.trie.complete(key, Math.min(limit, maxResults))) {
+                suggestions.add(new SuggestionResponse(phrase.text, phrase.weight));
+            }
+            return Optional.of(suggestions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Attaches current category names to the weights collected for them.
+     * The dictionary is read before taking the lock since it may hit the database.
+     */
+    private void syncCategories() {
+        long generation;
+        lock.readLock().lock();
+        try {
+            if (status != Status.READY || syncedCategoryGeneration == categoryGeneration) {
+                return;
+            }
+            generation = categoryGeneration;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, String> names = new HashMap<>();
+        for (CategorySummaryResponse category : categoryDictionary.all()) {
+            names.put(category.getId(), category.getName());
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (status == Status.READY && categoryGeneration == generation) {
+                state.syncCategories(names);
+                syncedCategoryGeneration = generation;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ── Writes ───────────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(PendingExpenseWrites.CONSUMER_ORDER)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // While building, the rebuild replays it from the pending writes instead
+            pendingWrites.delivered(this, event);
+            if (status == Status.READY) {
+                apply(state, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        boolean rebuild = false;
+        lock.writeLock().lock();
+        try {
+            categoryGeneration++;
+            // Deletes cascade to expenses without expense events
+            if (event.deleted() && status == Status.READY) {
+                status = Status.BUILDING;
+                rebuild = true;
+            } else if (event.deleted() && status == Status.BUILDING) {
+                rebuildRequested = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rebuild) {
+            startRebuild();
+        }
+    }
+
+    private static void apply(SuggestionState target, ExpenseChangedEvent event) {
+        if (event.before() != null) {
+            target.apply(event.before(), -1);
+        }
+        if (event.after() != null) {
+            target.apply(event.after(), 1);
+        }
+    }
+
+    // ── Building ─────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        lock.readLock().lock();
+        try {
+            if (status != Status.BUILDING) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        startRebuild();
+    }
+
+    private void startRebuild() {
+        Thread.ofVirtual().name("expense-suggest-rebuild").start(this::rebuild);
+    }
+
+    /**
+     * Scans all expenses in id order into a fresh state and swaps it in.
+     *
+     * Batches are read and applied without the lock, so writes and reads go
+     * on meanwhile. Writes that race the scan are replayed through
+     * {@link PendingExpenseWrites} when the state is swapped in, so weights
+     * are never counted twice. Suggestions use SQL until this finishes.
+     */
+    void rebuild() {
+        try {
+            boolean installed = false;
+            while (!installed) {
+                SuggestionState built = new SuggestionState();
+                try (PendingExpenseWrites.Scan scan = pendingWrites.open()) {
+                    long afterId = 0L;
+                    List<Expense> batch;
+                    do {
+                        batch = expenseRepository.findBatchAfterId(afterId, PageRequest.of(0, batchSize));
+                        afterId = batch.size() < batchSize ? Long.MAX_VALUE : batch.get(batch.size() - 1).getId();
+                        Set<Long> skipped = scan.advance(afterId);
+                        for (Expense expense : batch) {
+                            if (!skipped.contains(expense.getId())) {
+                                built.apply(ExpenseSnapshot.of(expense), 1);
+                            }
+                        }
+                    } while (afterId != Long.MAX_VALUE);
+
+                    lock.writeLock().lock();
+                    try {
+                        if (rebuildRequested) {
+                            // A category delete removed rows we had already counted
+                            rebuildRequested = false;
+                        } else {
+                            scan.replay(this, built::apply);
+                            state = built;
+                            syncedCategoryGeneration = -1;
+                            status = Status.READY;
+                            installed = true;
+                        }
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            }
+            log.info("Suggestion index built with {} phrases", state.trie.size());
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                status = Status.DISABLED;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Building the suggestion index failed; suggestions stay on the database", ex);
+        }
+    }
+
+    /**
+     * Lower case, trimmed, with runs of whitespace collapsed to one space.
+     */
+    public static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private double weightOf(LocalDate expenseDate) {
+        return Math.pow(2.0, (expenseDate.toEpochDay() - anchorDay) / halfLifeDays);
+    }
+
+    // ── State ────────────────────────────────────────────────────────────────
+
+    private final class SuggestionState {
+
+        final SuggestionTrie trie = new SuggestionTrie(maxResults);
+        // Weight gathered per category, and the phrase it is currently filed under
+        final Map<Long, CategoryWeight> categories = new HashMap<>();
+
+        void apply(ExpenseSnapshot expense, int sign) {
+            double weight = sign * weightOf(expense.expenseDate());
+            String text = expense.description() == null ? null : expense.description().trim().replaceAll("\\s+", " ");
+            String key = normalize(expense.description());
+            if (!key.isEmpty()) {
+                trie.adjust(key, sign > 0 ? text : null, weight, sign);
+            }
+            if (expense.categoryId() != null) {
+                CategoryWeight category = categories.computeIfAbsent(expense.categoryId(), id -> new CategoryWeight());
+                category.weight = Math.max(0.0, category.weight + weight);
+                if (category.key != null) {
+                    trie.adjust(category.key, null, weight, 0);
+                }
+            }
+        }
+
+        void syncCategories(Map<Long, String> names) {
+            Iterator<Map.Entry<Long, CategoryWeight>> entries = categories.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Long, CategoryWeight> entry = entries.next();
+                if (!names.containsKey(entry.getKey())) {
+                    entry.getValue().fileUnder(null, null);
+                    entries.remove();
+                }
+            }
+            names.forEach((id, name) -> categories.computeIfAbsent(id, key -> new CategoryWeight())
+                    .fileUnder(normalize(name), name.trim()));
+        }
+
+        private final class CategoryWeight {
+
+            String key;
+            double weight;
+
+            void fileUnder(String newKey, String text) {
+                if (Objects.equals(key, newKey)) {
+                    return;
+                }
+                if (key != null) {
+                    trie.adjust(key, null, -weight, -1);
+                }
+                if (newKey != null && !newKey.isEmpty()) {
+                    trie.adjust(newKey, text, weight, 1);
+                }
+                key = newKey;
+            }
+        }
+    }
+}
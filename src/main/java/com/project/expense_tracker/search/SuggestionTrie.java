@@ -0,0 +1,189 @@
+package com.project.expense_tracker.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Character trie of weighted phrases for prefix completion.
+ *
+ * Children are kept in sorted parallel arrays rather than maps, and every
+ * node caches the best phrases below it, so a lookup is a walk down the
+ * prefix followed by a copy of that node's list. Changing a phrase's weight
+ * only refreshes the cached lists on its own path.
+ */
+final class SuggestionTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Phrase[] NO_PHRASES = new Phrase[0];
+
+    private static final Comparator<Phrase> BY_WEIGHT = Comparator
+            .comparingDouble((Phrase phrase) -> phrase.weight).reversed()
+            .thenComparing(phrase -> phrase.key);
+
+    private final int fanout;
+    private final Node root = new Node();
+    private int phraseCount;
+
+    /**
+     * @param fanout how many completions each node keeps ready
+     */
+    SuggestionTrie(int fanout) {
+        if (fanout < 1) {
+            throw new IllegalArgumentException("Fanout must be positive");
+        }
+        this.fanout = fanout;
+    }
+
+    /**
+     * Adds to a phrase's weight and reference count, creating it if needed.
+     * The phrase is dropped once nothing references it any more.
+     *
+     * @param text display text to remember for the phrase, or null to keep the current one
+     */
+    void adjust(String key, String text, double weightDelta, long refDelta) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node next = path[i].child(key.charAt(i));
+            if (next == null) {
+                if (refDelta <= 0) {
+                    // Nothing to take away from a phrase that isn't there
+                    return;
+                }
+                next = path[i].addChild(key.charAt(i));
+            }
+            path[i + 1] = next;
+        }
+
+        Node leaf = path[key.length()];
+        if (leaf.phrase == null) {
+            if (refDelta <= 0) {
+                return;
+            }
+            leaf.phrase = new Phrase(key);
+            phraseCount++;
+        }
+        Phrase phrase = leaf.phrase;
+        phrase.weight = Math.max(0.0, phrase.weight + weightDelta);
+        phrase.refs += refDelta;
+        if (text != null) {
+            phrase.text = text;
+        }
+        if (phrase.refs <= 0) {
+            leaf.phrase = null;
+            phraseCount--;
+        }
+
+        for (int depth = key.length(); depth >= 0; depth--) {
+            Node node = path[depth];
+            if (depth > 0 && node.phrase == null && node.size == 0) {
+                path[depth - 1].removeChild(key.charAt(depth - 1));
+                continue;
+            }
+            node.top = best(node);
+        }
+    }
+
+    /**
+     * Up to {@code limit} phrases starting with the prefix, best first.
+     */
+    List<Phrase> complete(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        int count = Math.min(limit, node.top.length);
+        List<Phrase> phrases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            phrases.add(node.top[i].copy());
+        }
+        return phrases;
+    }
+
+    int size() {
+        return phraseCount;
+    }
+
+    private Phrase[] best(Node node) {
+        List<Phrase> candidates = new ArrayList<>();
+        if (node.phrase != null) {
+            candidates.add(node.phrase);
+        }
+        for (int i = 0; i < node.size; i++) {
+            candidates.addAll(Arrays.asList(node.children[i].top));
+        }
+        if (candidates.isEmpty()) {
+            return NO_PHRASES;
+        }
+        candidates.sort(BY_WEIGHT);
+        return candidates.subList(0, Math.min(fanout, candidates.size())).toArray(NO_PHRASES);
+    }
+
+    static final class Phrase {
+
+        final String key;
+        String text;
+        double weight;
+        long refs;
+
+        Phrase(String key) {
+            this.key = key;
+            this.text = key;
+        }
+
+        Phrase copy() {
+            Phrase copy = new Phrase(key);
+            copy.text = text;
+            copy.weight = weight;
+            copy.refs = refs;
+            return copy;
+        }
+    }
+
+    private static final class Node {
+
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        int size;
+        Phrase phrase;
+        Phrase[] top = NO_PHRASES;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char label) {
+            int insertAt = -Arrays.binarySearch(labels, 0, size, label) - 1;
+            if (size == labels.length) {
+                int capacity = Math.max(2, size * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, size - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, size - insertAt);
+            Node child = new Node();
+            labels[insertAt] = label;
+            children[insertAt] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(labels, index + 1, labels, index, size - index - 1);
+            System.arraycopy(children, index + 1, children, index, size - index - 1);
+            size--;
+            children[size] = null;
+        }
+    }
+}
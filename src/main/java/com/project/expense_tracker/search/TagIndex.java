@@ -0,0 +1,484 @@
+package com.project.expense_tracker.search;
+
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.dto.TagStatsResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap indexes for filtering expenses by tags, category and date.
+ *
+ * Every expense gets a dense ordinal the first time it is seen, and each tag,
+ * category and month keeps a {@link RoaringBitmap} of the ordinals it covers.
+ * A filter is then a handful of bitmap ANDs, ORs and AND-NOTs, smallest
+ * operand first, and only the page being returned is mapped back to ids.
+ * Ordinals of deleted expenses are cleared from every bitmap, and once they
+ * make up a quarter of the ordinal space the live ones are renumbered. Like
+ * the search index it is built in the background and callers fall back to
+ * SQL until it is ready.
+ */
+@Component
+public class TagIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TagIndex.class);
+
+    private enum Status { BUILDING, READY, DISABLED }
+
+    // Renumber once dead ordinals pass a quarter of those handed out
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    /**
+     * Tags that must all be present, at least one of which must be present,
+     * and none of which may be present, plus optional category and date bounds.
+     */
+    public record Query(Set<String> allOf, Set<String> anyOf, Set<String> noneOf,
+                        Long categoryId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    private final ExpenseRepository expenseRepository;
+    private final PendingExpenseWrites pendingWrites;
+    private final int batchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TagState state = new TagState();
+    private Status status;
+    private boolean rebuildRequested;
+
+    @Autowired
+    public TagIndex(ExpenseRepository expenseRepository,
+                    PendingExpenseWrites pendingWrites,
+                    @Value("${expense.search.index-enabled:true}") boolean enabled,
+                    @Value("${expense.search.rebuild-batch-size:5000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("expense.search.rebuild-batch-size must be positive");
+        }
+        this.expenseRepository = expenseRepository;
+        this.pendingWrites = pendingWrites;
+        this.batchSize = batchSize;
+        this.status = enabled ? Status.BUILDING : Status.DISABLED;
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    /**
+     * Ids of one page of matching expenses, most recently indexed first, or
+     * empty if the index isn't built and the caller should query the database.
+     */
+    public Optional<List<Long>> filter(Query query, int page, int size) {
+        lock.readLock().lock();
+        try {
+            if (status != Status.READY) {
+                return Optional.empty();
+            }
+            RoaringBitmap matches = state.match(query);
+            if (matches == null) {
+                return Optional.of(List.of());
+            }
+            return Optional.of(state.page(matches, query, (long) page * size, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Expense count and bitmap footprint per tag, largest first, or empty if
+     * the index isn't built.
+     */
+    public Optional<List<TagStatsResponse>> stats() {
+        lock.readLock().lock();
+        try {
+            if (status != Status.READY) {
+                return Optional.empty();
+            }
+            List<TagStatsResponse> stats = new ArrayList<>();
+            state.tags.forEach((tag, bitmap) ->
+                    stats.add(new TagStatsResponse(tag, bitmap.cardinality(), bitmap.sizeInBytes())));
+            stats.sort(Comparator.comparingLong(TagStatsResponse::getExpenseCount).reversed()
+                    .thenComparing(TagStatsResponse::getTag));
+            return Optional.of(stats);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return status == Status.READY;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ordinals handed out in the current state, live or dead
+    int ordinalsInUse() {
+        lock.readLock().lock();
+        try {
+            return state.nextOrdinal;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ── Writes ───────────────────────────────────────────────────────────────
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(PendingExpenseWrites.CONSUMER_ORDER)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // While building, the rebuild replays it from the pending writes instead
+            pendingWrites.delivered(this, event);
+            if (status == Status.READY) {
+                state.apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        boolean rebuild = false;
+        lock.writeLock().lock();
+        try {
+            // Deletes cascade to expenses without expense events
+            if (status == Status.READY) {
+                status = Status.BUILDING;
+                rebuild = true;
+            } else if (status == Status.BUILDING) {
+                rebuildRequested = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rebuild) {
+            startRebuild();
+        }
+    }
+
+    // ── Building ─────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        lock.readLock().lock();
+        try {
+            if (status != Status.BUILDING) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        startRebuild();
+    }
+
+    private void startRebuild() {
+        Thread.ofVirtual().name("expense-tag-rebuild").start(this::rebuild);
+    }
+
+    /**
+     * Scans all expenses and their tags in id order into a fresh, densely
+     * numbered state and swaps it in. Batches are read without the lock;
+     * writes that race the scan are replayed through
+     * {@link PendingExpenseWrites} under it, just before the swap.
+     */
+    void rebuild() {
+        try {
+            boolean installed = false;
+            while (!installed) {
+                TagState built = new TagState();
+                try (PendingExpenseWrites.Scan scan = pendingWrites.open()) {
+                    long afterId = 0L;
+                    List<Expense> batch;
+                    do {
+                        batch = expenseRepository.findBatchAfterId(afterId, PageRequest.of(0, batchSize));
+                        Map<Long, Set<String>> tagsById = new HashMap<>();
+                        if (!batch.isEmpty()) {
+                            long upToId = batch.get(batch.size() - 1).getId();
+                            for (Object[] row : expenseRepository.findTagsInIdRange(afterId, upToId)) {
+                                tagsById.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+                            }
+                        }
+                        afterId = batch.size() < batchSize ? Long.MAX_VALUE : batch.get(batch.size() - 1).getId();
+                        Set<Long> skipped = scan.advance(afterId);
+                        for (Expense expense : batch) {
+                            if (!skipped.contains(expense.getId())) {
+                                built.put(ExpenseSnapshot.of(expense), tagsById.getOrDefault(expense.getId(), Set.of()));
+                            }
+                        }
+                    } while (afterId != Long.MAX_VALUE);
+
+                    lock.writeLock().lock();
+                    try {
+                        if (rebuildRequested) {
+                            // A category delete removed rows we had already read
+                            rebuildRequested = false;
+                        } else {
+                            Set<Long> removed = new HashSet<>();
+                            scan.replay(this, (snapshot, sign) -> {
+                                if (sign > 0) {
+                                    built.put(snapshot, snapshot.tags() == null ? Set.of() : snapshot.tags());
+                                } else {
+                                    built.remove(snapshot);
+                                    removed.add(snapshot.id());
+                                }
+                            });
+                            built.forgetDeleted(removed);
+                            state = built;
+                            status = Status.READY;
+                            installed = true;
+                        }
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            }
+            log.info("Tag index built with {} tags over {} expenses", state.tags.size(), state.live.cardinality());
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                status = Status.DISABLED;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Building the tag index failed; tag filters stay on the database", ex);
+        }
+    }
+
+    // ── State ────────────────────────────────────────────────────────────────
+
+    private static final class TagState {
+
+        // Live expense ids only; ordinals of deleted ones are dead until the next compaction
+        final Map<Long, Integer> ordinals = new HashMap<>();
+        long[] expenseIds = new long[1024];
+        int[] epochDays = new int[1024];
+        int nextOrdinal;
+        int dead;
+        RoaringBitmap live = new RoaringBitmap();
+        final Map<String, RoaringBitmap> tags = new HashMap<>();
+        final Map<Long, RoaringBitmap> categories = new HashMap<>();
+        final Map<Integer, RoaringBitmap> months = new HashMap<>();
+
+        void apply(ExpenseChangedEvent event) {
+            if (event.before() != null) {
+                remove(event.before());
+            }
+            if (event.after() != null) {
+                put(event.after(), event.after().tags() == null ? Set.of() : event.after().tags());
+            } else if (event.before() != null) {
+                forgetDeleted(List.of(event.before().id()));
+            }
+        }
+
+        // Drops the ids whose ordinals were cleared and not reused
+        void forgetDeleted(Collection<Long> ids) {
+            for (Long expenseId : ids) {
+                Integer ordinal = ordinals.get(expenseId);
+                if (ordinal != null && !live.contains(ordinal)) {
+                    ordinals.remove(expenseId);
+                    dead++;
+                }
+            }
+            compactIfNeeded();
+        }
+
+        void put(ExpenseSnapshot expense, Set<String> expenseTags) {
+            int ordinal = ordinalOf(expense.id());
+            epochDays[ordinal] = (int) expense.expenseDate().toEpochDay();
+            live.add(ordinal);
+            if (expense.categoryId() != null) {
+                categories.computeIfAbsent(expense.categoryId(), id -> new RoaringBitmap()).add(ordinal);
+            }
+            months.computeIfAbsent(epochMonth(expense.expenseDate()), month -> new RoaringBitmap()).add(ordinal);
+            for (String tag : expenseTags) {
+                tags.computeIfAbsent(tag, key -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        void remove(ExpenseSnapshot expense) {
+            Integer ordinal = ordinals.get(expense.id());
+            if (ordinal == null) {
+                return;
+            }
+            live.remove(ordinal);
+            clear(categories, expense.categoryId(), ordinal);
+            clear(months, epochMonth(expense.expenseDate()), ordinal);
+            // Unknown old tags: clear the ordinal from every tag
+            Collection<String> oldTags = expense.tags() == null ? List.copyOf(tags.keySet()) : expense.tags();
+            for (String tag : oldTags) {
+                clear(tags, tag, ordinal);
+            }
+        }
+
+        /**
+         * Ordinals matching the query, or null if nothing can match.
+         */
+        RoaringBitmap match(Query query) {
+            List<RoaringBitmap> required = new ArrayList<>();
+            for (String tag : query.allOf()) {
+                RoaringBitmap bitmap = tags.get(tag);
+                if (bitmap == null) {
+                    return null;
+                }
+                required.add(bitmap);
+            }
+            if (!query.anyOf().isEmpty()) {
+                RoaringBitmap union = union(query.anyOf().stream().map(tags::get).toList());
+                if (union == null) {
+                    return null;
+                }
+                required.add(union);
+            }
+            if (query.categoryId() != null) {
+                RoaringBitmap bitmap = categories.get(query.categoryId());
+                if (bitmap == null) {
+                    return null;
+                }
+                required.add(bitmap);
+            }
+            if (query.startDate() != null || query.endDate() != null) {
+                // Whole months here; days at the edges are checked while paging
+                int from = query.startDate() == null ? Integer.MIN_VALUE : epochMonth(query.startDate());
+                int to = query.endDate() == null ? Integer.MAX_VALUE : epochMonth(query.endDate());
+                List<RoaringBitmap> inRange = new ArrayList<>();
+                months.forEach((month, bitmap) -> {
+                    if (month >= from && month <= to) {
+                        inRange.add(bitmap);
+                    }
+                });
+                RoaringBitmap union = union(inRange);
+                if (union == null) {
+                    return null;
+                }
+                required.add(union);
+            }
+
+            required.sort(Comparator.comparingInt(RoaringBitmap::cardinality));
+            RoaringBitmap result = required.isEmpty() ? live : required.get(0);
+            for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+                result = RoaringBitmap.and(result, required.get(i));
+            }
+            for (String tag : query.noneOf()) {
+                RoaringBitmap bitmap = tags.get(tag);
+                if (bitmap != null && !result.isEmpty()) {
+                    result = RoaringBitmap.andNot(result, bitmap);
+                }
+            }
+            return result;
+        }
+
+        List<Long> page(RoaringBitmap matches, Query query, long skip, int size) {
+            long startDay = query.startDate() == null ? Long.MIN_VALUE : query.startDate().toEpochDay();
+            long endDay = query.endDate() == null ? Long.MAX_VALUE : query.endDate().toEpochDay();
+            List<Long> page = new ArrayList<>(size);
+            long[] skipped = {0};
+            matches.forEachDescending(ordinal -> {
+                if (epochDays[ordinal] < startDay || epochDays[ordinal] > endDay) {
+                    return true;
+                }
+                if (skipped[0] < skip) {
+                    skipped[0]++;
+                    return true;
+                }
+                page.add(expenseIds[ordinal]);
+                return page.size() < size;
+            });
+            return page;
+        }
+
+        private int ordinalOf(long expenseId) {
+            Integer existing = ordinals.get(expenseId);
+            if (existing != null) {
+                return existing;
+            }
+            int ordinal = nextOrdinal++;
+            if (ordinal == expenseIds.length) {
+                expenseIds = Arrays.copyOf(expenseIds, ordinal * 2);
+                epochDays = Arrays.copyOf(epochDays, ordinal * 2);
+            }
+            expenseIds[ordinal] = expenseId;
+            ordinals.put(expenseId, ordinal);
+            return ordinal;
+        }
+
+        /**
+         * Renumbers the live ordinals densely, keeping their order, and maps
+         * every bitmap onto the new numbers.
+         */
+        private void compactIfNeeded() {
+            if (dead < MIN_DEAD_TO_COMPACT || dead * 4L < nextOrdinal) {
+                return;
+            }
+            int[] liveOrdinals = live.toArray();
+            int[] renumbered = new int[nextOrdinal];
+            long[] compactedIds = new long[Math.max(1024, liveOrdinals.length * 2)];
+            int[] compactedDays = new int[compactedIds.length];
+            ordinals.clear();
+            for (int i = 0; i < liveOrdinals.length; i++) {
+                int ordinal = liveOrdinals[i];
+                renumbered[ordinal] = i;
+                compactedIds[i] = expenseIds[ordinal];
+                compactedDays[i] = epochDays[ordinal];
+                ordinals.put(expenseIds[ordinal], i);
+            }
+            expenseIds = compactedIds;
+            epochDays = compactedDays;
+            nextOrdinal = liveOrdinals.length;
+            dead = 0;
+            live = renumber(live, renumbered);
+            tags.replaceAll((tag, bitmap) -> renumber(bitmap, renumbered));
+            categories.replaceAll((categoryId, bitmap) -> renumber(bitmap, renumbered));
+            months.replaceAll((month, bitmap) -> renumber(bitmap, renumbered));
+        }
+
+        private static RoaringBitmap renumber(RoaringBitmap bitmap, int[] renumbered) {
+            RoaringBitmap result = new RoaringBitmap();
+            for (int ordinal : bitmap.toArray()) {
+                result.add(renumbered[ordinal]);
+            }
+            return result;
+        }
+
+        private static <K> void clear(Map<K, RoaringBitmap> bitmaps, K key, int ordinal) {
+            RoaringBitmap bitmap = key == null ? null : bitmaps.get(key);
+            if (bitmap != null && bitmap.remove(ordinal) && bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+
+        private static RoaringBitmap union(List<RoaringBitmap> bitmaps) {
+            RoaringBitmap union = null;
+            for (RoaringBitmap bitmap : bitmaps) {
+                if (bitmap != null) {
+                    union = union == null ? bitmap : RoaringBitmap.or(union, bitmap);
+                }
+            }
+            return union;
+        }
+
+        private static int epochMonth(LocalDate date) {
+            return date.getYear() * 12 + date.getMonthValue() - 1;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.project.expense_tracker.service;
 
+import com.project.expense_tracker.cache.ExistenceFilter;
 import com.project.expense_tracker.exception.BudgetExceededException;
 import com.project.expense_tracker.exception.BudgetNotFoundException;
 import com.project.expense_tracker.exception.CategoryNotFoundException;
@@ -8,11 +9,13 @@ import com.project.expense_tracker.model.Expense;
 import com.project.expense_tracker.repository.BudgetRepository;
 import com.project.expense_tracker.repository.CategoryRepository;
 import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.util.Money;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.YearMonth;
 
 @Service
@@ -22,19 +25,20 @@ public class BudgetServiceImpl implements BudgetService {
     private final BudgetRepository budgetRepository;
     private final CategoryRepository categoryRepository;
     private final ExpenseRepository expenseRepository;
+    private final ExistenceFilter existenceFilter;
 
     @Autowired
-    public BudgetServiceImpl(BudgetRepository budgetRepository, CategoryRepository categoryRepository, ExpenseRepository expenseRepository){
+    public BudgetServiceImpl(BudgetRepository budgetRepository, CategoryRepository categoryRepository, ExpenseRepository expenseRepository,
+                             ExistenceFilter existenceFilter){
         this.budgetRepository = budgetRepository;
         this.categoryRepository = categoryRepository;
         this.expenseRepository = expenseRepository;
+        this.existenceFilter = existenceFilter;
     }
 
     @Override
     public Budget setBudget(Long categoryId, YearMonth month, BigDecimal limit){
-        if (!categoryRepository.existsById(categoryId)) {
-            throw new CategoryNotFoundException(categoryId);
-        }
+        requireCategory(categoryId);
 
         Budget budget = budgetRepository.findByCategoryIdAndMonth(categoryId, month)
                 .orElse(new Budget(categoryId, limit, month));
@@ -47,14 +51,10 @@ public class BudgetServiceImpl implements BudgetService {
     @Override
     @Transactional(readOnly = true)
     public boolean isBudgetExceeded(Long categoryId, YearMonth month){
-        categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new CategoryNotFoundException(categoryId));
+        requireCategory(categoryId);
         Budget budget = budgetRepository.findByCategoryIdAndMonth(categoryId, month)
                 .orElseThrow(() -> new BudgetNotFoundException("There is no budget at " + month.toString()));
-        BigDecimal totalSpent = expenseRepository.findByCategory_Id(categoryId).stream()
-                .filter(e -> YearMonth.from(e.getExpenseDate()).equals(month))
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalSpent = Money.toBigDecimal(spentCentsInMonth(categoryId, month));
         return totalSpent.compareTo(budget.getMonthlyLimit()) > 0;
     }
 
@@ -64,15 +64,36 @@ public class BudgetServiceImpl implements BudgetService {
         if(isBudgetExceeded(categoryId, month)){
             throw new BudgetExceededException();
         }
-        categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new CategoryNotFoundException(categoryId));
+        requireCategory(categoryId);
         Budget budget = budgetRepository.findByCategoryIdAndMonth(categoryId, month)
                 .orElseThrow(() -> new BudgetNotFoundException("There is no budget at " + month.toString()));
-        BigDecimal totalSpent = expenseRepository.findByCategory_Id(categoryId).stream()
-                .filter(e -> YearMonth.from(e.getExpenseDate()).equals(month))
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalSpent = Money.toBigDecimal(spentCentsInMonth(categoryId, month));
 
         return budget.getMonthlyLimit().subtract(totalSpent);
     }
+
+    // Skips the query when the existence filter knows the id is absent
+    private void requireCategory(Long categoryId) {
+        if (existenceFilter.categoryDefinitelyAbsent(categoryId)) {
+            throw new CategoryNotFoundException(categoryId);
+        }
+        long generation = existenceFilter.categoryGeneration();
+        if (!categoryRepository.existsById(categoryId)) {
+            existenceFilter.categoryMissing(categoryId, generation);
+            throw new CategoryNotFoundException(categoryId);
+        }
+    }
+
+    private long spentCentsInMonth(Long categoryId, YearMonth month) {
+        int year = month.getYear();
+        int monthValue = month.getMonthValue();
+        long totalCents = 0L;
+        for (Expense expense : expenseRepository.findByCategory_Id(categoryId)) {
+            LocalDate date = expense.getExpenseDate();
+            if (date.getYear() == year && date.getMonthValue() == monthValue) {
+                totalCents = Money.add(totalCents, expense.getAmountCents());
+            }
+        }
+        return totalCents;
+    }
 }
@@ -10,6 +10,9 @@ public interface CategoryService {
 
     CategoryResponse getCategoryById(Long id);
 
+    // Multi-get: one item per requested id, in request order, with a 404 marker for unknown ids
+    List<MultiGetItem<CategoryResponse>> getCategoriesByIds(List<Long> ids);
+
     CategoryResponse createCategory(CreateCategoryRequest request);
 
     CategoryResponse updateCategory(Long id, UpdateCategoryRequest request);
@@ -1,16 +1,23 @@
 package com.project.expense_tracker.service;
 
+import com.project.expense_tracker.cache.ExistenceFilter;
 import com.project.expense_tracker.dto.*;
+import com.project.expense_tracker.event.CategoryChangedEvent;
 import com.project.expense_tracker.exception.CategoryNotFoundException;
 import com.project.expense_tracker.exception.DuplicateCategoryException;
+import com.project.expense_tracker.exception.ErrorCode;
 import com.project.expense_tracker.mapper.CategoryMapper;
 import com.project.expense_tracker.model.Category;
 import com.project.expense_tracker.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -18,11 +25,21 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExistenceFilter existenceFilter;
+    private final ExpenseChangeLog expenseChangeLog;
+    private final IdBatches idBatches;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
+                               ApplicationEventPublisher eventPublisher, ExistenceFilter existenceFilter,
+                               ExpenseChangeLog expenseChangeLog, IdBatches idBatches) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.eventPublisher = eventPublisher;
+        this.existenceFilter = existenceFilter;
+        this.expenseChangeLog = expenseChangeLog;
+        this.idBatches = idBatches;
     }
 
     @Override
@@ -35,11 +52,41 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(Long id) {
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new CategoryNotFoundException(id));
+        Category category = findCategory(id);
         return categoryMapper.toResponse(category);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<MultiGetItem<CategoryResponse>> getCategoriesByIds(List<Long> ids) {
+        long generation = existenceFilter.categoryGeneration();
+        List<Long> lookup = new ArrayList<>();
+        for (Long id : idBatches.distinct(ids)) {
+            if (!existenceFilter.categoryDefinitelyAbsent(id)) {
+                lookup.add(id);
+            }
+        }
+
+        Map<Long, CategoryResponse> found = new HashMap<>();
+        for (List<Long> chunk : idBatches.chunks(lookup)) {
+            for (Category category : categoryRepository.findAllById(chunk)) {
+                found.put(category.getId(), categoryMapper.toResponse(category));
+            }
+        }
+
+        List<MultiGetItem<CategoryResponse>> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            CategoryResponse response = found.get(id);
+            items.add(response != null ? MultiGetItem.found(id, response) : MultiGetItem.missing(id, ErrorCode.CAT_003));
+        }
+        for (Long id : lookup) {
+            if (!found.containsKey(id)) {
+                existenceFilter.categoryMissing(id, generation);
+            }
+        }
+        return items;
+    }
+
     @Override
     public CategoryResponse createCategory(CreateCategoryRequest request) {
         // Business rule: Check for duplicate names
@@ -57,13 +104,13 @@ public class CategoryServiceImpl implements CategoryService {
 
         // Save and return DTO
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(CategoryChangedEvent.saved(saved.getId()));
         return categoryMapper.toResponse(saved);
     }
 
     @Override
     public CategoryResponse updateCategory(Long id, UpdateCategoryRequest request) {
-        Category existingCategory = categoryRepository.findById(id)
-                .orElseThrow(() -> new CategoryNotFoundException(id));
+        Category existingCategory = findCategory(id);
 
         // Business rule: Check if new name conflicts with another category
         if (request.getName() != null &&
@@ -76,15 +123,24 @@ public class CategoryServiceImpl implements CategoryService {
         categoryMapper.updateEntityFromRequest(request, existingCategory);
 
         Category updated = categoryRepository.save(existingCategory);
+        eventPublisher.publishEvent(CategoryChangedEvent.saved(id));
         return categoryMapper.toResponse(updated);
     }
 
     @Override
     public void deleteCategory(Long id) {
+        if (existenceFilter.categoryDefinitelyAbsent(id)) {
+            throw new CategoryNotFoundException(id);
+        }
+        long generation = existenceFilter.categoryGeneration();
         if (!categoryRepository.existsById(id)) {
+            existenceFilter.categoryMissing(id, generation);
             throw new CategoryNotFoundException(id);
         }
+        // The delete cascades to the category's expenses; sync clients need their tombstones
+        expenseChangeLog.categoryDeleted(id);
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(id));
     }
 
     @Override
@@ -121,4 +177,16 @@ public class CategoryServiceImpl implements CategoryService {
         List<Category> categories = categoryRepository.findCategoriesWithoutExpenses();
         return categoryMapper.toResponseList(categories);
     }
-}
\ No newline at end of file
+
+    // Skips the query when the existence filter knows the id is absent
+    private Category findCategory(Long id) {
+        if (existenceFilter.categoryDefinitelyAbsent(id)) {
+            throw new CategoryNotFoundException(id);
+        }
+        long generation = existenceFilter.categoryGeneration();
+        return categoryRepository.findById(id).orElseThrow(() -> {
+            existenceFilter.categoryMissing(id, generation);
+            return new CategoryNotFoundException(id);
+        });
+    }
+}
@@ -0,0 +1,8 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.dto.DashboardResponse;
+
+public interface DashboardService {
+
+    DashboardResponse getDashboard();
+}
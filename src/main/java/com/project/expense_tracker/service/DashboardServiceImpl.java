@@ -0,0 +1,138 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.dto.CategoryBreakdownResponse;
+import com.project.expense_tracker.dto.DashboardResponse;
+import com.project.expense_tracker.dto.ExpenseSummaryResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard from its sections concurrently, one virtual thread
+ * and one read-only transaction per section.
+ *
+ * Each transaction holds a pooled connection, so a request lets at most
+ * {@code expense.dashboard.max-connections} sections run at once and the rest
+ * wait for a permit; a page never takes more than that many connections,
+ * however many sections it has. The sections are forked into a scope owned
+ * by the request and joined against a shared deadline, waits for a permit
+ * included. A section that fails or misses the deadline is left out and
+ * named in {@code errors}; the rest are still returned. Nothing outlives the
+ * request: stragglers are interrupted when the scope closes and their
+ * transactions carry the same timeout.
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    static final int TOP_EXPENSES = 10;
+
+    private final ExpenseService expenseService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutNanos;
+    private final int maxConnections;
+
+    @Autowired
+    public DashboardServiceImpl(ExpenseService expenseService,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${expense.dashboard.section-timeout-ms:2000}") long timeoutMillis,
+                                @Value("${expense.dashboard.max-connections:2}") int maxConnections) {
+        if (timeoutMillis < 1) {
+            throw new IllegalArgumentException("expense.dashboard.section-timeout-ms must be positive");
+        }
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("expense.dashboard.max-connections must be positive");
+        }
+        this.expenseService = expenseService;
+        this.maxConnections = maxConnections;
+        this.meterRegistry = meterRegistry;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+    }
+
+    @Override
+    public DashboardResponse getDashboard() {
+        ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor();
+        Semaphore connections = new Semaphore(maxConnections);
+        try {
+            long deadline = System.nanoTime() + timeoutNanos;
+            Future<Map<String, Object>> summary = fork(scope, connections, expenseService::getExpenseSummary);
+            Future<Map<String, BigDecimal>> monthly = fork(scope, connections, expenseService::getMonthlyExpenses);
+            Future<List<CategoryBreakdownResponse>> breakdown =
+                    fork(scope, connections, expenseService::getCategoryBreakdown);
+            Future<List<Map<String, Object>>> dailyTrend =
+                    fork(scope, connections, expenseService::getDailySpendingTrend);
+            Future<List<ExpenseSummaryResponse>> topExpenses =
+                    fork(scope, connections, () -> expenseService.getTopExpenses(TOP_EXPENSES));
+
+            Map<String, String> errors = new LinkedHashMap<>();
+            DashboardResponse response = new DashboardResponse();
+            response.setSummary(join("summary", summary, deadline, errors));
+            response.setMonthly(join("monthly", monthly, deadline, errors));
+            response.setCategoryBreakdown(join("categoryBreakdown", breakdown, deadline, errors));
+            response.setDailyTrend(join("dailyTrend", dailyTrend, deadline, errors));
+            response.setTopExpenses(join("topExpenses", topExpenses, deadline, errors));
+            response.setErrors(errors);
+            return response;
+        } finally {
+            // Interrupts any section still running; the response doesn't wait for them
+            scope.shutdownNow();
+        }
+    }
+
+    private <T> Future<T> fork(ExecutorService scope, Semaphore connections, Supplier<T> section) {
+        return scope.submit(() -> {
+            // Interrupted by the scope if the deadline passes while waiting
+            connections.acquire();
+            try {
+                return readOnlyTransaction.execute(status -> section.get());
+            } finally {
+                connections.release();
+            }
+        });
+    }
+
+    private <T> T join(String section, Future<T> future, long deadline, Map<String, String> errors) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            failed(section, "timeout", errors);
+        } catch (ExecutionException ex) {
+            log.warn("Dashboard section {} failed", section, ex.getCause());
+            failed(section, "error", errors);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            failed(section, "interrupted", errors);
+        }
+        return null;
+    }
+
+    private void failed(String section, String reason, Map<String, String> errors) {
+        errors.put(section, reason);
+        Counter.builder("expense.dashboard.section.failures")
+                .tag("section", section)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.model.ExpenseChange;
+import com.project.expense_tracker.model.ExpenseChangeType;
+import com.project.expense_tracker.repository.ExpenseChangeRepository;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sequenced log of expense upserts and deletes, written in the same
+ * transaction as the change itself. Deletes stay as tombstones so a client
+ * that was offline still learns about them.
+ *
+ * Sequence numbers are handed out at insert time but become visible at
+ * commit, so a short transaction can commit a higher number before a longer
+ * one commits a lower number. A reader that moved its cursor past the higher
+ * one would never see the lower one. Reads therefore stop just below the
+ * oldest sequence whose transaction is still open in this process.
+ */
+@Component
+public class ExpenseChangeLog {
+
+    private final ExpenseChangeRepository changeRepository;
+    private final ExpenseRepository expenseRepository;
+    // Appenders share the read side; taking the write side means nobody holds an unregistered sequence
+    private final ReadWriteLock appendLock = new ReentrantReadWriteLock();
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private final AtomicLong highestAssigned = new AtomicLong(-1);
+
+    @Autowired
+    public ExpenseChangeLog(ExpenseChangeRepository changeRepository, ExpenseRepository expenseRepository) {
+        this.changeRepository = changeRepository;
+        this.expenseRepository = expenseRepository;
+    }
+
+    public void upserted(Long expenseId) {
+        append(expenseId, ExpenseChangeType.UPSERT);
+    }
+
+    public void deleted(Long expenseId) {
+        append(expenseId, ExpenseChangeType.DELETE);
+    }
+
+    /**
+     * Tombstones for the expenses a category delete is about to cascade to.
+     * Call before the delete.
+     */
+    public void categoryDeleted(Long categoryId) {
+        for (Long expenseId : expenseRepository.findIdsByCategoryId(categoryId)) {
+            append(expenseId, ExpenseChangeType.DELETE);
+        }
+    }
+
+    /**
+     * Up to {@code limit} committed changes after {@code since}, oldest first.
+     */
+    public List<ExpenseChange> readAfter(long since, int limit) {
+        long upTo = visibleHorizon();
+        if (upTo <= since) {
+            return List.of();
+        }
+        return changeRepository.findBatch(since, upTo, PageRequest.of(0, limit));
+    }
+
+    private void append(Long expenseId, ExpenseChangeType type) {
+        appendLock.readLock().lock();
+        try {
+            long seq = changeRepository.save(new ExpenseChange(expenseId, type, LocalDateTime.now())).getSeq();
+            highestAssigned.accumulateAndGet(seq, Math::max);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                inFlight.add(seq);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        // Committed rows are visible now; rolled back ones never will be
+                        inFlight.remove(seq);
+                    }
+                });
+            }
+        } finally {
+            appendLock.readLock().unlock();
+        }
+    }
+
+    // Highest sequence below which every number is either committed or abandoned
+    private long visibleHorizon() {
+        appendLock.writeLock().lock();
+        try {
+            if (!inFlight.isEmpty()) {
+                return inFlight.first() - 1;
+            }
+            if (highestAssigned.get() < 0) {
+                // Nothing appended since startup, so everything already in the table is committed
+                Long max = changeRepository.findMaxSeq();
+                highestAssigned.accumulateAndGet(max == null ? 0 : max, Math::max);
+            }
+            return highestAssigned.get();
+        } finally {
+            appendLock.writeLock().unlock();
+        }
+    }
+}
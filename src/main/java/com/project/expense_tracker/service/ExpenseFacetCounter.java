@@ -0,0 +1,182 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.dto.CategorySummaryResponse;
+import com.project.expense_tracker.dto.FacetCount;
+import com.project.expense_tracker.exception.InvalidExpenseException;
+import com.project.expense_tracker.model.Expense;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Counts the rows matching a filter per category, per month and per amount bucket.
+ *
+ * All requested facets come from one grouped query: rows are grouped by the
+ * requested category/month columns only, and amount buckets are cumulative
+ * conditional sums in the same select, so the grouping stays small and no
+ * CASE expression has to appear in the GROUP BY. The per-facet counts are
+ * then rolled up from those cells in memory.
+ */
+@Component
+public class ExpenseFacetCounter {
+
+    public static final String CATEGORY = "category";
+    public static final String MONTH = "month";
+    public static final String AMOUNT = "amount";
+
+    private static final Set<String> FACETS = Set.of(CATEGORY, MONTH, AMOUNT);
+
+    private final EntityManager entityManager;
+    private final CategoryDictionary categoryDictionary;
+    private final BigDecimal[] amountBounds;
+
+    @Autowired
+    public ExpenseFacetCounter(EntityManager entityManager,
+                               CategoryDictionary categoryDictionary,
+                               @Value("${expense.query.amount-buckets:10,50,100,500}") BigDecimal[] amountBounds) {
+        this.entityManager = entityManager;
+        this.categoryDictionary = categoryDictionary;
+        this.amountBounds = Arrays.stream(amountBounds).sorted().distinct().toArray(BigDecimal[]::new);
+        if (this.amountBounds.length == 0) {
+            throw new IllegalArgumentException("expense.query.amount-buckets must list at least one bound");
+        }
+    }
+
+    /**
+     * Facet name to counts for every row the specification matches. Categories
+     * are ordered by count, months and amount buckets in their natural order;
+     * empty buckets are left out.
+     */
+    public Map<String, List<FacetCount>> count(Specification<Expense> specification, Collection<String> facets) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String facet : facets) {
+            String name = facet == null ? "" : facet.trim().toLowerCase(Locale.ROOT);
+            if (!FACETS.contains(name)) {
+                throw new InvalidExpenseException("Unknown facet '" + facet + "'; use category, month or amount");
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            return Map.of();
+        }
+        boolean byCategory = requested.contains(CATEGORY);
+        boolean byMonth = requested.contains(MONTH);
+        boolean byAmount = requested.contains(AMOUNT);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Expense> root = query.from(Expense.class);
+
+        List<Expression<?>> groups = new ArrayList<>();
+        if (byCategory) {
+            // The foreign key column, no join
+            groups.add(root.get("category").get("id"));
+        }
+        if (byMonth) {
+            Path<LocalDate> date = root.get("expenseDate");
+            groups.add(cb.function("YEAR", Integer.class, date));
+            groups.add(cb.function("MONTH", Integer.class, date));
+        }
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(cb.count(root));
+        if (byAmount) {
+            Path<BigDecimal> amount = root.get("amount");
+            for (BigDecimal bound : amountBounds) {
+                // Rows below each bound; bucket counts are the differences
+                selections.add(cb.sum(cb.<Long>selectCase()
+                        .when(cb.lessThan(amount, bound), 1L)
+                        .otherwise(0L)));
+            }
+        }
+        query.multiselect(selections);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(groups);
+
+        Map<Long, Long> categories = new HashMap<>();
+        Map<YearMonth, Long> months = new TreeMap<>();
+        long[] buckets = new long[amountBounds.length + 1];
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            int column = 0;
+            Long categoryId = byCategory ? (Long) row[column++] : null;
+            YearMonth month = byMonth
+                    ? YearMonth.of(((Number) row[column++]).intValue(), ((Number) row[column++]).intValue())
+                    : null;
+            long rows = ((Number) row[column++]).longValue();
+            if (rows == 0) {
+                continue;
+            }
+            if (byCategory) {
+                categories.merge(categoryId, rows, Long::sum);
+            }
+            if (byMonth) {
+                months.merge(month, rows, Long::sum);
+            }
+            if (byAmount) {
+                long below = 0;
+                for (int i = 0; i < amountBounds.length; i++) {
+                    long belowBound = row[column + i] == null ? 0 : ((Number) row[column + i]).longValue();
+                    buckets[i] += belowBound - below;
+                    below = belowBound;
+                }
+                buckets[amountBounds.length] += rows - below;
+            }
+        }
+
+        Map<String, List<FacetCount>> result = new LinkedHashMap<>();
+        if (byCategory) {
+            result.put(CATEGORY, categoryFacet(categories));
+        }
+        if (byMonth) {
+            List<FacetCount> counts = new ArrayList<>();
+            months.forEach((month, rows) -> counts.add(new FacetCount(month.toString(), null, rows)));
+            result.put(MONTH, counts);
+        }
+        if (byAmount) {
+            result.put(AMOUNT, amountFacet(buckets));
+        }
+        return result;
+    }
+
+    private List<FacetCount> categoryFacet(Map<Long, Long> categories) {
+        List<FacetCount> counts = new ArrayList<>();
+        categories.forEach((id, rows) -> {
+            CategorySummaryResponse category = categoryDictionary.get(id);
+            counts.add(new FacetCount(String.valueOf(id), category == null ? null : category.getName(), rows));
+        });
+        counts.sort(Comparator.comparingLong(FacetCount::getCount).reversed()
+                .thenComparing(FacetCount::getValue));
+        return counts;
+    }
+
+    // Buckets are "<10", "10-50", ..., "500+" for the default bounds
+    private List<FacetCount> amountFacet(long[] buckets) {
+        List<FacetCount> counts = new ArrayList<>();
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] == 0) {
+                continue;
+            }
+            String value;
+            if (i == 0) {
+                value = "<" + amountBounds[0].toPlainString();
+            } else if (i == amountBounds.length) {
+                value = amountBounds[i - 1].toPlainString() + "+";
+            } else {
+                value = amountBounds[i - 1].toPlainString() + "-" + amountBounds[i].toPlainString();
+            }
+            counts.add(new FacetCount(value, null, buckets[i]));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,171 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.exception.InvalidExpenseException;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Sparse fieldsets for expenses: reads only the columns a client asked for
+ * and returns rows holding exactly those fields.
+ *
+ * The requested fields become a tuple query selecting just their columns.
+ * The category is only joined for its name or color, since its id is the
+ * foreign key on the expense row, and tags cost one extra query for all the
+ * rows, only when they were requested. No entity is loaded, so none of the
+ * eager category fetches or dirty-checking snapshots of a full read happen.
+ */
+@Component
+public class ExpenseFieldProjection {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ExpenseFieldProjection(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter. The id is always
+     * included, and fields come back in the order of {@link Field}.
+     */
+    public static Set<Field> parse(String fields) {
+        Set<Field> parsed = EnumSet.of(Field.ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(Field.byName(trimmed));
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Short, stable name for a field set, for telling representations apart in ETags.
+     */
+    public static String key(Set<Field> fields) {
+        int mask = 0;
+        for (Field field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return Integer.toString(mask, 36);
+    }
+
+    public List<Map<String, Object>> findAll(Set<Field> fields) {
+        return select(fields, null);
+    }
+
+    public Optional<Map<String, Object>> findById(Long id, Set<Field> fields) {
+        return select(fields, id).stream().findFirst();
+    }
+
+    private List<Map<String, Object>> select(Set<Field> fields, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Expense> root = query.from(Expense.class);
+        Join<Expense, Category> category = null;
+
+        List<Field> columns = new ArrayList<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        for (Field field : fields) {
+            Selection<?> selection = switch (field) {
+                case ID -> root.get("id");
+                case AMOUNT -> root.get("amount");
+                case DESCRIPTION -> root.get("description");
+                case EXPENSE_DATE -> root.get("expenseDate");
+                case CREATED_AT -> root.get("createdAt");
+                case UPDATED_AT -> root.get("updatedAt");
+                // The foreign key column, no join
+                case CATEGORY_ID -> root.get("category").get("id");
+                case CATEGORY_NAME, CATEGORY_COLOR -> {
+                    if (category == null) {
+                        category = root.join("category");
+                    }
+                    yield category.get(field == Field.CATEGORY_NAME ? "name" : "color");
+                }
+                case TAGS -> null;
+            };
+            if (selection != null) {
+                columns.add(field);
+                selections.add(selection);
+            }
+        }
+        query.multiselect(selections);
+        if (id != null) {
+            query.where(cb.equal(root.get("id"), id));
+        }
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                row.put(columns.get(i).getName(), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        if (fields.contains(Field.TAGS) && !rows.isEmpty()) {
+            addTags(rows, id);
+        }
+        return rows;
+    }
+
+    private void addTags(List<Map<String, Object>> rows, Long id) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT e.id, t FROM Expense e JOIN e.tags t" + (id == null ? "" : " WHERE e.id = :id"),
+                Object[].class);
+        if (id != null) {
+            query.setParameter("id", id);
+        }
+        Map<Long, SortedSet<String>> tags = new HashMap<>();
+        for (Object[] row : query.getResultList()) {
+            tags.computeIfAbsent((Long) row[0], key -> new TreeSet<>()).add((String) row[1]);
+        }
+        for (Map<String, Object> row : rows) {
+            row.put(Field.TAGS.getName(), tags.getOrDefault((Long) row.get(Field.ID.getName()), Collections.emptySortedSet()));
+        }
+    }
+
+    /**
+     * The fields of an expense a client can ask for, named as in the full
+     * expense response.
+     */
+    public enum Field {
+        ID("id"),
+        AMOUNT("amount"),
+        DESCRIPTION("description"),
+        EXPENSE_DATE("expenseDate"),
+        CREATED_AT("createdAt"),
+        UPDATED_AT("updatedAt"),
+        CATEGORY_ID("categoryId"),
+        CATEGORY_NAME("categoryName"),
+        CATEGORY_COLOR("categoryColor"),
+        TAGS("tags");
+
+        private final String name;
+
+        Field(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        static Field byName(String name) {
+            for (Field field : values()) {
+                if (field.name.equals(name)) {
+                    return field;
+                }
+            }
+            throw new InvalidExpenseException("Unknown field '" + name + "'");
+        }
+    }
+}
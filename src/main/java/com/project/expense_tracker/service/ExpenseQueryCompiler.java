@@ -0,0 +1,356 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.dto.ExpenseFilter;
+import com.project.expense_tracker.exception.InvalidExpenseException;
+import com.project.expense_tracker.model.Expense;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Turns filter trees from the query endpoint into {@link Specification}s.
+ *
+ * A tree is first reduced to its shape (operators, fields and which range
+ * bounds are present, but no values). Each shape is validated and planned
+ * once: children of every junction are ordered so indexed, selective columns
+ * come first and the unindexable keyword match comes last. Requests with the
+ * same shape reuse the plan and only bind their values, which also keeps the
+ * generated SQL identical so prepared statements and database plans are reused.
+ */
+@Component
+public class ExpenseQueryCompiler {
+
+    static final int MAX_NODES = 64;
+    static final int MAX_DEPTH = 6;
+    static final int MAX_IN_VALUES = 1000;
+
+    private final int planCacheSize;
+    private final Map<String, Plan> plans = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ExpenseQueryCompiler(@Value("${expense.query.plan-cache-size:256}") int planCacheSize) {
+        this.planCacheSize = planCacheSize;
+    }
+
+    /**
+     * Specification for the filter, or one matching everything if it is null.
+     */
+    public Specification<Expense> compile(ExpenseFilter filter) {
+        if (filter == null) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+        StringBuilder shape = new StringBuilder();
+        describe(filter, 1, new int[1], shape);
+        String key = shape.toString();
+
+        Plan plan = plans.get(key);
+        if (plan == null) {
+            plan = plan(filter);
+            // Shapes come from client code and are few; stop caching rather than evict
+            if (plans.size() < planCacheSize) {
+                plans.putIfAbsent(key, plan);
+            }
+        }
+        return plan.bind(filter);
+    }
+
+    int cachedPlans() {
+        return plans.size();
+    }
+
+    // ── Sorting and keyset cursors ───────────────────────────────────────────
+
+    /**
+     * Parses the requested sort; ties are always broken by id in the same direction.
+     */
+    public SortKey sortKey(String sort, String direction) {
+        Field field = sort == null ? Field.EXPENSE_DATE : Field.byName(sort);
+        if (field == Field.CATEGORY_ID) {
+            throw new InvalidExpenseException("Cannot sort by " + sort);
+        }
+        Sort.Direction parsed;
+        try {
+            parsed = direction == null ? Sort.Direction.DESC : Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidExpenseException("Direction must be asc or desc");
+        }
+        return new SortKey(field, parsed);
+    }
+
+    public record SortKey(Field field, Sort.Direction direction) {
+
+        public Sort toSort() {
+            return field == Field.ID
+                    ? Sort.by(direction, "id")
+                    : Sort.by(direction, field.path).and(Sort.by(direction, "id"));
+        }
+
+        /**
+         * Opaque cursor pointing just past the given row.
+         */
+        public String cursorAfter(Expense last) {
+            Object value = switch (field) {
+                case EXPENSE_DATE -> last.getExpenseDate();
+                case AMOUNT -> last.getAmount();
+                default -> last.getId();
+            };
+            String raw = field.name + "|" + direction + "|" + value + "|" + last.getId();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Rows strictly after the cursor in this sort order.
+         */
+        public Specification<Expense> after(String cursor) {
+            String[] parts;
+            try {
+                parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidExpenseException("Malformed cursor");
+            }
+            if (parts.length != 4 || !parts[0].equals(field.name) || !parts[1].equals(direction.name())) {
+                throw new InvalidExpenseException("Cursor does not belong to this sort order");
+            }
+            Comparable<Object> value = field.parse(parts[2]);
+            long lastId;
+            try {
+                lastId = Long.parseLong(parts[3]);
+            } catch (NumberFormatException ex) {
+                throw new InvalidExpenseException("Malformed cursor");
+            }
+            boolean ascending = direction.isAscending();
+            return (root, query, cb) -> {
+                Path<Long> id = root.get("id");
+                Predicate idAfter =
+                        ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+                if (field == Field.ID) {
+                    return idAfter;
+                }
+                Path<Comparable<Object>> path = root.get(field.path);
+                return cb.or(
+                        ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value),
+                        cb.and(cb.equal(path, value), idAfter));
+            };
+        }
+    }
+
+    // ── Shapes ───────────────────────────────────────────────────────────────
+
+    private void describe(ExpenseFilter filter, int depth, int[] nodes, StringBuilder shape) {
+        if (filter == null) {
+            throw new InvalidExpenseException("Filter nodes must not be null");
+        }
+        if (depth > MAX_DEPTH || ++nodes[0] > MAX_NODES) {
+            throw new InvalidExpenseException(
+                    "Filters may nest " + MAX_DEPTH + " levels and hold " + MAX_NODES + " nodes at most");
+        }
+        String op = filter.getOp() == null ? "" : filter.getOp().toLowerCase(Locale.ROOT);
+        shape.append(op);
+        switch (op) {
+            case "and", "or" -> {
+                if (filter.getFilters() == null || filter.getFilters().isEmpty()) {
+                    throw new InvalidExpenseException("'" + op + "' needs at least one filter");
+                }
+                shape.append('(');
+                for (ExpenseFilter child : filter.getFilters()) {
+                    describe(child, depth + 1, nodes, shape);
+                    shape.append(',');
+                }
+                shape.append(')');
+            }
+            case "eq", "in" -> shape.append(':').append(Field.byName(filter.getField()).name);
+            case "range" -> {
+                if (filter.getMin() == null && filter.getMax() == null) {
+                    throw new InvalidExpenseException("'range' needs min, max or both");
+                }
+                shape.append(':').append(Field.byName(filter.getField()).name)
+                        .append(filter.getMin() != null ? "[min" : "[")
+                        .append(filter.getMax() != null ? ",max]" : ",]");
+            }
+            case "keyword" -> { }
+            default -> throw new InvalidExpenseException("Unknown filter op '" + filter.getOp() + "'");
+        }
+    }
+
+    // ── Plans ────────────────────────────────────────────────────────────────
+
+    /**
+     * Compiled form of one node; binds the values of a tree with the same shape.
+     */
+    private interface Plan {
+
+        // Lower runs first; roughly how well the node can use an index
+        int rank();
+
+        Specification<Expense> bind(ExpenseFilter filter);
+    }
+
+    private Plan plan(ExpenseFilter filter) {
+        String op = filter.getOp().toLowerCase(Locale.ROOT);
+        return switch (op) {
+            case "and", "or" -> {
+                List<Child> children = new ArrayList<>();
+                for (int i = 0; i < filter.getFilters().size(); i++) {
+                    children.add(new Child(i, plan(filter.getFilters().get(i))));
+                }
+                children.sort(Comparator.comparingInt(child -> child.plan().rank()));
+                yield new Junction(op.equals("and"), children);
+            }
+            case "eq" -> new Equals(Field.byName(filter.getField()));
+            case "in" -> new In(Field.byName(filter.getField()));
+            case "range" -> new Range(Field.byName(filter.getField()), filter.getMin() != null, filter.getMax() != null);
+            default -> new Keyword();
+        };
+    }
+
+    private record Child(int sourceIndex, Plan plan) {
+    }
+
+    private record Junction(boolean and, List<Child> children) implements Plan {
+
+        // An AND is as selective as its best child, an OR as its worst
+        public int rank() {
+            IntSummaryStatistics ranks = children.stream().mapToInt(child -> child.plan().rank()).summaryStatistics();
+            return and ? ranks.getMin() : ranks.getMax();
+        }
+
+        public Specification<Expense> bind(ExpenseFilter filter) {
+            Specification<Expense> combined = null;
+            for (Child child : children) {
+                Specification<Expense> next = child.plan().bind(filter.getFilters().get(child.sourceIndex()));
+                combined = combined == null ? next : and ? combined.and(next) : combined.or(next);
+            }
+            return combined;
+        }
+    }
+
+    private record Equals(Field field) implements Plan {
+
+        public int rank() {
+            return field.rank * 2;
+        }
+
+        public Specification<Expense> bind(ExpenseFilter filter) {
+            Object value = field.parse(filter.getValue());
+            return field == Field.CATEGORY_ID
+                    ? ExpenseSpecifications.hasCategory((Long) value)
+                    : ExpenseSpecifications.attributeEquals(field.path, value);
+        }
+    }
+
+    private record In(Field field) implements Plan {
+
+        public int rank() {
+            return field.rank * 2;
+        }
+
+        public Specification<Expense> bind(ExpenseFilter filter) {
+            List<Object> raw = filter.getValues();
+            if (raw == null || raw.isEmpty() || raw.size() > MAX_IN_VALUES) {
+                throw new InvalidExpenseException("'in' needs between 1 and " + MAX_IN_VALUES + " values");
+            }
+            List<Object> values = new ArrayList<>(raw.size());
+            for (Object value : raw) {
+                values.add(field.parse(value));
+            }
+            return ExpenseSpecifications.attributeIn(field.path, values);
+        }
+    }
+
+    private record Range(Field field, boolean hasMin, boolean hasMax) implements Plan {
+
+        public int rank() {
+            return field.rank * 2 + 1;
+        }
+
+        public Specification<Expense> bind(ExpenseFilter filter) {
+            Comparable<Object> min = hasMin ? field.parse(filter.getMin()) : null;
+            Comparable<Object> max = hasMax ? field.parse(filter.getMax()) : null;
+            if (min != null && max != null && min.compareTo(max) > 0) {
+                throw new InvalidExpenseException("Range min must not exceed max for " + field.name);
+            }
+            Specification<Expense> lower = min == null ? null : switch (field) {
+                case AMOUNT -> ExpenseSpecifications.priceGreaterThan((BigDecimal) (Object) min);
+                case EXPENSE_DATE -> ExpenseSpecifications.dateAfterThe((LocalDate) (Object) min);
+                default -> ExpenseSpecifications.attributeAtLeast(field.path, min);
+            };
+            Specification<Expense> upper = max == null ? null : switch (field) {
+                case AMOUNT -> ExpenseSpecifications.priceLessThan((BigDecimal) (Object) max);
+                case EXPENSE_DATE -> ExpenseSpecifications.dateBeforeThe((LocalDate) (Object) max);
+                default -> ExpenseSpecifications.attributeAtMost(field.path, max);
+            };
+            return lower == null ? upper : upper == null ? lower : lower.and(upper);
+        }
+    }
+
+    private record Keyword() implements Plan {
+
+        // A leading-wildcard LIKE can't use an index; keep it last
+        public int rank() {
+            return 100;
+        }
+
+        public Specification<Expense> bind(ExpenseFilter filter) {
+            if (!(filter.getValue() instanceof String keyword) || keyword.isBlank()) {
+                throw new InvalidExpenseException("'keyword' needs a non-blank string value");
+            }
+            return ExpenseSpecifications.containsKeyword(keyword);
+        }
+    }
+
+    // ── Fields ───────────────────────────────────────────────────────────────
+
+    /**
+     * Filterable fields, ranked by how selective their index usually is.
+     */
+    public enum Field {
+        ID("id", "id", 0, Long::valueOf),
+        CATEGORY_ID("categoryId", "category.id", 1, Long::valueOf),
+        EXPENSE_DATE("expenseDate", "expenseDate", 2, LocalDate::parse),
+        AMOUNT("amount", "amount", 3, BigDecimal::new);
+
+        private final String name;
+        private final String path;
+        private final int rank;
+        private final Function<String, Comparable<?>> parser;
+
+        Field(String name, String path, int rank, Function<String, Comparable<?>> parser) {
+            this.name = name;
+            this.path = path;
+            this.rank = rank;
+            this.parser = parser;
+        }
+
+        static Field byName(String name) {
+            for (Field field : values()) {
+                if (field.name.equals(name)) {
+                    return field;
+                }
+            }
+            throw new InvalidExpenseException("Unknown filter field '" + name + "'");
+        }
+
+        @SuppressWarnings("unchecked")
+        Comparable<Object> parse(Object raw) {
+            if (raw == null) {
+                throw new InvalidExpenseException("Missing value for " + name);
+            }
+            try {
+                return (Comparable<Object>) parser.apply(raw.toString());
+            } catch (RuntimeException ex) {
+                throw new InvalidExpenseException("Invalid value '" + raw + "' for " + name);
+            }
+        }
+    }
+}
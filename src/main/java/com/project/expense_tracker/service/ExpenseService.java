@@ -1,11 +1,14 @@
 package com.project.expense_tracker.service;
 
 import com.project.expense_tracker.dto.*;
+import org.springframework.data.domain.Page;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 public interface ExpenseService {
@@ -14,6 +17,14 @@ public interface ExpenseService {
 
     ExpenseResponse getExpenseById(Long id);
 
+    // Sparse fieldsets: only the requested fields are selected and returned
+    List<Map<String, Object>> getAllExpenses(Set<ExpenseFieldProjection.Field> fields);
+
+    Map<String, Object> getExpenseById(Long id, Set<ExpenseFieldProjection.Field> fields);
+
+    // Multi-get: one item per requested id, in request order, with a 404 marker for unknown ids
+    List<MultiGetItem<ExpenseResponse>> getExpensesByIds(List<Long> ids);
+
     ExpenseResponse createExpense(CreateExpenseRequest request);
 
     ExpenseResponse updateExpense(Long id, UpdateExpenseRequest request);
@@ -26,7 +37,7 @@ public interface ExpenseService {
 
     List<ExpenseSummaryResponse> getExpensesByDateRange(DateRangeRequest request);
 
-    List<ExpenseSummaryResponse> searchExpenses(String keyword);
+    Page<ExpenseSummaryResponse> searchExpenses(String keyword, int page, int size);
 
     Map<String, Object> getExpenseSummary();
 
@@ -36,16 +47,40 @@ public interface ExpenseService {
 
     List<ExpenseSummaryResponse> getTopExpenses(int limit);
 
+    List<ExpenseSummaryResponse> getTopExpensesByCategory(Long categoryId, int limit);
+
     List<ExpenseSummaryResponse> getExpensesAboveAverage();
 
+    List<ExpenseSummaryResponse> getExpensesAboveQuantile(double quantile, Long categoryId);
+
+    SpendDistributionResponse getSpendDistribution(Long categoryId, YearMonth month, List<Double> quantiles);
+
     List<ExpenseSummaryResponse> getCurrentMonthExpenses();
 
     List<Map<String, Object>> getDetailedStatsByDateRange(LocalDate startDate, LocalDate endDate);
 
     List<Map<String, Object>> getDailySpendingTrend();
 
-    List<ExpenseSummaryResponse> searchAll(String keyword);
+    Map<String, BigDecimal> getRollingTotals(Long categoryId);
+
+    Page<ExpenseSummaryResponse> searchAll(String keyword, int page, int size);
+
+    List<SuggestionResponse> getSuggestions(String prefix, int limit);
+
+    List<FuzzyMatchResponse> fuzzySearch(String keyword, double threshold, int limit);
+
+    ExpenseQueryResponse queryExpenses(ExpenseQueryRequest request);
+
+    ExpenseChangesResponse getChanges(long since, int limit);
+
+    List<ExpenseSummaryResponse> getExpensesByTags(Set<String> allOf, Set<String> anyOf, Set<String> noneOf,
+                                                   Long categoryId, LocalDate startDate, LocalDate endDate,
+                                                   int page, int size);
+
+    List<TagStatsResponse> getTagStats();
+
+    List<CategoryBreakdownResponse> getCategoryBreakdown();
 
-    List<Map<String, Object>> getCategoryBreakdown();
+    List<CategoryBreakdownResponse> getTopSpendingCategories(int limit);
 
 }
\ No newline at end of file
@@ -1,24 +1,51 @@
 package com.project.expense_tracker.service;
 
+import com.project.expense_tracker.analytics.CategoryBreakdownView;
+import com.project.expense_tracker.analytics.DailySpendWindows;
+import com.project.expense_tracker.analytics.SpendDistributionIndex;
+import com.project.expense_tracker.analytics.TopExpensesIndex;
+import com.project.expense_tracker.cache.AnalyticsResultCache;
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.cache.ExistenceFilter;
 import com.project.expense_tracker.dto.*;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
 import com.project.expense_tracker.exception.CategoryNotFoundException;
+import com.project.expense_tracker.exception.ErrorCode;
 import com.project.expense_tracker.exception.ExpenseNotFoundException;
 import com.project.expense_tracker.exception.InvalidExpenseException;
 import com.project.expense_tracker.mapper.ExpenseMapper;
 import com.project.expense_tracker.model.Category;
 import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.model.ExpenseChange;
+import com.project.expense_tracker.model.ExpenseChangeType;
 import com.project.expense_tracker.repository.CategoryRepository;
 import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.search.ExpenseSearchIndex;
+import com.project.expense_tracker.search.SuggestionIndex;
+import com.project.expense_tracker.search.TagIndex;
+import com.project.expense_tracker.util.Money;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 @Service
 @Transactional
@@ -27,14 +54,67 @@ public class ExpenseServiceImpl implements ExpenseService {
     private final ExpenseRepository expenseRepository;
     private final CategoryRepository categoryRepository;
     private final ExpenseMapper expenseMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TopExpensesIndex topExpensesIndex;
+    private final SpendDistributionIndex spendDistributionIndex;
+    private final DailySpendWindows dailySpendWindows;
+    private final CategoryBreakdownView categoryBreakdownView;
+    private final ExpenseSearchIndex expenseSearchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final ExpenseQueryCompiler expenseQueryCompiler;
+    private final ExpenseFacetCounter expenseFacetCounter;
+    private final TagIndex tagIndex;
+    private final ExistenceFilter existenceFilter;
+    private final AnalyticsResultCache analyticsResultCache;
+    private final ExpenseChangeLog expenseChangeLog;
+    private final ExpenseFieldProjection expenseFieldProjection;
+    private final CategoryDictionary categoryDictionary;
+    private final IdBatches idBatches;
+
+    private static final List<Double> DEFAULT_QUANTILES = List.of(0.5, 0.9, 0.99);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_QUERY_SIZE = 50;
+    private static final Pattern TAG = Pattern.compile("[a-z0-9][a-z0-9_-]{0,39}");
 
     @Autowired
     public ExpenseServiceImpl(ExpenseRepository expenseRepository,
                               CategoryRepository categoryRepository,
-                              ExpenseMapper expenseMapper) {
+                              ExpenseMapper expenseMapper,
+                              ApplicationEventPublisher eventPublisher,
+                              TopExpensesIndex topExpensesIndex,
+                              SpendDistributionIndex spendDistributionIndex,
+                              DailySpendWindows dailySpendWindows,
+                              CategoryBreakdownView categoryBreakdownView,
+                              ExpenseSearchIndex expenseSearchIndex,
+                              SuggestionIndex suggestionIndex,
+                              ExpenseQueryCompiler expenseQueryCompiler,
+                              ExpenseFacetCounter expenseFacetCounter,
+                              TagIndex tagIndex,
+                              ExistenceFilter existenceFilter,
+                              AnalyticsResultCache analyticsResultCache,
+                              ExpenseChangeLog expenseChangeLog,
+                              ExpenseFieldProjection expenseFieldProjection,
+                              CategoryDictionary categoryDictionary,
+                              IdBatches idBatches) {
         this.expenseRepository = expenseRepository;
         this.categoryRepository = categoryRepository;
         this.expenseMapper = expenseMapper;
+        this.eventPublisher = eventPublisher;
+        this.topExpensesIndex = topExpensesIndex;
+        this.spendDistributionIndex = spendDistributionIndex;
+        this.dailySpendWindows = dailySpendWindows;
+        this.categoryBreakdownView = categoryBreakdownView;
+        this.expenseSearchIndex = expenseSearchIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.expenseQueryCompiler = expenseQueryCompiler;
+        this.expenseFacetCounter = expenseFacetCounter;
+        this.tagIndex = tagIndex;
+        this.existenceFilter = existenceFilter;
+        this.analyticsResultCache = analyticsResultCache;
+        this.expenseChangeLog = expenseChangeLog;
+        this.expenseFieldProjection = expenseFieldProjection;
+        this.categoryDictionary = categoryDictionary;
+        this.idBatches = idBatches;
     }
 
     @Override
@@ -47,59 +127,189 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Override
     @Transactional(readOnly = true)
     public ExpenseResponse getExpenseById(Long id) {
-        Expense expense = expenseRepository.findById(id)
-                .orElseThrow(() -> new ExpenseNotFoundException(id));
+        Expense expense = findExpense(id);
         return expenseMapper.toResponse(expense);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllExpenses(Set<ExpenseFieldProjection.Field> fields) {
+        return expenseFieldProjection.findAll(fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getExpenseById(Long id, Set<ExpenseFieldProjection.Field> fields) {
+        if (existenceFilter.expenseDefinitelyAbsent(id)) {
+            throw new ExpenseNotFoundException(id);
+        }
+        long generation = existenceFilter.expenseGeneration();
+        return expenseFieldProjection.findById(id, fields).orElseThrow(() -> {
+            existenceFilter.expenseMissing(id, generation);
+            return new ExpenseNotFoundException(id);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MultiGetItem<ExpenseResponse>> getExpensesByIds(List<Long> ids) {
+        long generation = existenceFilter.expenseGeneration();
+        List<Long> lookup = new ArrayList<>();
+        for (Long id : idBatches.distinct(ids)) {
+            if (!existenceFilter.expenseDefinitelyAbsent(id)) {
+                lookup.add(id);
+            }
+        }
+
+        // Two queries per chunk: the expense columns, then their tags. Categories come from the dictionary
+        Map<Long, ExpenseResponse> found = new HashMap<>();
+        for (List<Long> chunk : idBatches.chunks(lookup)) {
+            for (Object[] row : expenseRepository.findResponseColumnsByIdIn(chunk)) {
+                ExpenseResponse response = toResponse(row);
+                found.put(response.getId(), response);
+            }
+            for (Object[] row : expenseRepository.findTagsByIdIn(chunk)) {
+                // An expense created or deleted between the two queries may have tags but no row
+                ExpenseResponse response = found.get((Long) row[0]);
+                if (response != null) {
+                    response.getTags().add((String) row[1]);
+                }
+            }
+        }
+
+        List<MultiGetItem<ExpenseResponse>> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ExpenseResponse response = found.get(id);
+            items.add(response != null ? MultiGetItem.found(id, response) : MultiGetItem.missing(id, ErrorCode.EXP_001));
+        }
+        for (Long id : lookup) {
+            if (!found.containsKey(id)) {
+                existenceFilter.expenseMissing(id, generation);
+            }
+        }
+        return items;
+    }
+
+    // Row from findResponseColumnsByIdIn: id, amount, description, expenseDate, createdAt, updatedAt, categoryId
+    private ExpenseResponse toResponse(Object[] row) {
+        ExpenseResponse response = new ExpenseResponse();
+        response.setId((Long) row[0]);
+        response.setAmount((BigDecimal) row[1]);
+        response.setDescription((String) row[2]);
+        response.setExpenseDate((LocalDate) row[3]);
+        response.setCreatedAt((LocalDateTime) row[4]);
+        response.setUpdatedAt((LocalDateTime) row[5]);
+        response.setCategoryId((Long) row[6]);
+        CategorySummaryResponse category = categoryDictionary.get(response.getCategoryId());
+        if (category != null) {
+            response.setCategoryName(category.getName());
+            response.setCategoryColor(category.getColor());
+        }
+        response.setTags(new TreeSet<>());
+        return response;
+    }
+
     @Override
     public ExpenseResponse createExpense(CreateExpenseRequest request) {
         // Validate category exists
-        Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new CategoryNotFoundException(request.getCategoryId()));
+        Category category = findCategory(request.getCategoryId());
 
         // Convert DTO to Entity
         Expense expense = expenseMapper.toEntity(request);
         expense.setCategory(category);
+        expense.setTags(new HashSet<>(normalizeTags(request.getTags())));
 
         // Save and return DTO
         Expense saved = expenseRepository.save(expense);
+        expenseChangeLog.upserted(saved.getId());
+        eventPublisher.publishEvent(ExpenseChangedEvent.created(ExpenseSnapshot.of(saved)));
         return expenseMapper.toResponse(saved);
     }
 
     @Override
     public ExpenseResponse updateExpense(Long id, UpdateExpenseRequest request) {
-        Expense existingExpense = expenseRepository.findById(id)
-                .orElseThrow(() -> new ExpenseNotFoundException(id));
+        Expense existingExpense = findExpense(id);
+        // Tags are lazy; load them so the snapshot carries the old ones
+        Hibernate.initialize(existingExpense.getTags());
+        ExpenseSnapshot before = ExpenseSnapshot.of(existingExpense);
 
         // Update category if provided
         if (request.getCategoryId() != null) {
-            Category category = categoryRepository.findById(request.getCategoryId())
-                    .orElseThrow(() -> new CategoryNotFoundException(request.getCategoryId()));
-            existingExpense.setCategory(category);
+            existingExpense.setCategory(findCategory(request.getCategoryId()));
         }
 
         // Update other fields (only non-null values)
         expenseMapper.updateEntityFromRequest(request, existingExpense);
+        if (request.getTags() != null) {
+            Set<String> tags = normalizeTags(request.getTags());
+            existingExpense.getTags().retainAll(tags);
+            existingExpense.getTags().addAll(tags);
+        }
 
         Expense updated = expenseRepository.save(existingExpense);
+        expenseChangeLog.upserted(id);
+        eventPublisher.publishEvent(ExpenseChangedEvent.updated(before, ExpenseSnapshot.of(updated)));
         return expenseMapper.toResponse(updated);
     }
 
     @Override
     public void deleteExpense(Long id) {
+        if (existenceFilter.expenseDefinitelyAbsent(id)) {
+            throw new ExpenseNotFoundException(id);
+        }
+        long generation = existenceFilter.expenseGeneration();
         if (!expenseRepository.existsById(id)) {
+            existenceFilter.expenseMissing(id, generation);
             throw new ExpenseNotFoundException(id);
         }
+        // deleteById loads the entity anyway, so this lookup is served from the persistence context
+        Optional<Expense> existing = expenseRepository.findById(id);
+        existing.ifPresent(expense -> Hibernate.initialize(expense.getTags()));
         expenseRepository.deleteById(id);
+        expenseChangeLog.deleted(id);
+        existing.ifPresent(expense ->
+                eventPublisher.publishEvent(ExpenseChangedEvent.deleted(ExpenseSnapshot.of(expense))));
+    }
+
+    // Lookups that skip the query when the existence filter knows the id is absent
+
+    private Expense findExpense(Long id) {
+        if (existenceFilter.expenseDefinitelyAbsent(id)) {
+            throw new ExpenseNotFoundException(id);
+        }
+        long generation = existenceFilter.expenseGeneration();
+        return expenseRepository.findById(id).orElseThrow(() -> {
+            existenceFilter.expenseMissing(id, generation);
+            return new ExpenseNotFoundException(id);
+        });
+    }
+
+    private Category findCategory(Long id) {
+        if (existenceFilter.categoryDefinitelyAbsent(id)) {
+            throw new CategoryNotFoundException(id);
+        }
+        long generation = existenceFilter.categoryGeneration();
+        return categoryRepository.findById(id).orElseThrow(() -> {
+            existenceFilter.categoryMissing(id, generation);
+            return new CategoryNotFoundException(id);
+        });
+    }
+
+    private void requireCategory(Long id) {
+        if (existenceFilter.categoryDefinitelyAbsent(id)) {
+            throw new CategoryNotFoundException(id);
+        }
+        long generation = existenceFilter.categoryGeneration();
+        if (!categoryRepository.existsById(id)) {
+            existenceFilter.categoryMissing(id, generation);
+            throw new CategoryNotFoundException(id);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ExpenseSummaryResponse> getExpensesByCategory(Long categoryId) {
-        if (!categoryRepository.existsById(categoryId)) {
-            throw new CategoryNotFoundException(categoryId);
-        }
+        requireCategory(categoryId);
         List<Expense> expenses = expenseRepository.findByCategory_Id(categoryId);
         return expenseMapper.toResponseList(expenses);
     }
@@ -116,84 +326,156 @@ public class ExpenseServiceImpl implements ExpenseService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ExpenseSummaryResponse> searchExpenses(String keyword) {
-        List<Expense> expenses = expenseRepository.findByDescriptionContainingIgnoreCase(keyword);
-        return expenseMapper.toResponseList(expenses);
+    public Page<ExpenseSummaryResponse> searchExpenses(String keyword, int page, int size) {
+        validatePage(page, size);
+        return expenseSearchIndex.search(keyword, false, page, size)
+                .orElseGet(() -> pageOf(expenseMapper.toResponseList(
+                        expenseRepository.findByDescriptionContainingIgnoreCase(keyword)), page, size));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    // Cached results: no transaction up front, so hits and coalesced waiters hold no connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Map<String, Object> getExpenseSummary() {
-        List<Expense> expenses = expenseRepository.findAll();
+        return analyticsResultCache.get("summary", List.of(), this::computeExpenseSummary);
+    }
 
-        BigDecimal total = expenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Map<String, Object> computeExpenseSummary() {
+        List<Expense> expenses = expenseRepository.findAll();
 
-        BigDecimal average = expenses.isEmpty()
-                ? BigDecimal.ZERO
-                : total.divide(BigDecimal.valueOf(expenses.size()), 2, RoundingMode.HALF_UP);
+        long totalCents = Money.sumCents(expenses);
 
         Map<String, Object> summary = new HashMap<>();
         summary.put("totalExpenses", expenses.size());
-        summary.put("totalAmount", total);
-        summary.put("averageAmount", average);
+        summary.put("totalAmount", Money.toBigDecimal(totalCents));
+        summary.put("averageAmount", Money.average(totalCents, expenses.size()));
 
-        return summary;
+        // Cached and shared between callers
+        return Collections.unmodifiableMap(summary);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BigDecimal getTotalByCategory(Long categoryId) {
-        List<ExpenseSummaryResponse> expenses = getExpensesByCategory(categoryId);
-        return expenses.stream()
-                .map(ExpenseSummaryResponse::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        requireCategory(categoryId);
+        return analyticsResultCache.getForCategory(categoryId, "category-total", List.of(), () ->
+                Money.toBigDecimal(Money.sumCents(expenseRepository.findByCategory_Id(categoryId))));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Map<String, BigDecimal> getMonthlyExpenses() {
+        return analyticsResultCache.get("monthly", List.of(), this::computeMonthlyExpenses);
+    }
+
+    private Map<String, BigDecimal> computeMonthlyExpenses() {
         List<Expense> expenses = expenseRepository.findAll();
 
-        // Group by year-month and sum amounts
-        Map<YearMonth, BigDecimal> monthlyTotals = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        expense -> YearMonth.from(expense.getExpenseDate()),
-                        Collectors.reducing(
-                                BigDecimal.ZERO,
-                                Expense::getAmount,
-                                BigDecimal::add
-                        )
-                ));
-
-        // Convert to String keys and sort
-        return monthlyTotals.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .collect(Collectors.toMap(
-                        entry -> entry.getKey().toString(),
-                        Map.Entry::getValue,
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new
-                ));
+        if (expenses.isEmpty()) {
+            return Map.of();
+        }
+
+        // Bucket by epoch month into a primitive array, no per-row allocation
+        int minMonth = Integer.MAX_VALUE;
+        int maxMonth = Integer.MIN_VALUE;
+        for (Expense expense : expenses) {
+            int epochMonth = epochMonth(expense.getExpenseDate());
+            minMonth = Math.min(minMonth, epochMonth);
+            maxMonth = Math.max(maxMonth, epochMonth);
+        }
+
+        long[] monthlyCents = new long[maxMonth - minMonth + 1];
+        boolean[] present = new boolean[monthlyCents.length];
+        for (Expense expense : expenses) {
+            int slot = epochMonth(expense.getExpenseDate()) - minMonth;
+            monthlyCents[slot] = Money.add(monthlyCents[slot], expense.getAmountCents());
+            present[slot] = true;
+        }
+
+        // Convert to sorted String keys at the boundary
+        Map<String, BigDecimal> monthlyTotals = new LinkedHashMap<>();
+        for (int slot = 0; slot < monthlyCents.length; slot++) {
+            if (present[slot]) {
+                int epochMonth = minMonth + slot;
+                YearMonth month = YearMonth.of(epochMonth / 12, epochMonth % 12 + 1);
+                monthlyTotals.put(month.toString(), Money.toBigDecimal(monthlyCents[slot]));
+            }
+        }
+        return Collections.unmodifiableMap(monthlyTotals);
+    }
+
+    private static int epochMonth(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ExpenseSummaryResponse> getTopExpenses(int limit) {
-        List<Expense> expenses = expenseRepository.findTop10ByOrderByAmountDesc();
-        return expenseMapper.toResponseList(
-                expenses.stream().limit(limit).collect(Collectors.toList())
-        );
+        validateTopLimit(limit);
+        return topExpensesIndex.topGlobal(limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExpenseSummaryResponse> getTopExpensesByCategory(Long categoryId, int limit) {
+        validateTopLimit(limit);
+        requireCategory(categoryId);
+        return topExpensesIndex.topByCategory(categoryId, limit);
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1) {
+            throw new InvalidExpenseException("Limit must be greater than 0");
+        }
+    }
+
+    // Limits past the index's capacity are read from the database, so they need a ceiling
+    private static void validateTopLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidExpenseException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ExpenseSummaryResponse> getExpensesAboveAverage() {
-        List<Expense> expenses = expenseRepository.findExpensesAboveAverage();
+        // Compare against the cached mean instead of a correlated AVG subquery
+        BigDecimal threshold = spendDistributionIndex.meanThreshold(null);
+        List<Expense> expenses = expenseRepository.findByAmountGreaterThan(threshold);
         return expenseMapper.toResponseList(expenses);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExpenseSummaryResponse> getExpensesAboveQuantile(double quantile, Long categoryId) {
+        validateQuantile(quantile);
+        if (categoryId != null) {
+            requireCategory(categoryId);
+        }
+        BigDecimal threshold = spendDistributionIndex.quantileThreshold(categoryId, quantile);
+        List<Expense> expenses = categoryId == null
+                ? expenseRepository.findByAmountGreaterThan(threshold)
+                : expenseRepository.findByCategory_IdAndAmountGreaterThan(categoryId, threshold);
+        return expenseMapper.toResponseList(expenses);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SpendDistributionResponse getSpendDistribution(Long categoryId, YearMonth month, List<Double> quantiles) {
+        if (categoryId != null) {
+            requireCategory(categoryId);
+        }
+        List<Double> fractions = (quantiles == null || quantiles.isEmpty()) ? DEFAULT_QUANTILES : quantiles;
+        fractions.forEach(ExpenseServiceImpl::validateQuantile);
+        return spendDistributionIndex.distribution(categoryId, month, fractions);
+    }
+
+    private static void validateQuantile(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0) {
+            throw new InvalidExpenseException("Quantile must be between 0 and 1");
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ExpenseSummaryResponse> getCurrentMonthExpenses() {
@@ -202,10 +484,14 @@ public class ExpenseServiceImpl implements ExpenseService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Map<String, Object>> getDetailedStatsByDateRange(
             LocalDate startDate, LocalDate endDate) {
+        return analyticsResultCache.get("detailed-stats", Arrays.asList(startDate, endDate),
+                () -> computeDetailedStats(startDate, endDate));
+    }
 
+    private List<Map<String, Object>> computeDetailedStats(LocalDate startDate, LocalDate endDate) {
         List<Object[]> results = expenseRepository.getDetailedCategoryStats(startDate, endDate);
 
         return results.stream().map(row -> {
@@ -216,43 +502,271 @@ public class ExpenseServiceImpl implements ExpenseService {
             stat.put("average", row[3]);
             stat.put("minimum", row[4]);
             stat.put("maximum", row[5]);
-            return stat;
-        }).collect(Collectors.toList());
+            return Collections.unmodifiableMap(stat);
+        }).toList();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Map<String, Object>> getDailySpendingTrend() {
-        List<Object[]> results = expenseRepository.getDailySpendingLast30Days();
+        // The window moves at midnight without any write
+        return analyticsResultCache.get("daily-trend", List.of(LocalDate.now()),
+                () -> dailySpendWindows.dailyTrend(null, DailySpendWindows.TREND_DAYS));
+    }
 
-        return results.stream().map(row -> {
-            Map<String, Object> day = new HashMap<>();
-            day.put("date", row[0]);
-            day.put("total", row[1]);
-            return day;
-        }).collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getRollingTotals(Long categoryId) {
+        if (categoryId != null) {
+            requireCategory(categoryId);
+        }
+        return dailySpendWindows.rollingTotals(categoryId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ExpenseSummaryResponse> searchAll(String keyword, int page, int size) {
+        validatePage(page, size);
+        return expenseSearchIndex.search(keyword, true, page, size)
+                .orElseGet(() -> pageOf(expenseMapper.toResponseList(
+                        expenseRepository.searchByKeyword(keyword)), page, size));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ExpenseSummaryResponse> searchAll(String keyword) {
-        List<Expense> expenses = expenseRepository.searchByKeyword(keyword);
+    public List<SuggestionResponse> getSuggestions(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidExpenseException("Prefix must not be blank");
+        }
+        validateLimit(limit);
+        int capped = Math.min(limit, suggestionIndex.getMaxResults());
+        return suggestionIndex.suggest(prefix, capped)
+                .orElseGet(() -> suggestFromDatabase(prefix, capped));
+    }
+
+    // Counts matching rows per distinct phrase; only used until the index is built
+    private List<SuggestionResponse> suggestFromDatabase(String prefix, int limit) {
+        String key = SuggestionIndex.normalize(prefix);
+        Map<String, SuggestionResponse> byPhrase = new HashMap<>();
+        for (Expense expense : expenseRepository.findByDescriptionStartingWithIgnoreCase(prefix.trim())) {
+            SuggestionResponse suggestion = byPhrase.computeIfAbsent(
+                    SuggestionIndex.normalize(expense.getDescription()),
+                    phrase -> new SuggestionResponse(expense.getDescription().trim(), 0.0));
+            suggestion.setScore(suggestion.getScore() + 1.0);
+        }
+        for (Category category : categoryRepository.findByNameContainingIgnoreCase(prefix.trim())) {
+            String phrase = SuggestionIndex.normalize(category.getName());
+            if (phrase.startsWith(key)) {
+                byPhrase.putIfAbsent(phrase, new SuggestionResponse(category.getName().trim(), 0.0));
+            }
+        }
+        return byPhrase.values().stream()
+                .sorted(Comparator.comparingDouble(SuggestionResponse::getScore).reversed()
+                        .thenComparing(SuggestionResponse::getText))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FuzzyMatchResponse> fuzzySearch(String keyword, double threshold, int limit) {
+        if (threshold <= 0.0 || threshold > 1.0) {
+            throw new InvalidExpenseException("Similarity threshold must be greater than 0 and at most 1");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidExpenseException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // Without the index only exact substring matches can be found cheaply
+        return expenseSearchIndex.fuzzySearch(keyword, threshold, limit)
+                .orElseGet(() -> searchAll(keyword, 0, limit).getContent().stream()
+                        .map(expense -> new FuzzyMatchResponse(expense, 1.0))
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExpenseQueryResponse queryExpenses(ExpenseQueryRequest request) {
+        int size = request.getSize() == null ? DEFAULT_QUERY_SIZE : request.getSize();
+        validatePage(0, size);
+        ExpenseQueryCompiler.SortKey sortKey = expenseQueryCompiler.sortKey(request.getSort(), request.getDirection());
+        Specification<Expense> filter = expenseQueryCompiler.compile(request.getFilter());
+        Specification<Expense> specification = filter;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            specification = specification.and(sortKey.after(request.getCursor()));
+        }
+        Sort sort = sortKey.toSort();
+
+        // One extra row tells whether there is a next slice, so no count query is needed
+        List<Expense> rows = expenseRepository.findBy(specification,
+                query -> query.sortBy(sort).limit(size + 1).all());
+        Slice<Expense> slice = new SliceImpl<>(
+                rows.subList(0, Math.min(size, rows.size())), PageRequest.of(0, size, sort), rows.size() > size);
+
+        String nextCursor = slice.hasNext()
+                ? sortKey.cursorAfter(slice.getContent().get(slice.getNumberOfElements() - 1))
+                : null;
+        ExpenseQueryResponse response = new ExpenseQueryResponse(
+                expenseMapper.toResponseList(slice.getContent()), size, slice.hasNext(), nextCursor);
+        if (request.getFacets() != null && !request.getFacets().isEmpty()) {
+            // Facets describe the whole filtered set, so the cursor is left out
+            response.setFacets(expenseFacetCounter.count(filter, request.getFacets()));
+        }
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExpenseChangesResponse getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new InvalidExpenseException("Cursor must not be negative");
+        }
+        validateLimit(limit);
+        int size = Math.min(limit, MAX_PAGE_SIZE);
+        List<ExpenseChange> batch = expenseChangeLog.readAfter(since, size + 1);
+        boolean hasMore = batch.size() > size;
+        if (hasMore) {
+            batch = batch.subList(0, size);
+        }
+        long nextCursor = batch.isEmpty() ? since : batch.get(batch.size() - 1).getSeq();
+
+        // Within a batch only the last change per expense matters
+        Map<Long, ExpenseChange> latest = new LinkedHashMap<>();
+        for (ExpenseChange change : batch) {
+            latest.remove(change.getExpenseId());
+            latest.put(change.getExpenseId(), change);
+        }
+        List<Long> upserted = latest.values().stream()
+                .filter(change -> change.getType() == ExpenseChangeType.UPSERT)
+                .map(ExpenseChange::getExpenseId)
+                .toList();
+        Map<Long, Expense> current = upserted.isEmpty()
+                ? Map.of()
+                : expenseRepository.findAllWithTagsByIdIn(upserted).stream()
+                        .collect(Collectors.toMap(Expense::getId, expense -> expense));
+
+        List<ExpenseChangeResponse> changes = new ArrayList<>(latest.size());
+        for (ExpenseChange change : latest.values()) {
+            Expense expense = current.get(change.getExpenseId());
+            // An upserted expense that is gone by now was deleted later; its tombstone follows
+            changes.add(change.getType() == ExpenseChangeType.UPSERT && expense != null
+                    ? ExpenseChangeResponse.upserted(change.getSeq(), expenseMapper.toResponse(expense))
+                    : ExpenseChangeResponse.deleted(change.getSeq(), change.getExpenseId()));
+        }
+        return new ExpenseChangesResponse(changes, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExpenseSummaryResponse> getExpensesByTags(Set<String> allOf, Set<String> anyOf, Set<String> noneOf,
+                                                          Long categoryId, LocalDate startDate, LocalDate endDate,
+                                                          int page, int size) {
+        validatePage(page, size);
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new InvalidExpenseException("Start date must be before or equal to end date");
+        }
+        TagIndex.Query query = new TagIndex.Query(normalizeTags(allOf), normalizeTags(anyOf), normalizeTags(noneOf),
+                categoryId, startDate, endDate);
+        List<Expense> expenses = tagIndex.filter(query, page, size)
+                .map(this::findAllInOrder)
+                .orElseGet(() -> findByTagsInDatabase(query, page, size));
         return expenseMapper.toResponseList(expenses);
     }
 
+    private List<Expense> findAllInOrder(List<Long> ids) {
+        Map<Long, Expense> byId = new HashMap<>();
+        for (Expense expense : expenseRepository.findAllById(ids)) {
+            byId.put(expense.getId(), expense);
+        }
+        List<Expense> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Expense expense = byId.get(id);
+            if (expense != null) {
+                ordered.add(expense);
+            }
+        }
+        return ordered;
+    }
+
+    // Membership subqueries per tag; only used until the tag index is built
+    private List<Expense> findByTagsInDatabase(TagIndex.Query query, int page, int size) {
+        Specification<Expense> specification = (root, criteria, cb) -> cb.conjunction();
+        for (String tag : query.allOf()) {
+            specification = specification.and(ExpenseSpecifications.hasTag(tag));
+        }
+        if (!query.anyOf().isEmpty()) {
+            specification = specification.and(ExpenseSpecifications.hasAnyTag(query.anyOf()));
+        }
+        for (String tag : query.noneOf()) {
+            specification = specification.and(Specification.not(ExpenseSpecifications.hasTag(tag)));
+        }
+        if (query.categoryId() != null) {
+            specification = specification.and(ExpenseSpecifications.hasCategory(query.categoryId()));
+        }
+        if (query.startDate() != null) {
+            specification = specification.and(ExpenseSpecifications.dateAfterThe(query.startDate()));
+        }
+        if (query.endDate() != null) {
+            specification = specification.and(ExpenseSpecifications.dateBeforeThe(query.endDate()));
+        }
+        return expenseRepository.findAll(specification, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id")))
+                .getContent();
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getCategoryBreakdown() {
-        List<Object[]> results = expenseRepository.getCategoryBreakdown();
+    public List<TagStatsResponse> getTagStats() {
+        return tagIndex.stats().orElseGet(() -> expenseRepository.countByTag().stream()
+                .map(row -> new TagStatsResponse((String) row[0], ((Number) row[1]).longValue(), 0L))
+                .collect(Collectors.toList()));
+    }
 
-        return results.stream().map(row -> {
-            Map<String, Object> breakdown = new HashMap<>();
-            breakdown.put("category", row[0]);
-            breakdown.put("count", row[1]);
-            breakdown.put("total", row[2]);
-            breakdown.put("average", row[3]);
-            return breakdown;
-        }).collect(Collectors.toList());
+    /**
+     * Trimmed, lower-case and deduplicated; rejects anything but short slugs.
+     */
+    private static Set<String> normalizeTags(Collection<String> tags) {
+        if (tags == null) {
+            return Set.of();
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String tag : tags) {
+            String slug = tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+            if (!TAG.matcher(slug).matches()) {
+                throw new InvalidExpenseException(
+                        "Tags must be 1 to 40 letters, digits, '-' or '_', starting with a letter or digit: '" + tag + "'");
+            }
+            normalized.add(slug);
+        }
+        return normalized;
+    }
+
+    private static void validatePage(int page, int size) {
+        if (page < 0) {
+            throw new InvalidExpenseException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidExpenseException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static <T> Page<T> pageOf(List<T> items, int page, int size) {
+        int from = (int) Math.min((long) page * size, items.size());
+        int to = (int) Math.min((long) from + size, items.size());
+        return new PageImpl<>(items.subList(from, to), PageRequest.of(page, size), items.size());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<CategoryBreakdownResponse> getCategoryBreakdown() {
+        return analyticsResultCache.get("category-breakdown", List.of(),
+                () -> Collections.unmodifiableList(categoryBreakdownView.breakdown()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategoryBreakdownResponse> getTopSpendingCategories(int limit) {
+        validateLimit(limit);
+        List<CategoryBreakdownResponse> breakdown = categoryBreakdownView.breakdown();
+        return breakdown.subList(0, Math.min(limit, breakdown.size()));
     }
 
     @Override
@@ -1,15 +1,19 @@
 package com.project.expense_tracker.service;
 import com.project.expense_tracker.model.Expense;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 
 public class ExpenseSpecifications {
 
         // Static method for filtering by Category
         public static Specification<Expense> hasCategory(Long categoryId) {
             return (root, query, cb) -> {
-                return cb.equal(root.get("category"), categoryId);
+                return cb.equal(root.get("category").get("id"), categoryId);
             };
         }
 
@@ -46,5 +50,43 @@ public class ExpenseSpecifications {
                 );
            };
         }
+
+        // Tag membership, only used until the tag bitmaps are built
+        public static Specification<Expense> hasTag(String tag) {
+            return (root, query, cb) -> cb.isMember(tag, root.<Collection<String>>get("tags"));
+        }
+
+        public static Specification<Expense> hasAnyTag(Collection<String> tags) {
+            return (root, query, cb) -> cb.or(tags.stream()
+                    .map(tag -> cb.isMember(tag, root.<Collection<String>>get("tags")))
+                    .toArray(Predicate[]::new));
+        }
+
+        // Generic blocks for the query endpoint; paths may be dotted, e.g. "category.id"
+        public static Specification<Expense> attributeEquals(String path, Object value) {
+            return (root, query, cb) -> cb.equal(path(root, path), value);
+        }
+
+        public static Specification<Expense> attributeIn(String path, Collection<?> values) {
+            return (root, query, cb) -> path(root, path).in(values);
+        }
+
+        public static <C extends Comparable<? super C>> Specification<Expense> attributeAtLeast(String path, C min) {
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(path(root, path), min);
+        }
+
+        public static <C extends Comparable<? super C>> Specification<Expense> attributeAtMost(String path, C max) {
+            return (root, query, cb) -> cb.lessThanOrEqualTo(path(root, path), max);
+        }
+
+        private static <T> Path<T> path(Root<Expense> root, String dotted) {
+            Path<?> path = root;
+            for (String segment : dotted.split("\\.")) {
+                path = path.get(segment);
+            }
+            @SuppressWarnings("unchecked")
+            Path<T> typed = (Path<T>) path;
+            return typed;
+        }
     }
 
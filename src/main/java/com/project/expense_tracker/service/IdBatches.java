@@ -0,0 +1,64 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Limits and chunking for the multi-get endpoints.
+ *
+ * A request may name at most {@code expense.multi-get.max-ids} ids. They are
+ * looked up {@code expense.multi-get.chunk-size} at a time, so one IN list
+ * never outgrows what the database accepts; with IN-list padding on, a power
+ * of two keeps every chunk on the same statement.
+ */
+@Component
+public class IdBatches {
+
+    private final int maxIds;
+    private final int chunkSize;
+
+    @Autowired
+    public IdBatches(@Value("${expense.multi-get.max-ids:500}") int maxIds,
+                     @Value("${expense.multi-get.chunk-size:256}") int chunkSize) {
+        if (maxIds < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("expense.multi-get.max-ids and chunk-size must be positive");
+        }
+        this.maxIds = maxIds;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the distinct ids to look up, in request order, after checking
+     * the request against the cap.
+     */
+    public List<Long> distinct(List<Long> ids) {
+        if (ids.size() > maxIds) {
+            throw new InvalidRequestException("At most " + maxIds + " ids per request, got " + ids.size());
+        }
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new InvalidRequestException("Ids must not be empty");
+            }
+            distinct.add(id);
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    public List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>((all.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < all.size(); from += chunkSize) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+}
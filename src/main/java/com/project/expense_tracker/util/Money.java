@@ -0,0 +1,69 @@
+package com.project.expense_tracker.util;
+
+import com.project.expense_tracker.model.Expense;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Fixed-point money helpers working on {@code long} cents.
+ *
+ * Expense amounts are constrained to two decimal places, so every value fits
+ * in a long of cents. Aggregations run on primitives and only convert back to
+ * BigDecimal at the DTO boundary. All arithmetic is overflow-checked.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    // ── Conversions ──────────────────────────────────────────────────────────
+
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    // ── Arithmetic ───────────────────────────────────────────────────────────
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Sums the cents of the given expenses without allocating per row.
+     */
+    public static long sumCents(List<Expense> expenses) {
+        if (expenses == null) {
+            return 0L;
+        }
+        long total = 0L;
+        for (int i = 0, n = expenses.size(); i < n; i++) {
+            total = Math.addExact(total, expenses.get(i).getAmountCents());
+        }
+        return total;
+    }
+
+    /**
+     * Average of a cents total, rounded half-up to two decimals.
+     */
+    public static BigDecimal average(long totalCents, long count) {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        return toBigDecimal(totalCents).divide(BigDecimal.valueOf(count), SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.expense_tracker.analytics;
+
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.cache.DataVersions;
+import com.project.expense_tracker.dto.CategoryBreakdownResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.repository.CategoryRepository;
+import com.project.expense_tracker.repository.CategoryTotals;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryBreakdownViewTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private DataVersions dataVersions;
+    private CategoryDictionary dictionary;
+    private CategoryBreakdownView view;
+    private Category food;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        dataVersions = new DataVersions();
+        dictionary = new CategoryDictionary(categoryRepository);
+        view = new CategoryBreakdownView(expenseRepository, dictionary, dataVersions);
+        food = category(1L, "Food");
+        travel = category(2L, "Travel");
+        when(categoryRepository.findAll()).thenReturn(List.of(food, travel));
+    }
+
+    @Test
+    @DisplayName("Should group by id, order by total and decorate with names")
+    void breakdown_shouldBeTypedAndOrdered() {
+        when(expenseRepository.sumByCategoryId()).thenReturn(List.of(
+                totals(1L, 2, "30.00"),
+                totals(2L, 1, "100.00")));
+
+        List<CategoryBreakdownResponse> breakdown = view.breakdown();
+
+        assertEquals(2, breakdown.size());
+        assertEquals("Travel", breakdown.get(0).getCategory());
+        assertEquals(new BigDecimal("100.00"), breakdown.get(0).getTotal());
+        assertEquals("Food", breakdown.get(1).getCategory());
+        assertEquals(new BigDecimal("15.00"), breakdown.get(1).getAverage());
+        assertEquals("#FF5733", breakdown.get(1).getColor());
+    }
+
+    @Test
+    @DisplayName("Should reuse cached totals until an expense write bumps the version")
+    void breakdown_shouldRecomputeOnlyAfterWrite() {
+        when(expenseRepository.sumByCategoryId()).thenReturn(List.of(totals(1L, 1, "10.00")));
+
+        view.breakdown();
+        view.breakdown();
+        verify(expenseRepository, times(1)).sumByCategoryId();
+
+        dataVersions.onExpenseChanged(ExpenseChangedEvent.created(
+                new ExpenseSnapshot(5L, 1L, "Food", 500L, LocalDate.now(), "Lunch")));
+        view.breakdown();
+        verify(expenseRepository, times(2)).sumByCategoryId();
+    }
+
+    @Test
+    @DisplayName("Should pick up renamed categories without recomputing totals")
+    void breakdown_afterRename_shouldUseNewName() {
+        when(expenseRepository.sumByCategoryId()).thenReturn(List.of(totals(1L, 1, "10.00")));
+        view.breakdown();
+
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L, "Groceries"), travel));
+        CategoryChangedEvent rename = CategoryChangedEvent.saved(1L);
+        dataVersions.onCategoryChanged(rename);
+        dictionary.onCategoryChanged(rename);
+
+        assertEquals("Groceries", view.breakdown().get(0).getCategory());
+        verify(expenseRepository, times(1)).sumByCategoryId();
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category(name, "#FF5733", null);
+        category.setId(id);
+        return category;
+    }
+
+    private static CategoryTotals totals(Long categoryId, long count, String total) {
+        return new CategoryTotals() {
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+
+            @Override
+            public long getExpenseCount() {
+                return count;
+            }
+
+            @Override
+            public BigDecimal getTotalAmount() {
+                return new BigDecimal(total);
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package com.project.expense_tracker.analytics;
+
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.cache.PendingExpenseWritesTest;
+import com.project.expense_tracker.cache.SingleFlight;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailySpendWindowsTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 30);
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    private final PendingExpenseWrites pendingWrites = new PendingExpenseWrites();
+    private MutableClock clock;
+    private DailySpendWindows windows;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY);
+        windows = new DailySpendWindows(expenseRepository, pendingWrites,
+                new SingleFlight(new SimpleMeterRegistry(), 0), new int[]{7, 30, 90}, clock);
+        food = new Category("Food", "#FF5733", null);
+        food.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Should sum each window from a single load")
+    void rollingTotals_shouldSumWindows() {
+        when(expenseRepository.findSpendRowsAfterIdSince(eq(0L), any(), any())).thenReturn(rows(
+                expense(1L, "10.00", TODAY),
+                expense(2L, "20.00", TODAY.minusDays(10)),
+                expense(3L, "40.00", TODAY.minusDays(60))));
+
+        Map<String, BigDecimal> totals = windows.rollingTotals(null);
+
+        assertEquals(new BigDecimal("10.00"), totals.get("7d"));
+        assertEquals(new BigDecimal("30.00"), totals.get("30d"));
+        assertEquals(new BigDecimal("70.00"), totals.get("90d"));
+        assertEquals(new BigDecimal("70.00"), windows.rollingTotals(1L).get("90d"));
+        verify(expenseRepository, times(1)).findSpendRowsAfterIdSince(eq(0L), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should apply back-dated writes and moves between days")
+    void onExpenseChanged_shouldMoveAmountsBetweenDays() {
+        when(expenseRepository.findSpendRowsAfterIdSince(eq(0L), any(), any())).thenReturn(rows());
+        windows.rollingTotals(null);
+
+        Expense original = expense(1L, "15.00", TODAY.minusDays(3));
+        windows.onExpenseChanged(ExpenseChangedEvent.created(ExpenseSnapshot.of(original)));
+        assertEquals(new BigDecimal("15.00"), windows.rollingTotals(null).get("7d"));
+
+        Expense moved = expense(1L, "15.00", TODAY.minusDays(20));
+        windows.onExpenseChanged(ExpenseChangedEvent.updated(
+                ExpenseSnapshot.of(original), ExpenseSnapshot.of(moved)));
+
+        Map<String, BigDecimal> totals = windows.rollingTotals(null);
+        assertEquals(new BigDecimal("0.00"), totals.get("7d"));
+        assertEquals(new BigDecimal("15.00"), totals.get("30d"));
+
+        List<Map<String, Object>> trend = windows.dailyTrend(null, DailySpendWindows.TREND_DAYS);
+        assertEquals(1, trend.size());
+        assertEquals(TODAY.minusDays(20), trend.get(0).get("date"));
+    }
+
+    @Test
+    @DisplayName("Should slide windows when the date rolls over")
+    void rollingTotals_afterMidnight_shouldDropOldDays() {
+        when(expenseRepository.findSpendRowsAfterIdSince(eq(0L), any(), any())).thenReturn(rows(
+                expense(1L, "10.00", TODAY.minusDays(6))));
+        assertEquals(new BigDecimal("10.00"), windows.rollingTotals(null).get("7d"));
+
+        clock.set(TODAY.plusDays(1));
+
+        Map<String, BigDecimal> totals = windows.rollingTotals(null);
+        assertEquals(new BigDecimal("0.00"), totals.get("7d"));
+        assertEquals(new BigDecimal("10.00"), totals.get("30d"));
+
+        clock.set(TODAY.plusDays(200));
+        assertEquals(new BigDecimal("0.00"), windows.rollingTotals(null).get("90d"));
+    }
+
+    @Test
+    @DisplayName("Should replace drifted rings during reconciliation")
+    void reconcile_whenDrifted_shouldReloadFromDatabase() {
+        when(expenseRepository.findSpendRowsAfterIdSince(eq(0L), any(), any())).thenReturn(rows(
+                expense(1L, "10.00", TODAY)));
+        windows.rollingTotals(null);
+
+        // An event that never reached the database
+        windows.onExpenseChanged(ExpenseChangedEvent.created(
+                ExpenseSnapshot.of(expense(2L, "99.00", TODAY))));
+        assertEquals(new BigDecimal("109.00"), windows.rollingTotals(null).get("7d"));
+
+        windows.reconcile();
+
+        assertEquals(new BigDecimal("10.00"), windows.rollingTotals(null).get("7d"));
+        assertEquals(new BigDecimal("10.00"), windows.rollingTotals(1L).get("7d"));
+    }
+
+    @Test
+    @DisplayName("Should load without the lock and count a write that raced the scan once")
+    void rollingTotals_whenWriteCommitsDuringLoad_shouldCountItOnce() {
+        // Arrange: the listener runs while the scan reads, and reads keep working meanwhile
+        Expense created = expense(2L, "5.00", TODAY);
+        ExpenseChangedEvent event = ExpenseChangedEvent.created(ExpenseSnapshot.of(created));
+        when(expenseRepository.findSpendRowsAfterIdSince(eq(0L), any(), any())).thenAnswer(invocation -> {
+            PendingExpenseWritesTest.commit(pendingWrites, event, () -> windows.onExpenseChanged(event));
+            return rows(expense(1L, "10.00", TODAY), created);
+        });
+
+        // Act
+        Map<String, BigDecimal> totals = windows.rollingTotals(null);
+
+        // Assert
+        assertEquals(new BigDecimal("15.00"), totals.get("7d"));
+        assertEquals(new BigDecimal("15.00"), windows.rollingTotals(1L).get("7d"));
+        verify(expenseRepository, times(1)).findSpendRowsAfterIdSince(eq(0L), any(), any());
+    }
+
+    private static List<Object[]> rows(Expense... expenses) {
+        return SpendDistributionIndexTest.rows(List.of(expenses));
+    }
+
+    private Expense expense(Long id, String amount, LocalDate date) {
+        Expense expense = new Expense(new BigDecimal(amount), "Expense " + id, food, date);
+        expense.setId(id);
+        return expense;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(LocalDate date) {
+            set(date);
+        }
+
+        void set(LocalDate date) {
+            instant = date.atTime(12, 0).toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.expense_tracker.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KllSketchTest {
+
+    @Test
+    @DisplayName("Should estimate quantiles of a large stream within a few percent")
+    void quantile_shouldBeAccurateOnUniformStream() {
+        KllSketch sketch = new KllSketch(200);
+        Random random = new Random(42);
+        int n = 200_000;
+        for (int i = 0; i < n; i++) {
+            sketch.update(random.nextInt(100_000));
+        }
+
+        assertEquals(n, sketch.getCount());
+        assertEquals(50_000, sketch.quantile(0.5), 2_000);
+        assertEquals(90_000, sketch.quantile(0.9), 2_000);
+        assertEquals(99_000, sketch.quantile(0.99), 1_000);
+    }
+
+    @Test
+    @DisplayName("Should be exact for small streams")
+    void quantile_whenSmallStream_shouldBeExact() {
+        KllSketch sketch = new KllSketch(200);
+        for (long value = 1; value <= 100; value++) {
+            sketch.update(value);
+        }
+
+        assertEquals(50, sketch.quantile(0.5));
+        assertEquals(90, sketch.quantile(0.9));
+        assertEquals(1, sketch.getMin());
+        assertEquals(100, sketch.getMax());
+    }
+
+    @Test
+    @DisplayName("Should merge two sketches into one covering both streams")
+    void merge_shouldCombineStreams() {
+        KllSketch low = new KllSketch(100);
+        KllSketch high = new KllSketch(100);
+        for (int i = 0; i < 50_000; i++) {
+            low.update(i);
+            high.update(50_000 + i);
+        }
+
+        low.merge(high);
+
+        assertEquals(100_000, low.getCount());
+        assertEquals(50_000, low.quantile(0.5), 3_000);
+        assertEquals(99_999, low.getMax());
+    }
+
+    @Test
+    @DisplayName("Should reject queries on an empty sketch")
+    void quantile_whenEmpty_shouldThrow() {
+        assertThrows(IllegalStateException.class, () -> new KllSketch(100).quantile(0.5));
+    }
+}
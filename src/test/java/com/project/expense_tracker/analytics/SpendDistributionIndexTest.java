@@ -0,0 +1,240 @@
+package com.project.expense_tracker.analytics;
+
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.cache.PendingExpenseWritesTest;
+import com.project.expense_tracker.cache.SingleFlight;
+import com.project.expense_tracker.dto.SpendDistributionResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpendDistributionIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 15);
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PendingExpenseWrites pendingWrites = new PendingExpenseWrites();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry, 0);
+    private SpendDistributionIndex index;
+    private Category food;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        index = new SpendDistributionIndex(expenseRepository, pendingWrites, singleFlight, 200, 0.1);
+        food = category(1L, "Food");
+        travel = category(2L, "Travel");
+    }
+
+    @Test
+    @DisplayName("Should compute per-category and per-month statistics from one scan")
+    void distribution_shouldSliceByCategoryAndMonth() {
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            expenses.add(expense((long) i, i + ".00", food, DAY));
+        }
+        expenses.add(expense(101L, "500.00", travel, DAY.plusMonths(1)));
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any())).thenReturn(rows(expenses));
+
+        SpendDistributionResponse foodStats = index.distribution(1L, null, List.of(0.5, 0.9));
+        SpendDistributionResponse april = index.distribution(null, YearMonth.of(2026, 4), List.of(0.5));
+
+        assertEquals(100, foodStats.getCount());
+        assertEquals(new BigDecimal("50.50"), foodStats.getMean());
+        assertEquals(new BigDecimal("50.00"), foodStats.getQuantiles().get("p50"));
+        assertEquals(new BigDecimal("90.00"), foodStats.getQuantiles().get("p90"));
+        assertEquals(1, april.getCount());
+        assertEquals(new BigDecimal("500.00"), april.getMaximum());
+        verify(expenseRepository, times(1)).findSpendRowsAfterId(eq(0L), any());
+    }
+
+    @Test
+    @DisplayName("Should apply writes to the cached statistics without rescanning")
+    void onExpenseChanged_shouldUpdateMoments() {
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any())).thenReturn(rows(List.of(
+                expense(1L, "10.00", food, DAY),
+                expense(2L, "20.00", food, DAY))));
+        assertEquals(0, new BigDecimal("15").compareTo(index.meanThreshold(null)));
+
+        index.onExpenseChanged(ExpenseChangedEvent.created(
+                ExpenseSnapshot.of(expense(3L, "30.00", food, DAY))));
+
+        assertEquals(0, new BigDecimal("20").compareTo(index.meanThreshold(null)));
+        assertEquals(0, new BigDecimal("20").compareTo(index.meanThreshold(1L)));
+        verify(expenseRepository, times(1)).findSpendRowsAfterId(eq(0L), any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild once removals exceed the configured ratio")
+    void read_whenTooManyRemovals_shouldRebuild() {
+        Expense first = expense(1L, "10.00", food, DAY);
+        Expense second = expense(2L, "20.00", food, DAY);
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any()))
+                .thenReturn(rows(List.of(first, second)))
+                .thenReturn(rows(List.of(second)));
+        index.meanThreshold(null);
+
+        index.onExpenseChanged(ExpenseChangedEvent.deleted(ExpenseSnapshot.of(first)));
+        SpendDistributionResponse stats = index.distribution(null, null, List.of(0.5));
+
+        assertEquals(1, stats.getCount());
+        assertEquals(new BigDecimal("20.00"), stats.getQuantiles().get("p50"));
+        verify(expenseRepository, times(2)).findSpendRowsAfterId(eq(0L), any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild once removals exceed the ratio in the slice being read")
+    void read_whenCategorySliceHasTooManyRemovals_shouldRebuild() {
+        // Arrange: one removal is far below the global ratio but half of the food slice
+        List<Expense> remaining = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            remaining.add(expense((long) i, "5.00", travel, DAY));
+        }
+        Expense first = expense(31L, "10.00", food, DAY);
+        Expense second = expense(32L, "20.00", food, DAY);
+        remaining.add(second);
+        List<Expense> expenses = new ArrayList<>(remaining);
+        expenses.add(first);
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any()))
+                .thenReturn(rows(expenses))
+                .thenReturn(rows(remaining));
+        index.meanThreshold(null);
+        index.onExpenseChanged(ExpenseChangedEvent.deleted(ExpenseSnapshot.of(first)));
+
+        // Act
+        index.meanThreshold(null);
+        SpendDistributionResponse foodStats = index.distribution(1L, null, List.of(0.5));
+
+        // Assert
+        assertEquals(1, foodStats.getCount());
+        assertEquals(new BigDecimal("20.00"), foodStats.getQuantiles().get("p50"));
+        verify(expenseRepository, times(2)).findSpendRowsAfterId(eq(0L), any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild again when a category delete lands during the rebuild")
+    void read_whenCategoryDeletedDuringRebuild_shouldScanAgain() {
+        // Arrange: the first scan still sees the travel row the delete cascades to
+        Expense meal = expense(1L, "10.00", food, DAY);
+        Expense trip = expense(2L, "500.00", travel, DAY);
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any()))
+                .thenAnswer(invocation -> {
+                    index.onCategoryChanged(CategoryChangedEvent.deleted(2L));
+                    return rows(List.of(meal, trip));
+                })
+                .thenReturn(rows(List.of(meal)));
+
+        // Act
+        SpendDistributionResponse stats = index.distribution(null, null, List.of(0.5));
+
+        // Assert
+        assertEquals(1, stats.getCount());
+        assertEquals(new BigDecimal("10.00"), stats.getMaximum());
+        verify(expenseRepository, times(2)).findSpendRowsAfterId(eq(0L), any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild once for concurrent readers of a stale index")
+    void read_concurrentReaders_shouldShareOneRebuild() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return rows(List.of(expense(1L, "10.00", food, DAY)));
+        });
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<BigDecimal>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(readers.submit(() -> index.meanThreshold(null)));
+        }
+        // Let the scan finish once the other three readers wait on it
+        while (meterRegistry.find("expense.coalesce.saved").counters().stream()
+                .mapToDouble(Counter::count).sum() < 3) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Assert
+        for (Future<BigDecimal> result : results) {
+            assertEquals(0, new BigDecimal("10").compareTo(result.get(5, TimeUnit.SECONDS)));
+        }
+        readers.shutdown();
+        verify(expenseRepository, times(1)).findSpendRowsAfterId(eq(0L), any());
+    }
+
+    @Test
+    @DisplayName("Should install a rebuild that raced a write, counting the write once")
+    void read_whenWriteCommitsDuringScan_shouldCountItOnce() {
+        // Arrange: the row is created and its listener runs while the scan reads, and the scan sees it
+        Expense created = expense(3L, "30.00", food, DAY);
+        ExpenseChangedEvent event = ExpenseChangedEvent.created(ExpenseSnapshot.of(created));
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any())).thenAnswer(invocation -> {
+            PendingExpenseWritesTest.commit(pendingWrites, event, () -> index.onExpenseChanged(event));
+            return rows(List.of(expense(1L, "10.00", food, DAY), expense(2L, "20.00", food, DAY), created));
+        });
+
+        // Act
+        SpendDistributionResponse stats = index.distribution(null, null, List.of(0.5));
+        index.meanThreshold(null);
+
+        // Assert
+        assertEquals(3, stats.getCount());
+        assertEquals(new BigDecimal("20.00"), stats.getMean());
+        verify(expenseRepository, times(1)).findSpendRowsAfterId(eq(0L), any());
+    }
+
+    // (id, category id, date, amount) as the keyset scan returns them
+    static List<Object[]> rows(List<Expense> expenses) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Expense expense : expenses) {
+            rows.add(new Object[]{expense.getId(), expense.getCategory().getId(), expense.getExpenseDate(),
+                    expense.getAmount()});
+        }
+        return rows;
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category(name, "#FF5733", null);
+        category.setId(id);
+        return category;
+    }
+
+    private static Expense expense(Long id, String amount, Category category, LocalDate date) {
+        Expense expense = new Expense(new BigDecimal(amount), "Expense " + id, category, date);
+        expense.setId(id);
+        return expense;
+    }
+}
@@ -0,0 +1,148 @@
+package com.project.expense_tracker.analytics;
+
+import com.project.expense_tracker.dto.ExpenseSummaryResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TopExpensesIndexTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    private TopExpensesIndex index;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        index = new TopExpensesIndex(expenseRepository, 3, 0);
+        food = new Category("Food", "#FF5733", null);
+        food.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Should load once and then serve reads and writes without queries")
+    void topGlobal_afterLoad_shouldNotQueryAgain() {
+        when(expenseRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(List.of(expense(1L, "30.00"), expense(2L, "20.00")));
+
+        assertEquals(List.of(1L, 2L), ids(index.topGlobal(3)));
+
+        index.onExpenseChanged(ExpenseChangedEvent.created(snapshot(3L, "25.00")));
+        index.onExpenseChanged(ExpenseChangedEvent.created(snapshot(4L, "50.00")));
+
+        assertEquals(List.of(4L, 1L, 3L), ids(index.topGlobal(3)));
+        verify(expenseRepository, times(1)).findAllBy(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should move an updated expense to its new rank")
+    void onExpenseChanged_whenUpdated_shouldReorder() {
+        when(expenseRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(List.of(expense(1L, "30.00"), expense(2L, "20.00")));
+        index.topGlobal(2);
+
+        index.onExpenseChanged(ExpenseChangedEvent.updated(snapshot(2L, "20.00"), snapshot(2L, "40.00")));
+
+        List<ExpenseSummaryResponse> top = index.topGlobal(2);
+        assertEquals(List.of(2L, 1L), ids(top));
+        assertEquals(new BigDecimal("40.00"), top.get(0).getAmount());
+    }
+
+    @Test
+    @DisplayName("Should refill lazily when deletions drain a trimmed heap")
+    void topGlobal_whenDrainedByDeletes_shouldRefill() {
+        when(expenseRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(List.of(expense(1L, "30.00"), expense(2L, "20.00"), expense(3L, "10.00")))
+                .thenReturn(List.of(expense(2L, "20.00"), expense(3L, "10.00"), expense(5L, "5.00")));
+        index.topGlobal(3);
+
+        index.onExpenseChanged(ExpenseChangedEvent.deleted(snapshot(1L, "30.00")));
+
+        // Two entries are still a valid prefix
+        assertEquals(List.of(2L, 3L), ids(index.topGlobal(2)));
+        verify(expenseRepository, times(1)).findAllBy(any(Pageable.class));
+
+        // Asking for three needs a row the heap never saw
+        assertEquals(List.of(2L, 3L, 5L), ids(index.topGlobal(3)));
+        verify(expenseRepository, times(2)).findAllBy(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should keep per-category heaps separate from the global one")
+    void topByCategory_shouldOnlyContainCategoryExpenses() {
+        when(expenseRepository.findByCategory_Id(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(expense(1L, "30.00")));
+
+        assertEquals(List.of(1L), ids(index.topByCategory(1L, 3)));
+
+        index.onExpenseChanged(ExpenseChangedEvent.created(snapshot(2L, "12.00")));
+
+        assertEquals(List.of(1L, 2L), ids(index.topByCategory(1L, 3)));
+        verify(expenseRepository, times(1)).findByCategory_Id(eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should query directly when the limit exceeds the capacity")
+    void topGlobal_whenLimitAboveCapacity_shouldQuery() {
+        when(expenseRepository.findAllBy(any(Pageable.class))).thenReturn(new ArrayList<>());
+
+        index.topGlobal(10);
+        index.topGlobal(10);
+
+        verify(expenseRepository, times(2)).findAllBy(argThat(page -> page.getPageSize() == 10));
+    }
+
+    @Test
+    @DisplayName("Should reload after a category change")
+    void onCategoryChanged_shouldReset() {
+        when(expenseRepository.findAllBy(any(Pageable.class))).thenReturn(List.of(expense(1L, "30.00")));
+        index.topGlobal(1);
+
+        index.onCategoryChanged(CategoryChangedEvent.saved(1L));
+        index.topGlobal(1);
+
+        verify(expenseRepository, times(2)).findAllBy(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should reject capacities outside the supported range")
+    void constructor_whenCapacityInvalid_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TopExpensesIndex(expenseRepository, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TopExpensesIndex(expenseRepository, 1001, 0));
+    }
+
+    private Expense expense(Long id, String amount) {
+        Expense expense = new Expense(new BigDecimal(amount), "Expense " + id, food, LocalDate.now());
+        expense.setId(id);
+        return expense;
+    }
+
+    private ExpenseSnapshot snapshot(Long id, String amount) {
+        return ExpenseSnapshot.of(expense(id, amount));
+    }
+
+    private static List<Long> ids(List<ExpenseSummaryResponse> responses) {
+        return responses.stream().map(ExpenseSummaryResponse::getId).toList();
+    }
+}
@@ -0,0 +1,144 @@
+package com.project.expense_tracker.cache;
+
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DataVersions dataVersions;
+    private AnalyticsResultCache cache;
+    private AtomicInteger computations;
+
+    @BeforeEach
+    void setUp() {
+        dataVersions = new DataVersions();
+        cache = new AnalyticsResultCache(dataVersions, new SingleFlight(meterRegistry, 0), meterRegistry, 1 << 20);
+        computations = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should compute once while no write happens")
+    void get_withoutWrites_shouldComputeOnce() {
+        // Act
+        String first = cache.get("summary", List.of(), counting("a"));
+        String second = cache.get("summary", List.of(), counting("b"));
+
+        // Assert
+        assertEquals("a", first);
+        assertEquals("a", second);
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    @DisplayName("Should recompute after an expense or category write commits")
+    void get_afterWrites_shouldRecompute() {
+        cache.get("summary", List.of(), counting("a"));
+
+        dataVersions.onExpenseChanged(ExpenseChangedEvent.created(snapshot(1L, 7L)));
+        assertEquals("b", cache.get("summary", List.of(), counting("b")));
+
+        // Renames change what global results show
+        dataVersions.onCategoryChanged(CategoryChangedEvent.saved(7L));
+        assertEquals("c", cache.get("summary", List.of(), counting("c")));
+        assertEquals("c", cache.get("summary", List.of(), counting("d")));
+        assertEquals(3, computations.get());
+    }
+
+    @Test
+    @DisplayName("Should only recompute a category's result when its own expenses change")
+    void getForCategory_shouldFollowThatCategorysVersion() {
+        cache.getForCategory(7L, "category-total", List.of(), counting("food"));
+        cache.getForCategory(8L, "category-total", List.of(), counting("travel"));
+
+        // Act
+        dataVersions.onExpenseChanged(ExpenseChangedEvent.created(snapshot(1L, 8L)));
+
+        // Assert
+        assertEquals("food", cache.getForCategory(7L, "category-total", List.of(), counting("food-2")));
+        assertEquals("travel-2", cache.getForCategory(8L, "category-total", List.of(), counting("travel-2")));
+        assertEquals(3, computations.get());
+    }
+
+    @Test
+    @DisplayName("Should key results by their parameters")
+    void get_shouldKeyByParams() {
+        LocalDate start = LocalDate.of(2026, 1, 1);
+
+        cache.get("detailed-stats", List.of(start, start.plusDays(30)), counting("january"));
+        String february = cache.get("detailed-stats", List.of(start.plusMonths(1), start.plusDays(58)),
+                counting("february"));
+        String january = cache.get("detailed-stats", List.of(start, start.plusDays(30)), counting("again"));
+
+        assertEquals("february", february);
+        assertEquals("january", january);
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    @DisplayName("Should not keep results heavier than the byte budget")
+    void get_overBudget_shouldEvict() {
+        // Arrange
+        AnalyticsResultCache small = new AnalyticsResultCache(new DataVersions(),
+                new SingleFlight(new SimpleMeterRegistry(), 0), new SimpleMeterRegistry(), 1_000);
+        List<String> heavy = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            heavy.add("row-" + i);
+        }
+        AtomicInteger heavyComputations = new AtomicInteger();
+
+        // Act
+        small.get("monthly", List.of(), () -> {
+            heavyComputations.incrementAndGet();
+            return heavy;
+        });
+        small.get("monthly", List.of(), () -> {
+            heavyComputations.incrementAndGet();
+            return heavy;
+        });
+
+        // Assert
+        assertEquals(2, heavyComputations.get());
+        assertTrue(AnalyticsResultCache.weigh(heavy) > 1_000);
+    }
+
+    @Test
+    @DisplayName("Should publish the hit ratio and recompute times")
+    void metrics_shouldReportHitRatioAndRecomputes() {
+        // Act
+        cache.get("summary", List.of(), counting("a"));
+        cache.get("summary", List.of(), counting("a"));
+        cache.get("summary", List.of(), counting("a"));
+        cache.get("monthly", List.of(), counting("m"));
+
+        // Assert
+        assertEquals(0.5, meterRegistry.get("expense.analytics.cache.hit_ratio").gauge().value(), 1e-9);
+        assertEquals(1, meterRegistry.get("expense.analytics.recompute").tag("method", "summary").timer().count());
+        assertEquals(1, meterRegistry.get("expense.analytics.recompute").tag("method", "monthly").timer().count());
+        assertTrue(meterRegistry.get("expense.analytics.cache.weight").gauge().value() > 0);
+    }
+
+    private Supplier<String> counting(String value) {
+        return () -> {
+            computations.incrementAndGet();
+            return value;
+        };
+    }
+
+    private static ExpenseSnapshot snapshot(Long id, Long categoryId) {
+        return new ExpenseSnapshot(id, categoryId, "Food", 1_250, LocalDate.of(2026, 3, 1), "Lunch");
+    }
+}
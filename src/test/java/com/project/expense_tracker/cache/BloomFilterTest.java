@@ -0,0 +1,43 @@
+package com.project.expense_tracker.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never lose an added id")
+    void mightContain_addedIds_shouldAlwaysBeTrue() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id), "lost id " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the target rate")
+    void mightContain_absentIds_shouldRarelyMatch() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.put(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = 1_000_000; id < 1_100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        double observed = falsePositives / 100_000.0;
+        assertTrue(observed < 0.02, "observed rate " + observed);
+        assertEquals(0.01, filter.falsePositiveRate(), 0.005);
+        // About 9.6 bits per id at 1%
+        assertTrue(filter.sizeInBytes() < 14_000, "size was " + filter.sizeInBytes());
+    }
+}
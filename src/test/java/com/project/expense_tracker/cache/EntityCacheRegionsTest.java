@@ -0,0 +1,182 @@
+package com.project.expense_tracker.cache;
+
+import com.project.expense_tracker.model.Budget;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Role;
+import com.project.expense_tracker.model.User;
+import com.project.expense_tracker.repository.BudgetRepository;
+import com.project.expense_tracker.repository.CategoryRepository;
+import com.project.expense_tracker.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Second-level cache entries are only written on commit, so every repository call commits
+@DataJpaTest
+@Import(EntityCacheRegions.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheRegionsTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        budgetRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated category reads by id and name without SQL")
+    void category_repeatedReads_shouldHitCache() {
+        // Arrange
+        Long id = categoryRepository.save(new Category("Food", "#FF5733", "Food expenses")).getId();
+        categoryRepository.findById(id);
+        categoryRepository.findByName("Food");
+        long statements = statistics.getPrepareStatementCount();
+
+        // Act
+        Category byId = categoryRepository.findById(id).orElseThrow();
+        Category byName = categoryRepository.findByName("Food").orElseThrow();
+
+        // Assert
+        assertEquals("Food", byId.getName());
+        assertEquals(id, byName.getId());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getCacheRegionStatistics(EntityCacheRegions.CATEGORIES).getHitCount() > 0);
+        assertEquals(1, statistics.getCacheRegionStatistics(EntityCacheRegions.CATEGORIES_BY_NAME).getHitCount());
+    }
+
+    @Test
+    @DisplayName("Should see a category's new name after an update")
+    void category_update_shouldInvalidateCachedReads() {
+        // Arrange
+        Category category = categoryRepository.save(new Category("Food", "#FF5733", "Food expenses"));
+        categoryRepository.findById(category.getId());
+        assertTrue(categoryRepository.findByName("Food").isPresent());
+
+        // Act
+        category.setName("Groceries");
+        categoryRepository.save(category);
+
+        // Assert
+        assertEquals("Groceries", categoryRepository.findById(category.getId()).orElseThrow().getName());
+        assertTrue(categoryRepository.findByName("Food").isEmpty());
+        assertTrue(categoryRepository.findByName("Groceries").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should drop a deleted category from the id and name regions")
+    void category_delete_shouldInvalidateCachedReads() {
+        // Arrange
+        Long id = categoryRepository.save(new Category("Food", "#FF5733", "Food expenses")).getId();
+        categoryRepository.findById(id);
+        categoryRepository.findByName("Food");
+        assertTrue(entityManagerFactory.getCache().contains(Category.class, id));
+
+        // Act
+        categoryRepository.deleteById(id);
+
+        // Assert
+        assertTrue(categoryRepository.findById(id).isEmpty());
+        assertTrue(categoryRepository.findByName("Food").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should cache budget lookups by category and month until the limit changes")
+    void budget_update_shouldInvalidateCachedLookup() {
+        // Arrange
+        YearMonth month = YearMonth.of(2026, 3);
+        Budget budget = budgetRepository.save(new Budget(7L, new BigDecimal("500.00"), month));
+        budgetRepository.findByCategoryIdAndMonth(7L, month);
+        long statements = statistics.getPrepareStatementCount();
+        budgetRepository.findByCategoryIdAndMonth(7L, month);
+        assertEquals(statements, statistics.getPrepareStatementCount());
+
+        // Act
+        budget.setMonthlyLimit(new BigDecimal("750.00"));
+        budgetRepository.save(budget);
+
+        // Assert
+        Budget reloaded = budgetRepository.findByCategoryIdAndMonth(7L, month).orElseThrow();
+        assertEquals(0, new BigDecimal("750.00").compareTo(reloaded.getMonthlyLimit()));
+    }
+
+    @Test
+    @DisplayName("Should stop finding a deleted user by username")
+    void user_delete_shouldInvalidateCachedLookup() {
+        // Arrange
+        User user = userRepository.save(new User("alice", "alice@example.com", "secret", Role.USER));
+        userRepository.findByUsername("alice");
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(userRepository.findByUsername("alice").isPresent());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+
+        // Act
+        userRepository.delete(user);
+
+        // Assert
+        assertTrue(userRepository.findByUsername("alice").isEmpty());
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should publish hits, misses and the hit ratio per region")
+    void metrics_shouldReportHitRatio() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new CacheRegionMetrics(entityManagerFactory, meterRegistry);
+        Long id = categoryRepository.save(new Category("Food", "#FF5733", "Food expenses")).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // Act
+        categoryRepository.findById(id);
+        categoryRepository.findById(id);
+        categoryRepository.findById(id);
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("expense.cache.requests")
+                .tags("region", EntityCacheRegions.CATEGORIES, "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("expense.cache.requests")
+                .tags("region", EntityCacheRegions.CATEGORIES, "result", "miss").functionCounter().count());
+        assertEquals(2.0 / 3, meterRegistry.get("expense.cache.hit_ratio")
+                .tag("region", EntityCacheRegions.CATEGORIES).gauge().value(), 1e-9);
+        assertTrue(Double.isNaN(meterRegistry.get("expense.cache.hit_ratio")
+                .tag("region", EntityCacheRegions.USERS_BY_USERNAME).gauge().value()));
+    }
+}
@@ -0,0 +1,194 @@
+package com.project.expense_tracker.cache;
+
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.repository.CategoryRepository;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExistenceFilterTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MutableClock clock;
+    private ExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-03-01T00:00:00Z"));
+        lenient().when(expenseRepository.findIdsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            return afterId < 3L ? List.of(afterId + 1, afterId + 2) : List.of();
+        });
+        lenient().when(categoryRepository.findAllIds()).thenReturn(List.of(7L));
+        filter = new ExistenceFilter(expenseRepository, categoryRepository, meterRegistry,
+                0.01, 30_000, 100, 2, clock);
+    }
+
+    @Test
+    @DisplayName("Should send every id to the database until built")
+    void definitelyAbsent_beforeBuild_shouldBeFalse() {
+        assertFalse(filter.expenseDefinitelyAbsent(42L));
+        assertEquals(1.0, filter.expenseFalsePositiveRate());
+    }
+
+    @Test
+    @DisplayName("Should rule out ids missing from the filter and keep live ones")
+    void definitelyAbsent_afterBuild_shouldUseBloomFilter() {
+        filter.rebuild();
+
+        assertFalse(filter.expenseDefinitelyAbsent(1L));
+        assertFalse(filter.expenseDefinitelyAbsent(4L));
+        assertFalse(filter.categoryDefinitelyAbsent(7L));
+        long ruledOut = LongStream.range(1_000, 2_000)
+                .filter(filter::expenseDefinitelyAbsent).count();
+        assertTrue(ruledOut > 950, "ruled out " + ruledOut);
+        assertEquals(ruledOut, meterRegistry.get("expense.existence.rejections")
+                .tags("kind", "expense", "source", "bloom_filter").counter().count());
+        assertTrue(meterRegistry.get("expense.existence.false_positive_rate")
+                .tag("kind", "expense").gauge().value() < 0.01);
+    }
+
+    @Test
+    @DisplayName("Should add creates after commit and forget misses once created")
+    void onExpenseChanged_created_shouldBecomeVisible() {
+        filter.rebuild();
+        filter.expenseMissing(5_000L, filter.expenseGeneration());
+        assertTrue(filter.expenseDefinitelyAbsent(5_000L));
+
+        filter.onExpenseChanged(ExpenseChangedEvent.created(snapshot(5_000L)));
+
+        assertFalse(filter.expenseDefinitelyAbsent(5_000L));
+    }
+
+    @Test
+    @DisplayName("Should not cache a miss when a create commits between the lookup and the miss")
+    void expenseMissing_whenCreateRacesLookup_shouldNotCacheMiss() {
+        // Arrange
+        filter.rebuild();
+        long generation = filter.expenseGeneration();
+        // The lookup runs before the create commits and comes back empty...
+
+        // Act: ...then the create's listener runs before the caller records the miss
+        filter.onExpenseChanged(ExpenseChangedEvent.created(snapshot(5_000L)));
+        filter.expenseMissing(5_000L, generation);
+
+        // Assert
+        assertFalse(filter.expenseDefinitelyAbsent(5_000L));
+    }
+
+    @Test
+    @DisplayName("Should not cache a category miss when a create races the lookup")
+    void categoryMissing_whenCreateRacesLookup_shouldNotCacheMiss() {
+        // Arrange
+        long generation = filter.categoryGeneration();
+
+        // Act
+        filter.onCategoryChanged(CategoryChangedEvent.saved(8L));
+        filter.categoryMissing(8L, generation);
+
+        // Assert
+        assertFalse(filter.categoryDefinitelyAbsent(8L));
+        filter.categoryMissing(8L, filter.categoryGeneration());
+        assertTrue(filter.categoryDefinitelyAbsent(8L));
+    }
+
+    @Test
+    @DisplayName("Should expire negative entries after the TTL")
+    void expenseMissing_shouldExpire() {
+        filter.expenseMissing(2L, filter.expenseGeneration());
+        assertTrue(filter.expenseDefinitelyAbsent(2L));
+
+        clock.advance(Duration.ofSeconds(31));
+
+        assertFalse(filter.expenseDefinitelyAbsent(2L));
+    }
+
+    @Test
+    @DisplayName("Should keep creates that land while a rebuild is scanning")
+    void rebuild_withConcurrentCreate_shouldKeepNewId() {
+        when(expenseRepository.findIdsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            if (afterId == 0L) {
+                // Committed after the scan's snapshot of the table
+                filter.onExpenseChanged(ExpenseChangedEvent.created(snapshot(9_000L)));
+                return List.of(1L);
+            }
+            return List.of();
+        });
+
+        filter.rebuild();
+
+        assertFalse(filter.expenseDefinitelyAbsent(9_000L));
+        assertFalse(filter.expenseDefinitelyAbsent(1L));
+    }
+
+    @Test
+    @DisplayName("Should answer deleted categories from the negative cache")
+    void onCategoryChanged_deleted_shouldBeAbsent() {
+        filter.rebuild();
+
+        filter.onCategoryChanged(CategoryChangedEvent.deleted(7L));
+
+        assertTrue(filter.categoryDefinitelyAbsent(7L));
+    }
+
+    private static ExpenseSnapshot snapshot(long id) {
+        return new ExpenseSnapshot(id, 7L, "Food", 100L, LocalDate.of(2026, 2, 1), "Lunch");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
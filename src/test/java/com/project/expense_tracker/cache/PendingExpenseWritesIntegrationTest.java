@@ -0,0 +1,113 @@
+package com.project.expense_tracker.cache;
+
+import com.project.expense_tracker.analytics.DailySpendWindows;
+import com.project.expense_tracker.analytics.SpendDistributionIndex;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.live.LiveTotals;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.model.Role;
+import com.project.expense_tracker.model.User;
+import com.project.expense_tracker.repository.CategoryRepository;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.repository.UserRepository;
+import com.project.expense_tracker.search.SuggestionIndex;
+import com.project.expense_tracker.search.TagIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PendingExpenseWritesIntegrationTest {
+
+    @Autowired
+    private PendingExpenseWrites pendingWrites;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private SpendDistributionIndex spendDistributionIndex;
+
+    @Autowired
+    private DailySpendWindows dailySpendWindows;
+
+    @Autowired
+    private TagIndex tagIndex;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private LiveTotals liveTotals;
+
+    @Test
+    @DisplayName("Should let every consumer report a write committed during a scan before the write stops being pending")
+    void commit_duringScan_shouldReachEveryConsumer() {
+        // Arrange: a scan opened the way each index's seed opens one
+        String suffix = Long.toString(System.nanoTime());
+        User owner = userRepository.save(
+                new User("pending-" + suffix, "pending-" + suffix + "@example.com", "secret", Role.USER));
+        Category category = categoryRepository.save(new Category("Pending " + suffix, "#FF5733", "Pending writes"));
+        Map<String, Object> consumers = Map.of(
+                "SpendDistributionIndex", spendDistributionIndex,
+                "DailySpendWindows", dailySpendWindows,
+                "TagIndex", tagIndex,
+                "SuggestionIndex", suggestionIndex,
+                "LiveTotals", liveTotals);
+        PendingExpenseWrites.Scan scan = pendingWrites.open();
+
+        // Act: the write commits through the real transaction manager, like ExpenseServiceImpl's
+        Long id = new TransactionTemplate(transactionManager).execute(status -> {
+            Expense expense = new Expense();
+            expense.setAmount(new BigDecimal("12.34"));
+            expense.setDescription("Pending write " + suffix);
+            expense.setExpenseDate(LocalDate.now());
+            expense.setCategory(category);
+            expense.setUser(owner);
+            Expense saved = expenseRepository.save(expense);
+            eventPublisher.publishEvent(ExpenseChangedEvent.created(ExpenseSnapshot.of(saved)));
+            return saved.getId();
+        });
+        Set<Long> skipped = scan.advance(Long.MAX_VALUE);
+
+        // Assert: each consumer gets the row from the replay, since the scan skips it
+        assertTrue(skipped.contains(id));
+        for (Map.Entry<String, Object> consumer : consumers.entrySet()) {
+            List<Long> replayed = new ArrayList<>();
+            scan.replay(consumer.getValue(), (snapshot, sign) -> {
+                if (snapshot.id().equals(id)) {
+                    replayed.add(sign * snapshot.amountCents());
+                }
+            });
+            assertEquals(List.of(1234L), replayed, consumer.getKey());
+        }
+        scan.close();
+    }
+}
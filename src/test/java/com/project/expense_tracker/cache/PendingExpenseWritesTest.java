@@ -0,0 +1,112 @@
+package com.project.expense_tracker.cache;
+
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PendingExpenseWritesTest {
+
+    private final PendingExpenseWrites pendingWrites = new PendingExpenseWrites();
+    private final Object index = new Object();
+    private final List<String> replayed = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep a row read before its write and replay only the delivered change")
+    void replay_whenRowReadBeforeWrite_shouldApplyDeliveredChange() {
+        // Arrange
+        ExpenseChangedEvent update = ExpenseChangedEvent.updated(snapshot(5L, 1000), snapshot(5L, 2500));
+        PendingExpenseWrites.Scan scan = pendingWrites.open();
+        assertEquals(Set.of(), scan.advance(10L));
+
+        // Act: the write starts after the row was read and reaches the index before the install
+        commit(pendingWrites, update, () -> pendingWrites.delivered(index, update));
+        scan.replay(index, this::record);
+        scan.close();
+
+        // Assert
+        assertEquals(List.of("-1000", "+2500"), replayed);
+    }
+
+    @Test
+    @DisplayName("Should skip a row with a pending write and start from the write's before state")
+    void replay_whenWritePendingDuringRead_shouldUseBeforeState() {
+        // Arrange: committed but not yet delivered when the scan opens and reads the row
+        ExpenseChangedEvent update = ExpenseChangedEvent.updated(snapshot(5L, 1000), snapshot(5L, 2500));
+        TransactionSynchronizationManager.initSynchronization();
+        pendingWrites.onExpenseChanged(update);
+        PendingExpenseWrites.Scan scan = pendingWrites.open();
+
+        // Act
+        Set<Long> skipped = scan.advance(Long.MAX_VALUE);
+        scan.replay(index, this::record);
+
+        // Assert: the listener applies the update itself once it runs
+        assertEquals(Set.of(5L), skipped);
+        assertEquals(List.of("+1000"), replayed);
+        scan.close();
+    }
+
+    @Test
+    @DisplayName("Should replay a write the index received before the scan opened but whose transaction was open")
+    void replay_whenDeliveredBeforeOpen_shouldReplayIt() {
+        // Arrange
+        ExpenseChangedEvent create = ExpenseChangedEvent.created(snapshot(7L, 400));
+        TransactionSynchronizationManager.initSynchronization();
+        pendingWrites.onExpenseChanged(create);
+        pendingWrites.delivered(index, create);
+        PendingExpenseWrites.Scan scan = pendingWrites.open();
+
+        // Act
+        Set<Long> skipped = scan.advance(Long.MAX_VALUE);
+        scan.replay(index, this::record);
+        scan.replay(new Object(), this::record);
+
+        // Assert: only the index that received it gets it
+        assertEquals(Set.of(7L), skipped);
+        assertEquals(List.of("+400"), replayed);
+        scan.close();
+    }
+
+    /**
+     * Runs a write's in-transaction half, then {@code afterCommit} (the
+     * listeners), then completes it, the way a committing transaction would.
+     */
+    public static void commit(PendingExpenseWrites pendingWrites, ExpenseChangedEvent event, Runnable afterCommit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pendingWrites.onExpenseChanged(event);
+            afterCommit.run();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void record(ExpenseSnapshot snapshot, int sign) {
+        replayed.add((sign > 0 ? "+" : "-") + snapshot.amountCents());
+    }
+
+    private static ExpenseSnapshot snapshot(Long id, long cents) {
+        return new ExpenseSnapshot(id, 1L, "Food", cents, LocalDate.of(2026, 3, 15), "Expense " + id);
+    }
+}
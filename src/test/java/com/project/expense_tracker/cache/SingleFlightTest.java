@@ -0,0 +1,126 @@
+package com.project.expense_tracker.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run one computation for concurrent identical calls")
+    void execute_concurrentCalls_shouldShareOneComputation() throws Exception {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        Future<String> leader = executor.submit(() -> singleFlight.execute("summary", "key", () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "result";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("summary", "key", () -> {
+                computations.incrementAndGet();
+                return "duplicate";
+            })));
+        }
+        waitForSaved(20);
+        release.countDown();
+
+        // Assert
+        assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(1.0, meterRegistry.get("expense.coalesce.computed").tag("operation", "summary").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should hand the leader's failure to every waiter and not keep it")
+    void execute_whenComputationFails_shouldPropagateToWaiters() throws Exception {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, 60_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("summary", "key", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("database down");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> follower = executor.submit(() -> singleFlight.execute("summary", "key", () -> "unused"));
+        waitForSaved(1);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+        assertInstanceOf(IllegalStateException.class, followerFailure.getCause());
+        assertEquals("recovered", singleFlight.execute("summary", "key", () -> "recovered"));
+    }
+
+    @Test
+    @DisplayName("Should share a finished result during the linger window only")
+    void execute_afterCompletion_shouldLingerBriefly() throws Exception {
+        // Arrange
+        SingleFlight lingering = new SingleFlight(meterRegistry, 60_000);
+        SingleFlight immediate = new SingleFlight(new SimpleMeterRegistry(), 0);
+
+        // Act
+        lingering.execute("summary", "key", () -> "first");
+        immediate.execute("summary", "key", () -> "first");
+
+        // Assert
+        assertEquals("first", lingering.execute("summary", "key", () -> "second"));
+        assertEquals("second", immediate.execute("summary", "key", () -> "second"));
+        assertEquals("other", lingering.execute("summary", "other-key", () -> "other"));
+        assertEquals(1.0, meterRegistry.get("expense.coalesce.saved").tag("operation", "summary").counter().count());
+    }
+
+    private void waitForSaved(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("expense.coalesce.saved").counter() == null
+                || meterRegistry.get("expense.coalesce.saved").counter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "waiters never joined the flight");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
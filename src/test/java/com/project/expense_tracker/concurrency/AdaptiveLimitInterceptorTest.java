@@ -0,0 +1,62 @@
+package com.project.expense_tracker.concurrency;
+
+import com.project.expense_tracker.controller.DashboardController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimitInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptiveLimitInterceptor interceptor;
+    private HandlerMethod dashboard;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // One-request windows, so every sample reaches the limit at once
+        interceptor = new AdaptiveLimitInterceptor(meterRegistry, 20, 1, 200, 1, 100, 1);
+        dashboard = new HandlerMethod(new DashboardController(null),
+                DashboardController.class.getMethod("getDashboard"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {304, 400, 404, 409, 500})
+    @DisplayName("Should not sample the latency of 304s, client errors or failures")
+    void afterCompletion_whenNotAFullResponse_shouldNotSample(int status) {
+        // Act
+        complete(status);
+
+        // Assert
+        AdaptiveLimiter limiter = interceptor.limiter(dashboard.getMethod());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(Long.MAX_VALUE, limiter.getNoLoadRttNanos());
+    }
+
+    @Test
+    @DisplayName("Should sample the latency of a full response")
+    void afterCompletion_whenOk_shouldSample() {
+        // Act
+        complete(200);
+
+        // Assert
+        AdaptiveLimiter limiter = interceptor.limiter(dashboard.getMethod());
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.getNoLoadRttNanos() < Long.MAX_VALUE);
+    }
+
+    private void complete(int status) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dashboard");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request, response, dashboard));
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, dashboard, null);
+    }
+}
@@ -0,0 +1,163 @@
+package com.project.expense_tracker.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives an {@link AdaptiveLimiter} against a simulated server on a
+ * simulated clock, so the results don't depend on the machine running them.
+ *
+ * The server shares {@link #WORKERS} workers among everything in flight:
+ * up to that many requests each take the service time, beyond it all of them
+ * slow down in proportion, as requests contending for connections and CPU do.
+ * Clients arrive at a fixed rate regardless of how the server copes.
+ */
+class AdaptiveLimiterSimulationTest {
+
+    private static final int WORKERS = 8;
+    private static final long TICK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should keep throughput near capacity and latency bounded at three times capacity")
+    void overload_shouldHoldThroughputAndLatency() {
+        // Arrange: 10 ms requests, so 800 req/s capacity, offered 2400 req/s
+        long service = TimeUnit.MILLISECONDS.toNanos(10);
+        AdaptiveLimiter limiter = limiter();
+
+        // Act
+        Result limited = simulate(limiter, 2400, service, service, 30);
+        Result unlimited = simulate(null, 2400, service, service, 3);
+
+        // Assert
+        assertTrue(limited.throughput() > 0.9 * 800, "throughput " + limited.throughput());
+        assertTrue(limited.p99Millis() < 30, "p99 " + limited.p99Millis() + " ms");
+        assertTrue(limited.shed() > 0);
+        assertTrue(limiter.getLimit() >= WORKERS && limiter.getLimit() < 4 * WORKERS, "limit " + limiter.getLimit());
+        // Without the limiter everything queues and latency only grows
+        assertTrue(unlimited.p99Millis() > 1000, "unlimited p99 " + unlimited.p99Millis() + " ms");
+    }
+
+    @Test
+    @DisplayName("Should follow the service time when requests get slower as data grows")
+    void slowerRequests_shouldLowerLatencyTargetNotThroughput() {
+        // Arrange: requests go from 10 ms to 20 ms halfway through
+        AdaptiveLimiter limiter = limiter();
+
+        // Act
+        Result result = simulate(limiter, 2400,
+                TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(20), 60);
+
+        // Assert: measured over the second half, against the new 400 req/s capacity
+        assertTrue(result.throughput() > 0.9 * 400, "throughput " + result.throughput());
+        assertTrue(result.p99Millis() < 60, "p99 " + result.p99Millis() + " ms");
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency climbs and grow it while latency stays flat")
+    void vegasLimit_shouldMoveWithQueueing() {
+        // Arrange
+        VegasLimit limit = new VegasLimit(20, 1, 100, 10, 1000);
+        long base = TimeUnit.MILLISECONDS.toNanos(10);
+
+        // Act & Assert
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(base, 20);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 20, "limit " + grown);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(3 * base, grown);
+        }
+        assertTrue(limit.getLimit() < grown, "limit " + limit.getLimit());
+
+        // An idle endpoint doesn't earn a higher limit
+        int settled = limit.getLimit();
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(base, 1);
+        }
+        assertEquals(settled, limit.getLimit());
+    }
+
+    private AdaptiveLimiter limiter() {
+        return new AdaptiveLimiter("/simulated", new VegasLimit(20, 1, 200, 20, 100), meterRegistry);
+    }
+
+    /**
+     * Runs the simulation for {@code seconds}, switching from
+     * {@code serviceBefore} to {@code serviceAfter} halfway, and reports on
+     * the second half.
+     */
+    private Result simulate(AdaptiveLimiter limiter, int arrivalsPerSecond, long serviceBefore, long serviceAfter,
+                            int seconds) {
+        long end = TimeUnit.SECONDS.toNanos(seconds);
+        long measureFrom = end / 2;
+        double arrivalsPerTick = arrivalsPerSecond * TICK_NANOS / 1e9;
+
+        // Processor sharing: every job advances by the same amount of "work time" per tick
+        PriorityQueue<Job> running = new PriorityQueue<>();
+        double workTime = 0;
+        double arrivals = 0;
+        int shed = 0;
+        List<Long> latencies = new ArrayList<>();
+        int completed = 0;
+
+        for (long now = 0; now < end; now += TICK_NANOS) {
+            arrivals += arrivalsPerTick;
+            long service = now < measureFrom ? serviceBefore : serviceAfter;
+            for (; arrivals >= 1; arrivals--) {
+                if (limiter == null || limiter.tryAcquire()) {
+                    running.add(new Job(now, workTime + service));
+                } else if (now >= measureFrom) {
+                    shed++;
+                }
+            }
+            if (!running.isEmpty()) {
+                workTime += TICK_NANOS * Math.min(1.0, (double) WORKERS / running.size());
+            }
+            while (!running.isEmpty() && running.peek().finishesAt() <= workTime) {
+                Job done = running.poll();
+                long latency = now + TICK_NANOS - done.startedAt();
+                if (limiter != null) {
+                    limiter.release(latency);
+                }
+                if (done.startedAt() >= measureFrom) {
+                    latencies.add(latency);
+                    completed++;
+                }
+            }
+        }
+        // Requests still waiting at the end have taken at least this long
+        for (Job job : running) {
+            if (job.startedAt() >= measureFrom) {
+                latencies.add(end - job.startedAt());
+            }
+        }
+        Collections.sort(latencies);
+        double measuredSeconds = (end - measureFrom) / 1e9;
+        long p99 = latencies.get((int) (latencies.size() * 0.99));
+        return new Result(completed / measuredSeconds, TimeUnit.NANOSECONDS.toMillis(p99), shed);
+    }
+
+    private record Job(long startedAt, double finishesAt) implements Comparable<Job> {
+
+        @Override
+        public int compareTo(Job other) {
+            return Double.compare(finishesAt, other.finishesAt);
+        }
+    }
+
+    private record Result(double throughput, long p99Millis, int shed) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.project.expense_tracker.concurrency;
+
+import com.project.expense_tracker.cache.DataVersions;
+import com.project.expense_tracker.cache.ResourceETags;
+import com.project.expense_tracker.controller.ExpenseController;
+import com.project.expense_tracker.dto.ExpenseResponse;
+import com.project.expense_tracker.service.ExpenseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@WebMvcTest(value = ExpenseController.class, properties = {
+        "expense.bulkhead.analytics.max-concurrent=2",
+        "expense.bulkhead.analytics.max-queue=2",
+        "expense.bulkhead.analytics.max-wait-ms=50"
+})
+@AutoConfigureMockMvc(addFilters = false)
+@Import({ResourceETags.class, DataVersions.class, SimpleMeterRegistry.class})
+class BulkheadIsolationTest {
+
+    private static final int ANALYTICS_CALLERS = 20;
+    private static final int CRUD_REQUESTS = 200;
+    // Generous for a loaded CI box, yet far below the analytics hold, which outlasts every CRUD request
+    private static final long CRUD_P99_LIMIT_MILLIS = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private ExpenseService expenseService;
+
+    @Test
+    @DisplayName("Should keep CRUD latency flat while analytics is saturated, shedding analytics without queueing behind it")
+    void crud_whileAnalyticsSaturated_shouldHoldP99() throws Exception {
+        // Arrange: analytics requests hold their permits until released
+        CountDownLatch release = new CountDownLatch(1);
+        when(expenseService.getTopSpendingCategories(5)).thenAnswer(invocation -> {
+            assertTrue(release.await(30, TimeUnit.SECONDS));
+            return List.of();
+        });
+        when(expenseService.getExpenseById(1L)).thenReturn(new ExpenseResponse());
+        // Warm up the request path so the first timings don't include class loading
+        for (int i = 0; i < 50; i++) {
+            assertEquals(200, status("/api/expenses/1"));
+        }
+        List<Long> crudMillis = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Integer>> analytics = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < ANALYTICS_CALLERS; i++) {
+                analytics.add(executor.submit(() -> status("/api/expenses/top-categories")));
+            }
+            awaitCount(() -> gauge("expense.bulkhead.active"), 2);
+
+            // Act: every CRUD request completes while both analytics permits are still held
+            List<Future<?>> crud = new ArrayList<>();
+            for (int client = 0; client < 4; client++) {
+                crud.add(executor.submit(() -> {
+                    for (int i = 0; i < CRUD_REQUESTS / 4; i++) {
+                        long started = System.nanoTime();
+                        assertEquals(200, status("/api/expenses/1"));
+                        crudMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : crud) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            // The rest of the analytics callers are refused before any held request finishes
+            awaitCount(this::analyticsRejections, ANALYTICS_CALLERS - 2);
+            assertEquals(2.0, gauge("expense.bulkhead.active"));
+            release.countDown();
+
+            // Assert
+            List<Long> sorted = new ArrayList<>(crudMillis);
+            Collections.sort(sorted);
+            assertEquals(CRUD_REQUESTS, sorted.size());
+            long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+            assertTrue(p99 < CRUD_P99_LIMIT_MILLIS, "CRUD p99 was " + p99 + " ms");
+
+            int served = 0;
+            for (Future<Integer> future : analytics) {
+                int status = future.get(30, TimeUnit.SECONDS);
+                if (status == 200) {
+                    served++;
+                } else {
+                    assertEquals(503, status);
+                }
+            }
+            assertEquals(2, served);
+        }
+        assertEquals(0.0, meterRegistry.get("expense.bulkhead.rejected").tag("bulkhead", "crud")
+                .counters().stream().mapToDouble(counter -> counter.count()).sum());
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("bulkhead", "analytics").gauge().value();
+    }
+
+    private double analyticsRejections() {
+        return meterRegistry.get("expense.bulkhead.rejected").tag("bulkhead", "analytics")
+                .counters().stream().mapToDouble(counter -> counter.count()).sum();
+    }
+
+    // Waits for a count to be reached; the deadline only bounds a broken run
+    private static void awaitCount(DoubleSupplier count, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (count.getAsDouble() < expected) {
+            assertTrue(System.nanoTime() < deadline, "reached only " + count.getAsDouble() + " of " + expected);
+            Thread.sleep(1);
+        }
+    }
+
+    private int status(String path) throws Exception {
+        return mockMvc.perform(get(path)).andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,134 @@
+package com.project.expense_tracker.concurrency;
+
+import com.project.expense_tracker.controller.DashboardController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should refuse at once when the queue is full instead of waiting")
+    void tryEnter_whenQueueFull_shouldRejectImmediately() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("analytics", 1, 1, 5000, meterRegistry);
+        assertTrue(bulkhead.tryEnter());
+        CountDownLatch queued = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Boolean> waiter = executor.submit(() -> {
+                queued.countDown();
+                return bulkhead.tryEnter();
+            });
+            queued.await();
+            while (bulkhead.queued() == 0) {
+                Thread.sleep(1);
+            }
+
+            // Act
+            boolean entered = bulkhead.tryEnter();
+
+            // Assert: refused while the waiter is still queued, and no wait recorded for it
+            assertFalse(entered);
+            assertEquals(1, bulkhead.queued());
+            assertEquals(0L, meterRegistry.get("expense.bulkhead.wait").tag("bulkhead", "analytics").timer().count());
+            assertEquals(1.0, meterRegistry.get("expense.bulkhead.rejected")
+                    .tags("bulkhead", "analytics", "reason", "queue_full").counter().count());
+            bulkhead.exit();
+            assertTrue(waiter.get(5, TimeUnit.SECONDS));
+            assertEquals(1L, meterRegistry.get("expense.bulkhead.wait").tag("bulkhead", "analytics").timer().count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should give up on a queued caller after the wait")
+    void tryEnter_whenWaitExpires_shouldReject() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("search", 1, 10, 30, meterRegistry);
+        bulkhead.tryEnter();
+
+        // Act
+        boolean entered = bulkhead.tryEnter();
+
+        // Assert
+        assertFalse(entered);
+        assertEquals(0, bulkhead.queued());
+        assertEquals(1.0, meterRegistry.get("expense.bulkhead.rejected")
+                .tags("bulkhead", "search", "reason", "timeout").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should report how much of the limit is in use")
+    void gauges_shouldTrackUtilization() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("crud", 4, 0, 0, meterRegistry);
+
+        // Act
+        bulkhead.tryEnter();
+        bulkhead.tryEnter();
+        bulkhead.tryEnter();
+        bulkhead.exit();
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("expense.bulkhead.active").tag("bulkhead", "crud").gauge().value());
+        assertEquals(0.5, meterRegistry.get("expense.bulkhead.utilization").tag("bulkhead", "crud").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should take one permit per connection a caller holds")
+    void tryEnter_withConnections_shouldTakeThatManyPermits() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("analytics", 3, 0, 0, meterRegistry);
+
+        // Act
+        boolean dashboard = bulkhead.tryEnter(2);
+        boolean second = bulkhead.tryEnter(2);
+        boolean single = bulkhead.tryEnter();
+
+        // Assert
+        assertTrue(dashboard);
+        assertFalse(second);
+        assertTrue(single);
+        assertEquals(3, bulkhead.active());
+        bulkhead.exit(2);
+        bulkhead.exit();
+        assertEquals(0, bulkhead.active());
+        // More than the limit is capped at the limit, so it can still get in alone
+        assertTrue(bulkhead.tryEnter(10));
+        assertEquals(3, bulkhead.active());
+    }
+
+    @Test
+    @DisplayName("Should charge the dashboard its configured connections in the analytics bulkhead")
+    void interceptor_dashboard_shouldTakeMaxConnectionsPermits() throws Exception {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment().withProperty("expense.dashboard.max-connections", "2");
+        BulkheadInterceptor interceptor = new BulkheadInterceptor(meterRegistry, environment);
+        HandlerMethod dashboard = new HandlerMethod(new DashboardController(null),
+                DashboardController.class.getMethod("getDashboard"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        interceptor.preHandle(request, response, dashboard);
+        int held = interceptor.bulkhead(BulkheadType.ANALYTICS).active();
+        interceptor.afterCompletion(request, response, dashboard, null);
+
+        // Assert
+        assertEquals(2, held);
+        assertEquals(0, interceptor.bulkhead(BulkheadType.ANALYTICS).active());
+    }
+}
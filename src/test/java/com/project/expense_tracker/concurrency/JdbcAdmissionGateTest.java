@@ -0,0 +1,89 @@
+package com.project.expense_tracker.concurrency;
+
+import com.project.expense_tracker.exception.ServerBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcAdmissionGateTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    @DisplayName("Should turn a request away once every permit is held past the wait")
+    void preHandle_whenGateFull_shouldRejectAfterWait() {
+        // Arrange
+        JdbcAdmissionGate gate = new JdbcAdmissionGate(meterRegistry, 1, 50);
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        assertTrue(gate.preHandle(first, response, null));
+
+        // Act & Assert
+        assertThrows(ServerBusyException.class, () -> gate.preHandle(new MockHttpServletRequest(), response, null));
+        assertEquals(1.0, meterRegistry.get("expense.jdbc_gate.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("expense.jdbc_gate.in_use").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should hand the permit back when the request completes")
+    void afterCompletion_shouldReleasePermitOnce() {
+        // Arrange
+        JdbcAdmissionGate gate = new JdbcAdmissionGate(meterRegistry, 1, 50);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        gate.preHandle(request, response, null);
+
+        // Act
+        gate.afterCompletion(request, response, null, null);
+        gate.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertEquals(1, gate.availablePermits());
+        assertTrue(gate.preHandle(new MockHttpServletRequest(), response, null));
+    }
+
+    @Test
+    @DisplayName("Should never let more virtual threads through than there are permits")
+    void preHandle_underStampede_shouldCapConcurrency() throws Exception {
+        // Arrange
+        JdbcAdmissionGate gate = new JdbcAdmissionGate(meterRegistry, 4, 5000);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> {
+                    MockHttpServletRequest request = new MockHttpServletRequest();
+                    gate.preHandle(request, response, null);
+                    try {
+                        peak.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                        Thread.sleep(1);
+                        inside.decrementAndGet();
+                    } finally {
+                        gate.afterCompletion(request, response, null, null);
+                        done.countDown();
+                    }
+                    return null;
+                });
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+        }
+
+        // Assert
+        assertTrue(peak.get() <= 4, "peak " + peak.get());
+        assertEquals(4, gate.availablePermits());
+        assertEquals(0.0, meterRegistry.get("expense.jdbc_gate.rejected").counter().count());
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.expense_tracker.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    @DisplayName("Should count a virtual thread that sleeps inside synchronized, by our innermost frame")
+    void synchronizedSleep_shouldBeReportedAtItsSite() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, 10);
+        try {
+            // Act
+            Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+            // Assert
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            Counter pinned;
+            while ((pinned = meterRegistry.find("expense.vthreads.pinned")
+                    .tag("site", "concurrency.VirtualThreadPinningMonitorTest.sleepWhileHoldingMonitor")
+                    .counter()) == null) {
+                assertTrue(System.nanoTime() < deadline, "pinning was never reported");
+                Thread.sleep(50);
+            }
+            assertTrue(pinned.count() >= 1);
+        } finally {
+            monitor.destroy();
+        }
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.project.expense_tracker.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.expense_tracker.cache.DataVersions;
+import com.project.expense_tracker.cache.ResourceETags;
 import com.project.expense_tracker.dto.CategoryResponse;
 import com.project.expense_tracker.dto.CategorySummaryResponse;
 import com.project.expense_tracker.dto.CreateCategoryRequest;
 import com.project.expense_tracker.exception.CategoryNotFoundException;
 import com.project.expense_tracker.exception.DuplicateCategoryException;
 import com.project.expense_tracker.service.CategoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -27,6 +31,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CategoryController.class)
+@Import({ResourceETags.class, DataVersions.class, SimpleMeterRegistry.class})
 class CategoryControllerTest {
 
     @Autowired
@@ -0,0 +1,192 @@
+package com.project.expense_tracker.controller;
+
+import com.project.expense_tracker.cache.DataVersions;
+import com.project.expense_tracker.cache.ResourceETags;
+import com.project.expense_tracker.dto.ExpenseResponse;
+import com.project.expense_tracker.dto.ExpenseSummaryResponse;
+import com.project.expense_tracker.dto.MultiGetItem;
+import com.project.expense_tracker.exception.ErrorCode;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.service.ExpenseFieldProjection;
+import com.project.expense_tracker.service.ExpenseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExpenseController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({ResourceETags.class, DataVersions.class, SimpleMeterRegistry.class})
+class ExpenseControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    @MockitoBean
+    private ExpenseService expenseService;
+
+    @BeforeEach
+    void setUp() {
+        when(expenseService.getAllExpenses()).thenReturn(List.of(new ExpenseSummaryResponse(
+                1L, new BigDecimal("25.50"), "Lunch", "Food", LocalDate.of(2026, 3, 14))));
+        when(expenseService.getExpenseSummary()).thenReturn(Map.of("totalExpenses", 1));
+    }
+
+    @Test
+    @DisplayName("Should return one page of search results with the total match count")
+    void searchExpenses_shouldSendTotalCount() throws Exception {
+        // Arrange
+        when(expenseService.searchExpenses("lunch", 0, 50)).thenReturn(new PageImpl<>(List.of(
+                new ExpenseSummaryResponse(1L, new BigDecimal("25.50"), "Lunch", "Food", LocalDate.of(2026, 3, 15))),
+                PageRequest.of(0, 50), 120));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/expenses/search").param("keyword", "lunch"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "120"))
+                .andExpect(jsonPath("$[0].description").value("Lunch"));
+    }
+
+    @Test
+    @DisplayName("Should send a strong ETag with the expense list")
+    void getAllExpenses_shouldSendETag() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/expenses"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, allOf(startsWith("\""), endsWith("\""))))
+                .andExpect(jsonPath("$[0].description").value("Lunch"));
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 without calling the service")
+    void getAllExpenses_whenNotModified_shouldSkipService() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/expenses"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(expenseService);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/expenses").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        // The service is the only way to the repositories, so no SQL was issued
+        verifyNoInteractions(expenseService);
+    }
+
+    @Test
+    @DisplayName("Should serve the full body again once an expense changes")
+    void getAllExpenses_afterWrite_shouldReturnNewETag() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/expenses"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        dataVersions.onExpenseChanged(ExpenseChangedEvent.created(new ExpenseSnapshot(
+                2L, 3L, "Food", 1000L, LocalDate.of(2026, 3, 15), "Dinner")));
+
+        // Assert
+        String fresh = mockMvc.perform(get("/api/expenses").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, fresh);
+        verify(expenseService, times(2)).getAllExpenses();
+    }
+
+    @Test
+    @DisplayName("Should return only the requested fields, under an ETag of their own")
+    void getAllExpenses_withFields_shouldProjectAndVaryETag() throws Exception {
+        // Arrange
+        when(expenseService.getAllExpenses(ExpenseFieldProjection.parse("amount"))).thenReturn(List.of(
+                Map.of("id", 1L, "amount", new BigDecimal("25.50"))));
+        String full = mockMvc.perform(get("/api/expenses"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        String sparse = mockMvc.perform(get("/api/expenses").param("fields", "amount"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].amount").value(25.50))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert
+        assertNotEquals(full, sparse);
+        mockMvc.perform(get("/api/expenses").param("fields", "amount").header(HttpHeaders.IF_NONE_MATCH, full))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should route an ids list to the multi-get and keep the service's order")
+    void getExpensesByIds_shouldReturnItemPerId() throws Exception {
+        // Arrange
+        ExpenseResponse lunch = new ExpenseResponse();
+        lunch.setId(1L);
+        lunch.setDescription("Lunch");
+        when(expenseService.getExpensesByIds(List.of(7L, 1L))).thenReturn(List.of(
+                MultiGetItem.missing(7L, ErrorCode.EXP_001), MultiGetItem.found(1L, lunch)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/expenses").param("ids", "7,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].status").value(404))
+                .andExpect(jsonPath("$[0].errorCode").value("EXP_001"))
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[1].data.description").value("Lunch"));
+        verify(expenseService, times(0)).getAllExpenses();
+    }
+
+    @Test
+    @DisplayName("Should answer a malformed id with 400 instead of a server error")
+    void getExpensesByIds_whenIdMalformed_shouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/expenses").param("ids", "1,two"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VAL_001"));
+        verifyNoInteractions(expenseService);
+    }
+
+    @Test
+    @DisplayName("Should validate analytics endpoints against the same versions")
+    void getSummary_whenNotModified_shouldSkipService() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/expenses/summary"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/expenses/summary").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(expenseService, times(1)).getExpenseSummary();
+    }
+}
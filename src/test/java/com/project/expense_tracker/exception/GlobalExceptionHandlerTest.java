@@ -0,0 +1,188 @@
+package com.project.expense_tracker.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GlobalExceptionHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(meterRegistry);
+        handler = new GlobalExceptionHandler(provider);
+        request = new MockHttpServletRequest("GET", "/api/expenses/42");
+    }
+
+    @Test
+    @DisplayName("Domain exceptions should not capture a stack trace")
+    void domainExceptions_shouldBeStackless() {
+        assertEquals(0, new ExpenseNotFoundException(42L).getStackTrace().length);
+        assertEquals(0, new InvalidExpenseException("bad").getStackTrace().length);
+        assertEquals(0, new BudgetExceededException().getStackTrace().length);
+
+        // The cause still carries its own trace
+        IllegalStateException cause = new IllegalStateException("boom");
+        CategoryNotFoundException wrapped = new CategoryNotFoundException("missing", cause);
+        assertSame(cause, wrapped.getCause());
+        assertTrue(cause.getStackTrace().length > 0);
+    }
+
+    @Test
+    @DisplayName("Should answer a not-found with the code's status and a JSON body")
+    void handleDomainException_notFound_shouldRenderErrorBody() throws Exception {
+        // Act
+        ResponseEntity<byte[]> response = handler.handleDomainException(new ExpenseNotFoundException(42L), request);
+
+        // Assert
+        assertEquals(404, response.getStatusCode().value());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertEquals(404, body.get("status").asInt());
+        assertEquals("NOT_FOUND", body.get("error").asText());
+        assertEquals("EXP_001", body.get("errorCode").asText());
+        assertEquals("Expense not found", body.get("suggestion").asText());
+        assertEquals("Expense with ID 42 not found", body.get("message").asText());
+        assertEquals("/api/expenses/42", body.get("path").asText());
+        // Second precision, and the null details/method fields of ErrorResponse are left out
+        assertTrue(body.get("timestamp").asText().matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}"));
+        assertDoesNotThrow(() -> LocalDateTime.parse(body.get("timestamp").asText()));
+        Set<String> fields = new HashSet<>();
+        body.fieldNames().forEachRemaining(fields::add);
+        assertEquals(Set.of("status", "error", "errorCode", "suggestion", "message", "path", "timestamp"), fields);
+    }
+
+    @Test
+    @DisplayName("Should keep the status each exception had before")
+    void handleDomainException_shouldMapStatuses() {
+        assertEquals(404, handler.handleDomainException(new CategoryNotFoundException(1L), request)
+                .getStatusCode().value());
+        assertEquals(409, handler.handleDomainException(new DuplicateCategoryException("Food"), request)
+                .getStatusCode().value());
+        assertEquals(400, handler.handleDomainException(new InvalidExpenseException("bad"), request)
+                .getStatusCode().value());
+        assertEquals(400, handler.handleDomainException(new BudgetExceededException(), request)
+                .getStatusCode().value());
+        assertEquals(404, handler.handleDomainException(new BudgetNotFoundException("none"), request)
+                .getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("Should escape quotes, control characters and non-ASCII text in messages")
+    void handleDomainException_shouldEscapeMessage() throws Exception {
+        // Arrange
+        String name = "Café \"Le Petit\"\n\\ € 🍕 \uD800";
+
+        // Act
+        byte[] body = handler.handleDomainException(new DuplicateCategoryException(name), request).getBody();
+
+        // Assert
+        String message = objectMapper.readTree(body).get("message").asText();
+        assertEquals("Category with name 'Café \"Le Petit\"\n\\ € 🍕 ?' already exists", message);
+    }
+
+    @Test
+    @DisplayName("Should tell a shed request when to retry")
+    void handleDomainException_serverBusy_shouldSendRetryAfter() {
+        // Act
+        ResponseEntity<byte[]> response = handler.handleDomainException(
+                new ServerBusyException("The analytics bulkhead is saturated", 3), request);
+
+        // Assert
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNull(handler.handleDomainException(new ExpenseNotFoundException(1L), request)
+                .getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("Should count errors per error code")
+    void handleDomainException_shouldCountPerCode() {
+        // Act
+        handler.handleDomainException(new ExpenseNotFoundException(1L), request);
+        handler.handleDomainException(new ExpenseNotFoundException(2L), request);
+        handler.handleDomainException(new DuplicateCategoryException("Food"), request);
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("expense.errors").tag("code", "EXP_001").counter().count());
+        assertEquals(1.0, meterRegistry.get("expense.errors").tag("code", "CAT_002").counter().count());
+        assertEquals(0.0, meterRegistry.get("expense.errors").tag("code", "BUD_001").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should answer a not-found without capturing a stack or going through Jackson")
+    void notFound_shouldAllocateLessThanAStackFilledError() throws Exception {
+        // Arrange
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        // Act
+        long missBytes = allocatedPerCall(threads, () -> {
+            try {
+                throw new ExpenseNotFoundException(42L);
+            } catch (DomainException ex) {
+                assertEquals(0, ex.getStackTrace().length);
+                return handler.handleDomainException(ex, request).getBody();
+            }
+        });
+        // What a miss cost before: a full stack trace and an ErrorResponse through Jackson
+        long stackedBytes = allocatedPerCall(threads, () -> {
+            try {
+                throw new IllegalStateException("Expense with ID 42 not found");
+            } catch (IllegalStateException ex) {
+                return objectMapper.writeValueAsBytes(new ErrorResponse(404, "NOT_FOUND", ex.getMessage(),
+                        request.getRequestURI()));
+            }
+        });
+
+        // Assert: counted bytes, not wall-clock time, so a busy machine can't fail it
+        assertTrue(missBytes * 2 < stackedBytes,
+                "not-found allocated " + missBytes + " bytes, stack-filled " + stackedBytes + " bytes");
+    }
+
+    private interface Body {
+        byte[] produce() throws Exception;
+    }
+
+    private static long allocatedPerCall(com.sun.management.ThreadMXBean threads, Body body) throws Exception {
+        int sink = 0;
+        for (int i = 0; i < 2000; i++) {
+            sink += body.produce().length;
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1000; i++) {
+            sink += body.produce().length;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(sink > 0);
+        return allocated / 1000;
+    }
+}
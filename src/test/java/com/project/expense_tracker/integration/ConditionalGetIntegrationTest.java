@@ -0,0 +1,104 @@
+package com.project.expense_tracker.integration;
+
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.model.Role;
+import com.project.expense_tracker.model.User;
+import com.project.expense_tracker.repository.CategoryRepository;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Security filters are left out; this is about what a revalidation costs, not who may send it
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.project.expense_tracker.integration.ConditionalGetIntegrationTest$RecordingInspector")
+@AutoConfigureMockMvc(addFilters = false)
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = Long.toString(System.nanoTime());
+        User owner = userRepository.save(
+                new User("etag-" + suffix, "etag-" + suffix + "@example.com", "secret", Role.USER));
+        Category category = categoryRepository.save(new Category("Conditional GET " + suffix, "#FF5733", "Revalidation"));
+        for (int i = 0; i < 3; i++) {
+            Expense expense = new Expense();
+            expense.setAmount(new BigDecimal("12.50"));
+            expense.setDescription("Expense " + i);
+            expense.setExpenseDate(LocalDate.now());
+            expense.setCategory(category);
+            expense.setUser(owner);
+            expenseRepository.save(expense);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer a revalidated expense list with 304 and no SQL")
+    void getAllExpenses_notModified_shouldRunNoStatements() throws Exception {
+        assertNotModifiedWithoutStatements("/api/expenses");
+    }
+
+    @Test
+    @DisplayName("Should answer a revalidated category list with 304 and no SQL")
+    void getAllCategories_notModified_shouldRunNoStatements() throws Exception {
+        assertNotModifiedWithoutStatements("/api/categories");
+    }
+
+    private void assertNotModifiedWithoutStatements(String uri) throws Exception {
+        // Arrange: the first GET reads the database and hands out the tag
+        RecordingInspector.SQL.clear();
+        String etag = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertFalse(RecordingInspector.SQL.isEmpty());
+        RecordingInspector.SQL.clear();
+
+        // Act
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Assert
+        assertEquals(List.of(), RecordingInspector.SQL);
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.project.expense_tracker.live;
+
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.cache.PendingExpenseWritesTest;
+import com.project.expense_tracker.cache.SingleFlight;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveTotalsTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    private final PendingExpenseWrites pendingWrites = new PendingExpenseWrites();
+    private LiveTotals liveTotals;
+
+    @BeforeEach
+    void setUp() {
+        liveTotals = new LiveTotals(expenseRepository, pendingWrites, new SingleFlight(new SimpleMeterRegistry(), 0));
+    }
+
+    @Test
+    @DisplayName("Should ignore writes until the totals are first needed")
+    void apply_beforeSnapshot_shouldDoNothing() {
+        // Act
+        LiveTotals.Update update = liveTotals.apply(ExpenseChangedEvent.created(expense(1L, 1L, 1000L, 15)));
+
+        // Assert
+        assertNull(update);
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    @DisplayName("Should seed the totals from the expense rows")
+    void snapshot_shouldSumCategoryMonths() {
+        // Arrange
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any())).thenReturn(List.of(
+                row(1L, 1L, "20.00", 2, 3),
+                row(2L, 1L, "20.00", 2, 9),
+                row(3L, 1L, "10.50", 3, 1),
+                row(4L, 2L, "10.00", 3, 2),
+                row(5L, 2L, "10.00", 3, 3),
+                row(6L, 2L, "10.00", 3, 4)));
+
+        // Act
+        LiveTotals.Update snapshot = liveTotals.snapshot();
+
+        // Assert
+        assertEquals(6L, snapshot.count());
+        assertEquals(8050L, snapshot.cents());
+        assertTrue(snapshot.categories().contains(new LiveTotals.CategorySum(1L, 3L, 5050L)));
+        assertTrue(snapshot.categories().contains(new LiveTotals.CategorySum(2L, 3L, 3000L)));
+    }
+
+    @Test
+    @DisplayName("Should report the categories and months a move between categories touched")
+    void apply_whenCategoryChanges_shouldReturnDelta() {
+        // Arrange
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any())).thenReturn(List.<Object[]>of(
+                row(7L, 1L, "25.00", 3, 10)));
+        long seq = liveTotals.snapshot().seq();
+
+        // Act
+        LiveTotals.Update update = liveTotals.apply(ExpenseChangedEvent.updated(
+                expense(7L, 1L, 2500L, 10), expense(7L, 2L, 3000L, 10)));
+
+        // Assert
+        assertEquals(seq + 1, update.seq());
+        assertEquals(1L, update.count());
+        assertEquals(3000L, update.cents());
+        assertEquals(List.of(new LiveTotals.CategorySum(1L, 0L, 0L), new LiveTotals.CategorySum(2L, 1L, 3000L)),
+                update.categories());
+        assertEquals(List.of(
+                new LiveTotals.MonthSpend(1L, YearMonth.of(2026, 3), 2500L, 0L),
+                new LiveTotals.MonthSpend(2L, YearMonth.of(2026, 3), 0L, 3000L)), update.months());
+    }
+
+    @Test
+    @DisplayName("Should count a write once when the seed reads its row before its event arrives")
+    void snapshot_whenWriteCommittedBeforeSeed_shouldNotCountItTwice() {
+        // Arrange: the scan sees the committed row of a create whose listener has not run yet
+        ExpenseChangedEvent create = ExpenseChangedEvent.created(expense(9L, 1L, 4000L, 12));
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any())).thenReturn(List.of(
+                row(1L, 1L, "10.00", 3, 1),
+                row(9L, 1L, "40.00", 3, 12)));
+        LiveTotals.Update[] late = new LiveTotals.Update[1];
+
+        // Act
+        PendingExpenseWritesTest.commit(pendingWrites, create, () -> {
+            liveTotals.snapshot();
+            late[0] = liveTotals.apply(create);
+        });
+
+        // Assert
+        assertEquals(2L, late[0].count());
+        assertEquals(5000L, late[0].cents());
+        assertEquals(List.of(new LiveTotals.MonthSpend(1L, YearMonth.of(2026, 3), 1000L, 5000L)), late[0].months());
+        assertEquals(5000L, liveTotals.snapshot().cents());
+    }
+
+    @Test
+    @DisplayName("Should reload after being invalidated")
+    void invalidate_shouldReloadOnNextSnapshot() {
+        // Arrange
+        when(expenseRepository.findSpendRowsAfterId(anyLong(), any())).thenReturn(List.of());
+        liveTotals.snapshot();
+
+        // Act
+        liveTotals.invalidate();
+        LiveTotals.Update whileInvalid = liveTotals.apply(ExpenseChangedEvent.created(expense(1L, 1L, 100L, 1)));
+        liveTotals.snapshot();
+
+        // Assert
+        assertNull(whileInvalid);
+        assertNotNull(liveTotals.apply(ExpenseChangedEvent.created(expense(1L, 1L, 100L, 1))));
+        verify(expenseRepository, times(2)).findSpendRowsAfterId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop a seed that an invalidate overtook and load again")
+    void snapshot_whenInvalidatedDuringSeed_shouldReload() {
+        // Arrange: a category delete lands while the first scan is reading
+        when(expenseRepository.findSpendRowsAfterId(eq(0L), any()))
+                .thenAnswer(invocation -> {
+                    liveTotals.invalidate();
+                    return List.<Object[]>of(row(1L, 1L, "10.00", 3, 1));
+                })
+                .thenReturn(List.of());
+
+        // Act
+        LiveTotals.Update snapshot = liveTotals.snapshot();
+
+        // Assert
+        assertEquals(0L, snapshot.count());
+        verify(expenseRepository, times(2)).findSpendRowsAfterId(eq(0L), any());
+    }
+
+    static ExpenseSnapshot expense(Long id, Long categoryId, long cents, int dayOfMarch) {
+        return new ExpenseSnapshot(id, categoryId, "Food", cents, LocalDate.of(2026, 3, dayOfMarch), "Lunch");
+    }
+
+    // (id, category id, date, amount), as the keyset scan returns them
+    static Object[] row(Long id, Long categoryId, String amount, int month, int day) {
+        return new Object[]{id, categoryId, LocalDate.of(2026, month, day), new BigDecimal(amount)};
+    }
+}
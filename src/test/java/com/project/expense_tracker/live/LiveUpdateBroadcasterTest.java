@@ -0,0 +1,260 @@
+package com.project.expense_tracker.live;
+
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.cache.SingleFlight;
+import com.project.expense_tracker.dto.BudgetStatusResponse;
+import com.project.expense_tracker.dto.CategoryBreakdownResponse;
+import com.project.expense_tracker.dto.CategorySummaryResponse;
+import com.project.expense_tracker.dto.LiveTotalsResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.model.Budget;
+import com.project.expense_tracker.repository.BudgetRepository;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.project.expense_tracker.live.LiveTotalsTest.expense;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LiveUpdateBroadcasterTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LiveUpdateBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        when(expenseRepository.findSpendRowsAfterId(anyLong(), any())).thenReturn(List.<Object[]>of(
+                LiveTotalsTest.row(1L, 1L, "90.00", 3, 1)));
+        when(categoryDictionary.get(1L)).thenReturn(new CategorySummaryResponse(1L, "Food", "#FF5733"));
+        when(budgetRepository.findByCategoryIdAndMonth(any(), any())).thenReturn(Optional.empty());
+        broadcaster = new LiveUpdateBroadcaster(new LiveTotals(expenseRepository, new PendingExpenseWrites(),
+                new SingleFlight(meterRegistry, 0)), budgetRepository,
+                categoryDictionary, meterRegistry, 60_000, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    @DisplayName("Should start a stream with the current totals and category sums")
+    void register_shouldSendSnapshot() throws Exception {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act
+        broadcaster.register(emitter, 0);
+
+        // Assert
+        emitter.awaitEvents(2);
+        LiveTotalsResponse totals = (LiveTotalsResponse) emitter.data("totals").get(0);
+        CategoryBreakdownResponse food = (CategoryBreakdownResponse) emitter.data("category").get(0);
+        assertEquals(1L, totals.getTotalExpenses());
+        assertEquals(new BigDecimal("90.00"), totals.getTotalAmount());
+        assertEquals("Food", food.getCategory());
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should coalesce updates arriving within a subscriber's interval into the latest")
+    void onExpenseChanged_withinInterval_shouldCoalesce() throws Exception {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(emitter, 300);
+        emitter.awaitEvents(2);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            broadcaster.onExpenseChanged(ExpenseChangedEvent.created(expense(10L + i, 1L, 100L, 20)));
+        }
+
+        // Assert
+        emitter.awaitEvents(4);
+        Thread.sleep(400);
+        List<Object> totals = emitter.data("totals");
+        assertEquals(2, totals.size());
+        assertEquals(6L, ((LiveTotalsResponse) totals.get(1)).getTotalExpenses());
+        assertEquals(new BigDecimal("95.00"), ((LiveTotalsResponse) totals.get(1)).getTotalAmount());
+        assertEquals(8.0, meterRegistry.get("expense.live.coalesced").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should announce a budget only when its month crosses the limit")
+    void onExpenseChanged_whenBudgetCrossed_shouldSendBudgetEvent() throws Exception {
+        // Arrange
+        YearMonth march = YearMonth.of(2026, 3);
+        when(budgetRepository.findByCategoryIdAndMonth(1L, march))
+                .thenReturn(Optional.of(new Budget(1L, new BigDecimal("100.00"), march)));
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(emitter, 0);
+        emitter.awaitEvents(2);
+
+        // Act
+        broadcaster.onExpenseChanged(ExpenseChangedEvent.created(expense(2L, 1L, 500L, 5)));
+        emitter.awaitEvents(4);
+        broadcaster.onExpenseChanged(ExpenseChangedEvent.created(expense(3L, 1L, 1000L, 6)));
+        emitter.awaitEvents(7);
+        broadcaster.onExpenseChanged(ExpenseChangedEvent.created(expense(4L, 1L, 1000L, 7)));
+        emitter.awaitEvents(9);
+
+        // Assert
+        List<Object> budgets = emitter.data("budget");
+        assertEquals(1, budgets.size());
+        BudgetStatusResponse status = (BudgetStatusResponse) budgets.get(0);
+        assertTrue(status.isExceeded());
+        assertEquals(new BigDecimal("105.00"), status.getSpent());
+    }
+
+    @Test
+    @DisplayName("Should look budgets up off the committing thread")
+    void onExpenseChanged_shouldNotQueryBudgetsOnListenerThread() throws Exception {
+        // Arrange
+        CompletableFuture<Thread> lookupThread = new CompletableFuture<>();
+        when(budgetRepository.findByCategoryIdAndMonth(any(), any())).thenAnswer(invocation -> {
+            lookupThread.complete(Thread.currentThread());
+            return Optional.empty();
+        });
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(emitter, 0);
+        emitter.awaitEvents(2);
+
+        // Act
+        broadcaster.onExpenseChanged(ExpenseChangedEvent.created(expense(2L, 1L, 500L, 5)));
+
+        // Assert
+        assertNotSame(Thread.currentThread(), lookupThread.get(5, TimeUnit.SECONDS));
+        emitter.awaitEvents(4);
+    }
+
+    @Test
+    @DisplayName("Should reseed the totals off the committing thread after a category delete")
+    void onCategoryChanged_whenDeleted_shouldReseedOffListenerThread() throws Exception {
+        // Arrange: the cascade took the only expense with it
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(emitter, 0);
+        emitter.awaitEvents(2);
+        CompletableFuture<Thread> scanThread = new CompletableFuture<>();
+        when(expenseRepository.findSpendRowsAfterId(anyLong(), any())).thenAnswer(invocation -> {
+            scanThread.complete(Thread.currentThread());
+            return List.of();
+        });
+
+        // Act
+        broadcaster.onCategoryChanged(CategoryChangedEvent.deleted(1L));
+
+        // Assert
+        assertNotSame(Thread.currentThread(), scanThread.get(5, TimeUnit.SECONDS));
+        emitter.awaitEvents(4);
+        LiveTotalsResponse totals = (LiveTotalsResponse) emitter.data("totals").get(1);
+        CategoryBreakdownResponse food = (CategoryBreakdownResponse) emitter.data("category").get(1);
+        assertEquals(0L, totals.getTotalExpenses());
+        assertEquals(1L, food.getCategoryId());
+        assertEquals(0L, food.getCount());
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose stream fails")
+    void onExpenseChanged_whenSendFails_shouldRemoveSubscriber() throws Exception {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(emitter, 0);
+        emitter.awaitEvents(2);
+        emitter.failing = true;
+
+        // Act
+        broadcaster.onExpenseChanged(ExpenseChangedEvent.created(expense(2L, 1L, 500L, 5)));
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.subscriberCount() > 0) {
+            assertTrue(System.nanoTime() < deadline, "subscriber was never dropped");
+            Thread.sleep(5);
+        }
+    }
+
+    // Records (event name, data) pairs instead of writing to a response
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern NAME = Pattern.compile("event:(\\w+)");
+
+        private final List<Object[]> events = new ArrayList<>();
+        volatile boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws java.io.IOException {
+            if (failing) {
+                throw new java.io.IOException("client went away");
+            }
+            String name = null;
+            Object data = null;
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    Matcher matcher = NAME.matcher(text);
+                    if (matcher.find()) {
+                        name = matcher.group(1);
+                    }
+                } else {
+                    data = part.getData();
+                }
+            }
+            synchronized (events) {
+                events.add(new Object[]{name, data});
+                events.notifyAll();
+            }
+        }
+
+        void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            synchronized (events) {
+                while (events.size() < count) {
+                    long left = deadline - System.currentTimeMillis();
+                    assertTrue(left > 0, "expected " + count + " events, got " + events.size());
+                    events.wait(left);
+                }
+            }
+        }
+
+        List<Object> data(String name) {
+            synchronized (events) {
+                return events.stream().filter(event -> name.equals(event[0])).map(event -> event[1]).toList();
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.expense_tracker.load;
+
+// Tomcat's default pool of 200 platform worker threads, no gate
+class PlatformThreadLoadTest extends ThreadModeLoadTest {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,153 @@
+package com.project.expense_tracker.load;
+
+import com.project.expense_tracker.dto.CreateCategoryRequest;
+import com.project.expense_tracker.service.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load against the running server, to compare request execution
+ * on platform threads with virtual threads behind the JDBC gate.
+ *
+ * Opt-in, since it takes minutes and needs file descriptors for two sockets
+ * per client: {@code mvn test -Dtest='*ThreadLoadTest' -Dexpense.load-test=100,1000,10000}.
+ * Each level runs that many clients, each sending requests back to back,
+ * alternating the category list (a query every time) and a category by id,
+ * and prints one result line. The password is compared in plain text so the
+ * numbers measure request handling rather than BCrypt.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.security.user.password=load-test")
+@Import(ThreadModeLoadTest.PlainPasswords.class)
+abstract class ThreadModeLoadTest {
+
+    private static final int REQUESTS_PER_LEVEL = 10_000;
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder()
+            .encodeToString("ignored:load-test".getBytes(StandardCharsets.UTF_8));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private final List<Long> categoryIds = new ArrayList<>();
+
+    abstract String mode();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 20; i++) {
+            categoryIds.add(categoryService.createCategory(
+                    new CreateCategoryRequest(mode() + " " + i, "#808080", "Load test")).getId());
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "expense.load-test", matches = ".+")
+    void compareConcurrencyLevels() throws Exception {
+        int[] levels = Arrays.stream(System.getProperty("expense.load-test").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        System.out.printf("%-9s %8s %9s %8s %6s %7s %10s %8s %8s%n",
+                "mode", "clients", "requests", "ok", "busy", "failed", "req/s", "p50 ms", "p99 ms");
+        for (int clients : levels) {
+            run(clients);
+        }
+    }
+
+    private void run(int clients) throws InterruptedException {
+        int perClient = Math.max(1, REQUESTS_PER_LEVEL / clients);
+        long[] latencies = new long[clients * perClient];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger busy = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .executor(executor)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            long started = System.nanoTime();
+            try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < clients; c++) {
+                    int client = c;
+                    clientThreads.submit(() -> {
+                        for (int r = 0; r < perClient; r++) {
+                            HttpRequest request = HttpRequest.newBuilder(uri(client + r))
+                                    .header("Authorization", AUTHORIZATION)
+                                    .timeout(Duration.ofSeconds(60))
+                                    .build();
+                            long sent = System.nanoTime();
+                            try {
+                                int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                                (status == 200 ? ok : status == 503 ? busy : failed).incrementAndGet();
+                            } catch (IOException ex) {
+                                failed.incrementAndGet();
+                            } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                                return;
+                            }
+                            latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                        }
+                    });
+                }
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            long[] recorded = Arrays.copyOf(latencies, next.get());
+            Arrays.sort(recorded);
+            System.out.printf("%-9s %8d %9d %8d %6d %7d %10.0f %8.1f %8.1f%n",
+                    mode(), clients, recorded.length, ok.get(), busy.get(), failed.get(),
+                    recorded.length / seconds, percentile(recorded, 0.50), percentile(recorded, 0.99));
+        }
+    }
+
+    private URI uri(int i) {
+        String path = i % 2 == 0
+                ? "/api/categories"
+                : "/api/categories/" + categoryIds.get(i % categoryIds.size());
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(quantile * sorted.length))] / 1e6;
+    }
+
+    @TestConfiguration
+    static class PlainPasswords {
+
+        // Otherwise the in-memory user is upgraded to BCrypt on first login
+        @Bean
+        @SuppressWarnings("deprecation")
+        PasswordEncoder passwordEncoder() {
+            return NoOpPasswordEncoder.getInstance();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.expense_tracker.load;
+
+import org.springframework.test.context.ActiveProfiles;
+
+// One virtual thread per request, admitted through the JDBC gate
+@ActiveProfiles("virtual-threads")
+class VirtualThreadLoadTest extends ThreadModeLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
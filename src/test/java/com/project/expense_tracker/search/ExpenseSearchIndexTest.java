@@ -0,0 +1,194 @@
+package com.project.expense_tracker.search;
+
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.dto.ExpenseSummaryResponse;
+import com.project.expense_tracker.dto.FuzzyMatchResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.repository.CategoryRepository;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseSearchIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private ExpenseSearchIndex index;
+    private Category food;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        food = category(1L, "Food");
+        travel = category(2L, "Travel");
+        lenient().when(categoryRepository.findAll()).thenReturn(List.of(food, travel));
+        index = new ExpenseSearchIndex(expenseRepository, new CategoryDictionary(categoryRepository), true, 2);
+    }
+
+    @Test
+    @DisplayName("Should defer to SQL until built and for keywords shorter than a trigram")
+    void search_whenNotServable_shouldBeEmpty() {
+        assertTrue(index.search("coffee", false, 0, 10).isEmpty());
+
+        build(expense(1L, "Coffee", food, DATE));
+
+        assertTrue(index.search("co", false, 0, 10).isEmpty());
+        assertTrue(index.search("coffee", false, 0, 10).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should match substrings like LIKE and rank whole words first")
+    void search_shouldRankAndPaginate() {
+        build(
+                expense(1L, "Iced coffeecake", food, DATE),
+                expense(2L, "Morning coffee", food, DATE),
+                expense(3L, "Coffee with team", food, DATE.minusDays(1)),
+                expense(4L, "Taxi", travel, DATE));
+
+        List<ExpenseSummaryResponse> all = index.search("COFFEE", false, 0, 10).orElseThrow().getContent();
+        assertEquals(List.of(3L, 2L, 1L), all.stream().map(ExpenseSummaryResponse::getId).toList());
+        assertEquals("Food", all.get(0).getCategoryName());
+        assertEquals(new BigDecimal("10.00"), all.get(0).getAmount());
+
+        Page<ExpenseSummaryResponse> second = index.search("coffee", false, 1, 2).orElseThrow();
+        assertEquals(List.of(1L), second.stream().map(ExpenseSummaryResponse::getId).toList());
+        assertEquals(3, second.getTotalElements());
+        assertTrue(index.search("offee t", false, 0, 10).orElseThrow().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replay writes made while building and keep up with later ones")
+    void writes_shouldBeReflected() {
+        Expense lunch = expense(1L, "Lunch", food, DATE);
+        index.onExpenseChanged(ExpenseChangedEvent.created(ExpenseSnapshot.of(expense(9L, "Late lunch", food, DATE))));
+        build(lunch);
+        assertEquals(2, ids("lunch").size());
+
+        Expense renamed = expense(1L, "Dinner", food, DATE);
+        index.onExpenseChanged(ExpenseChangedEvent.updated(ExpenseSnapshot.of(lunch), ExpenseSnapshot.of(renamed)));
+        assertEquals(List.of(9L), ids("lunch"));
+        assertEquals(List.of(1L), ids("dinner"));
+
+        index.onExpenseChanged(ExpenseChangedEvent.deleted(ExpenseSnapshot.of(renamed)));
+        assertTrue(ids("dinner").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match category names and drop expenses of deleted categories")
+    void searchAll_shouldIncludeCategoryNames() {
+        build(
+                expense(1L, "Taxi to airport", travel, DATE),
+                expense(2L, "Travel mug", food, DATE));
+
+        List<ExpenseSummaryResponse> hits = index.search("travel", true, 0, 10).orElseThrow().getContent();
+        assertEquals(List.of(2L, 1L), hits.stream().map(ExpenseSummaryResponse::getId).toList());
+
+        index.onCategoryChanged(CategoryChangedEvent.deleted(2L));
+        assertEquals(List.of(2L), index.search("travel", true, 0, 10).orElseThrow()
+                .stream().map(ExpenseSummaryResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should find misspelled merchants by trigram similarity")
+    void fuzzySearch_shouldTolerateTypos() {
+        build(
+                expense(1L, "Starbucks latte", food, DATE),
+                expense(2L, "Starbucks", food, DATE.minusDays(3)),
+                expense(3L, "Stamp shop", food, DATE),
+                expense(4L, "Taxi", travel, DATE));
+
+        assertTrue(index.search("starbcks", false, 0, 10).orElseThrow().isEmpty());
+
+        List<FuzzyMatchResponse> matches = index.fuzzySearch("starbcks", 0.3, 10).orElseThrow();
+        assertEquals(List.of(1L, 2L), matches.stream().map(FuzzyMatchResponse::getId).toList());
+        assertEquals(4.0 / 9.0, matches.get(0).getSimilarity(), 1e-9);
+
+        assertEquals(1, index.fuzzySearch("starbcks", 0.3, 1).orElseThrow().size());
+        assertTrue(index.fuzzySearch("starbcks", 0.5, 10).orElseThrow().isEmpty());
+        assertTrue(index.fuzzySearch("ab", 0.3, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should score only the matching postings however much unrelated data there is")
+    void fuzzySearch_candidatesShouldNotTrackIndexSize() {
+        ExpenseSearchIndex small = indexWithNoise(10_000);
+        ExpenseSearchIndex large = indexWithNoise(200_000);
+
+        // 20x the rows; a scan would score every one, pruned lookups only the 50 lookalikes
+        assertEquals(50, small.fuzzyCandidateCount("starbcks", 0.3));
+        assertEquals(50, large.fuzzyCandidateCount("starbcks", 0.3));
+        assertEquals(20, large.fuzzySearch("starbcks", 0.3, 20).orElseThrow().size());
+    }
+
+    private ExpenseSearchIndex indexWithNoise(int noiseRows) {
+        List<Expense> rows = new ArrayList<>();
+        for (long id = 1; id <= noiseRows; id++) {
+            rows.add(expense(id, "Invoice " + (id * 7919 % 100_000), travel, DATE));
+        }
+        for (long id = noiseRows + 1; id <= noiseRows + 50; id++) {
+            rows.add(expense(id, "Starbucks #" + id, food, DATE));
+        }
+        ExpenseSearchIndex benchmarked = new ExpenseSearchIndex(
+                expenseRepository, new CategoryDictionary(categoryRepository), true, 5_000);
+        when(expenseRepository.findBatchAfterId(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int from = (int) Math.min(afterId, rows.size());
+            return rows.subList(from, Math.min(from + 5_000, rows.size()));
+        });
+        benchmarked.rebuild();
+        return benchmarked;
+    }
+
+    private void build(Expense... expenses) {
+        List<Expense> rows = List.of(expenses);
+        when(expenseRepository.findBatchAfterId(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            return rows.stream().filter(e -> e.getId() > afterId).limit(2).toList();
+        });
+        index.rebuild();
+        assertTrue(index.isReady());
+    }
+
+    private List<Long> ids(String keyword) {
+        return index.search(keyword, false, 0, 50).orElseThrow()
+                .stream().map(ExpenseSummaryResponse::getId).toList();
+    }
+
+    private static Expense expense(Long id, String description, Category category, LocalDate date) {
+        Expense expense = new Expense(new BigDecimal("10.00"), description, category, date);
+        expense.setId(id);
+        return expense;
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category(name, "#FF5733", null);
+        category.setId(id);
+        return category;
+    }
+}
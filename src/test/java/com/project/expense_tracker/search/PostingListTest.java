@@ -0,0 +1,45 @@
+package com.project.expense_tracker.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingListTest {
+
+    @Test
+    @DisplayName("Should keep ids sorted and unique whatever the insertion order")
+    void add_shouldKeepSortedSet() {
+        PostingList list = new PostingList();
+
+        assertTrue(list.add(5L));
+        assertTrue(list.add(300_000L));
+        assertTrue(list.add(1L));
+        assertTrue(list.add(200L));
+        assertFalse(list.add(200L));
+
+        assertArrayEquals(new long[]{1L, 5L, 200L, 300_000L}, list.toArray());
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    @DisplayName("Should store dense ids in about one byte each")
+    void add_denseIds_shouldCompress() {
+        PostingList list = new PostingList();
+        for (long id = 1_000_000_000L; id < 1_000_010_000L; id++) {
+            list.add(id);
+        }
+
+        assertEquals(10_000, list.size());
+        assertTrue(list.byteSize() < 20_000, "encoded size was " + list.byteSize());
+        assertEquals(1_000_009_999L, list.toArray()[9_999]);
+    }
+
+    @Test
+    @DisplayName("Should intersect sorted id arrays")
+    void intersect_shouldKeepCommonIds() {
+        assertArrayEquals(new long[]{3L, 9L},
+                PostingList.intersect(new long[]{1L, 3L, 7L, 9L}, new long[]{2L, 3L, 9L, 11L}));
+        assertArrayEquals(new long[0], PostingList.intersect(new long[]{1L}, new long[0]));
+    }
+}
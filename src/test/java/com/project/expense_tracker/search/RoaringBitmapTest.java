@@ -0,0 +1,91 @@
+package com.project.expense_tracker.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringBitmapTest {
+
+    @Test
+    @DisplayName("Should add, remove and test values across chunks")
+    void addAndRemove_shouldTrackMembership() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+
+        assertTrue(bitmap.add(3));
+        assertTrue(bitmap.add(70_000));
+        assertTrue(bitmap.add(1));
+        assertFalse(bitmap.add(3));
+        assertTrue(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(70_000));
+
+        assertArrayEquals(new int[]{1, 3}, bitmap.toArray());
+        assertTrue(bitmap.contains(1));
+        assertFalse(bitmap.contains(70_000));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    @DisplayName("Should match a plain bit set for AND, OR and AND-NOT")
+    void setOperations_shouldMatchBitSet() {
+        Random random = new Random(42);
+        // Sparse, dense and mixed chunks on both sides
+        BitSet left = new BitSet();
+        BitSet right = new BitSet();
+        RoaringBitmap leftBitmap = new RoaringBitmap();
+        RoaringBitmap rightBitmap = new RoaringBitmap();
+        for (int i = 0; i < 60_000; i++) {
+            int dense = random.nextInt(1 << 16);
+            int sparse = (1 << 16) + random.nextInt(3 << 16);
+            left.set(dense);
+            leftBitmap.add(dense);
+            if (i % 10 == 0) {
+                left.set(sparse);
+                leftBitmap.add(sparse);
+            }
+            int other = random.nextInt(4 << 16);
+            if (i % 3 == 0) {
+                right.set(other);
+                rightBitmap.add(other);
+            }
+        }
+        for (int value = 0; value < 1 << 16; value += 7) {
+            left.clear(value);
+            leftBitmap.remove(value);
+        }
+
+        assertBitSet(left, leftBitmap);
+        BitSet and = (BitSet) left.clone();
+        and.and(right);
+        assertBitSet(and, RoaringBitmap.and(leftBitmap, rightBitmap));
+        BitSet or = (BitSet) left.clone();
+        or.or(right);
+        assertBitSet(or, RoaringBitmap.or(leftBitmap, rightBitmap));
+        BitSet andNot = (BitSet) left.clone();
+        andNot.andNot(right);
+        assertBitSet(andNot, RoaringBitmap.andNot(leftBitmap, rightBitmap));
+        // Inputs are left untouched
+        assertBitSet(left, leftBitmap);
+    }
+
+    @Test
+    @DisplayName("Should stay far smaller than an uncompressed bitmap when sparse")
+    void sizeInBytes_sparseValues_shouldCompress() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value = 0; value < 1_000_000; value += 1_000) {
+            bitmap.add(value);
+        }
+
+        assertEquals(1_000, bitmap.cardinality());
+        // A flat bitmap over the same range takes 125 000 bytes
+        assertTrue(bitmap.sizeInBytes() < 10_000, "size was " + bitmap.sizeInBytes());
+    }
+
+    private static void assertBitSet(BitSet expected, RoaringBitmap actual) {
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+        assertEquals(expected.cardinality(), actual.cardinality());
+    }
+}
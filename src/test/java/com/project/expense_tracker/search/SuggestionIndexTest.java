@@ -0,0 +1,190 @@
+package com.project.expense_tracker.search;
+
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.cache.PendingExpenseWritesTest;
+import com.project.expense_tracker.dto.SuggestionResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.repository.CategoryRepository;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 30);
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private final PendingExpenseWrites pendingWrites = new PendingExpenseWrites();
+    private CategoryDictionary dictionary;
+    private SuggestionIndex index;
+    private Category coffee;
+    private final List<Expense> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        coffee = category(1L, "Coffee Shops");
+        lenient().when(categoryRepository.findAll()).thenReturn(List.of(coffee));
+        lenient().when(expenseRepository.findBatchAfterId(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            return rows.stream().filter(e -> e.getId() > afterId).limit(2).toList();
+        });
+        Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        dictionary = new CategoryDictionary(categoryRepository);
+        index = new SuggestionIndex(expenseRepository, dictionary, pendingWrites,
+                true, 3, 30, 2, clock);
+    }
+
+    @Test
+    @DisplayName("Should defer to the database until built")
+    void suggest_beforeBuild_shouldBeEmpty() {
+        assertTrue(index.suggest("co", 3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank distinct phrases by frequency and recency")
+    void suggest_shouldRankByDecayedFrequency() {
+        rows.add(expense(1L, "Coffee beans", TODAY.minusDays(200)));
+        rows.add(expense(2L, "Coffee beans", TODAY.minusDays(200)));
+        rows.add(expense(3L, "coffee  BEANS", TODAY.minusDays(200)));
+        rows.add(expense(4L, "Cola", TODAY));
+        rows.add(expense(5L, "Cola", TODAY.minusDays(1)));
+        rows.add(expense(6L, "Taxi", TODAY));
+        index.rebuild();
+
+        List<String> texts = texts(index.suggest("CO", 10).orElseThrow());
+
+        // The category carries every expense filed under it; two recent colas
+        // outweigh three old coffee beans
+        assertEquals(List.of("Coffee Shops", "Cola", "coffee BEANS"), texts);
+        assertEquals(List.of("Taxi"), texts(index.suggest("t", 10).orElseThrow()));
+        assertTrue(index.suggest("zz", 10).orElseThrow().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should adjust weights incrementally and drop phrases nobody uses")
+    void onExpenseChanged_shouldUpdateWithoutRebuild() {
+        rows.add(expense(1L, "Lunch", TODAY));
+        index.rebuild();
+        verify(expenseRepository, times(1)).findBatchAfterId(anyLong(), any());
+
+        Expense latte = expense(2L, "Latte", TODAY);
+        index.onExpenseChanged(ExpenseChangedEvent.created(ExpenseSnapshot.of(latte)));
+        index.onExpenseChanged(ExpenseChangedEvent.created(ExpenseSnapshot.of(expense(3L, "Latte", TODAY))));
+        assertEquals(List.of("Latte", "Lunch"), texts(index.suggest("l", 10).orElseThrow()));
+
+        index.onExpenseChanged(ExpenseChangedEvent.deleted(ExpenseSnapshot.of(rows.get(0))));
+        assertEquals(List.of("Latte"), texts(index.suggest("l", 10).orElseThrow()));
+        verify(expenseRepository, times(1)).findBatchAfterId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should follow category renames without rebuilding")
+    void onCategoryChanged_rename_shouldRefileCategoryWeight() {
+        rows.add(expense(1L, "Espresso", TODAY));
+        index.rebuild();
+        assertEquals(List.of("Coffee Shops"), texts(index.suggest("coffee", 10).orElseThrow()));
+
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L, "Cafes")));
+        CategoryChangedEvent rename = CategoryChangedEvent.saved(1L);
+        dictionary.onCategoryChanged(rename);
+        index.onCategoryChanged(rename);
+
+        assertTrue(index.suggest("coffee", 10).orElseThrow().isEmpty());
+        List<SuggestionResponse> cafes = index.suggest("caf", 10).orElseThrow();
+        assertEquals(List.of("Cafes"), texts(cafes));
+        assertEquals(1.0, cafes.get(0).getScore(), 1e-9);
+        verify(expenseRepository, times(1)).findBatchAfterId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should count writes during a build exactly once")
+    void rebuild_withConcurrentWrites_shouldNotDoubleCount() {
+        rows.add(expense(1L, "Snacks", TODAY));
+        rows.add(expense(2L, "Snacks", TODAY));
+        rows.add(expense(3L, "Soda", TODAY));
+        when(expenseRepository.findBatchAfterId(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            if (afterId == 2L) {
+                // Row 1 was already read, row 3 not yet: both get deleted mid-build
+                rows.removeIf(e -> e.getId() == 3L);
+                delete(expense(1L, "Snacks", TODAY));
+                delete(expense(3L, "Soda", TODAY));
+            }
+            return rows.stream().filter(e -> e.getId() > afterId).limit(2).toList();
+        });
+
+        index.rebuild();
+
+        List<SuggestionResponse> suggestions = index.suggest("s", 10).orElseThrow();
+        assertEquals(List.of("Snacks"), texts(suggestions));
+        assertEquals(1.0, suggestions.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should load batches without the lock so writes are not blocked")
+    void rebuild_whileBatchLoads_shouldNotBlockWrites() {
+        rows.add(expense(1L, "Snacks", TODAY));
+        when(expenseRepository.findBatchAfterId(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            // A write committing on another thread while this batch is being read
+            ExpenseChangedEvent created = ExpenseChangedEvent.created(ExpenseSnapshot.of(expense(2L, "Soda", TODAY)));
+            CompletableFuture.runAsync(() -> PendingExpenseWritesTest.commit(pendingWrites, created,
+                    () -> index.onExpenseChanged(created))).get(5, TimeUnit.SECONDS);
+            return rows.stream().filter(e -> e.getId() > afterId).limit(2).toList();
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of("Snacks", "Soda"), texts(index.suggest("s", 10).orElseThrow()));
+    }
+
+    private void delete(Expense expense) {
+        ExpenseChangedEvent deleted = ExpenseChangedEvent.deleted(ExpenseSnapshot.of(expense));
+        PendingExpenseWritesTest.commit(pendingWrites, deleted, () -> index.onExpenseChanged(deleted));
+    }
+
+    private static List<String> texts(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getText).toList();
+    }
+
+    private Expense expense(Long id, String description, LocalDate date) {
+        Expense expense = new Expense(new BigDecimal("4.50"), description, coffee, date);
+        expense.setId(id);
+        return expense;
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category(name, "#6F4E37", null);
+        category.setId(id);
+        return category;
+    }
+}
@@ -0,0 +1,218 @@
+package com.project.expense_tracker.search;
+
+import com.project.expense_tracker.cache.PendingExpenseWrites;
+import com.project.expense_tracker.cache.PendingExpenseWritesTest;
+import com.project.expense_tracker.dto.TagStatsResponse;
+import com.project.expense_tracker.event.CategoryChangedEvent;
+import com.project.expense_tracker.event.ExpenseChangedEvent;
+import com.project.expense_tracker.event.ExpenseSnapshot;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagIndexTest {
+
+    private static final LocalDate JAN = LocalDate.of(2026, 1, 15);
+    private static final LocalDate FEB = LocalDate.of(2026, 2, 10);
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    private final PendingExpenseWrites pendingWrites = new PendingExpenseWrites();
+    private TagIndex index;
+    private Category food;
+    private Category travel;
+    private final List<Expense> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        food = category(1L, "Food");
+        travel = category(2L, "Travel");
+        lenient().when(expenseRepository.findBatchAfterId(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            return rows.stream().filter(e -> e.getId() > afterId).limit(2).toList();
+        });
+        lenient().when(expenseRepository.findTagsInIdRange(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            long upToId = invocation.getArgument(1);
+            List<Object[]> pairs = new ArrayList<>();
+            for (Expense expense : rows) {
+                if (expense.getId() > afterId && expense.getId() <= upToId) {
+                    expense.getTags().forEach(tag -> pairs.add(new Object[]{expense.getId(), tag}));
+                }
+            }
+            return pairs;
+        });
+        index = new TagIndex(expenseRepository, pendingWrites, true, 2);
+    }
+
+    @Test
+    @DisplayName("Should defer to the database until built")
+    void filter_beforeBuild_shouldBeEmpty() {
+        assertTrue(index.filter(query(Set.of("tax"), Set.of(), Set.of()), 0, 10).isEmpty());
+        assertTrue(index.stats().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should combine AND, OR and NOT with category and date bitmaps")
+    void filter_shouldCombineBitmaps() {
+        rows.add(expense(1L, food, JAN, "reimbursable", "tax"));
+        rows.add(expense(2L, food, FEB, "reimbursable"));
+        rows.add(expense(3L, travel, FEB, "reimbursable", "trip-2026"));
+        rows.add(expense(4L, travel, JAN, "trip-2026", "tax"));
+        rows.add(expense(5L, food, FEB));
+        index.rebuild();
+
+        assertEquals(List.of(3L, 2L, 1L), ids(query(Set.of("reimbursable"), Set.of(), Set.of())));
+        assertEquals(List.of(1L), ids(query(Set.of("reimbursable", "tax"), Set.of(), Set.of())));
+        assertEquals(List.of(4L, 3L, 1L), ids(query(Set.of(), Set.of("tax", "trip-2026"), Set.of())));
+        assertEquals(List.of(5L, 2L), ids(query(Set.of(), Set.of(), Set.of("tax", "trip-2026"))));
+        assertEquals(List.of(), ids(query(Set.of("unknown"), Set.of(), Set.of())));
+
+        assertEquals(List.of(3L), ids(new TagIndex.Query(Set.of("reimbursable"), Set.of(), Set.of(),
+                2L, null, null)));
+        // The date bounds cut into the months at both ends
+        assertEquals(List.of(3L, 2L), ids(new TagIndex.Query(Set.of("reimbursable"), Set.of(), Set.of(),
+                null, JAN.plusDays(1), FEB)));
+        assertEquals(List.of(2L), index.filter(query(Set.of("reimbursable"), Set.of(), Set.of()), 1, 1).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should move tags, categories and dates with write events")
+    void onExpenseChanged_shouldUpdateBitmaps() {
+        Expense lunch = expense(1L, food, JAN, "tax");
+        rows.add(lunch);
+        index.rebuild();
+
+        Expense retagged = expense(1L, travel, FEB, "reimbursable");
+        index.onExpenseChanged(ExpenseChangedEvent.updated(ExpenseSnapshot.of(lunch), ExpenseSnapshot.of(retagged)));
+        index.onExpenseChanged(ExpenseChangedEvent.created(ExpenseSnapshot.of(expense(2L, food, JAN, "tax"))));
+
+        assertEquals(List.of(2L), ids(query(Set.of("tax"), Set.of(), Set.of())));
+        assertEquals(List.of(1L), ids(new TagIndex.Query(Set.of("reimbursable"), Set.of(), Set.of(),
+                2L, FEB, FEB)));
+
+        index.onExpenseChanged(ExpenseChangedEvent.deleted(ExpenseSnapshot.of(retagged)));
+        assertEquals(List.of(2L), ids(query(Set.of(), Set.of(), Set.of())));
+        assertEquals(List.of("tax"), index.stats().orElseThrow().stream().map(TagStatsResponse::getTag).toList());
+    }
+
+    @Test
+    @DisplayName("Should report expense count and bitmap size per tag")
+    void stats_shouldReportMemoryPerTag() {
+        rows.add(expense(1L, food, JAN, "tax", "reimbursable"));
+        rows.add(expense(2L, food, JAN, "tax"));
+        index.rebuild();
+
+        List<TagStatsResponse> stats = index.stats().orElseThrow();
+
+        assertEquals(List.of("tax", "reimbursable"), stats.stream().map(TagStatsResponse::getTag).toList());
+        assertEquals(2, stats.get(0).getExpenseCount());
+        assertTrue(stats.get(0).getSizeInBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Should rebuild after a category delete")
+    void onCategoryChanged_delete_shouldRebuild() throws InterruptedException {
+        rows.add(expense(1L, food, JAN, "tax"));
+        index.rebuild();
+
+        index.onCategoryChanged(CategoryChangedEvent.saved(1L));
+        assertTrue(index.isReady());
+
+        rows.clear();
+        index.onCategoryChanged(CategoryChangedEvent.deleted(1L));
+        for (int attempt = 0; attempt < 500 && !index.isReady(); attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(), ids(query(Set.of("tax"), Set.of(), Set.of())));
+    }
+
+    @Test
+    @DisplayName("Should read batches without the lock and replay a write that raced them")
+    void rebuild_whileBatchLoads_shouldNotBlockWrites() {
+        rows.add(expense(1L, food, JAN, "tax"));
+        rows.add(expense(2L, food, JAN, "tax"));
+        when(expenseRepository.findBatchAfterId(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            if (afterId == 0L) {
+                // Retags row 1 from another thread; it would time out if the scan held the lock
+                ExpenseChangedEvent retagged = ExpenseChangedEvent.updated(
+                        ExpenseSnapshot.of(rows.get(0)), ExpenseSnapshot.of(expense(1L, food, JAN, "trip")));
+                CompletableFuture.runAsync(() -> PendingExpenseWritesTest.commit(pendingWrites, retagged,
+                        () -> index.onExpenseChanged(retagged))).get(5, TimeUnit.SECONDS);
+            }
+            return rows.stream().filter(e -> e.getId() > afterId).limit(2).toList();
+        });
+
+        index.rebuild();
+
+        // The scan saw the row before the retag reached the database
+        assertEquals(List.of(2L), ids(query(Set.of("tax"), Set.of(), Set.of())));
+        assertEquals(List.of(1L), ids(query(Set.of("trip"), Set.of(), Set.of())));
+    }
+
+    @Test
+    @DisplayName("Should renumber ordinals once deleted expenses make up a quarter of them")
+    void onExpenseChanged_manyDeletes_shouldCompactOrdinals() {
+        for (long id = 1; id <= 2000; id++) {
+            rows.add(expense(id, id % 2 == 0 ? food : travel, id % 3 == 0 ? JAN : FEB, "tag" + id % 5));
+        }
+        index.rebuild();
+        assertEquals(2000, index.ordinalsInUse());
+
+        for (Expense expense : rows.subList(0, 1500)) {
+            index.onExpenseChanged(ExpenseChangedEvent.deleted(ExpenseSnapshot.of(expense)));
+        }
+
+        // Renumbered at the 1024th delete; the 476 after it wait for the next round
+        assertEquals(2000 - 1024, index.ordinalsInUse());
+        assertEquals(List.of(2000L, 1995L, 1990L), index.filter(query(Set.of("tag0"), Set.of(), Set.of()), 0, 3)
+                .orElseThrow());
+        assertEquals(List.of(2000L, 1996L), index.filter(new TagIndex.Query(Set.of(), Set.of(), Set.of(),
+                1L, FEB, FEB), 0, 2).orElseThrow());
+        index.onExpenseChanged(ExpenseChangedEvent.created(ExpenseSnapshot.of(expense(2001L, food, FEB, "tag0"))));
+        assertEquals(List.of(2001L, 2000L), index.filter(query(Set.of("tag0"), Set.of(), Set.of()), 0, 2)
+                .orElseThrow());
+        assertEquals(501, index.stats().orElseThrow().stream().mapToLong(TagStatsResponse::getExpenseCount).sum());
+    }
+
+    private List<Long> ids(TagIndex.Query query) {
+        return index.filter(query, 0, 10).orElseThrow();
+    }
+
+    private static TagIndex.Query query(Set<String> allOf, Set<String> anyOf, Set<String> noneOf) {
+        return new TagIndex.Query(allOf, anyOf, noneOf, null, null, null);
+    }
+
+    private static Expense expense(Long id, Category category, LocalDate date, String... tags) {
+        Expense expense = new Expense(new BigDecimal("10.00"), "Expense " + id, category, date);
+        expense.setId(id);
+        expense.setTags(new HashSet<>(Arrays.asList(tags)));
+        return expense;
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category(name, "#6F4E37", null);
+        category.setId(id);
+        return category;
+    }
+}
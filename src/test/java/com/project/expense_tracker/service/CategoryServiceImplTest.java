@@ -1,8 +1,10 @@
 package com.project.expense_tracker.service;
 
+import com.project.expense_tracker.cache.ExistenceFilter;
 import com.project.expense_tracker.dto.CategoryResponse;
 import com.project.expense_tracker.dto.CategorySummaryResponse;
 import com.project.expense_tracker.dto.CreateCategoryRequest;
+import com.project.expense_tracker.dto.MultiGetItem;
 import com.project.expense_tracker.dto.UpdateCategoryRequest;
 import com.project.expense_tracker.exception.CategoryNotFoundException;
 import com.project.expense_tracker.exception.DuplicateCategoryException;
@@ -15,7 +17,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -35,6 +39,19 @@ class CategoryServiceImplTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ExistenceFilter existenceFilter;
+
+    @Mock
+    private ExpenseChangeLog expenseChangeLog;
+
+    // Chunks of two, so three ids take two queries
+    @Spy
+    private IdBatches idBatches = new IdBatches(5, 2);
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -131,6 +148,35 @@ class CategoryServiceImplTest {
         verify(categoryMapper, never()).toResponse(any());
     }
 
+    @Test
+    @DisplayName("Should get categories by ids in request order, in chunks, marking unknown ids")
+    void getCategoriesByIds_shouldKeepOrderAndMarkMissing() {
+        // Arrange
+        Category travel = new Category();
+        travel.setId(2L);
+        CategoryResponse travelResponse = new CategoryResponse(2L, "Travel", "#3357FF", null, LocalDateTime.now());
+        when(existenceFilter.categoryDefinitelyAbsent(anyLong())).thenReturn(false);
+        when(existenceFilter.categoryDefinitelyAbsent(404L)).thenReturn(true);
+        when(categoryRepository.findAllById(List.of(2L, 999L))).thenReturn(List.of(travel));
+        when(categoryRepository.findAllById(List.of(1L))).thenReturn(List.of(testCategory));
+        when(categoryMapper.toResponse(testCategory)).thenReturn(testCategoryResponse);
+        when(categoryMapper.toResponse(travel)).thenReturn(travelResponse);
+
+        // Act
+        List<MultiGetItem<CategoryResponse>> items =
+                categoryService.getCategoriesByIds(List.of(2L, 999L, 404L, 1L, 2L));
+
+        // Assert
+        assertEquals(List.of(200, 404, 404, 200, 200), items.stream().map(MultiGetItem::getStatus).toList());
+        assertSame(travelResponse, items.get(0).getData());
+        assertSame(testCategoryResponse, items.get(3).getData());
+        assertEquals("CAT_003", items.get(1).getErrorCode());
+        assertEquals("CAT_003", items.get(2).getErrorCode());
+        verify(existenceFilter).categoryMissing(eq(999L), anyLong());
+        verify(existenceFilter, never()).categoryMissing(eq(404L), anyLong());
+        verify(categoryRepository, times(2)).findAllById(any());
+    }
+
     @Test
     @DisplayName("Should create category successfully")
     void createCategory_whenValidRequest_shouldCreateCategory() {
@@ -225,6 +271,7 @@ class CategoryServiceImplTest {
         // Assert
         verify(categoryRepository).existsById(1L);
         verify(categoryRepository).deleteById(1L);
+        verify(expenseChangeLog).categoryDeleted(1L);
     }
 
     @Test
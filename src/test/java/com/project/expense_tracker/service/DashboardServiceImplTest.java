@@ -0,0 +1,149 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.dto.DashboardResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DashboardServiceImplTest {
+
+    @Mock
+    private ExpenseService expenseService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(expenseService.getExpenseSummary()).thenAnswer(slow(200, Map.of("totalExpenses", 3)));
+        when(expenseService.getMonthlyExpenses()).thenAnswer(slow(200, Map.of("2026-03", new BigDecimal("42.00"))));
+        when(expenseService.getCategoryBreakdown()).thenAnswer(slow(200, List.of()));
+        when(expenseService.getDailySpendingTrend()).thenAnswer(slow(200, List.of()));
+        when(expenseService.getTopExpenses(DashboardServiceImpl.TOP_EXPENSES)).thenAnswer(slow(200, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should run the sections concurrently, each in a read-only transaction")
+    void getDashboard_shouldRunSectionsConcurrently() {
+        // Arrange
+        DashboardServiceImpl dashboardService = service(5000, 5);
+        AtomicInteger peak = trackOpenTransactions();
+
+        // Act
+        DashboardResponse response = dashboardService.getDashboard();
+
+        // Assert
+        assertEquals(3, response.getSummary().get("totalExpenses"));
+        assertEquals(new BigDecimal("42.00"), response.getMonthly().get("2026-03"));
+        assertNotNull(response.getCategoryBreakdown());
+        assertNotNull(response.getDailyTrend());
+        assertNotNull(response.getTopExpenses());
+        assertTrue(response.getErrors().isEmpty());
+        // Five 200 ms sections, all in flight together
+        assertEquals(5, peak.get());
+        verify(transactionManager, times(5)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    @DisplayName("Should hold no more connections at once than the per-request limit")
+    void getDashboard_shouldBoundConnectionsPerRequest() {
+        // Arrange
+        DashboardServiceImpl dashboardService = service(5000, 2);
+        AtomicInteger peak = trackOpenTransactions();
+
+        // Act
+        DashboardResponse response = dashboardService.getDashboard();
+
+        // Assert: every section still ran, two at a time
+        assertTrue(response.getErrors().isEmpty());
+        assertEquals(2, peak.get());
+        verify(transactionManager, times(5)).getTransaction(any());
+        verify(transactionManager, times(5)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should return the other sections when one fails")
+    void getDashboard_whenSectionFails_shouldReturnPartialResult() {
+        // Arrange
+        when(expenseService.getMonthlyExpenses()).thenThrow(new IllegalStateException("database down"));
+        DashboardServiceImpl dashboardService = service(5000, 2);
+
+        // Act
+        DashboardResponse response = dashboardService.getDashboard();
+
+        // Assert
+        assertNull(response.getMonthly());
+        assertEquals(Map.of("monthly", "error"), response.getErrors());
+        assertNotNull(response.getSummary());
+        assertEquals(1.0, meterRegistry.get("expense.dashboard.section.failures")
+                .tags("section", "monthly", "reason", "error").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should give up on a section that misses the deadline")
+    void getDashboard_whenSectionTooSlow_shouldTimeOut() {
+        // Arrange
+        when(expenseService.getDailySpendingTrend()).thenAnswer(slow(10_000, List.of()));
+        DashboardServiceImpl dashboardService = service(1000, 2);
+
+        // Act
+        long started = System.nanoTime();
+        DashboardResponse response = dashboardService.getDashboard();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Assert
+        assertNull(response.getDailyTrend());
+        assertEquals(Map.of("dailyTrend", "timeout"), response.getErrors());
+        assertNotNull(response.getSummary());
+        assertTrue(elapsedMillis < 2000, "took " + elapsedMillis + " ms");
+    }
+
+    private DashboardServiceImpl service(long timeoutMillis, int maxConnections) {
+        return new DashboardServiceImpl(expenseService, transactionManager, meterRegistry, timeoutMillis,
+                maxConnections);
+    }
+
+    // Each open transaction holds a connection; returns the most that were open at once
+    private AtomicInteger trackOpenTransactions() {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(open.incrementAndGet(), Math::max);
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> open.decrementAndGet()).when(transactionManager).commit(any());
+        doAnswer(invocation -> open.decrementAndGet()).when(transactionManager).rollback(any());
+        return peak;
+    }
+
+    private static Answer<Object> slow(long millis, Object result) {
+        return invocation -> {
+            Thread.sleep(millis);
+            return result;
+        };
+    }
+}
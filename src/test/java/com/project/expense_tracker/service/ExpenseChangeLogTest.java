@@ -0,0 +1,127 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.model.ExpenseChange;
+import com.project.expense_tracker.model.ExpenseChangeType;
+import com.project.expense_tracker.repository.ExpenseChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Visibility depends on commits, so the test drives its own transactions
+@DataJpaTest
+@Import(ExpenseChangeLog.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExpenseChangeLogTest {
+
+    @Autowired
+    private ExpenseChangeLog changeLog;
+
+    @Autowired
+    private ExpenseChangeRepository changeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        changeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should return committed changes after the cursor in sequence order")
+    void readAfter_shouldReturnChangesInOrder() {
+        // Arrange
+        long cursor = changeLog.readAfter(0, 1000).stream().mapToLong(ExpenseChange::getSeq).max().orElse(0);
+        transaction.executeWithoutResult(status -> changeLog.upserted(1L));
+        transaction.executeWithoutResult(status -> changeLog.deleted(2L));
+
+        // Act
+        List<ExpenseChange> changes = changeLog.readAfter(cursor, 10);
+
+        // Assert
+        assertEquals(2, changes.size());
+        assertEquals(1L, changes.get(0).getExpenseId());
+        assertEquals(ExpenseChangeType.UPSERT, changes.get(0).getType());
+        assertEquals(ExpenseChangeType.DELETE, changes.get(1).getType());
+        assertTrue(changes.get(0).getSeq() < changes.get(1).getSeq());
+        assertTrue(changeLog.readAfter(changes.get(1).getSeq(), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should hold back later commits while an earlier sequence is still open")
+    void readAfter_whenEarlierTransactionOpen_shouldNotSkipIt() throws Exception {
+        // Arrange
+        long cursor = changeLog.readAfter(0, 1000).stream().mapToLong(ExpenseChange::getSeq).max().orElse(0);
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> slow = executor.submit(() -> transaction.executeWithoutResult(status -> {
+            changeLog.upserted(1L);
+            appended.countDown();
+            await(release);
+        }));
+        assertTrue(appended.await(5, TimeUnit.SECONDS));
+        transaction.executeWithoutResult(status -> changeLog.upserted(2L));
+
+        // Act
+        List<ExpenseChange> whileOpen = changeLog.readAfter(cursor, 10);
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        List<ExpenseChange> afterCommit = changeLog.readAfter(cursor, 10);
+
+        // Assert
+        assertTrue(whileOpen.isEmpty());
+        assertEquals(List.of(1L, 2L), afterCommit.stream().map(ExpenseChange::getExpenseId).toList());
+    }
+
+    @Test
+    @DisplayName("Should move past a sequence whose transaction rolled back")
+    void readAfter_whenEarlierTransactionRolledBack_shouldContinue() {
+        // Arrange
+        long cursor = changeLog.readAfter(0, 1000).stream().mapToLong(ExpenseChange::getSeq).max().orElse(0);
+        transaction.executeWithoutResult(status -> {
+            changeLog.upserted(1L);
+            status.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> changeLog.upserted(2L));
+
+        // Act
+        List<ExpenseChange> changes = changeLog.readAfter(cursor, 10);
+
+        // Assert
+        assertEquals(List.of(2L), changes.stream().map(ExpenseChange::getExpenseId).toList());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.dto.ExpenseFilter;
+import com.project.expense_tracker.dto.FacetCount;
+import com.project.expense_tracker.exception.InvalidExpenseException;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.model.Role;
+import com.project.expense_tracker.model.User;
+import com.project.expense_tracker.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ExpenseFacetCounterTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ExpenseQueryCompiler compiler;
+    private ExpenseFacetCounter counter;
+    private Category food;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new ExpenseQueryCompiler(16);
+        counter = new ExpenseFacetCounter(entityManager.getEntityManager(),
+                new CategoryDictionary(categoryRepository),
+                new BigDecimal[]{new BigDecimal("50"), new BigDecimal("10")});
+        User owner = new User("facet-owner", "facet-owner@example.com", "secret", Role.USER);
+        entityManager.persist(owner);
+        food = entityManager.persist(new Category("Food", "#FF5733", "Food"));
+        travel = entityManager.persist(new Category("Travel", "#3366FF", "Travel"));
+
+        persist(owner, "5.00", "Coffee", food, LocalDate.of(2026, 1, 10));
+        persist(owner, "12.50", "Lunch with team", food, LocalDate.of(2026, 1, 12));
+        persist(owner, "45.00", "Team dinner", food, LocalDate.of(2026, 2, 3));
+        persist(owner, "300.00", "Train tickets", travel, LocalDate.of(2026, 2, 5));
+        persist(owner, "50.00", "Taxi", travel, LocalDate.of(2026, 3, 1));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should count categories, months and amount buckets in one pass")
+    void count_shouldReturnAllFacets() {
+        Map<String, List<FacetCount>> facets = counter.count(compiler.compile(null), List.of("amount", "month", "category"));
+
+        assertEquals(List.of("category", "month", "amount"), List.copyOf(facets.keySet()));
+        assertEquals(List.of("<10=1", "10-50=2", "50+=2"), flatten(facets.get("amount")));
+        assertEquals(List.of("2026-01=2", "2026-02=2", "2026-03=1"), flatten(facets.get("month")));
+
+        List<FacetCount> categories = facets.get("category");
+        assertEquals(List.of(food.getId() + "=3", travel.getId() + "=2"), flatten(categories));
+        assertEquals("Food", categories.get(0).getLabel());
+    }
+
+    @Test
+    @DisplayName("Should only count rows matching the filter")
+    void count_shouldApplyFilter() {
+        ExpenseFilter team = new ExpenseFilter();
+        team.setOp("keyword");
+        team.setValue("team");
+
+        Map<String, List<FacetCount>> facets = counter.count(compiler.compile(team), List.of("amount"));
+
+        assertEquals(List.of("amount"), List.copyOf(facets.keySet()));
+        assertEquals(List.of("10-50=2"), flatten(facets.get("amount")));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown facets")
+    void count_whenUnknownFacet_shouldThrowException() {
+        assertThrows(InvalidExpenseException.class,
+                () -> counter.count(compiler.compile(null), List.of("category", "user")));
+    }
+
+    private void persist(User owner, String amount, String description, Category category, LocalDate date) {
+        Expense expense = new Expense(new BigDecimal(amount), description, category, date);
+        expense.setUser(owner);
+        entityManager.persist(expense);
+    }
+
+    private static List<String> flatten(List<FacetCount> counts) {
+        return counts.stream().map(count -> count.getValue() + "=" + count.getCount()).toList();
+    }
+}
@@ -0,0 +1,162 @@
+package com.project.expense_tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.expense_tracker.exception.InvalidExpenseException;
+import com.project.expense_tracker.mapper.ExpenseMapper;
+import com.project.expense_tracker.mapper.ExpenseMapperImpl;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.model.Role;
+import com.project.expense_tracker.model.User;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.project.expense_tracker.service.ExpenseFieldProjectionTest$RecordingInspector")
+class ExpenseFieldProjectionTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    private ExpenseFieldProjection projection;
+    private User owner;
+    private Category food;
+    private Expense lunch;
+
+    @BeforeEach
+    void setUp() {
+        projection = new ExpenseFieldProjection(entityManager.getEntityManager());
+        owner = entityManager.persist(new User("fields-owner", "fields-owner@example.com", "secret", Role.USER));
+        food = entityManager.persist(new Category("Food", "#FF5733", "Food"));
+        lunch = persist("25.50", "Lunch", LocalDate.of(2026, 3, 14), Set.of("work", "client"));
+        persist("4.20", "Coffee", LocalDate.of(2026, 3, 15), Set.of());
+        entityManager.flush();
+        entityManager.clear();
+        RecordingInspector.SQL.clear();
+    }
+
+    @Test
+    @DisplayName("Should select only the requested columns, without joining the category")
+    void findAll_minimalFields_shouldNarrowSelect() {
+        // Act
+        List<Map<String, Object>> rows = projection.findAll(ExpenseFieldProjection.parse("amount,expenseDate"));
+
+        // Assert
+        assertEquals(2, rows.size());
+        Map<String, Object> row = rows.stream().filter(r -> lunch.getId().equals(r.get("id"))).findFirst().orElseThrow();
+        assertEquals(List.of("id", "amount", "expenseDate"), List.copyOf(row.keySet()));
+        assertEquals(0, new BigDecimal("25.50").compareTo((BigDecimal) row.get("amount")));
+        assertEquals(LocalDate.of(2026, 3, 14), row.get("expenseDate"));
+
+        assertEquals(1, RecordingInspector.SQL.size());
+        String sql = RecordingInspector.SQL.get(0).toLowerCase(Locale.ROOT);
+        assertFalse(sql.contains("join"), sql);
+        assertFalse(sql.contains("description"), sql);
+        assertFalse(sql.contains("created_at"), sql);
+    }
+
+    @Test
+    @DisplayName("Should join the category only for its name or color and fetch tags in one extra query")
+    void findById_categoryAndTags_shouldJoinAndBatch() {
+        // Act
+        Map<String, Object> row = projection.findById(lunch.getId(),
+                ExpenseFieldProjection.parse("tags, categoryColor,categoryId")).orElseThrow();
+
+        // Assert
+        assertEquals(List.of("id", "categoryId", "categoryColor", "tags"), List.copyOf(row.keySet()));
+        assertEquals(food.getId(), row.get("categoryId"));
+        assertEquals("#FF5733", row.get("categoryColor"));
+        assertEquals(List.of("client", "work"), List.copyOf((Collection<?>) row.get("tags")));
+        assertEquals(2, RecordingInspector.SQL.size());
+        assertTrue(RecordingInspector.SQL.get(0).toLowerCase(Locale.ROOT).contains("join"));
+        assertTrue(projection.findById(-1L, Set.of(ExpenseFieldProjection.Field.ID)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject fields the expense response doesn't have")
+    void parse_unknownField_shouldThrow() {
+        InvalidExpenseException ex = assertThrows(InvalidExpenseException.class,
+                () -> ExpenseFieldProjection.parse("amount,password"));
+        assertTrue(ex.getMessage().contains("password"));
+        assertEquals(EnumSet.of(ExpenseFieldProjection.Field.ID), ExpenseFieldProjection.parse(" , "));
+    }
+
+    @Test
+    @DisplayName("Should shrink a 10k-row list's payload with minimal fields")
+    void benchmark_minimalFields_shouldBeSmaller() throws Exception {
+        // Arrange
+        for (int i = 0; i < 10_000; i++) {
+            persist(BigDecimal.valueOf(100 + i % 5000, 2).toPlainString(), "Expense number " + i,
+                    LocalDate.of(2025, 1, 1).plusDays(i % 365), Set.of());
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                owner = entityManager.find(User.class, owner.getId());
+                food = entityManager.find(Category.class, food.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ExpenseMapper mapper = new ExpenseMapperImpl();
+        Set<ExpenseFieldProjection.Field> all = EnumSet.allOf(ExpenseFieldProjection.Field.class);
+        Set<ExpenseFieldProjection.Field> minimal = ExpenseFieldProjection.parse("id,amount,expenseDate");
+
+        // Act: entities as the full response, then the projection with every field and with the list view's three
+        long full = payloadBytes(objectMapper, () -> mapper.toResponse2List(expenseRepository.findAll()));
+        long allFields = payloadBytes(objectMapper, () -> projection.findAll(all));
+        long minimalFields = payloadBytes(objectMapper, () -> projection.findAll(minimal));
+
+        // Assert
+        assertTrue(minimalFields * 3 < full, "minimal " + minimalFields + " vs full " + full + " bytes");
+        assertTrue(minimalFields < allFields, "minimal " + minimalFields + " vs all fields " + allFields + " bytes");
+    }
+
+    // Serialized size of the list, read with an empty persistence context
+    private long payloadBytes(ObjectMapper objectMapper, Supplier<List<?>> list) throws Exception {
+        entityManager.clear();
+        return objectMapper.writeValueAsBytes(list.get()).length;
+    }
+
+    private Expense persist(String amount, String description, LocalDate date, Set<String> tags) {
+        Expense expense = new Expense();
+        expense.setAmount(new BigDecimal(amount));
+        expense.setDescription(description);
+        expense.setExpenseDate(date);
+        expense.setCategory(food);
+        expense.setUser(owner);
+        expense.setTags(new HashSet<>(tags));
+        return entityManager.persist(expense);
+    }
+
+    // Hibernate instantiates this by name, so it records into a static list
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.analytics.CategoryBreakdownView;
+import com.project.expense_tracker.analytics.DailySpendWindows;
+import com.project.expense_tracker.analytics.SpendDistributionIndex;
+import com.project.expense_tracker.analytics.TopExpensesIndex;
+import com.project.expense_tracker.cache.AnalyticsResultCache;
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.cache.ExistenceFilter;
+import com.project.expense_tracker.dto.ExpenseResponse;
+import com.project.expense_tracker.dto.MultiGetItem;
+import com.project.expense_tracker.exception.InvalidRequestException;
+import com.project.expense_tracker.mapper.ExpenseMapperImpl;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.model.Role;
+import com.project.expense_tracker.model.User;
+import com.project.expense_tracker.repository.CategoryRepository;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.search.ExpenseSearchIndex;
+import com.project.expense_tracker.search.SuggestionIndex;
+import com.project.expense_tracker.search.TagIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.project.expense_tracker.service.ExpenseFieldProjectionTest$RecordingInspector")
+class ExpenseMultiGetTest {
+
+    private static final List<String> SQL = ExpenseFieldProjectionTest.RecordingInspector.SQL;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final ExistenceFilter existenceFilter = mock(ExistenceFilter.class);
+    private ExpenseServiceImpl expenseService;
+    private User owner;
+    private Category food;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        expenseService = new ExpenseServiceImpl(expenseRepository, categoryRepository, new ExpenseMapperImpl(),
+                mock(ApplicationEventPublisher.class), mock(TopExpensesIndex.class),
+                mock(SpendDistributionIndex.class), mock(DailySpendWindows.class),
+                mock(CategoryBreakdownView.class), mock(ExpenseSearchIndex.class), mock(SuggestionIndex.class),
+                mock(ExpenseQueryCompiler.class), mock(ExpenseFacetCounter.class), mock(TagIndex.class),
+                existenceFilter, mock(AnalyticsResultCache.class), mock(ExpenseChangeLog.class),
+                mock(ExpenseFieldProjection.class), new CategoryDictionary(categoryRepository),
+                new IdBatches(500, 256));
+        owner = entityManager.persist(new User("multi-owner", "multi-owner@example.com", "secret", Role.USER));
+        food = entityManager.persist(new Category("Food", "#FF5733", "Food"));
+        travel = entityManager.persist(new Category("Travel", "#3357FF", "Travel"));
+    }
+
+    @Test
+    @DisplayName("Should return the expenses in request order with a 404 marker for unknown ids")
+    void getExpensesByIds_shouldKeepOrderAndMarkMissing() {
+        // Arrange
+        Expense lunch = persist(food, "25.50", "Lunch", Set.of("work", "client"));
+        Expense train = persist(travel, "12.00", "Train", Set.of());
+        flushAndClear();
+
+        // Act
+        List<MultiGetItem<ExpenseResponse>> items =
+                expenseService.getExpensesByIds(List.of(train.getId(), -1L, lunch.getId(), train.getId()));
+
+        // Assert
+        assertEquals(List.of(train.getId(), -1L, lunch.getId(), train.getId()),
+                items.stream().map(MultiGetItem::getId).toList());
+        assertEquals(List.of(200, 404, 200, 200), items.stream().map(MultiGetItem::getStatus).toList());
+        assertEquals("EXP_001", items.get(1).getErrorCode());
+        assertNull(items.get(1).getData());
+        ExpenseResponse first = items.get(2).getData();
+        assertEquals("Lunch", first.getDescription());
+        assertEquals("Food", first.getCategoryName());
+        assertEquals("#FF5733", first.getCategoryColor());
+        assertEquals(List.of("client", "work"), List.copyOf(first.getTags()));
+        assertEquals("Travel", items.get(0).getData().getCategoryName());
+        verify(existenceFilter).expenseMissing(eq(-1L), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should load 500 expenses in a handful of queries, none joining the categories")
+    void getExpensesByIds_500_shouldUseChunkedQueries() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(persist(i % 2 == 0 ? food : travel, "1." + (i % 100), "Expense " + i,
+                    i % 3 == 0 ? Set.of("tag" + i % 7) : Set.of()).getId());
+        }
+        Collections.shuffle(ids, new Random(42));
+        flushAndClear();
+
+        // Act: what a client looping over GET /api/expenses/{id} costs, then the multi-get
+        for (Long id : ids) {
+            expenseService.getExpenseById(id);
+        }
+        int loopStatements = SQL.size();
+        entityManager.clear();
+        SQL.clear();
+        List<MultiGetItem<ExpenseResponse>> items = expenseService.getExpensesByIds(ids);
+
+        // Assert
+        assertEquals(ids, items.stream().map(MultiGetItem::getId).toList());
+        assertTrue(items.stream().allMatch(item -> item.getStatus() == 200));
+        // Two chunks of at most 256 ids, two queries each, plus loading the category dictionary once
+        assertEquals(5, SQL.size(), String.join("\n", SQL));
+        assertTrue(loopStatements >= 500, "loop took " + loopStatements);
+        SQL.stream().filter(sql -> sql.toLowerCase(Locale.ROOT).contains("expenses"))
+                .forEach(sql -> assertFalse(sql.toLowerCase(Locale.ROOT).contains("categories"), sql));
+    }
+
+    @Test
+    @DisplayName("Should reject more ids than the configured cap")
+    void getExpensesByIds_overCap_shouldThrow() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 501; id++) {
+            ids.add(id);
+        }
+
+        // Act & Assert
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> expenseService.getExpensesByIds(ids));
+        assertTrue(ex.getMessage().contains("500"));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+        SQL.clear();
+    }
+
+    private Expense persist(Category category, String amount, String description, Set<String> tags) {
+        Expense expense = new Expense();
+        expense.setAmount(new BigDecimal(amount));
+        expense.setDescription(description);
+        expense.setExpenseDate(LocalDate.of(2025, 6, 1));
+        expense.setCategory(category);
+        expense.setUser(owner);
+        expense.setTags(new HashSet<>(tags));
+        return entityManager.persist(expense);
+    }
+}
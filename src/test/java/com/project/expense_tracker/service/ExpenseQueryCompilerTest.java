@@ -0,0 +1,172 @@
+package com.project.expense_tracker.service;
+
+import com.project.expense_tracker.dto.ExpenseFilter;
+import com.project.expense_tracker.exception.InvalidExpenseException;
+import com.project.expense_tracker.model.Category;
+import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.model.Role;
+import com.project.expense_tracker.model.User;
+import com.project.expense_tracker.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ExpenseQueryCompilerTest {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ExpenseQueryCompiler compiler;
+    private Category food;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new ExpenseQueryCompiler(16);
+        User owner = new User("query-owner", "query-owner@example.com", "secret", Role.USER);
+        entityManager.persist(owner);
+        food = entityManager.persist(new Category("Food", "#FF5733", "Food"));
+        travel = entityManager.persist(new Category("Travel", "#3366FF", "Travel"));
+
+        persist(owner, "12.50", "Lunch with team", food, LocalDate.of(2026, 1, 10));
+        persist(owner, "80.00", "Groceries", food, LocalDate.of(2026, 1, 12));
+        persist(owner, "45.00", "Team dinner", food, LocalDate.of(2026, 2, 3));
+        persist(owner, "300.00", "Train tickets", travel, LocalDate.of(2026, 2, 5));
+        persist(owner, "45.00", "Taxi", travel, LocalDate.of(2026, 2, 5));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should compare categories by id")
+    void hasCategory_shouldMatchCategoryId() {
+        List<Expense> result = expenseRepository.findAll(ExpenseSpecifications.hasCategory(travel.getId()));
+
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    @DisplayName("Should combine AND, OR, IN, ranges and keywords")
+    void compile_shouldApplyFilterTree() {
+        ExpenseFilter filter = and(
+                or(keyword("team"), eq("amount", "300.00")),
+                range("expenseDate", "2026-01-11", null),
+                in("categoryId", food.getId(), travel.getId()));
+
+        List<String> descriptions = expenseRepository.findAll(compiler.compile(filter)).stream()
+                .map(Expense::getDescription).sorted().toList();
+
+        assertEquals(List.of("Team dinner", "Train tickets"), descriptions);
+    }
+
+    @Test
+    @DisplayName("Should reuse one plan per filter shape")
+    void compile_sameShape_shouldReusePlan() {
+        List<Expense> cheap = expenseRepository.findAll(compiler.compile(and(range("amount", null, "20"), keyword("lunch"))));
+        List<Expense> dinner = expenseRepository.findAll(compiler.compile(and(range("amount", null, "50"), keyword("dinner"))));
+        expenseRepository.findAll(compiler.compile(and(range("amount", "1", "50"), keyword("dinner"))));
+
+        assertEquals(1, cheap.size());
+        assertEquals("Team dinner", dinner.get(0).getDescription());
+        assertEquals(2, compiler.cachedPlans());
+    }
+
+    @Test
+    @DisplayName("Should walk every row exactly once with keyset cursors")
+    void cursor_shouldPageWithoutGapsOrRepeats() {
+        ExpenseQueryCompiler.SortKey sortKey = compiler.sortKey("amount", "desc");
+        Specification<Expense> all = compiler.compile(null);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Specification<Expense> page = cursor == null ? all : all.and(sortKey.after(cursor));
+            List<Expense> rows = expenseRepository.findBy(page,
+                    query -> query.sortBy(sortKey.toSort()).limit(2).all());
+            rows.forEach(expense -> seen.add(expense.getDescription()));
+            cursor = rows.size() < 2 ? null : sortKey.cursorAfter(rows.get(rows.size() - 1));
+        } while (cursor != null);
+
+        // The two 45.00 rows tie on amount and are ordered by id
+        assertEquals(List.of("Train tickets", "Groceries", "Taxi", "Team dinner", "Lunch with team"), seen);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields, ops and mismatched cursors")
+    void compile_whenInvalid_shouldThrowException() {
+        assertThrows(InvalidExpenseException.class, () -> compiler.compile(eq("password", "x")));
+        assertThrows(InvalidExpenseException.class, () -> compiler.compile(node("xor")));
+        assertThrows(InvalidExpenseException.class, () -> compiler.compile(eq("expenseDate", "yesterday")));
+        assertThrows(InvalidExpenseException.class, () -> compiler.compile(range("amount", "9", "1")));
+
+        String byAmount = compiler.sortKey("amount", "asc").cursorAfter(expenseRepository.findAll().get(0));
+        assertThrows(InvalidExpenseException.class, () -> compiler.sortKey("expenseDate", "asc").after(byAmount));
+    }
+
+    private void persist(User owner, String amount, String description, Category category, LocalDate date) {
+        Expense expense = new Expense(new BigDecimal(amount), description, category, date);
+        expense.setUser(owner);
+        entityManager.persist(expense);
+    }
+
+    private static ExpenseFilter node(String op) {
+        ExpenseFilter filter = new ExpenseFilter();
+        filter.setOp(op);
+        return filter;
+    }
+
+    private static ExpenseFilter and(ExpenseFilter... filters) {
+        ExpenseFilter filter = node("and");
+        filter.setFilters(Arrays.asList(filters));
+        return filter;
+    }
+
+    private static ExpenseFilter or(ExpenseFilter... filters) {
+        ExpenseFilter filter = node("or");
+        filter.setFilters(Arrays.asList(filters));
+        return filter;
+    }
+
+    private static ExpenseFilter eq(String field, Object value) {
+        ExpenseFilter filter = node("eq");
+        filter.setField(field);
+        filter.setValue(value);
+        return filter;
+    }
+
+    private static ExpenseFilter in(String field, Object... values) {
+        ExpenseFilter filter = node("in");
+        filter.setField(field);
+        filter.setValues(Arrays.asList(values));
+        return filter;
+    }
+
+    private static ExpenseFilter range(String field, Object min, Object max) {
+        ExpenseFilter filter = node("range");
+        filter.setField(field);
+        filter.setMin(min);
+        filter.setMax(max);
+        return filter;
+    }
+
+    private static ExpenseFilter keyword(String value) {
+        ExpenseFilter filter = node("keyword");
+        filter.setValue(value);
+        return filter;
+    }
+}
@@ -1,25 +1,51 @@
 package com.project.expense_tracker.service;
 
+import com.project.expense_tracker.analytics.CategoryBreakdownView;
+import com.project.expense_tracker.analytics.DailySpendWindows;
+import com.project.expense_tracker.analytics.SpendDistributionIndex;
+import com.project.expense_tracker.analytics.TopExpensesIndex;
+import com.project.expense_tracker.cache.AnalyticsResultCache;
+import com.project.expense_tracker.cache.CategoryDictionary;
+import com.project.expense_tracker.cache.DataVersions;
+import com.project.expense_tracker.cache.ExistenceFilter;
+import com.project.expense_tracker.cache.SingleFlight;
 import com.project.expense_tracker.dto.CreateExpenseRequest;
+import com.project.expense_tracker.dto.ExpenseChangesResponse;
 import com.project.expense_tracker.dto.ExpenseResponse;
+import com.project.expense_tracker.dto.ExpenseSummaryResponse;
+import com.project.expense_tracker.dto.MultiGetItem;
 import com.project.expense_tracker.exception.CategoryNotFoundException;
 import com.project.expense_tracker.exception.ExpenseNotFoundException;
+import com.project.expense_tracker.exception.InvalidExpenseException;
 import com.project.expense_tracker.mapper.ExpenseMapper;
 import com.project.expense_tracker.model.Category;
 import com.project.expense_tracker.model.Expense;
+import com.project.expense_tracker.model.ExpenseChange;
+import com.project.expense_tracker.model.ExpenseChangeType;
 import com.project.expense_tracker.repository.CategoryRepository;
 import com.project.expense_tracker.repository.ExpenseRepository;
+import com.project.expense_tracker.search.ExpenseSearchIndex;
+import com.project.expense_tracker.search.SuggestionIndex;
+import com.project.expense_tracker.search.TagIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -37,6 +63,56 @@ class ExpenseServiceImplTest {
     @Mock
     private ExpenseMapper expenseMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TopExpensesIndex topExpensesIndex;
+
+    @Mock
+    private SpendDistributionIndex spendDistributionIndex;
+
+    @Mock
+    private DailySpendWindows dailySpendWindows;
+
+    @Mock
+    private CategoryBreakdownView categoryBreakdownView;
+
+    @Mock
+    private ExpenseSearchIndex expenseSearchIndex;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
+    @Mock
+    private ExpenseQueryCompiler expenseQueryCompiler;
+
+    @Mock
+    private ExpenseFacetCounter expenseFacetCounter;
+
+    @Mock
+    private TagIndex tagIndex;
+
+    @Mock
+    private ExistenceFilter existenceFilter;
+
+    @Mock
+    private ExpenseChangeLog expenseChangeLog;
+
+    @Mock
+    private ExpenseFieldProjection expenseFieldProjection;
+
+    @Mock
+    private CategoryDictionary categoryDictionary;
+
+    @Spy
+    private IdBatches idBatches = new IdBatches(500, 256);
+
+    @Spy
+    private AnalyticsResultCache analyticsResultCache =
+            new AnalyticsResultCache(new DataVersions(),
+                    new SingleFlight(new SimpleMeterRegistry(), 0), new SimpleMeterRegistry(), 1 << 20);
+
     @InjectMocks
     private ExpenseServiceImpl expenseService;
 
@@ -93,6 +169,7 @@ class ExpenseServiceImplTest {
 
         verify(categoryRepository).findById(1L);
         verify(expenseRepository).save(testExpense);
+        verify(expenseChangeLog).upserted(1L);
     }
 
     @Test
@@ -144,6 +221,7 @@ class ExpenseServiceImplTest {
 
         // Assert
         verify(expenseRepository).deleteById(1L);
+        verify(expenseChangeLog).deleted(1L);
     }
 
     @Test
@@ -159,4 +237,216 @@ class ExpenseServiceImplTest {
 
         verify(expenseRepository, never()).deleteById(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should serve top expenses from the in-memory index")
+    void getTopExpenses_shouldUseIndex() {
+        // Act
+        expenseService.getTopExpenses(25);
+
+        // Assert
+        verify(topExpensesIndex).topGlobal(25);
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive top limit")
+    void getTopExpenses_whenLimitInvalid_shouldThrowException() {
+        assertThrows(InvalidExpenseException.class, () -> expenseService.getTopExpenses(0));
+    }
+
+    @Test
+    @DisplayName("Should reject a top limit that would scan the whole table")
+    void getTopExpenses_whenLimitTooLarge_shouldThrowWithoutQuery() {
+        assertThrows(InvalidExpenseException.class, () -> expenseService.getTopExpenses(1_000_000_000));
+        assertThrows(InvalidExpenseException.class, () -> expenseService.getTopExpensesByCategory(1L, 501));
+        verifyNoInteractions(topExpensesIndex);
+    }
+
+    @Test
+    @DisplayName("Should fall back to SQL and paginate when the search index can't answer")
+    void searchExpenses_whenIndexUnavailable_shouldUseDatabase() {
+        // Arrange
+        List<ExpenseSummaryResponse> rows = List.of(
+                new ExpenseSummaryResponse(1L, new BigDecimal("5.00"), "Coffee", "Food", LocalDate.now()),
+                new ExpenseSummaryResponse(2L, new BigDecimal("6.00"), "Coffee beans", "Food", LocalDate.now()));
+        when(expenseSearchIndex.search("coffee", false, 1, 1)).thenReturn(Optional.empty());
+        when(expenseRepository.findByDescriptionContainingIgnoreCase("coffee")).thenReturn(List.of());
+        when(expenseMapper.toResponseList(anyList())).thenReturn(rows);
+
+        // Act
+        Page<ExpenseSummaryResponse> result = expenseService.searchExpenses("coffee", 1, 1);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals(2L, result.getContent().get(0).getId());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should reject an out-of-range search page size")
+    void searchExpenses_whenPageSizeInvalid_shouldThrowException() {
+        assertThrows(InvalidExpenseException.class, () -> expenseService.searchExpenses("coffee", 0, 0));
+        verifyNoInteractions(expenseSearchIndex);
+    }
+
+    @Test
+    @DisplayName("Should normalize tag filters before querying the tag index")
+    void getExpensesByTags_shouldNormalizeTags() {
+        // Arrange
+        TagIndex.Query expected = new TagIndex.Query(Set.of("tax"), Set.of(), Set.of("trip-2026"), null, null, null);
+        when(tagIndex.filter(expected, 0, 10)).thenReturn(Optional.of(List.of()));
+        when(expenseRepository.findAllById(List.of())).thenReturn(List.of());
+        when(expenseMapper.toResponseList(List.of())).thenReturn(List.of());
+
+        // Act
+        List<ExpenseSummaryResponse> result = expenseService.getExpensesByTags(
+                Set.of(" Tax "), null, Set.of("TRIP-2026"), null, null, null, 0, 10);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(tagIndex).filter(expected, 0, 10);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tags")
+    void getExpensesByTags_whenTagInvalid_shouldThrowException() {
+        assertThrows(InvalidExpenseException.class, () -> expenseService.getExpensesByTags(
+                Set.of("two words"), null, null, null, null, null, 0, 10));
+        verifyNoInteractions(tagIndex);
+    }
+
+    @Test
+    @DisplayName("Should answer a known-missing id without a query")
+    void getExpenseById_whenFilterRulesIdOut_shouldSkipDatabase() {
+        // Arrange
+        when(existenceFilter.expenseDefinitelyAbsent(999L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ExpenseNotFoundException.class, () -> expenseService.getExpenseById(999L));
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    @DisplayName("Should remember ids the database didn't have")
+    void getExpenseById_whenNotFound_shouldRecordMiss() {
+        // Arrange
+        when(expenseRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ExpenseNotFoundException.class, () -> expenseService.getExpenseById(999L));
+        verify(existenceFilter).expenseMissing(eq(999L), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should answer a sparse fieldset for a known-missing id without a query")
+    void getExpenseByIdWithFields_whenFilterRulesIdOut_shouldSkipProjection() {
+        // Arrange
+        when(existenceFilter.expenseDefinitelyAbsent(999L)).thenReturn(true);
+        Set<ExpenseFieldProjection.Field> fields = ExpenseFieldProjection.parse("amount");
+
+        // Act & Assert
+        assertThrows(ExpenseNotFoundException.class, () -> expenseService.getExpenseById(999L, fields));
+        verifyNoInteractions(expenseFieldProjection);
+    }
+
+    @Test
+    @DisplayName("Should remember ids the sparse fieldset query didn't find")
+    void getExpenseByIdWithFields_whenNotFound_shouldRecordMiss() {
+        // Arrange
+        Set<ExpenseFieldProjection.Field> fields = ExpenseFieldProjection.parse("amount");
+        when(expenseFieldProjection.findById(999L, fields)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ExpenseNotFoundException.class, () -> expenseService.getExpenseById(999L, fields));
+        verify(existenceFilter).expenseMissing(eq(999L), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated summary from the result cache")
+    void getExpenseSummary_whenRepeated_shouldQueryOnce() {
+        // Arrange
+        when(expenseRepository.findAll()).thenReturn(List.of(testExpense));
+
+        // Act
+        Map<String, Object> first = expenseService.getExpenseSummary();
+        Map<String, Object> second = expenseService.getExpenseSummary();
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(1, second.get("totalExpenses"));
+        verify(expenseRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should return the latest change per expense and the next cursor")
+    void getChanges_shouldCollapseBatchAndLoadUpsertsOnce() {
+        // Arrange
+        when(expenseChangeLog.readAfter(10L, 3)).thenReturn(List.of(
+                change(11L, 1L, ExpenseChangeType.UPSERT),
+                change(12L, 2L, ExpenseChangeType.DELETE),
+                change(13L, 1L, ExpenseChangeType.UPSERT)));
+        when(expenseRepository.findAllWithTagsByIdIn(List.of(1L))).thenReturn(List.of(testExpense));
+        when(expenseMapper.toResponse(testExpense)).thenReturn(expenseResponse);
+
+        // Act
+        ExpenseChangesResponse result = expenseService.getChanges(10L, 2);
+
+        // Assert
+        assertTrue(result.isHasMore());
+        assertEquals(12L, result.getNextCursor());
+        assertEquals(2, result.getChanges().size());
+        assertEquals(ExpenseChangeType.UPSERT, result.getChanges().get(0).getType());
+        assertEquals("Lunch", result.getChanges().get(0).getExpense().getDescription());
+        assertEquals(ExpenseChangeType.DELETE, result.getChanges().get(1).getType());
+        assertEquals(2L, result.getChanges().get(1).getExpenseId());
+        assertNull(result.getChanges().get(1).getExpense());
+    }
+
+    @Test
+    @DisplayName("Should keep the cursor and skip loading when nothing changed")
+    void getChanges_whenNothingNew_shouldKeepCursor() {
+        // Arrange
+        when(expenseChangeLog.readAfter(42L, 101)).thenReturn(List.of());
+
+        // Act
+        ExpenseChangesResponse result = expenseService.getChanges(42L, 100);
+
+        // Assert
+        assertTrue(result.getChanges().isEmpty());
+        assertEquals(42L, result.getNextCursor());
+        assertFalse(result.isHasMore());
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a negative change cursor")
+    void getChanges_whenCursorNegative_shouldThrowException() {
+        // Act & Assert
+        assertThrows(InvalidExpenseException.class, () -> expenseService.getChanges(-1L, 100));
+    }
+
+    @Test
+    @DisplayName("Should skip tags of an expense whose row was gone by the time its tags were read")
+    void getExpensesByIds_whenTagsOutliveRow_shouldIgnoreThem() {
+        // Arrange: 2 was deleted between the row query and the tag query
+        when(expenseRepository.findResponseColumnsByIdIn(List.of(1L, 2L))).thenReturn(List.<Object[]>of(
+                new Object[]{1L, new BigDecimal("12.50"), "Lunch", LocalDate.of(2026, 3, 1),
+                        LocalDateTime.of(2026, 3, 1, 12, 0), null, 1L}));
+        when(expenseRepository.findTagsByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                new Object[]{1L, "work"}, new Object[]{2L, "travel"}));
+
+        // Act
+        List<MultiGetItem<ExpenseResponse>> items = expenseService.getExpensesByIds(List.of(1L, 2L));
+
+        // Assert
+        assertEquals(Set.of("work"), items.get(0).getData().getTags());
+        assertEquals(404, items.get(1).getStatus());
+    }
+
+    private static ExpenseChange change(long seq, Long expenseId, ExpenseChangeType type) {
+        ExpenseChange change = new ExpenseChange(expenseId, type, LocalDateTime.now());
+        change.setSeq(seq);
+        return change;
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.expense_tracker.util;
+
+import com.project.expense_tracker.model.Expense;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should convert between BigDecimal and cents")
+    void toCents_andBack_shouldRoundTrip() {
+        assertEquals(1234L, Money.toCents(new BigDecimal("12.34")));
+        assertEquals(5000L, Money.toCents(new BigDecimal("50")));
+        assertEquals(0L, Money.toCents(null));
+        assertEquals(new BigDecimal("12.34"), Money.toBigDecimal(1234L));
+    }
+
+    @Test
+    @DisplayName("Should keep cents in sync with the entity amount")
+    void expense_setAmount_shouldUpdateCents() {
+        Expense expense = new Expense();
+        expense.setAmount(new BigDecimal("99.99"));
+        assertEquals(9999L, expense.getAmountCents());
+    }
+
+    @Test
+    @DisplayName("Should sum and average expenses in cents")
+    void sumCents_shouldSumAmounts() {
+        List<Expense> expenses = expenses(3, "10.01");
+
+        long total = Money.sumCents(expenses);
+
+        assertEquals(3003L, total);
+        assertEquals(new BigDecimal("10.01"), Money.average(total, expenses.size()));
+        assertEquals(BigDecimal.ZERO, Money.average(0L, 0));
+    }
+
+    @Test
+    @DisplayName("Should throw on overflow instead of wrapping")
+    void add_whenOverflow_shouldThrow() {
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1L));
+        assertThrows(ArithmeticException.class, () -> Money.subtract(Long.MIN_VALUE, 1L));
+    }
+
+    @Test
+    @DisplayName("Should not allocate per row while summing")
+    void sumCents_shouldNotAllocatePerRow() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        int rows = 200_000;
+        List<Expense> expenses = expenses(rows, "12.34");
+
+        // Warm up so the measurement does not include class loading or JIT
+        long sink = 0L;
+        for (int i = 0; i < 20; i++) {
+            sink += Money.sumCents(expenses);
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        sink += Money.sumCents(expenses);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(sink > 0);
+        assertTrue(allocated < rows, "Allocated " + allocated + " bytes for " + rows + " rows");
+    }
+
+    private static List<Expense> expenses(int count, String amount) {
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Expense expense = new Expense();
+            expense.setAmount(new BigDecimal(amount));
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+}